@@ -0,0 +1,4 @@
+#!/bin/bash
+# Разрешает потоковую репликацию для db-replica; выполняется только при первой инициализации тома
+set -e
+echo "host replication ${POSTGRES_USER} all scram-sha-256" >> "$PGDATA/pg_hba.conf"
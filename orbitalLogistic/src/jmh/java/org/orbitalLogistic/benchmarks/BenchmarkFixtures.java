@@ -0,0 +1,147 @@
+package org.orbitalLogistic.benchmarks;
+
+import org.orbitalLogistic.entities.Cargo;
+import org.orbitalLogistic.entities.CargoManifest;
+import org.orbitalLogistic.entities.Spacecraft;
+import org.orbitalLogistic.entities.StorageUnit;
+import org.orbitalLogistic.entities.User;
+import org.orbitalLogistic.entities.enums.CargoType;
+import org.orbitalLogistic.entities.enums.HazardLevel;
+import org.orbitalLogistic.entities.enums.ManifestPriority;
+import org.orbitalLogistic.entities.enums.ManifestStatus;
+import org.orbitalLogistic.entities.enums.SpacecraftStatus;
+import org.orbitalLogistic.entities.enums.StorageTypeEnum;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Детерминированные тестовые данные и заглушки репозиториев для бенчмарков.
+ * Заглушки построены на java.lang.reflect.Proxy, а не на Mockito: стоимость вызова
+ * должна быть близка к нулю, чтобы в замерах оставалась только работа сервисов и мапперов.
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDateTime LOADED_AT = LocalDateTime.of(2025, 3, 14, 9, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Spacecraft spacecraft(long id) {
+        return Spacecraft.builder()
+                .id(id)
+                .registryCode("SC-" + id)
+                .name("Spacecraft " + id)
+                .spacecraftTypeId(1L)
+                .massCapacity(new BigDecimal("50000.00"))
+                .volumeCapacity(new BigDecimal("1200.00"))
+                .status(SpacecraftStatus.DOCKED)
+                .currentLocation("Orbital Station Alpha")
+                .build();
+    }
+
+    static Cargo cargo(long id) {
+        return Cargo.builder()
+                .id(id)
+                .name("Cargo " + id)
+                .cargoCategoryId(1L)
+                .massPerUnit(new BigDecimal("12.50"))
+                .volumePerUnit(new BigDecimal("0.40"))
+                .cargoType(CargoType.values()[(int) (id % CargoType.values().length)])
+                .hazardLevel(HazardLevel.values()[(int) (id % HazardLevel.values().length)])
+                .isActive(true)
+                .build();
+    }
+
+    static StorageUnit storageUnit(long id) {
+        return StorageUnit.builder()
+                .id(id)
+                .unitCode("SU-" + id)
+                .location("Deck " + id)
+                .storageType(StorageTypeEnum.values()[(int) (id % StorageTypeEnum.values().length)])
+                .totalMassCapacity(new BigDecimal("10000.00"))
+                .totalVolumeCapacity(new BigDecimal("500.00"))
+                .currentMass(BigDecimal.ZERO)
+                .currentVolume(BigDecimal.ZERO)
+                .build();
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@orbital.test")
+                .username("user" + id)
+                .roleId(1L)
+                .passwordHash("hash")
+                .build();
+    }
+
+    /**
+     * Страница манифестов: ссылки повторяются (несколько кораблей, грузов и пользователей на страницу),
+     * как на реальной странице getSpacecraftManifest.
+     */
+    static List<CargoManifest> manifests(int size) {
+        List<CargoManifest> manifests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean unloaded = i % 3 == 0;
+            manifests.add(CargoManifest.builder()
+                    .id((long) i + 1)
+                    .spacecraftId((long) i % 4 + 1)
+                    .cargoId((long) i % 16 + 1)
+                    .storageUnitId((long) i % 8 + 1)
+                    .quantity(i % 50 + 1)
+                    .loadedAt(LOADED_AT.plusMinutes(i))
+                    .unloadedAt(unloaded ? LOADED_AT.plusHours(6) : null)
+                    .loadedByUserId((long) i % 5 + 1)
+                    .unloadedByUserId(unloaded ? (long) i % 5 + 1 : null)
+                    .manifestStatus(unloaded ? ManifestStatus.UNLOADED : ManifestStatus.LOADED)
+                    .priority(ManifestPriority.values()[i % ManifestPriority.values().length])
+                    .build());
+        }
+        return manifests;
+    }
+
+    static <T> Map<Long, T> index(List<T> rows, Function<T, Long> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    /**
+     * Репозиторий, отвечающий на findById и findAllByIds из заранее построенной карты.
+     * Остальные методы в бенчмарках не вызываются и завершаются UnsupportedOperationException.
+     */
+    @SuppressWarnings("unchecked")
+    static <R> R repository(Class<R> type, Map<Long, ?> rows) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "findById":
+                    return Optional.ofNullable(rows.get((Long) args[0]));
+                case "findAllByIds": {
+                    Long[] ids = (Long[]) args[0];
+                    List<Object> found = new ArrayList<>(ids.length);
+                    for (Long id : ids) {
+                        Object row = rows.get(id);
+                        if (row != null) {
+                            found.add(row);
+                        }
+                    }
+                    return found;
+                }
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
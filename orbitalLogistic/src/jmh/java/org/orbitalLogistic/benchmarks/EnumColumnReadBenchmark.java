@@ -0,0 +1,126 @@
+package org.orbitalLogistic.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orbitalLogistic.config.converters.EnumLookup;
+import org.orbitalLogistic.config.converters.PgEnumConverters;
+import org.orbitalLogistic.entities.enums.ManifestStatus;
+import org.orbitalLogistic.entities.enums.TransactionType;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение enum-колонок на объёме выгрузки: rows строк проходят через RowMapperResultSetExtractor,
+ * как в JdbcTemplate.query, и RowMapper разбирает две текстовые колонки в перечисления.
+ * Колонки заполняются заранее случайными значениями в байтах; getString, как и драйвер,
+ * декодирует ячейку в новую строку без посчитанного hashCode. ResultSet — заглушка над массивами,
+ * поэтому замеряется только разбор строк и создание записей.
+ * valueOf — прежний путь, lookup — EnumLookup, converter — ридер Spring Data JDBC из PgEnumConverters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumColumnReadBenchmark {
+
+    private static final EnumLookup<TransactionType> TRANSACTION_TYPES = EnumLookup.of(TransactionType.class);
+    private static final EnumLookup<ManifestStatus> MANIFEST_STATUSES = EnumLookup.of(ManifestStatus.class);
+
+    @Param({"100000"})
+    public int rows;
+
+    private final PgEnumConverters.PgEnumToManifestStatus manifestStatusReader =
+            new PgEnumConverters.PgEnumToManifestStatus();
+
+    private final RowMapper<Row> valueOfMapper = (rs, rowNum) -> new Row(
+            rs.getLong("id"),
+            TransactionType.valueOf(rs.getString("transaction_type")),
+            ManifestStatus.valueOf(rs.getString("status")));
+
+    private final RowMapper<Row> lookupMapper = (rs, rowNum) -> new Row(
+            rs.getLong("id"),
+            TRANSACTION_TYPES.parse(rs.getString("transaction_type")),
+            MANIFEST_STATUSES.parse(rs.getString("status")));
+
+    private final RowMapper<Row> converterMapper = (rs, rowNum) -> new Row(
+            rs.getLong("id"),
+            TRANSACTION_TYPES.parse(rs.getString("transaction_type")),
+            manifestStatusReader.convert(rs.getString("status")));
+
+    private long[] ids;
+    private byte[][] transactionTypes;
+    private byte[][] statuses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TransactionType[] types = TransactionType.values();
+        ManifestStatus[] manifestStatuses = ManifestStatus.values();
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new long[rows];
+        transactionTypes = new byte[rows][];
+        statuses = new byte[rows][];
+        for (int i = 0; i < rows; i++) {
+            ids[i] = i + 1;
+            transactionTypes[i] = types[random.nextInt(types.length)].name().getBytes(StandardCharsets.UTF_8);
+            statuses[i] = manifestStatuses[random.nextInt(manifestStatuses.length)].name()
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public List<Row> valueOf() throws SQLException {
+        return new RowMapperResultSetExtractor<>(valueOfMapper, rows).extractData(resultSet());
+    }
+
+    @Benchmark
+    public List<Row> lookup() throws SQLException {
+        return new RowMapperResultSetExtractor<>(lookupMapper, rows).extractData(resultSet());
+    }
+
+    @Benchmark
+    public List<Row> converter() throws SQLException {
+        return new RowMapperResultSetExtractor<>(converterMapper, rows).extractData(resultSet());
+    }
+
+    /**
+     * Однопроходный ResultSet над подготовленными колонками; поддерживает только то, что читают мапперы.
+     */
+    private ResultSet resultSet() {
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] < rows;
+                    case "getLong" -> ids[cursor[0]];
+                    case "getString" -> switch ((String) args[0]) {
+                        case "transaction_type" -> new String(transactionTypes[cursor[0]], StandardCharsets.UTF_8);
+                        case "status" -> new String(statuses[cursor[0]], StandardCharsets.UTF_8);
+                        default -> throw new SQLException("Unknown column " + args[0]);
+                    };
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public record Row(long id, TransactionType transactionType, ManifestStatus status) {
+    }
+}
@@ -0,0 +1,89 @@
+package org.orbitalLogistic.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.orbitalLogistic.config.converters.PgEnumConverters;
+import org.orbitalLogistic.entities.enums.ManifestStatus;
+import org.orbitalLogistic.entities.enums.SpacecraftStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение и запись enum-колонок через конвертеры Spring Data JDBC.
+ * Каждая операция проходит по всем значениям перечисления, чтобы не замерять один закэшированный путь.
+ * Имена при чтении копируются в новые строки, как и значения из ResultSet: у них ещё не посчитан hashCode.
+ * readSpacecraftStatusValueOf — прежний путь через Enum.valueOf для сравнения с EnumLookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumConverterBenchmark {
+
+    private final PgEnumConverters.SpacecraftStatusToPgEnum spacecraftStatusWriter =
+            new PgEnumConverters.SpacecraftStatusToPgEnum();
+    private final PgEnumConverters.PgEnumToSpacecraftStatus spacecraftStatusReader =
+            new PgEnumConverters.PgEnumToSpacecraftStatus();
+    private final PgEnumConverters.ManifestStatusToPgEnum manifestStatusWriter =
+            new PgEnumConverters.ManifestStatusToPgEnum();
+    private final PgEnumConverters.PgEnumToManifestStatus manifestStatusReader =
+            new PgEnumConverters.PgEnumToManifestStatus();
+
+    private final SpacecraftStatus[] spacecraftStatuses = SpacecraftStatus.values();
+    private final String[] spacecraftStatusNames = names(spacecraftStatuses);
+    private final ManifestStatus[] manifestStatuses = ManifestStatus.values();
+    private final String[] manifestStatusNames = names(manifestStatuses);
+
+    @Benchmark
+    public void writeSpacecraftStatus(Blackhole blackhole) {
+        for (SpacecraftStatus status : spacecraftStatuses) {
+            blackhole.consume(spacecraftStatusWriter.convert(status));
+        }
+    }
+
+    @Benchmark
+    public void readSpacecraftStatus(Blackhole blackhole) {
+        for (String name : spacecraftStatusNames) {
+            blackhole.consume(spacecraftStatusReader.convert(new String(name)));
+        }
+    }
+
+    @Benchmark
+    public void readSpacecraftStatusValueOf(Blackhole blackhole) {
+        for (String name : spacecraftStatusNames) {
+            blackhole.consume(SpacecraftStatus.valueOf(new String(name)));
+        }
+    }
+
+    @Benchmark
+    public void writeManifestStatus(Blackhole blackhole) {
+        for (ManifestStatus status : manifestStatuses) {
+            blackhole.consume(manifestStatusWriter.convert(status));
+        }
+    }
+
+    @Benchmark
+    public void readManifestStatus(Blackhole blackhole) {
+        for (String name : manifestStatusNames) {
+            blackhole.consume(manifestStatusReader.convert(new String(name)));
+        }
+    }
+
+    private static String[] names(Enum<?>[] values) {
+        String[] names = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name();
+        }
+        return names;
+    }
+}
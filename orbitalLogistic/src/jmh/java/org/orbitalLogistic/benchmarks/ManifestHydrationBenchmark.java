@@ -0,0 +1,153 @@
+package org.orbitalLogistic.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.concurrent.ParallelLookups;
+import org.orbitalLogistic.dto.response.CargoManifestResponseDTO;
+import org.orbitalLogistic.entities.Cargo;
+import org.orbitalLogistic.entities.CargoManifest;
+import org.orbitalLogistic.entities.Spacecraft;
+import org.orbitalLogistic.entities.StorageUnit;
+import org.orbitalLogistic.entities.User;
+import org.orbitalLogistic.mappers.CargoManifestMapperImpl;
+import org.orbitalLogistic.mappers.CargoMapperImpl;
+import org.orbitalLogistic.mappers.SpacecraftMapperImpl;
+import org.orbitalLogistic.mappers.StorageUnitMapperImpl;
+import org.orbitalLogistic.mappers.UserMapperImpl;
+import org.orbitalLogistic.repositories.CargoManifestRepository;
+import org.orbitalLogistic.repositories.CargoRepository;
+import org.orbitalLogistic.repositories.MissionRepository;
+import org.orbitalLogistic.repositories.SpacecraftRepository;
+import org.orbitalLogistic.repositories.StorageUnitRepository;
+import org.orbitalLogistic.repositories.UserRepository;
+import org.orbitalLogistic.repositories.UserRoleRepository;
+import org.orbitalLogistic.services.CargoManifestService;
+import org.orbitalLogistic.services.CargoService;
+import org.orbitalLogistic.services.ReferenceResolver;
+import org.orbitalLogistic.services.SpacecraftLoadService;
+import org.orbitalLogistic.services.SpacecraftService;
+import org.orbitalLogistic.services.StorageCapacityService;
+import org.orbitalLogistic.services.StorageOccupancyService;
+import org.orbitalLogistic.services.StorageUnitService;
+import org.orbitalLogistic.services.UserService;
+import org.orbitalLogistic.streaming.SpacecraftEventStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Полный путь сборки CargoManifestResponseDTO в CPU-части: построчный toResponseDTO
+ * (четыре-пять обращений к сервисам на строку) против пакетного toResponseDTOs через ReferenceResolver.
+ * Репозитории заменены заглушками, поэтому сравнивается только накладная стоимость Java-кода.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ManifestHydrationBenchmark {
+
+    @Param({"20", "50"})
+    public int pageSize;
+
+    private CargoManifestService cargoManifestService;
+    private List<CargoManifest> manifests;
+
+    @Setup
+    public void setUp() {
+        Map<Long, Spacecraft> spacecrafts = BenchmarkFixtures.index(
+                LongStream.rangeClosed(1, 4).mapToObj(BenchmarkFixtures::spacecraft).toList(), Spacecraft::getId);
+        Map<Long, Cargo> cargos = BenchmarkFixtures.index(
+                LongStream.rangeClosed(1, 16).mapToObj(BenchmarkFixtures::cargo).toList(), Cargo::getId);
+        Map<Long, StorageUnit> storageUnits = BenchmarkFixtures.index(
+                LongStream.rangeClosed(1, 8).mapToObj(BenchmarkFixtures::storageUnit).toList(), StorageUnit::getId);
+        Map<Long, User> users = BenchmarkFixtures.index(
+                LongStream.rangeClosed(1, 5).mapToObj(BenchmarkFixtures::user).toList(), User::getId);
+
+        cargoManifestService = hydrationService(
+                BenchmarkFixtures.repository(SpacecraftRepository.class, spacecrafts),
+                BenchmarkFixtures.repository(CargoRepository.class, cargos),
+                BenchmarkFixtures.repository(StorageUnitRepository.class, storageUnits),
+                BenchmarkFixtures.repository(UserRepository.class, users));
+
+        manifests = BenchmarkFixtures.manifests(pageSize);
+    }
+
+    /**
+     * Единственное место, где собирается граф сервисов. Репозитории — заглушки с данными,
+     * мапперы — настоящие реализации MapStruct. Остальные зависимости на пути toResponseDTO
+     * не вызываются и заменены моками Mockito. Если у сервиса поменяется конструктор,
+     * бенчмарк перестанет компилироваться здесь.
+     */
+    private static CargoManifestService hydrationService(SpacecraftRepository spacecraftRepository,
+                                                         CargoRepository cargoRepository,
+                                                         StorageUnitRepository storageUnitRepository,
+                                                         UserRepository userRepository) {
+        ReferenceResolver referenceResolver = new ReferenceResolver(
+                spacecraftRepository,
+                cargoRepository,
+                storageUnitRepository,
+                userRepository,
+                BenchmarkFixtures.repository(MissionRepository.class, Map.of()),
+                ParallelLookups.sequential());
+
+        CargoManifestService service = new CargoManifestService(
+                BenchmarkFixtures.repository(CargoManifestRepository.class, Map.of()),
+                new CargoManifestMapperImpl(),
+                mock(JdbcTemplate.class),
+                referenceResolver,
+                mock(SpacecraftLoadService.class),
+                ParallelLookups.sequential());
+        service.setSpacecraftService(new SpacecraftService(
+                spacecraftRepository,
+                new SpacecraftMapperImpl(),
+                mock(JdbcTemplate.class),
+                mock(CacheInvalidationBus.class),
+                mock(SpacecraftEventStream.class)));
+        service.setCargoService(new CargoService(
+                cargoRepository,
+                new CargoMapperImpl(),
+                mock(StorageCapacityService.class),
+                mock(StorageOccupancyService.class),
+                mock(SpacecraftLoadService.class)));
+        service.setStorageUnitService(new StorageUnitService(
+                storageUnitRepository,
+                new StorageUnitMapperImpl(),
+                mock(JdbcTemplate.class),
+                mock(CacheInvalidationBus.class),
+                mock(StorageOccupancyService.class)));
+        service.setUserService(new UserService(
+                userRepository,
+                BenchmarkFixtures.repository(UserRoleRepository.class, Map.of()),
+                new UserMapperImpl()));
+        return service;
+    }
+
+    @Benchmark
+    public List<CargoManifestResponseDTO> perRowToResponseDTO() {
+        return manifests.stream()
+                .map(cargoManifestService::toResponseDTO)
+                .toList();
+    }
+
+    @Benchmark
+    public List<CargoManifestResponseDTO> batchedToResponseDTOs() {
+        return cargoManifestService.toResponseDTOs(manifests);
+    }
+}
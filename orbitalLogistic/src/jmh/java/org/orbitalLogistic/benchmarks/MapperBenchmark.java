@@ -0,0 +1,63 @@
+package org.orbitalLogistic.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orbitalLogistic.dto.response.CargoManifestResponseDTO;
+import org.orbitalLogistic.dto.response.SpacecraftResponseDTO;
+import org.orbitalLogistic.entities.CargoManifest;
+import org.orbitalLogistic.entities.Spacecraft;
+import org.orbitalLogistic.entities.enums.SpacecraftClassification;
+import org.orbitalLogistic.mappers.CargoManifestMapper;
+import org.orbitalLogistic.mappers.CargoManifestMapperImpl;
+import org.orbitalLogistic.mappers.SpacecraftMapper;
+import org.orbitalLogistic.mappers.SpacecraftMapperImpl;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость сгенерированных MapStruct-мапперов на горячем пути выдачи DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final CargoManifestMapper cargoManifestMapper = new CargoManifestMapperImpl();
+    private final SpacecraftMapper spacecraftMapper = new SpacecraftMapperImpl();
+
+    private CargoManifest manifest;
+    private Spacecraft spacecraft;
+    private BigDecimal massUsage;
+    private BigDecimal volumeUsage;
+
+    @Setup
+    public void setUp() {
+        manifest = BenchmarkFixtures.manifests(1).get(0);
+        spacecraft = BenchmarkFixtures.spacecraft(1);
+        massUsage = new BigDecimal("1250.00");
+        volumeUsage = new BigDecimal("40.00");
+    }
+
+    @Benchmark
+    public CargoManifestResponseDTO cargoManifestToResponseDTO() {
+        return cargoManifestMapper.toResponseDTO(manifest, "Spacecraft 1", "Cargo 1", "SU-1", "user1", "user2");
+    }
+
+    @Benchmark
+    public SpacecraftResponseDTO spacecraftToResponseDTO() {
+        return spacecraftMapper.toResponseDTO(spacecraft, "Heavy Freighter",
+                SpacecraftClassification.values()[0], massUsage, volumeUsage);
+    }
+}
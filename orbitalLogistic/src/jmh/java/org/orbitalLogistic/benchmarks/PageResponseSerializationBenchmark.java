@@ -0,0 +1,68 @@
+package org.orbitalLogistic.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orbitalLogistic.config.JacksonConfig;
+import org.orbitalLogistic.dto.common.PageResponseDTO;
+import org.orbitalLogistic.dto.response.CargoManifestResponseDTO;
+import org.orbitalLogistic.entities.CargoManifest;
+import org.orbitalLogistic.mappers.CargoManifestMapper;
+import org.orbitalLogistic.mappers.CargoManifestMapperImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация страницы манифестов тем же ObjectMapper, что собирает JacksonConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageResponseSerializationBenchmark {
+
+    @Param({"20", "50"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponseDTO<CargoManifestResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+
+        CargoManifestMapper mapper = new CargoManifestMapperImpl();
+        List<CargoManifestResponseDTO> content = BenchmarkFixtures.manifests(pageSize).stream()
+                .map(manifest -> toResponseDTO(mapper, manifest))
+                .toList();
+        page = new PageResponseDTO<>(content, 0, pageSize, pageSize * 10L, 10, true, false);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static CargoManifestResponseDTO toResponseDTO(CargoManifestMapper mapper, CargoManifest manifest) {
+        return mapper.toResponseDTO(manifest,
+                "Spacecraft " + manifest.getSpacecraftId(),
+                "Cargo " + manifest.getCargoId(),
+                "SU-" + manifest.getStorageUnitId(),
+                "user" + manifest.getLoadedByUserId(),
+                manifest.getUnloadedByUserId() != null ? "user" + manifest.getUnloadedByUserId() : null);
+    }
+}
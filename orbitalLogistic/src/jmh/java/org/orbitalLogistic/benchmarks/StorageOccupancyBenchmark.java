@@ -0,0 +1,77 @@
+package org.orbitalLogistic.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orbitalLogistic.analytics.OccupancyColumns;
+import org.orbitalLogistic.entities.enums.HazardLevel;
+import org.orbitalLogistic.entities.enums.StorageTypeEnum;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Группировка сводки загрузки хранилищ (OccupancyColumns) и применение дельты.
+ * Хранилища распределены по 50 локациям, каждое содержит грузы нескольких уровней опасности.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageOccupancyBenchmark {
+
+    private static final int CARGOS = 10_000;
+
+    @Param({"1000", "10000"})
+    public int units;
+
+    private OccupancyColumns columns;
+    private long delta = 1;
+
+    @Setup
+    public void setUp() {
+        int storageTypes = StorageTypeEnum.values().length;
+        int hazards = HazardLevel.values().length;
+        Random random = new Random(42);
+        OccupancyColumns.Builder builder = OccupancyColumns.builder(storageTypes, hazards);
+        for (int unit = 1; unit <= units; unit++) {
+            builder.addUnit(unit, "Location " + unit % 50, unit % storageTypes, 1_000_000, 500_000);
+        }
+        for (int cargo = 1; cargo <= CARGOS; cargo++) {
+            builder.addCargo(cargo, cargo % hazards, 100 + random.nextInt(1_000), 10 + random.nextInt(100));
+        }
+        for (int unit = 1; unit <= units; unit++) {
+            for (int hazard = 0; hazard < hazards; hazard++) {
+                builder.addStored(unit, hazard, random.nextInt(200_000), random.nextInt(100_000));
+            }
+        }
+        columns = builder.build();
+    }
+
+    @Benchmark
+    public List<OccupancyColumns.Group> groupByAllDimensions() {
+        return columns.groupBy(true, true, true);
+    }
+
+    @Benchmark
+    public List<OccupancyColumns.Group> groupByStorageType() {
+        return columns.groupBy(false, true, false);
+    }
+
+    @Benchmark
+    public boolean applyDelta() {
+        delta = -delta;
+        return columns.apply(units / 2, CARGOS / 2, delta);
+    }
+}
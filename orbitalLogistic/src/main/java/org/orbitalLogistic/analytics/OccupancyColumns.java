@@ -0,0 +1,251 @@
+package org.orbitalLogistic.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Колоночное представление загрузки хранилищ на примитивных массивах.
+ * Хранилища и грузы адресуются порядковым номером (позицией в отсортированном массиве id),
+ * размещённые масса и объём накоплены по паре (хранилище, уровень опасности):
+ * stored[unit * hazards + hazard]. Локации закодированы словарём в алфавитном порядке,
+ * тип хранилища и уровень опасности — порядковыми номерами перечислений.
+ *
+ * Масса и объём хранятся в целых сотых (DECIMAL(..., 2) в БД), поэтому суммы точны.
+ * Группировка — один проход по хранилищам без выделения памяти на строку: O(units * hazards).
+ * Изменение количества груза применяется через apply; методы синхронизированы,
+ * так что группировка всегда видит согласованный набор дельт.
+ */
+public final class OccupancyColumns {
+
+    private final int storageTypes;
+    private final int hazards;
+    private final String[] locations;
+
+    private final long[] unitIds;
+    private final int[] unitLocation;
+    private final int[] unitStorageType;
+    private final long[] unitMassCapacity;
+    private final long[] unitVolumeCapacity;
+
+    private final long[] cargoIds;
+    private final int[] cargoHazard;
+    private final long[] cargoUnitMass;
+    private final long[] cargoUnitVolume;
+
+    private final long[] storedMass;
+    private final long[] storedVolume;
+
+    private OccupancyColumns(Builder builder, String[] locations, int[] unitLocation) {
+        this.storageTypes = builder.storageTypes;
+        this.hazards = builder.hazards;
+        this.locations = locations;
+        this.unitIds = Arrays.copyOf(builder.unitIds, builder.units);
+        this.unitLocation = unitLocation;
+        this.unitStorageType = Arrays.copyOf(builder.unitStorageType, builder.units);
+        this.unitMassCapacity = Arrays.copyOf(builder.unitMassCapacity, builder.units);
+        this.unitVolumeCapacity = Arrays.copyOf(builder.unitVolumeCapacity, builder.units);
+        this.cargoIds = Arrays.copyOf(builder.cargoIds, builder.cargos);
+        this.cargoHazard = Arrays.copyOf(builder.cargoHazard, builder.cargos);
+        this.cargoUnitMass = Arrays.copyOf(builder.cargoUnitMass, builder.cargos);
+        this.cargoUnitVolume = Arrays.copyOf(builder.cargoUnitVolume, builder.cargos);
+        this.storedMass = new long[builder.units * hazards];
+        this.storedVolume = new long[builder.units * hazards];
+    }
+
+    public static Builder builder(int storageTypes, int hazards) {
+        return new Builder(storageTypes, hazards);
+    }
+
+    public int unitCount() {
+        return unitIds.length;
+    }
+
+    public String location(int ordinal) {
+        return locations[ordinal];
+    }
+
+    /**
+     * Учитывает изменение количества груза в хранилище. Возвращает false, если хранилище
+     * или груз неизвестны — снимок устарел и его нужно перестроить.
+     */
+    public synchronized boolean apply(long storageUnitId, long cargoId, long quantity) {
+        int unit = Arrays.binarySearch(unitIds, storageUnitId);
+        int cargo = Arrays.binarySearch(cargoIds, cargoId);
+        if (unit < 0 || cargo < 0) {
+            return false;
+        }
+        int cell = unit * hazards + cargoHazard[cargo];
+        storedMass[cell] += quantity * cargoUnitMass[cargo];
+        storedVolume[cell] += quantity * cargoUnitVolume[cargo];
+        return true;
+    }
+
+    /**
+     * Сводка по выбранным измерениям. Вместимость группы — суммарная вместимость её хранилищ
+     * и от уровня опасности не зависит: строки разных уровней одной группы делят одну вместимость.
+     * При группировке по опасности возвращаются только уровни, по которым что-то размещено.
+     * Строки упорядочены по локации, типу хранилища и уровню опасности.
+     */
+    public synchronized List<Group> groupBy(boolean byLocation, boolean byStorageType, boolean byHazard) {
+        int typeBuckets = byStorageType ? storageTypes : 1;
+        int hazardBuckets = byHazard ? hazards : 1;
+        int groups = (byLocation ? locations.length : 1) * typeBuckets;
+
+        int[] units = new int[groups];
+        long[] massCapacity = new long[groups];
+        long[] volumeCapacity = new long[groups];
+        long[] mass = new long[groups * hazardBuckets];
+        long[] volume = new long[groups * hazardBuckets];
+
+        for (int unit = 0; unit < unitIds.length; unit++) {
+            int group = (byLocation ? unitLocation[unit] : 0) * typeBuckets
+                        + (byStorageType ? unitStorageType[unit] : 0);
+            units[group]++;
+            massCapacity[group] += unitMassCapacity[unit];
+            volumeCapacity[group] += unitVolumeCapacity[unit];
+            int base = unit * hazards;
+            for (int hazard = 0; hazard < hazards; hazard++) {
+                int cell = group * hazardBuckets + (byHazard ? hazard : 0);
+                mass[cell] += storedMass[base + hazard];
+                volume[cell] += storedVolume[base + hazard];
+            }
+        }
+
+        List<Group> result = new ArrayList<>();
+        for (int group = 0; group < groups; group++) {
+            if (units[group] == 0) {
+                continue;
+            }
+            int location = byLocation ? group / typeBuckets : -1;
+            int storageType = byStorageType ? group % typeBuckets : -1;
+            for (int hazard = 0; hazard < hazardBuckets; hazard++) {
+                int cell = group * hazardBuckets + hazard;
+                if (byHazard && mass[cell] == 0 && volume[cell] == 0) {
+                    continue;
+                }
+                result.add(new Group(location, storageType, byHazard ? hazard : -1, units[group],
+                        massCapacity[group], volumeCapacity[group], mass[cell], volume[cell]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Строка сводки; -1 в измерении означает, что по нему не группировали.
+     */
+    public record Group(int location, int storageType, int hazard, int units,
+                        long massCapacity, long volumeCapacity, long storedMass, long storedVolume) {
+    }
+
+    /**
+     * Хранилища и грузы добавляются в порядке возрастания id, затем — размещённые объёмы.
+     */
+    public static final class Builder {
+
+        private final int storageTypes;
+        private final int hazards;
+
+        private long[] unitIds = new long[16];
+        private String[] unitLocationNames = new String[16];
+        private int[] unitStorageType = new int[16];
+        private long[] unitMassCapacity = new long[16];
+        private long[] unitVolumeCapacity = new long[16];
+        private int units;
+
+        private long[] cargoIds = new long[16];
+        private int[] cargoHazard = new int[16];
+        private long[] cargoUnitMass = new long[16];
+        private long[] cargoUnitVolume = new long[16];
+        private int cargos;
+
+        private long[] storedUnitIds = new long[16];
+        private int[] storedHazard = new int[16];
+        private long[] storedMass = new long[16];
+        private long[] storedVolume = new long[16];
+        private int stored;
+
+        private Builder(int storageTypes, int hazards) {
+            this.storageTypes = storageTypes;
+            this.hazards = hazards;
+        }
+
+        public Builder addUnit(long id, String location, int storageType, long massCapacity, long volumeCapacity) {
+            if (units > 0 && unitIds[units - 1] >= id) {
+                throw new IllegalArgumentException("Storage units must be added in ascending id order");
+            }
+            if (units == unitIds.length) {
+                int capacity = units * 2;
+                unitIds = Arrays.copyOf(unitIds, capacity);
+                unitLocationNames = Arrays.copyOf(unitLocationNames, capacity);
+                unitStorageType = Arrays.copyOf(unitStorageType, capacity);
+                unitMassCapacity = Arrays.copyOf(unitMassCapacity, capacity);
+                unitVolumeCapacity = Arrays.copyOf(unitVolumeCapacity, capacity);
+            }
+            unitIds[units] = id;
+            unitLocationNames[units] = location;
+            unitStorageType[units] = storageType;
+            unitMassCapacity[units] = massCapacity;
+            unitVolumeCapacity[units] = volumeCapacity;
+            units++;
+            return this;
+        }
+
+        public Builder addCargo(long id, int hazard, long unitMass, long unitVolume) {
+            if (cargos > 0 && cargoIds[cargos - 1] >= id) {
+                throw new IllegalArgumentException("Cargos must be added in ascending id order");
+            }
+            if (cargos == cargoIds.length) {
+                int capacity = cargos * 2;
+                cargoIds = Arrays.copyOf(cargoIds, capacity);
+                cargoHazard = Arrays.copyOf(cargoHazard, capacity);
+                cargoUnitMass = Arrays.copyOf(cargoUnitMass, capacity);
+                cargoUnitVolume = Arrays.copyOf(cargoUnitVolume, capacity);
+            }
+            cargoIds[cargos] = id;
+            cargoHazard[cargos] = hazard;
+            cargoUnitMass[cargos] = unitMass;
+            cargoUnitVolume[cargos] = unitVolume;
+            cargos++;
+            return this;
+        }
+
+        public Builder addStored(long storageUnitId, int hazard, long mass, long volume) {
+            if (stored == storedUnitIds.length) {
+                int capacity = stored * 2;
+                storedUnitIds = Arrays.copyOf(storedUnitIds, capacity);
+                storedHazard = Arrays.copyOf(storedHazard, capacity);
+                storedMass = Arrays.copyOf(storedMass, capacity);
+                storedVolume = Arrays.copyOf(storedVolume, capacity);
+            }
+            storedUnitIds[stored] = storageUnitId;
+            storedHazard[stored] = hazard;
+            storedMass[stored] = mass;
+            storedVolume[stored] = volume;
+            stored++;
+            return this;
+        }
+
+        public OccupancyColumns build() {
+            String[] dictionary = new TreeSet<>(Arrays.asList(unitLocationNames).subList(0, units))
+                    .toArray(String[]::new);
+            int[] unitLocation = new int[units];
+            for (int unit = 0; unit < units; unit++) {
+                unitLocation[unit] = Arrays.binarySearch(dictionary, unitLocationNames[unit]);
+            }
+
+            OccupancyColumns columns = new OccupancyColumns(this, dictionary, unitLocation);
+            for (int i = 0; i < stored; i++) {
+                int unit = Arrays.binarySearch(columns.unitIds, storedUnitIds[i]);
+                if (unit < 0) {
+                    throw new IllegalArgumentException("Unknown storage unit " + storedUnitIds[i]);
+                }
+                int cell = unit * hazards + storedHazard[i];
+                columns.storedMass[cell] += storedMass[i];
+                columns.storedVolume[cell] += storedVolume[i];
+            }
+            return columns;
+        }
+    }
+}
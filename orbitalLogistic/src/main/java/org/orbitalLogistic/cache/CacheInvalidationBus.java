@@ -0,0 +1,188 @@
+package org.orbitalLogistic.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Межузловая инвалидация локальных кэшей через PostgreSQL LISTEN/NOTIFY.
+ * Сервисы вызывают publish после записи: pg_notify выполняется в текущей транзакции,
+ * поэтому уведомление уходит только после COMMIT. Фоновый поток держит отдельное
+ * соединение с LISTEN и вызывает зарегистрированные обработчики кэшей.
+ * Формат payload: nodeId:cacheName:key; собственные уведомления узел пропускает,
+ * так как локальный кэш уже обновлён на пути записи.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    public static final String CHANNEL = "orbital_cache_invalidation";
+
+    public static final String SPACECRAFT = "spacecraft";
+    public static final String STORAGE_UNIT = "storage_unit";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int pollTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public CacheInvalidationBus(DataSource dataSource,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${orbital.cache-invalidation.enabled:true}") boolean enabled,
+                                @Value("${orbital.cache-invalidation.poll-timeout-ms:500}") int pollTimeoutMillis,
+                                @Value("${orbital.cache-invalidation.reconnect-delay-ms:5000}") long reconnectDelayMillis) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+    }
+
+    /**
+     * Регистрирует обработчики кэша: evictor получает ключ из уведомления,
+     * evictAll вызывается после переподключения, когда часть уведомлений могла быть потеряна.
+     */
+    public void register(String cacheName, Consumer<String> evictor, Runnable evictAll) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>())
+                .add(new Listener(evictor, evictAll));
+    }
+
+    public void register(ReferenceDataCache<Long, ?> cache) {
+        register(cache.getName(), key -> cache.evict(Long.valueOf(key)), cache::clear);
+    }
+
+    /**
+     * Оповещает остальные узлы об изменении записи. Все узлы собраны из одного кода,
+     * поэтому если локально кэш с таким именем не зарегистрирован, уведомление никому не нужно
+     * и запрос к базе не выполняется.
+     */
+    public void publish(String cacheName, Object key) {
+        if (!enabled || key == null || !listeners.containsKey(cacheName)) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, CHANNEL, nodeId + ":" + cacheName + ":" + key);
+    }
+
+    void dispatch(String payload) {
+        String[] parts = payload != null ? payload.split(":", 3) : new String[0];
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed cache invalidation payload: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+
+        for (Listener listener : listeners.getOrDefault(parts[1], List.of())) {
+            try {
+                listener.evictor().accept(parts[2]);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation failed for {}:{}, clearing cache", parts[1], parts[2], e);
+                listener.evictAll().run();
+            }
+        }
+    }
+
+    void invalidateAll() {
+        listeners.values().forEach(list -> list.forEach(listener -> listener.evictAll().run()));
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            try {
+                listenerThread.join(pollTimeoutMillis * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                // Пока соединения не было, уведомления не доставлялись — сбрасываем кэши целиком
+                invalidateAll();
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost connection, reconnecting in {} ms", reconnectDelayMillis, e);
+                    sleepBeforeReconnect();
+                }
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener failed, reconnecting in {} ms", reconnectDelayMillis, e);
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private record Listener(Consumer<String> evictor, Runnable evictAll) {
+    }
+}
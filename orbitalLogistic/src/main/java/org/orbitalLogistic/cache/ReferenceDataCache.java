@@ -0,0 +1,117 @@
+package org.orbitalLogistic.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Ограниченный по размеру LRU-кэш справочных сущностей (типы кораблей, категории грузов, роли).
+ * Загрузка выполняется вне блокировки; версия защищает от записи в кэш значения,
+ * прочитанного до инвалидации. Метрики публикуются как cache.gets{result=hit|miss},
+ * cache.evictions и cache.size с тегом cache=name.
+ */
+public class ReferenceDataCache<K, V> implements MeterBinder {
+
+    private final String name;
+    private final Map<K, V> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long version;
+
+    public ReferenceDataCache(String name, int maximumSize) {
+        this.name = name;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Возвращает значение из кэша или загружает его через loader.
+     * null и исключения loader не кэшируются.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long loadVersion;
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadVersion = version;
+        }
+
+        misses.increment();
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (this) {
+                if (version == loadVersion) {
+                    entries.put(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void put(K key, V value) {
+        version++;
+        entries.put(key, value);
+    }
+
+    public synchronized void evict(K key) {
+        version++;
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.size", this, ReferenceDataCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,163 @@
+package org.orbitalLogistic.concurrent;
+
+import org.orbitalLogistic.monitoring.QueryStatistics;
+import org.orbitalLogistic.routing.ReadRouting;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Структурированный запуск независимых чтений на виртуальных потоках.
+ * Задачи, открытые через open(), живут не дольше scope: join() дожидается всех и бросает
+ * исключение первой по порядку fork упавшей задачи (как при последовательном выполнении),
+ * ещё не начатые задачи отменяются; close() отменяет всё, что не было дождано.
+ *
+ * Одновременно параллельно выполняется не больше max-concurrent задач на всё приложение —
+ * это бюджет соединений пула сверх тех, что держат сами потоки запросов; при его исчерпании
+ * задача выполняется сразу в вызывающем потоке. Внутри активной транзакции всё выполняется
+ * последовательно: другой поток получил бы другое соединение и не увидел бы незакоммиченных данных.
+ */
+@Component
+public class ParallelLookups implements DisposableBean {
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    public ParallelLookups(@Value("${orbital.parallel-lookups.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+                           @Value("${orbital.parallel-lookups.max-concurrent:4}") int maxConcurrent) {
+        this.enabled = enabled;
+        this.permits = new Semaphore(maxConcurrent);
+        this.executor = enabled
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lookup-", 0).factory())
+                : null;
+    }
+
+    /**
+     * Экземпляр, выполняющий все задачи в вызывающем потоке.
+     */
+    public static ParallelLookups sequential() {
+        return new ParallelLookups(false, 1);
+    }
+
+    public Scope open() {
+        return new Scope(enabled && !TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final boolean parallel;
+        private final List<Future<?>> forks = new ArrayList<>();
+
+        private Scope(boolean parallel) {
+            this.parallel = parallel;
+        }
+
+        /**
+         * Запускает задачу; результат доступен через возвращённый Supplier после join().
+         */
+        public <T> Supplier<T> fork(Supplier<T> task) {
+            if (!parallel || !permits.tryAcquire()) {
+                T value = task.get();
+                return () -> value;
+            }
+
+            // Отменённая до старта задача не выполнится вовсе, поэтому разрешение возвращает и done()
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            };
+            QueryStatistics statistics = QueryStatistics.current();
+            ReadRouting routing = ReadRouting.current();
+            FutureTask<T> future = new FutureTask<>(() -> {
+                QueryStatistics.bind(statistics);
+                ReadRouting.bind(routing);
+                try {
+                    return task.get();
+                } finally {
+                    QueryStatistics.clear();
+                    ReadRouting.clear();
+                    release.run();
+                }
+            }) {
+                @Override
+                protected void done() {
+                    if (isCancelled()) {
+                        release.run();
+                    }
+                }
+            };
+            try {
+                executor.execute(future);
+            } catch (RuntimeException e) {
+                release.run();
+                throw e;
+            }
+            forks.add(future);
+            return () -> {
+                if (!future.isDone()) {
+                    throw new IllegalStateException("join() must be called before reading forked results");
+                }
+                return future.resultNow();
+            };
+        }
+
+        public void join() {
+            for (Future<?> fork : forks) {
+                try {
+                    fork.get();
+                } catch (ExecutionException e) {
+                    cancelAll();
+                    throw propagate(e.getCause());
+                } catch (InterruptedException e) {
+                    cancelAll();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for parallel lookups", e);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<?> fork : forks) {
+                // Без прерывания: прерванный JDBC-вызов может оставить соединение пула в неопределённом состоянии
+                fork.cancel(false);
+            }
+        }
+
+        private RuntimeException propagate(Throwable cause) {
+            if (cause instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            return new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.orbitalLogistic.config;
+
+import org.orbitalLogistic.cache.ReferenceDataCache;
+import org.orbitalLogistic.idempotency.IdempotencyFilter;
+import org.orbitalLogistic.idempotency.IdempotencyInterceptor;
+import org.orbitalLogistic.idempotency.IdempotencyStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Поддержка заголовка Idempotency-Key для эндпоинтов с @Idempotent:
+ * фильтр буферизует тела, интерцептор захватывает ключ и сохраняет ответ в IdempotencyStore.
+ * HandlerMapping передаётся фильтру лениво: фильтры создаются раньше инфраструктуры MVC.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orbital.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public ReferenceDataCache<String, IdempotencyStore.StoredResponse> idempotencyResponseCache(
+            @Value("${orbital.idempotency.cache-size:10000}") int maximumSize) {
+        return new ReferenceDataCache<>("idempotency_response", maximumSize);
+    }
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            JdbcTemplate jdbcTemplate,
+            ReferenceDataCache<String, IdempotencyStore.StoredResponse> idempotencyResponseCache,
+            @Value("${orbital.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${orbital.idempotency.lease:PT1M}") Duration lease,
+            @Value("${orbital.idempotency.wait-timeout:PT5S}") Duration waitTimeout) {
+        return new IdempotencyStore(jdbcTemplate, idempotencyResponseCache, ttl, lease, waitTimeout);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            @Qualifier("requestMappingHandlerMapping") ObjectProvider<HandlerMapping> requestMappingHandlerMapping) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(requestMappingHandlerMapping));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer idempotencyInterceptorConfigurer(IdempotencyStore idempotencyStore) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new IdempotencyInterceptor(idempotencyStore)).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -1,6 +1,6 @@
 package org.orbitalLogistic.config;
 
-import org.orbitalLogistic.config.converters.EnumToStringConverter;
+import org.orbitalLogistic.config.converters.PgEnumConverters;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jdbc.repository.config.AbstractJdbcConfiguration;
@@ -11,7 +11,6 @@ import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.TransactionManager;
 
 import java.util.List;
-import java.util.*;
 import javax.sql.DataSource;
 
 @Configuration
@@ -33,42 +32,6 @@ public class JdbcConfig extends AbstractJdbcConfiguration {
 
     @Override
     protected List<?> userConverters() {
-        return Arrays.asList(
-
-            new EnumToStringConverter.SpacecraftStatusEnumToString(),
-            new EnumToStringConverter.StringToSpacecraftStatusEnum(),
-
-            new EnumToStringConverter.StorageTypeEnumToString(),
-            new EnumToStringConverter.StringToStorageTypeEnum(),
-
-            new EnumToStringConverter.CargoTypeEnumToString(),
-            new EnumToStringConverter.StringToCargoTypeEnum(),
-            new EnumToStringConverter.HazardLevelEnumToString(),
-            new EnumToStringConverter.StringToHazardLevelEnum(),
-
-            new EnumToStringConverter.MissionTypeEnumToString(),
-            new EnumToStringConverter.StringToMissionTypeEnum(),
-            new EnumToStringConverter.MissionStatusEnumToString(),
-            new EnumToStringConverter.StringToMissionStatusEnum(),
-
-            new EnumToStringConverter.TransactionTypeEnumToString(),
-            new EnumToStringConverter.StringToTransactionTypeEnum(),
-
-            new EnumToStringConverter.ManifestStatusEnumToString(),
-            new EnumToStringConverter.StringToManifestStatusEnum(),
-            new EnumToStringConverter.ManifestPriorityEnumToString(),
-            new EnumToStringConverter.StringToManifestPriorityEnum(),
-
-            new EnumToStringConverter.MaintenanceTypeEnumToString(),
-            new EnumToStringConverter.StringToMaintenanceTypeEnum(),
-            new EnumToStringConverter.MaintenanceStatusEnumToString(),
-            new EnumToStringConverter.StringToMaintenanceStatusEnum(),
-
-            new EnumToStringConverter.AssignmentRoleEnumToString(),
-            new EnumToStringConverter.StringToAssignmentRoleEnum(),
-
-            new EnumToStringConverter.MissionPriorityEnumToString(),
-            new EnumToStringConverter.StringToMissionPriorityEnum()
-        );
+        return PgEnumConverters.all();
     }
-}
\ No newline at end of file
+}
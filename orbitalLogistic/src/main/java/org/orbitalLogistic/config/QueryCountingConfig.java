@@ -0,0 +1,49 @@
+package org.orbitalLogistic.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.orbitalLogistic.monitoring.QueryCountingDataSource;
+import org.orbitalLogistic.monitoring.QueryCountingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Подсчёт SQL-запросов на HTTP-запрос: DataSource оборачивается в QueryCountingDataSource,
+ * а фильтр на /api/* собирает статистику, заголовки и метрики.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orbital.query-counter.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountingConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountingFilter> queryCountingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${orbital.query-counter.max-statements:50}") int maxStatements,
+            @Value("${orbital.query-counter.repeat-threshold:10}") int repeatThreshold,
+            @Value("${orbital.query-counter.fail-on-budget-exceeded:false}") boolean failOnBudgetExceeded) {
+        FilterRegistrationBean<QueryCountingFilter> registration = new FilterRegistrationBean<>(
+                new QueryCountingFilter(meterRegistry, maxStatements, repeatThreshold, failOnBudgetExceeded));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,111 @@
+package org.orbitalLogistic.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.orbitalLogistic.routing.ReadOnlyQueryInterceptor;
+import org.orbitalLogistic.routing.ReadYourWritesFilter;
+import org.orbitalLogistic.routing.ReplicaDataSources;
+import org.orbitalLogistic.routing.ReplicaLagMonitor;
+import org.orbitalLogistic.routing.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Чтение с потоковой реплики: вместо DataSource из автоконфигурации приложение получает
+ * маршрутизирующий DataSource поверх двух пулов Hikari. Пул primary настраивается как обычно
+ * (spring.datasource.*), пул реплики — orbital.replica.* (логин и пароль по умолчанию те же).
+ * Без orbital.replica.enabled=true всё работает с одним primary, как раньше.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orbital.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(
+            DataSourceProperties dataSourceProperties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${orbital.replica.url}") String replicaUrl,
+            @Value("${orbital.replica.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${orbital.replica.password:${spring.datasource.password:}}") String replicaPassword) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        binder.bind("orbital.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        return new ReplicaDataSources(primary, replica);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaDataSources replicaDataSources,
+            MeterRegistry meterRegistry,
+            @Value("${orbital.replica.max-lag:1MB}") DataSize maxLag,
+            @Value("${orbital.replica.max-staleness:PT5S}") Duration maxStaleness) {
+        return new ReplicaLagMonitor(
+                new JdbcTemplate(replicaDataSources.primary()),
+                new JdbcTemplate(replicaDataSources.replica()),
+                maxLag.toBytes(), maxStaleness, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaDataSources replicaDataSources, ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                replicaDataSources.primary(), replicaDataSources.replica(), replicaLagMonitor));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            ReplicaLagMonitor replicaLagMonitor,
+            @Value("${orbital.replica.read-your-writes-ttl:PT1M}") Duration tokenTtl) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(replicaLagMonitor, tokenTtl));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer readOnlyQueryInterceptorConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadOnlyQueryInterceptor()).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
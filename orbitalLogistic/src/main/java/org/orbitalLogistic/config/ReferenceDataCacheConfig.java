@@ -0,0 +1,38 @@
+package org.orbitalLogistic.config;
+
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.cache.ReferenceDataCache;
+import org.orbitalLogistic.entities.CargoCategory;
+import org.orbitalLogistic.entities.SpacecraftType;
+import org.orbitalLogistic.entities.UserRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReferenceDataCacheConfig {
+
+    @Value("${orbital.reference-cache.maximum-size:1024}")
+    private int maximumSize;
+
+    @Bean
+    public ReferenceDataCache<Long, SpacecraftType> spacecraftTypeCache(CacheInvalidationBus cacheInvalidationBus) {
+        return clustered(new ReferenceDataCache<>("spacecraft_type", maximumSize), cacheInvalidationBus);
+    }
+
+    @Bean
+    public ReferenceDataCache<Long, CargoCategory> cargoCategoryCache(CacheInvalidationBus cacheInvalidationBus) {
+        return clustered(new ReferenceDataCache<>("cargo_category", maximumSize), cacheInvalidationBus);
+    }
+
+    @Bean
+    public ReferenceDataCache<Long, UserRole> userRoleCache(CacheInvalidationBus cacheInvalidationBus) {
+        return clustered(new ReferenceDataCache<>("user_role", maximumSize), cacheInvalidationBus);
+    }
+
+    private static <V> ReferenceDataCache<Long, V> clustered(ReferenceDataCache<Long, V> cache,
+                                                             CacheInvalidationBus cacheInvalidationBus) {
+        cacheInvalidationBus.register(cache);
+        return cache;
+    }
+}
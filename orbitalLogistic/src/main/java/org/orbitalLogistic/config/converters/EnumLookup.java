@@ -0,0 +1,64 @@
+package org.orbitalLogistic.config.converters;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Таблица разбора имён констант перечисления, построенная один раз на тип.
+ * В отличие от Enum.valueOf не обращается к Class.enumConstantDirectory и не считает
+ * String.hashCode по всей строке: строки из ResultSet всегда новые, их хэш не закэширован.
+ * Слот выбирается по длине и крайним символам, коллизии разрешаются линейным пробированием
+ * с equals, поэтому результат совпадает с valueOf, включая исключение для неизвестного имени.
+ */
+public final class EnumLookup<E extends Enum<E>> {
+
+    private static final ConcurrentHashMap<Class<?>, EnumLookup<?>> LOOKUPS = new ConcurrentHashMap<>();
+
+    private final Class<E> type;
+    private final String[] names;
+    private final E[] constants;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    private EnumLookup(Class<E> type) {
+        E[] values = type.getEnumConstants();
+        int size = Integer.highestOneBit(Math.max(1, values.length) * 4 - 1) << 1;
+        this.type = type;
+        this.names = new String[size];
+        this.constants = (E[]) Array.newInstance(type, size);
+        this.mask = size - 1;
+        for (E value : values) {
+            int slot = slot(value.name());
+            while (names[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            names[slot] = value.name();
+            constants[slot] = value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumLookup<E> of(Class<E> type) {
+        return (EnumLookup<E>) LOOKUPS.computeIfAbsent(type, t -> new EnumLookup<>(type));
+    }
+
+    public E parse(String name) {
+        if (!name.isEmpty()) {
+            int slot = slot(name);
+            String candidate;
+            while ((candidate = names[slot]) != null) {
+                if (candidate.equals(name)) {
+                    return constants[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + type.getCanonicalName() + "." + name);
+    }
+
+    private int slot(String name) {
+        int length = name.length();
+        int hash = length * 31 + name.charAt(0) * 17 + name.charAt(length - 1);
+        return (hash ^ (hash >>> 4)) & mask;
+    }
+}
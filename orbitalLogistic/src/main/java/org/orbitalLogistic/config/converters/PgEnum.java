@@ -0,0 +1,30 @@
+package org.orbitalLogistic.config.converters;
+
+import org.springframework.jdbc.core.SqlParameterValue;
+
+import java.sql.Types;
+
+/**
+ * Параметры JdbcTemplate для колонок PostgreSQL enum. Значение уходит через
+ * setObject(..., Types.OTHER): драйвер не объявляет тип varchar, сервер сам выводит тип
+ * колонки, поэтому приведения ?::xxx_enum в SQL не нужны и не зависят от stringtype=unspecified.
+ */
+public final class PgEnum {
+
+    private PgEnum() {
+    }
+
+    /**
+     * Как и прежний value.name(), падает на null до обращения к БД.
+     */
+    public static SqlParameterValue bind(Enum<?> value) {
+        return new SqlParameterValue(Types.OTHER, value.name());
+    }
+
+    /**
+     * Для имён, пришедших строкой из запроса: некорректное значение отклонит сама БД.
+     */
+    public static SqlParameterValue bind(String name) {
+        return new SqlParameterValue(Types.OTHER, name);
+    }
+}
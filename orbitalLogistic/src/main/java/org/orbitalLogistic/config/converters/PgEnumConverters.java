@@ -0,0 +1,227 @@
+package org.orbitalLogistic.config.converters;
+
+import org.orbitalLogistic.entities.enums.*;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.jdbc.core.mapping.JdbcValue;
+
+import java.sql.JDBCType;
+import java.util.List;
+
+/**
+ * Конвертеры Spring Data JDBC для колонок PostgreSQL enum.
+ * Запись отдаёт JdbcValue с JDBCType.OTHER (см. PgEnum), чтение разбирает имя
+ * через заранее построенную EnumLookup вместо Enum.valueOf на каждую строку.
+ */
+public final class PgEnumConverters {
+
+    private PgEnumConverters() {
+    }
+
+    public static List<Converter<?, ?>> all() {
+        return List.of(
+            new SpacecraftStatusToPgEnum(),
+            new PgEnumToSpacecraftStatus(),
+
+            new StorageTypeToPgEnum(),
+            new PgEnumToStorageType(),
+
+            new CargoTypeToPgEnum(),
+            new PgEnumToCargoType(),
+
+            new HazardLevelToPgEnum(),
+            new PgEnumToHazardLevel(),
+
+            new MissionTypeToPgEnum(),
+            new PgEnumToMissionType(),
+
+            new MissionStatusToPgEnum(),
+            new PgEnumToMissionStatus(),
+
+            new TransactionTypeToPgEnum(),
+            new PgEnumToTransactionType(),
+
+            new ManifestStatusToPgEnum(),
+            new PgEnumToManifestStatus(),
+
+            new ManifestPriorityToPgEnum(),
+            new PgEnumToManifestPriority(),
+
+            new MaintenanceTypeToPgEnum(),
+            new PgEnumToMaintenanceType(),
+
+            new MaintenanceStatusToPgEnum(),
+            new PgEnumToMaintenanceStatus(),
+
+            new AssignmentRoleToPgEnum(),
+            new PgEnumToAssignmentRole(),
+
+            new MissionPriorityToPgEnum(),
+            new PgEnumToMissionPriority()
+        );
+    }
+
+    abstract static class Writer<E extends Enum<E>> implements Converter<E, JdbcValue> {
+        @Override
+        public JdbcValue convert(E source) {
+            return source != null ? JdbcValue.of(source.name(), JDBCType.OTHER) : null;
+        }
+    }
+
+    abstract static class Reader<E extends Enum<E>> implements Converter<String, E> {
+        private final EnumLookup<E> lookup;
+
+        Reader(Class<E> type) {
+            this.lookup = EnumLookup.of(type);
+        }
+
+        @Override
+        public E convert(String source) {
+            return source != null ? lookup.parse(source) : null;
+        }
+    }
+
+    @WritingConverter
+    public static class SpacecraftStatusToPgEnum extends Writer<SpacecraftStatus> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToSpacecraftStatus extends Reader<SpacecraftStatus> {
+        public PgEnumToSpacecraftStatus() {
+            super(SpacecraftStatus.class);
+        }
+    }
+
+    @WritingConverter
+    public static class StorageTypeToPgEnum extends Writer<StorageTypeEnum> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToStorageType extends Reader<StorageTypeEnum> {
+        public PgEnumToStorageType() {
+            super(StorageTypeEnum.class);
+        }
+    }
+
+    @WritingConverter
+    public static class CargoTypeToPgEnum extends Writer<CargoType> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToCargoType extends Reader<CargoType> {
+        public PgEnumToCargoType() {
+            super(CargoType.class);
+        }
+    }
+
+    @WritingConverter
+    public static class HazardLevelToPgEnum extends Writer<HazardLevel> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToHazardLevel extends Reader<HazardLevel> {
+        public PgEnumToHazardLevel() {
+            super(HazardLevel.class);
+        }
+    }
+
+    @WritingConverter
+    public static class MissionTypeToPgEnum extends Writer<MissionType> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToMissionType extends Reader<MissionType> {
+        public PgEnumToMissionType() {
+            super(MissionType.class);
+        }
+    }
+
+    @WritingConverter
+    public static class MissionStatusToPgEnum extends Writer<MissionStatus> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToMissionStatus extends Reader<MissionStatus> {
+        public PgEnumToMissionStatus() {
+            super(MissionStatus.class);
+        }
+    }
+
+    @WritingConverter
+    public static class TransactionTypeToPgEnum extends Writer<TransactionType> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToTransactionType extends Reader<TransactionType> {
+        public PgEnumToTransactionType() {
+            super(TransactionType.class);
+        }
+    }
+
+    @WritingConverter
+    public static class ManifestStatusToPgEnum extends Writer<ManifestStatus> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToManifestStatus extends Reader<ManifestStatus> {
+        public PgEnumToManifestStatus() {
+            super(ManifestStatus.class);
+        }
+    }
+
+    @WritingConverter
+    public static class ManifestPriorityToPgEnum extends Writer<ManifestPriority> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToManifestPriority extends Reader<ManifestPriority> {
+        public PgEnumToManifestPriority() {
+            super(ManifestPriority.class);
+        }
+    }
+
+    @WritingConverter
+    public static class MaintenanceTypeToPgEnum extends Writer<MaintenanceType> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToMaintenanceType extends Reader<MaintenanceType> {
+        public PgEnumToMaintenanceType() {
+            super(MaintenanceType.class);
+        }
+    }
+
+    @WritingConverter
+    public static class MaintenanceStatusToPgEnum extends Writer<MaintenanceStatus> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToMaintenanceStatus extends Reader<MaintenanceStatus> {
+        public PgEnumToMaintenanceStatus() {
+            super(MaintenanceStatus.class);
+        }
+    }
+
+    @WritingConverter
+    public static class AssignmentRoleToPgEnum extends Writer<AssignmentRole> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToAssignmentRole extends Reader<AssignmentRole> {
+        public PgEnumToAssignmentRole() {
+            super(AssignmentRole.class);
+        }
+    }
+
+    @WritingConverter
+    public static class MissionPriorityToPgEnum extends Writer<MissionPriority> {
+    }
+
+    @ReadingConverter
+    public static class PgEnumToMissionPriority extends Reader<MissionPriority> {
+        public PgEnumToMissionPriority() {
+            super(MissionPriority.class);
+        }
+    }
+}
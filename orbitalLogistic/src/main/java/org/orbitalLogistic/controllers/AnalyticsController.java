@@ -0,0 +1,28 @@
+package org.orbitalLogistic.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.orbitalLogistic.dto.response.StorageOccupancyResponseDTO;
+import org.orbitalLogistic.services.StorageOccupancyService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final StorageOccupancyService storageOccupancyService;
+
+    @GetMapping("/storage-occupancy")
+    public ResponseEntity<List<StorageOccupancyResponseDTO>> getStorageOccupancy(
+            @RequestParam(defaultValue = "location,storageType,hazardLevel") List<String> groupBy) {
+
+        List<StorageOccupancyResponseDTO> response = storageOccupancyService.getOccupancy(groupBy);
+        return ResponseEntity.ok(response);
+    }
+}
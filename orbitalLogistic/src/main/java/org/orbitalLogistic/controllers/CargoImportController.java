@@ -0,0 +1,35 @@
+package org.orbitalLogistic.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.orbitalLogistic.dto.response.CargoImportResponseDTO;
+import org.orbitalLogistic.services.CargoImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Массовый импорт грузов и их размещения. Тело запроса читается потоком и не буферизуется целиком.
+ */
+@RestController
+@RequestMapping("/api/cargos/import")
+@RequiredArgsConstructor
+public class CargoImportController {
+
+    private final CargoImportService cargoImportService;
+
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<CargoImportResponseDTO> importCsv(InputStream body) throws IOException {
+        CargoImportResponseDTO response = cargoImportService.importCsv(body);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<CargoImportResponseDTO> importNdjson(InputStream body) throws IOException {
+        CargoImportResponseDTO response = cargoImportService.importNdjson(body);
+        return ResponseEntity.ok(response);
+    }
+}
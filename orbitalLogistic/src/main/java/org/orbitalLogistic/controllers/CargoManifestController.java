@@ -4,7 +4,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.CargoManifestRequestDTO;
+import org.orbitalLogistic.dto.request.LoadPlanRequestDTO;
 import org.orbitalLogistic.dto.response.CargoManifestResponseDTO;
+import org.orbitalLogistic.dto.response.LoadPlanResponseDTO;
+import org.orbitalLogistic.idempotency.Idempotent;
+import org.orbitalLogistic.monitoring.QueryBudget;
+import org.orbitalLogistic.routing.ReadOnlyQuery;
+import org.orbitalLogistic.services.CargoLoadPlanService;
 import org.orbitalLogistic.services.CargoManifestService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +24,10 @@ import java.util.List;
 public class CargoManifestController {
 
     private final CargoManifestService cargoManifestService;
+    private final CargoLoadPlanService cargoLoadPlanService;
 
+    @ReadOnlyQuery
+    @QueryBudget(maxStatements = 7)
     @GetMapping("/cargo-manifests")
     public ResponseEntity<PageResponseDTO<CargoManifestResponseDTO>> getAllManifests(
             @RequestParam(defaultValue = "0") int page,
@@ -38,6 +47,13 @@ public class CargoManifestController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/cargo-manifests/plan")
+    public ResponseEntity<LoadPlanResponseDTO> planLoad(@Valid @RequestBody LoadPlanRequestDTO request) {
+        LoadPlanResponseDTO response = cargoLoadPlanService.planLoad(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Idempotent
     @PostMapping("/spacecrafts/{id}/load-cargo")
     public ResponseEntity<List<CargoManifestResponseDTO>> loadCargoToSpacecraft(
             @PathVariable Long id,
@@ -56,6 +72,18 @@ public class CargoManifestController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/spacecrafts/{id}/unload-cargo", params = "summary=true")
+    public ResponseEntity<Void> unloadCargoFromSpacecraftSummary(
+            @PathVariable Long id,
+            @Valid @RequestBody CargoManifestRequestDTO request) {
+
+        int unloaded = cargoManifestService.unloadAllCargoFromSpacecraft(id, request);
+        return ResponseEntity.noContent()
+                .header("X-Unloaded-Count", String.valueOf(unloaded))
+                .build();
+    }
+
+    @QueryBudget(maxStatements = 6)
     @GetMapping("/spacecrafts/{id}/manifest")
     public ResponseEntity<PageResponseDTO<CargoManifestResponseDTO>> getSpacecraftManifest(
             @PathVariable Long id,
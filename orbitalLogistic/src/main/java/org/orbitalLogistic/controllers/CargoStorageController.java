@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.CargoStorageRequestDTO;
 import org.orbitalLogistic.dto.response.CargoStorageResponseDTO;
+import org.orbitalLogistic.monitoring.QueryBudget;
 import org.orbitalLogistic.services.CargoStorageService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ public class CargoStorageController {
 
     private final CargoStorageService cargoStorageService;
 
+    @QueryBudget(maxStatements = 6)
     @GetMapping("/cargo-storage")
     public ResponseEntity<PageResponseDTO<CargoStorageResponseDTO>> getAllCargoStorage(
             @RequestParam(defaultValue = "0") int page,
@@ -2,13 +2,22 @@ package org.orbitalLogistic.controllers;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.orbitalLogistic.dto.common.CursorPageResponseDTO;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.InventoryTransactionRequestDTO;
 import org.orbitalLogistic.dto.response.InventoryTransactionResponseDTO;
+import org.orbitalLogistic.idempotency.Idempotent;
+import org.orbitalLogistic.routing.ReadOnlyQuery;
+import org.orbitalLogistic.services.InventoryTransactionExportService;
 import org.orbitalLogistic.services.InventoryTransactionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/inventory-transactions")
@@ -16,7 +25,9 @@ import org.springframework.web.bind.annotation.*;
 public class InventoryTransactionController {
 
     private final InventoryTransactionService inventoryTransactionService;
+    private final InventoryTransactionExportService inventoryTransactionExportService;
 
+    @ReadOnlyQuery
     @GetMapping
     public ResponseEntity<PageResponseDTO<InventoryTransactionResponseDTO>> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
@@ -30,12 +41,42 @@ public class InventoryTransactionController {
                 .body(response);
     }
 
+    @ReadOnlyQuery
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageResponseDTO<InventoryTransactionResponseDTO>> getTransactionsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (size > 50) size = 50;
+        if (size < 1) size = 1;
+
+        CursorPageResponseDTO<InventoryTransactionResponseDTO> response = inventoryTransactionService.getTransactionsAfter(after, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        InventoryTransactionExportService.ExportFormat exportFormat =
+                InventoryTransactionExportService.ExportFormat.fromParameter(format);
+        StreamingResponseBody body = out -> inventoryTransactionExportService.export(exportFormat, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"inventory-transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InventoryTransactionResponseDTO> getTransactionById(@PathVariable Long id) {
         InventoryTransactionResponseDTO response = inventoryTransactionService.getTransactionById(id);
         return ResponseEntity.ok(response);
     }
 
+    @Idempotent
     @PostMapping("/transfer")
     public ResponseEntity<InventoryTransactionResponseDTO> transferCargo(
             @Valid @RequestBody InventoryTransactionRequestDTO request) {
@@ -44,6 +85,7 @@ public class InventoryTransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @ReadOnlyQuery
     @GetMapping("/cargo/{cargoId}")
     public ResponseEntity<PageResponseDTO<InventoryTransactionResponseDTO>> getCargoHistory(
             @PathVariable Long cargoId,
@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.MaintenanceLogRequestDTO;
 import org.orbitalLogistic.dto.response.MaintenanceLogResponseDTO;
+import org.orbitalLogistic.routing.ReadOnlyQuery;
 import org.orbitalLogistic.services.MaintenanceLogService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ public class MaintenanceLogController {
 
     private final MaintenanceLogService maintenanceLogService;
 
+    @ReadOnlyQuery
     @GetMapping("/maintenance-logs")
     public ResponseEntity<PageResponseDTO<MaintenanceLogResponseDTO>> getAllMaintenanceLogs(
             @RequestParam(defaultValue = "0") int page,
@@ -47,6 +49,7 @@ public class MaintenanceLogController {
         return ResponseEntity.ok(response);
     }
 
+    @ReadOnlyQuery
     @GetMapping("/spacecrafts/{id}/maintenance")
     public ResponseEntity<PageResponseDTO<MaintenanceLogResponseDTO>> getSpacecraftMaintenanceHistory(
             @PathVariable Long id,
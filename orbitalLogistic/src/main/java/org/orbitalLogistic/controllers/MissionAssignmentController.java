@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.MissionAssignmentRequestDTO;
 import org.orbitalLogistic.dto.response.MissionAssignmentResponseDTO;
+import org.orbitalLogistic.idempotency.Idempotent;
+import org.orbitalLogistic.monitoring.QueryBudget;
 import org.orbitalLogistic.services.MissionAssignmentService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +21,7 @@ public class MissionAssignmentController {
 
     private final MissionAssignmentService missionAssignmentService;
 
+    @QueryBudget(maxStatements = 5)
     @GetMapping
     public ResponseEntity<PageResponseDTO<MissionAssignmentResponseDTO>> getAllAssignments(
             @RequestParam(defaultValue = "0") int page,
@@ -38,6 +41,7 @@ public class MissionAssignmentController {
         return ResponseEntity.ok(response);
     }
 
+    @Idempotent
     @PostMapping("/missions/{missionId}/assign-crew")
     public ResponseEntity<List<MissionAssignmentResponseDTO>> assignCrew(
             @PathVariable Long missionId,
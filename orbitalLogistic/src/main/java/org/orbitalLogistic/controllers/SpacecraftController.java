@@ -4,13 +4,20 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.SpacecraftRequestDTO;
+import org.orbitalLogistic.dto.response.FreeWindowResponseDTO;
 import org.orbitalLogistic.dto.response.SpacecraftResponseDTO;
 import org.orbitalLogistic.entities.enums.SpacecraftStatus;
+import org.orbitalLogistic.services.MissionScheduleService;
 import org.orbitalLogistic.services.SpacecraftService;
+import org.orbitalLogistic.streaming.SpacecraftEventStream;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,6 +26,8 @@ import java.util.List;
 public class SpacecraftController {
 
     private final SpacecraftService spacecraftService;
+    private final MissionScheduleService missionScheduleService;
+    private final SpacecraftEventStream spacecraftEventStream;
 
     @GetMapping
     public ResponseEntity<PageResponseDTO<SpacecraftResponseDTO>> getAllSpacecrafts(
@@ -51,12 +60,35 @@ public class SpacecraftController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Изменения статуса и местоположения кораблей (SSE). Браузер при переподключении
+     * передаёт Last-Event-ID сам, остальные клиенты могут передать его параметром lastEventId.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSpacecraftChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId) {
+
+        return spacecraftEventStream.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SpacecraftResponseDTO> getSpacecraftById(@PathVariable Long id) {
         SpacecraftResponseDTO response = spacecraftService.getSpacecraftById(id);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/free-windows")
+    public ResponseEntity<List<FreeWindowResponseDTO>> getFreeWindows(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        spacecraftService.getEntityById(id);
+        List<FreeWindowResponseDTO> response = missionScheduleService.findFreeWindows(id, from, to);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping
     public ResponseEntity<SpacecraftResponseDTO> createSpacecraft(@Valid @RequestBody SpacecraftRequestDTO request) {
         SpacecraftResponseDTO response = spacecraftService.createSpacecraft(request);
@@ -0,0 +1,10 @@
+package org.orbitalLogistic.dto.common;
+
+import java.util.List;
+
+public record CursorPageResponseDTO<T>(
+    List<T> content,
+    int pageSize,
+    String nextCursor,
+    boolean hasNext
+) {}
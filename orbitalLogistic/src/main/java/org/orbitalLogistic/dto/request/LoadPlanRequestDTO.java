@@ -0,0 +1,16 @@
+package org.orbitalLogistic.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public record LoadPlanRequestDTO(
+    @NotEmpty(message = "At least one cargo item is required")
+    @Size(max = 10000, message = "A plan must not exceed 10000 cargo items")
+    @Valid
+    List<CargoManifestRequestDTO.CargoItemDTO> items,
+
+    // Корабли-кандидаты; если не заданы, используется доступный флот (DOCKED, MAINTENANCE)
+    List<Long> spacecraftIds
+) {}
@@ -0,0 +1,7 @@
+package org.orbitalLogistic.dto.response;
+
+public record CargoImportErrorDTO(
+    long row,
+    String name,
+    String message
+) {}
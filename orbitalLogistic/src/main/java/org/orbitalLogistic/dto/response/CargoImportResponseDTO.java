@@ -0,0 +1,13 @@
+package org.orbitalLogistic.dto.response;
+
+import java.util.List;
+
+public record CargoImportResponseDTO(
+    long totalRows,
+    long importedRows,
+    long rejectedRows,
+    int createdCargos,
+    int createdStorageEntries,
+    int updatedStorageEntries,
+    List<CargoImportErrorDTO> errors
+) {}
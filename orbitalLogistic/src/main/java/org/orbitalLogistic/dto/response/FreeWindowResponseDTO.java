@@ -0,0 +1,8 @@
+package org.orbitalLogistic.dto.response;
+
+import java.time.LocalDateTime;
+
+public record FreeWindowResponseDTO(
+    LocalDateTime start,
+    LocalDateTime end
+) {}
@@ -0,0 +1,12 @@
+package org.orbitalLogistic.dto.response;
+
+import org.orbitalLogistic.dto.request.CargoManifestRequestDTO;
+
+import java.util.List;
+
+public record LoadPlanResponseDTO(
+    int plannedItems,
+    int spacecraftsUsed,
+    List<SpacecraftLoadPlanDTO> spacecrafts,
+    List<CargoManifestRequestDTO.CargoItemDTO> unplacedItems
+) {}
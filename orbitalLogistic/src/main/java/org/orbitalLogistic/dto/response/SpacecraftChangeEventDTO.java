@@ -0,0 +1,10 @@
+package org.orbitalLogistic.dto.response;
+
+import org.orbitalLogistic.entities.enums.SpacecraftStatus;
+
+public record SpacecraftChangeEventDTO(
+    Long spacecraftId,
+    SpacecraftStatus status,
+    String currentLocation,
+    Boolean removed
+) {}
@@ -0,0 +1,17 @@
+package org.orbitalLogistic.dto.response;
+
+import org.orbitalLogistic.dto.request.CargoManifestRequestDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record SpacecraftLoadPlanDTO(
+    Long spacecraftId,
+    String spacecraftName,
+    BigDecimal plannedMass,
+    BigDecimal plannedVolume,
+    BigDecimal remainingMassCapacity,
+    BigDecimal remainingVolumeCapacity,
+    // Готовые позиции для cargoItems в POST /api/spacecrafts/{id}/load-cargo
+    List<CargoManifestRequestDTO.CargoItemDTO> cargoItems
+) {}
@@ -0,0 +1,19 @@
+package org.orbitalLogistic.dto.response;
+
+import org.orbitalLogistic.entities.enums.HazardLevel;
+import org.orbitalLogistic.entities.enums.StorageTypeEnum;
+
+import java.math.BigDecimal;
+
+public record StorageOccupancyResponseDTO(
+    String location,
+    StorageTypeEnum storageType,
+    HazardLevel hazardLevel,
+    Integer storageUnits,
+    BigDecimal totalMassCapacity,
+    BigDecimal totalVolumeCapacity,
+    BigDecimal storedMass,
+    BigDecimal storedVolume,
+    Double massUsagePercentage,
+    Double volumeUsagePercentage
+) {}
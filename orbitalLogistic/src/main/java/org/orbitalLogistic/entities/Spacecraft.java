@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -54,4 +55,13 @@ public class Spacecraft {
     @Size(max = 100, message = "Location must not exceed 100 characters")
     @Column("current_location")
     private String currentLocation;
+
+    // Поддерживается SpacecraftLoadService, через репозиторий не записывается
+    @ReadOnlyProperty
+    @Column("current_mass_usage")
+    private BigDecimal currentMassUsage;
+
+    @ReadOnlyProperty
+    @Column("current_volume_usage")
+    private BigDecimal currentVolumeUsage;
 }
\ No newline at end of file
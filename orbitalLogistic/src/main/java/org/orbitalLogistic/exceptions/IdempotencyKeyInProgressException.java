@@ -0,0 +1,7 @@
+package org.orbitalLogistic.exceptions;
+
+public class IdempotencyKeyInProgressException extends InvalidOperationException {
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
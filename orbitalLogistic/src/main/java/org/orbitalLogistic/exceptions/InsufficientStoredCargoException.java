@@ -0,0 +1,7 @@
+package org.orbitalLogistic.exceptions;
+
+public class InsufficientStoredCargoException extends InvalidOperationException {
+    public InsufficientStoredCargoException(String message) {
+        super(message);
+    }
+}
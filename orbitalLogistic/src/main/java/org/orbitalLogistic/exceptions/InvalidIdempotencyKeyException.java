@@ -0,0 +1,7 @@
+package org.orbitalLogistic.exceptions;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
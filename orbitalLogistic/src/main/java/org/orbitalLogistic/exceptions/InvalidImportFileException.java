@@ -0,0 +1,7 @@
+package org.orbitalLogistic.exceptions;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.orbitalLogistic.exceptions;
+
+public class InvalidTimeRangeException extends RuntimeException {
+    public InvalidTimeRangeException(String message) {
+        super(message);
+    }
+}
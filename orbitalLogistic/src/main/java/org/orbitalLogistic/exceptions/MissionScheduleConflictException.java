@@ -0,0 +1,7 @@
+package org.orbitalLogistic.exceptions;
+
+public class MissionScheduleConflictException extends InvalidOperationException {
+    public MissionScheduleConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.orbitalLogistic.exceptions;
+
+public class StorageCapacityExceededException extends InvalidOperationException {
+    public StorageCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,147 @@
+package org.orbitalLogistic.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Буферизует тело запроса и ответа для POST с заголовком Idempotency-Key, адресованных
+ * методу с @Idempotent: IdempotencyInterceptor хэширует тело запроса до вызова контроллера
+ * и сохраняет тело ответа после. Обработчик определяется той же HandlerMapping, что и
+ * в DispatcherServlet, поэтому остальные POST (в том числе большие загрузки) не копируются
+ * в память. Multipart-запросы не буферизуются никогда.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final ObjectProvider<HandlerMapping> handlerMapping;
+
+    public IdempotencyFilter(ObjectProvider<HandlerMapping> handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.regionMatches(true, 0, "multipart/", 0, 10)) {
+            return true;
+        }
+        return !isIdempotentHandler(request);
+    }
+
+    /**
+     * HandlerMapping с PathPatternParser ждёт разобранный путь в атрибуте запроса; DispatcherServlet
+     * разбирает его позже сам, поэтому прежнее значение атрибута восстанавливается.
+     */
+    private boolean isIdempotentHandler(HttpServletRequest request) {
+        RequestPath previous = ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : null;
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            HandlerExecutionChain chain = handlerMapping.getObject().getHandler(request);
+            return chain != null && chain.getHandler() instanceof HandlerMethod handlerMethod
+                    && handlerMethod.hasMethodAnnotation(Idempotent.class);
+        } catch (Exception e) {
+            // Обработчик не найден или не разрешается: DispatcherServlet ответит сам, буфер не нужен
+            return false;
+        } finally {
+            if (previous != null) {
+                ServletRequestPathUtils.setParsedRequestPath(previous, request);
+            } else {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, request.getInputStream().readAllBytes());
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(cachedRequest, cachedResponse);
+        } finally {
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Запрос с телом, прочитанным заранее: его можно читать повторно.
+     */
+    static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.orbitalLogistic.idempotency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.orbitalLogistic.exceptions.InvalidIdempotencyKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Применяет Idempotency-Key к методам с @Idempotent: захватывает ключ до вызова контроллера,
+ * отдаёт сохранённый ответ повторам и сохраняет ответ после выполнения — статус, тело
+ * и заголовки (Location и т. п.), кроме транспортных и тех, что выставляются заново на каждый запрос.
+ * Ответы 5xx и необработанные исключения не сохраняются — ключ освобождается для повтора.
+ */
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String CLAIM_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".claim";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> TRANSIENT_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION, HttpHeaders.DATE, HttpHeaders.SET_COOKIE, HttpHeaders.VARY,
+            REPLAYED_HEADER);
+
+    private final IdempotencyStore idempotencyStore;
+
+    public IdempotencyInterceptor(IdempotencyStore idempotencyStore) {
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String key = request.getHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER);
+        if (key == null || !(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.hasMethodAnnotation(Idempotent.class)) {
+            return true;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        IdempotencyFilter.CachedBodyRequest cachedRequest =
+                WebUtils.getNativeRequest(request, IdempotencyFilter.CachedBodyRequest.class);
+        if (cachedRequest == null) {
+            // IdempotencyFilter не буферизует multipart: без тела повтор нельзя отличить от другого запроса
+            throw new InvalidIdempotencyKeyException("Idempotency-Key is not supported for this request content type");
+        }
+        IdempotencyStore.Claim claim = idempotencyStore.claim(
+                key, request.getMethod() + " " + request.getRequestURI(), sha256(cachedRequest.getBody()));
+
+        if (claim.isReplay()) {
+            IdempotencyStore.StoredResponse stored = claim.replay();
+            response.setStatus(stored.status());
+            if (stored.contentType() != null) {
+                response.setContentType(stored.contentType());
+            }
+            stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            response.setHeader(REPLAYED_HEADER, "true");
+            if (stored.body() != null) {
+                response.getOutputStream().write(stored.body());
+            }
+            return false;
+        }
+
+        request.setAttribute(CLAIM_ATTRIBUTE, claim);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(CLAIM_ATTRIBUTE) instanceof IdempotencyStore.Claim claim)) {
+            return;
+        }
+        request.removeAttribute(CLAIM_ATTRIBUTE);
+
+        ContentCachingResponseWrapper cachedResponse =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (ex != null || response.getStatus() >= 500 || cachedResponse == null) {
+            idempotencyStore.abandon(claim);
+            return;
+        }
+        idempotencyStore.complete(claim, response.getStatus(), response.getContentType(), replayableHeaders(response),
+                cachedResponse.getContentAsByteArray());
+    }
+
+    private static Map<String, List<String>> replayableHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : new LinkedHashSet<>(response.getHeaderNames())) {
+            if (TRANSIENT_HEADERS.stream().noneMatch(name::equalsIgnoreCase)
+                    && !name.regionMatches(true, 0, "Access-Control-", 0, 15)) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package org.orbitalLogistic.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.orbitalLogistic.cache.ReferenceDataCache;
+import org.orbitalLogistic.exceptions.IdempotencyKeyInProgressException;
+import org.orbitalLogistic.exceptions.IdempotencyKeyReusedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Хранилище ключей идемпотентности: таблица idempotency_key плюс локальный кэш готовых ответов.
+ * Захват ключа — одна вставка IN_PROGRESS в автокоммите, поэтому на время выполнения запроса
+ * никакие блокировки в БД не удерживаются. Дубликаты внутри процесса ждут завершения первого
+ * запроса на защёлке и получают его ответ; дубликаты с других узлов получают 409 с Retry-After.
+ * Ключ, захваченный упавшим узлом, освобождается по истечении lease (locked_until).
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETED = "COMPLETED";
+    private static final int SWEEP_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataCache<String, StoredResponse> responseCache;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, ReferenceDataCache<String, StoredResponse> responseCache,
+                            Duration ttl, Duration lease, Duration waitTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.responseCache = responseCache;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * headers — заголовки ответа кроме Content-Type, в порядке записи; значения одного имени идут списком.
+     */
+    public record StoredResponse(String requestHash, int status, String contentType,
+                                 Map<String, List<String>> headers, byte[] body, Instant expiresAt) {
+
+        boolean isExpired() {
+            return !expiresAt.isAfter(Instant.now());
+        }
+    }
+
+    /**
+     * Результат захвата: либо ключ принадлежит текущему запросу (replay == null),
+     * либо запрос уже выполнялся и нужно вернуть сохранённый ответ.
+     */
+    public record Claim(String key, String requestPath, String requestHash, StoredResponse replay) {
+
+        public boolean isReplay() {
+            return replay != null;
+        }
+    }
+
+    private record InFlight(String requestHash, CountDownLatch done) {}
+
+    public Claim claim(String key, String requestPath, String requestHash) {
+        String cacheKey = cacheKey(key, requestPath);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            StoredResponse cached = responseCache.get(cacheKey, k -> null);
+            if (cached != null && !cached.isExpired()) {
+                return replay(key, requestPath, requestHash, cached);
+            }
+
+            InFlight own = new InFlight(requestHash, new CountDownLatch(1));
+            InFlight leader = inFlight.putIfAbsent(cacheKey, own);
+            if (leader == null) {
+                return claimInDatabase(key, requestPath, requestHash, cacheKey, own);
+            }
+
+            verifyHash(key, requestHash, leader.requestHash());
+            if (!await(leader.done(), deadline)) {
+                throw inProgress(key);
+            }
+        }
+    }
+
+    /**
+     * Сохраняет ответ захваченного ключа и будит ожидающие дубликаты.
+     */
+    public void complete(Claim claim, int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        List<String> headerNames = new ArrayList<>();
+        List<String> headerValues = new ArrayList<>();
+        headers.forEach((name, values) -> values.forEach(value -> {
+            headerNames.add(name);
+            headerValues.add(value);
+        }));
+        try {
+            jdbcTemplate.update("UPDATE idempotency_key SET status = ?, response_status = ?, " +
+                                "response_content_type = ?, response_header_names = ?, response_header_values = ?, " +
+                                "response_body = ?, locked_until = NULL, expires_at = ? " +
+                                "WHERE idempotency_key = ? AND request_path = ?",
+                    COMPLETED, status, contentType, headerNames.toArray(String[]::new),
+                    headerValues.toArray(String[]::new), body, Timestamp.from(expiresAt),
+                    claim.key(), claim.requestPath());
+            responseCache.put(cacheKey(claim.key(), claim.requestPath()),
+                    new StoredResponse(claim.requestHash(), status, contentType, headers, body, expiresAt));
+        } finally {
+            release(cacheKey(claim.key(), claim.requestPath()));
+        }
+    }
+
+    /**
+     * Освобождает ключ без сохранения ответа (ошибка сервера): повтор клиента выполнится заново.
+     */
+    public void abandon(Claim claim) {
+        try {
+            jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND request_path = ? AND status = ?",
+                    claim.key(), claim.requestPath(), IN_PROGRESS);
+        } finally {
+            release(cacheKey(claim.key(), claim.requestPath()));
+        }
+    }
+
+    /**
+     * Удаляет просроченные ключи пачками, чтобы не держать длинную транзакцию на большой таблице.
+     * Возвращает число удалённых строк.
+     */
+    @Scheduled(fixedDelayString = "${orbital.idempotency.sweep-interval:PT10M}")
+    public int sweepExpired() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM idempotency_key WHERE ctid IN (" +
+                                          "SELECT ctid FROM idempotency_key WHERE expires_at < now() LIMIT ?)",
+                    SWEEP_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == SWEEP_BATCH_SIZE);
+
+        if (total > 0) {
+            log.debug("Swept {} expired idempotency keys", total);
+        }
+        return total;
+    }
+
+    private Claim claimInDatabase(String key, String requestPath, String requestHash, String cacheKey, InFlight own) {
+        try {
+            Timestamp lockedUntil = Timestamp.from(Instant.now().plus(lease));
+            Timestamp expiresAt = Timestamp.from(Instant.now().plus(ttl));
+
+            List<String> inserted = jdbcTemplate.queryForList(
+                    "INSERT INTO idempotency_key (idempotency_key, request_path, request_hash, status, locked_until, expires_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING RETURNING idempotency_key",
+                    String.class, key, requestPath, requestHash, IN_PROGRESS, lockedUntil, expiresAt);
+            if (!inserted.isEmpty()) {
+                return new Claim(key, requestPath, requestHash, null);
+            }
+
+            List<ExistingKey> existing = jdbcTemplate.query(
+                    "SELECT request_hash, status, response_status, response_content_type, " +
+                    "response_header_names, response_header_values, response_body, " +
+                    "locked_until > now() AS locked, expires_at, expires_at <= now() AS expired " +
+                    "FROM idempotency_key WHERE idempotency_key = ? AND request_path = ?",
+                    (rs, rowNum) -> new ExistingKey(
+                            rs.getString("request_hash"),
+                            rs.getString("status"),
+                            rs.getInt("response_status"),
+                            rs.getString("response_content_type"),
+                            headers(rs.getArray("response_header_names"), rs.getArray("response_header_values")),
+                            rs.getBytes("response_body"),
+                            rs.getBoolean("locked"),
+                            rs.getTimestamp("expires_at").toInstant(),
+                            rs.getBoolean("expired")),
+                    key, requestPath);
+
+            if (existing.isEmpty() || existing.getFirst().expired()
+                    || (IN_PROGRESS.equals(existing.getFirst().status()) && !existing.getFirst().locked())) {
+                // Ключ просрочен или брошен упавшим обработчиком: забираем его условным UPDATE
+                if (takeOver(key, requestPath, requestHash, lockedUntil, expiresAt)) {
+                    return new Claim(key, requestPath, requestHash, null);
+                }
+                throw inProgress(key);
+            }
+
+            ExistingKey row = existing.getFirst();
+            verifyHash(key, requestHash, row.requestHash());
+            if (IN_PROGRESS.equals(row.status())) {
+                throw inProgress(key);
+            }
+
+            StoredResponse stored = new StoredResponse(row.requestHash(), row.responseStatus(),
+                    row.responseContentType(), row.responseHeaders(), row.responseBody(), row.expiresAt());
+            responseCache.put(cacheKey, stored);
+            release(cacheKey);
+            return new Claim(key, requestPath, requestHash, stored);
+        } catch (RuntimeException e) {
+            release(cacheKey);
+            throw e;
+        }
+    }
+
+    private boolean takeOver(String key, String requestPath, String requestHash,
+                             Timestamp lockedUntil, Timestamp expiresAt) {
+        int updated = jdbcTemplate.update(
+                "INSERT INTO idempotency_key (idempotency_key, request_path, request_hash, status, locked_until, expires_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (idempotency_key, request_path) DO UPDATE SET " +
+                "request_hash = EXCLUDED.request_hash, status = EXCLUDED.status, response_status = NULL, " +
+                "response_content_type = NULL, response_header_names = NULL, response_header_values = NULL, " +
+                "response_body = NULL, " +
+                "locked_until = EXCLUDED.locked_until, expires_at = EXCLUDED.expires_at " +
+                "WHERE idempotency_key.expires_at <= now() " +
+                "OR (idempotency_key.status = ? AND idempotency_key.locked_until <= now())",
+                key, requestPath, requestHash, IN_PROGRESS, lockedUntil, expiresAt, IN_PROGRESS);
+        return updated == 1;
+    }
+
+    private Claim replay(String key, String requestPath, String requestHash, StoredResponse stored) {
+        verifyHash(key, requestHash, stored.requestHash());
+        return new Claim(key, requestPath, requestHash, stored);
+    }
+
+    private void release(String cacheKey) {
+        InFlight released = inFlight.remove(cacheKey);
+        if (released != null) {
+            released.done().countDown();
+        }
+    }
+
+    private static void verifyHash(String key, String requestHash, String storedHash) {
+        if (!requestHash.equals(storedHash)) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency key " + key + " was already used with a different request body");
+        }
+    }
+
+    private static IdempotencyKeyInProgressException inProgress(String key) {
+        return new IdempotencyKeyInProgressException("Request with idempotency key " + key + " is still in progress");
+    }
+
+    private static boolean await(CountDownLatch latch, long deadline) {
+        try {
+            return latch.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Map<String, List<String>> headers(Array names, Array values) throws SQLException {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (names == null || values == null) {
+            return headers;
+        }
+        String[] headerNames = (String[]) names.getArray();
+        String[] headerValues = (String[]) values.getArray();
+        for (int i = 0; i < headerNames.length; i++) {
+            headers.computeIfAbsent(headerNames[i], name -> new ArrayList<>()).add(headerValues[i]);
+        }
+        return headers;
+    }
+
+    private static String cacheKey(String key, String requestPath) {
+        return requestPath + " " + key;
+    }
+
+    private record ExistingKey(String requestHash, String status, int responseStatus, String responseContentType,
+                               Map<String, List<String>> responseHeaders, byte[] responseBody,
+                               boolean locked, Instant expiresAt, boolean expired) {}
+}
@@ -0,0 +1,18 @@
+package org.orbitalLogistic.idempotency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Эндпоинт принимает заголовок Idempotency-Key: повтор запроса с тем же ключом
+ * не выполняется заново, а получает сохранённый ответ первого выполнения.
+ * Запросы без заголовка обрабатываются как обычно.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
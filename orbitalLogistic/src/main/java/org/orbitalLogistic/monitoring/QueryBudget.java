@@ -0,0 +1,19 @@
+package org.orbitalLogistic.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Допустимое число SQL-запросов на один вызов эндпоинта.
+ * Без аннотации действует orbital.query-counter.max-statements.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int maxStatements();
+}
@@ -0,0 +1,12 @@
+package org.orbitalLogistic.monitoring;
+
+/**
+ * Бросается QueryCountingFilter в строгом режиме (orbital.query-counter.fail-on-budget-exceeded=true),
+ * который включается в тестовом профиле, чтобы интеграционные тесты падали на превышении бюджета запросов.
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,130 @@
+package org.orbitalLogistic.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource, считающий выполненные statement в QueryStatistics текущего потока.
+ * Соединение оборачивается только если статистика активна в момент getConnection,
+ * поэтому фоновые задачи, Flyway и LISTEN-соединение работают с исходным соединением без накладных расходов.
+ * unwrap/isWrapperFor делегируются исходному объекту, так что приведение к PGConnection продолжает работать.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics == null) {
+            return connection;
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection, statistics));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Counting[" + target + "]";
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends DelegatingHandler {
+
+        private final QueryStatistics statistics;
+
+        ConnectionHandler(Connection target, QueryStatistics statistics) {
+            super(target);
+            this.statistics = statistics;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, (String) args[0], statistics));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0], statistics));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement, null, statistics));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends DelegatingHandler {
+
+        private final String sql;
+        private final QueryStatistics statistics;
+
+        StatementHandler(Statement target, String sql, QueryStatistics statistics) {
+            super(target);
+            this.sql = sql;
+            this.statistics = statistics;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return delegate(method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return delegate(method, args);
+            } finally {
+                String executed = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : "";
+                statistics.record(executed, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.orbitalLogistic.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Считает SQL-запросы каждого HTTP-запроса через QueryCountingDataSource.
+ * Итоги отдаются заголовками X-Query-Count, X-Query-Time-Ms и X-Query-Repeated
+ * (выставляются перед первой записью тела, пока ответ не закоммичен) и метриками
+ * http.server.requests.queries / http.server.requests.query.time с тегами method и uri.
+ * Превышение бюджета (@QueryBudget или orbital.query-counter.max-statements) и повтор
+ * одного шаблона запроса не меньше repeat-threshold раз логируются как предупреждения;
+ * в строгом режиме превышение бюджета завершается QueryBudgetExceededException.
+ */
+@Slf4j
+public class QueryCountingFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+    public static final String QUERY_REPEATED_HEADER = "X-Query-Repeated";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int repeatThreshold;
+    private final boolean failOnBudgetExceeded;
+
+    public QueryCountingFilter(MeterRegistry meterRegistry, int maxStatements, int repeatThreshold,
+                               boolean failOnBudgetExceeded) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStatistics statistics = QueryStatistics.start();
+        HeaderWritingResponse wrappedResponse = new HeaderWritingResponse(response, statistics);
+        try {
+            filterChain.doFilter(request, wrappedResponse);
+        } finally {
+            QueryStatistics.clear();
+        }
+        wrappedResponse.writeHeaders();
+        report(request, statistics);
+    }
+
+    private void report(HttpServletRequest request, QueryStatistics statistics) {
+        String method = request.getMethod();
+        String uri = resolveUri(request);
+        int count = statistics.getStatementCount();
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements executed per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(count);
+        Timer.builder("http.server.requests.query.time")
+                .description("Time spent in SQL statements per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getTotalNanos(), TimeUnit.NANOSECONDS);
+
+        QueryStatistics.Shape repeated = statistics.getMostRepeatedShape();
+        if (repeated != null && repeated.count() >= repeatThreshold) {
+            log.warn("Possible N+1 in {} {}: statement executed {} times: {}", method, uri, repeated.count(), repeated.sql());
+        }
+
+        int budget = resolveBudget(request);
+        if (count > budget) {
+            Counter.builder("http.server.requests.query.budget.exceeded")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            String message = String.format(Locale.ROOT, "%s %s executed %d SQL statements, budget is %d",
+                    method, uri, count, budget);
+            if (failOnBudgetExceeded) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private int resolveBudget(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            QueryBudget queryBudget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            if (queryBudget != null) {
+                return queryBudget.maxStatements();
+            }
+        }
+        return maxStatements;
+    }
+
+    private static String resolveUri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    /**
+     * Выставляет заголовки со статистикой непосредственно перед тем, как ответ начнёт писаться:
+     * после возврата из цепочки фильтров тело обычно уже закоммичено.
+     */
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final QueryStatistics statistics;
+        private boolean headersWritten;
+
+        HeaderWritingResponse(HttpServletResponse response, QueryStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                headersWritten = true;
+                return;
+            }
+            headersWritten = true;
+            setHeader(QUERY_COUNT_HEADER, String.valueOf(statistics.getStatementCount()));
+            setHeader(QUERY_TIME_HEADER, String.format(Locale.ROOT, "%.3f", statistics.getTotalNanos() / 1_000_000.0));
+            setHeader(QUERY_REPEATED_HEADER, String.valueOf(statistics.getRepeatedStatementCount()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
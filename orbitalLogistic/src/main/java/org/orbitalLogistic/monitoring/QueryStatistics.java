@@ -0,0 +1,99 @@
+package org.orbitalLogistic.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Статистика SQL-запросов в пределах одного HTTP-запроса: число выполненных statement,
+ * суммарное время в базе и количество повторов одного и того же «шаблона» запроса.
+ * Шаблон — текст SQL с литералами, заменёнными на ?, поэтому N+1 по разным id
+ * сворачивается в одну запись.
+ * Текущий экземпляр хранится в ThreadLocal; record синхронизирован, чтобы экземпляр
+ * можно было разделить между задачами, выполняющими запросы параллельно.
+ */
+public final class QueryStatistics {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statementCount;
+    private long totalNanos;
+
+    public static QueryStatistics start() {
+        QueryStatistics statistics = new QueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Привязывает статистику запроса к другому потоку, выполняющему часть его работы.
+     */
+    public static void bind(QueryStatistics statistics) {
+        if (statistics != null) {
+            CURRENT.set(statistics);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public synchronized void record(String sql, long elapsedNanos) {
+        statementCount++;
+        totalNanos += elapsedNanos;
+        shapes.merge(normalize(sql), 1, Integer::sum);
+    }
+
+    public synchronized int getStatementCount() {
+        return statementCount;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Сколько выполнений пришлось на уже встречавшиеся шаблоны (для N запросов одного вида — N-1).
+     */
+    public synchronized int getRepeatedStatementCount() {
+        return statementCount - shapes.size();
+    }
+
+    /**
+     * Самый часто повторяющийся шаблон или null, если запросов не было.
+     */
+    public synchronized Shape getMostRepeatedShape() {
+        Shape top = null;
+        for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+            if (top == null || entry.getValue() > top.count()) {
+                top = new Shape(entry.getKey(), entry.getValue());
+            }
+        }
+        return top;
+    }
+
+    static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    public record Shape(String sql, int count) {
+    }
+}
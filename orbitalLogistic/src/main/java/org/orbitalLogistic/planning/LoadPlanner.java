@@ -0,0 +1,137 @@
+package org.orbitalLogistic.planning;
+
+import java.util.Arrays;
+
+/**
+ * Раскладка грузов по кораблям методом first-fit decreasing на примитивных массивах.
+ * Позиция — cargo с количеством одинаковых единиц; единицы одной позиции могут
+ * разойтись по нескольким кораблям. Позиции обрабатываются по убыванию ранга (приоритета),
+ * внутри ранга — по убыванию размера единицы, где размер — наибольшая из долей массы
+ * и объёма от суммарной свободной вместимости флота. Каждая позиция заполняет первый
+ * подходящий корабль в заданном порядке, остаток переходит к следующему.
+ * Сложность O(n log n + n * m) для n позиций и m кораблей.
+ *
+ * Масса и объём передаются в целых сотых (DECIMAL(..., 2) в БД), поэтому расчёт точен.
+ * Совместимость по опасности задаётся битовыми масками: корабль хранит маску уже
+ * погруженных уровней, позиция уровня h допустима, если маска не выходит за compatible[h].
+ */
+public final class LoadPlanner {
+
+    private LoadPlanner() {
+    }
+
+    /**
+     * @param unitMass       масса единицы каждой позиции, > 0
+     * @param unitVolume     объём единицы каждой позиции, > 0
+     * @param quantity       количество единиц каждой позиции
+     * @param rank           ранг позиции: больший ранг раскладывается раньше
+     * @param hazard         уровень опасности позиции (индекс в compatible)
+     * @param massCapacity   свободная масса каждого корабля
+     * @param volumeCapacity свободный объём каждого корабля
+     * @param hazardMask     маски уровней опасности, уже находящихся на кораблях
+     * @param compatible     для каждого уровня — маска уровней, с которыми его можно везти вместе
+     */
+    public static Plan pack(long[] unitMass, long[] unitVolume, int[] quantity, int[] rank, int[] hazard,
+                            long[] massCapacity, long[] volumeCapacity, int[] hazardMask, int[] compatible) {
+        int items = unitMass.length;
+        int bins = massCapacity.length;
+        if (unitVolume.length != items || quantity.length != items || rank.length != items || hazard.length != items) {
+            throw new IllegalArgumentException("Item arrays must have equal length");
+        }
+        if (volumeCapacity.length != bins || hazardMask.length != bins) {
+            throw new IllegalArgumentException("Bin arrays must have equal length");
+        }
+
+        long[] remainingMass = massCapacity.clone();
+        long[] remainingVolume = volumeCapacity.clone();
+        int[] mask = hazardMask.clone();
+        int[] unplaced = quantity.clone();
+
+        Plan.Builder plan = new Plan.Builder(items);
+        for (int item : order(unitMass, unitVolume, rank, remainingMass, remainingVolume)) {
+            long mass = unitMass[item];
+            long volume = unitVolume[item];
+            if (mass <= 0 || volume <= 0) {
+                throw new IllegalArgumentException("Unit mass and volume must be positive for item " + item);
+            }
+            int level = hazard[item];
+            int levelBit = 1 << level;
+            int allowed = compatible[level];
+
+            for (int bin = 0; bin < bins && unplaced[item] > 0; bin++) {
+                if ((mask[bin] & ~allowed) != 0) {
+                    continue;
+                }
+                long fit = Math.min(unplaced[item], Math.min(remainingMass[bin] / mass, remainingVolume[bin] / volume));
+                if (fit <= 0) {
+                    continue;
+                }
+                remainingMass[bin] -= fit * mass;
+                remainingVolume[bin] -= fit * volume;
+                mask[bin] |= levelBit;
+                unplaced[item] -= (int) fit;
+                plan.add(item, bin, (int) fit);
+            }
+        }
+        return plan.build(unplaced, remainingMass, remainingVolume);
+    }
+
+    private static Integer[] order(long[] unitMass, long[] unitVolume, int[] rank,
+                                   long[] massCapacity, long[] volumeCapacity) {
+        double totalMass = Math.max(1, Arrays.stream(massCapacity).sum());
+        double totalVolume = Math.max(1, Arrays.stream(volumeCapacity).sum());
+        double[] size = new double[unitMass.length];
+        Integer[] order = new Integer[unitMass.length];
+        for (int i = 0; i < unitMass.length; i++) {
+            size[i] = Math.max(unitMass[i] / totalMass, unitVolume[i] / totalVolume);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> rank[a] != rank[b]
+                ? Integer.compare(rank[b], rank[a])
+                : Double.compare(size[b], size[a]));
+        return order;
+    }
+
+    /**
+     * Результат раскладки: назначения (позиция, корабль, количество) в порядке их создания,
+     * неразложенный остаток по каждой позиции и оставшаяся вместимость кораблей.
+     */
+    public record Plan(int[] assignmentItem, int[] assignmentBin, int[] assignmentQuantity,
+                       int[] unplaced, long[] remainingMass, long[] remainingVolume) {
+
+        public int size() {
+            return assignmentItem.length;
+        }
+
+        private static final class Builder {
+            private int[] items;
+            private int[] bins;
+            private int[] quantities;
+            private int size;
+
+            private Builder(int expected) {
+                int capacity = Math.max(16, expected);
+                items = new int[capacity];
+                bins = new int[capacity];
+                quantities = new int[capacity];
+            }
+
+            private void add(int item, int bin, int quantity) {
+                if (size == items.length) {
+                    items = Arrays.copyOf(items, size * 2);
+                    bins = Arrays.copyOf(bins, size * 2);
+                    quantities = Arrays.copyOf(quantities, size * 2);
+                }
+                items[size] = item;
+                bins[size] = bin;
+                quantities[size] = quantity;
+                size++;
+            }
+
+            private Plan build(int[] unplaced, long[] remainingMass, long[] remainingVolume) {
+                return new Plan(Arrays.copyOf(items, size), Arrays.copyOf(bins, size),
+                        Arrays.copyOf(quantities, size), unplaced, remainingMass, remainingVolume);
+            }
+        }
+    }
+}
@@ -18,23 +18,38 @@ public interface CargoCategoryRepository extends CrudRepository<CargoCategory, L
     List<CargoCategory> findByParentCategoryIdIsNull();
     List<CargoCategory> findByParentCategoryId(Long parentCategoryId);
 
+    @Query("SELECT cc.* FROM cargo_category cc ORDER BY cc.id")
+    List<CargoCategory> findAllOrderById();
+
+    /**
+     * Фильтр по подстроке имени выбирается отдельным запросом, а не через ":name IS NULL OR ...":
+     * иначе общий план подготовленного запроса не использует idx_cargo_category_name_trgm.
+     */
+    default List<CargoCategory> findWithFilters(String name, int limit, int offset) {
+        return name != null ? findByNameWithFilters(name, limit, offset) : findAllOrderByName(limit, offset);
+    }
+
+    default long countWithFilters(String name) {
+        return name != null ? countByNameContaining(name) : count();
+    }
+
     @Query("""
         SELECT cc.* FROM cargo_category cc 
-        WHERE (CAST(:name AS TEXT) IS NULL OR LOWER(cc.name) LIKE LOWER(CONCAT('%', CAST(:name AS TEXT), '%')))
+        WHERE cc.name ILIKE CONCAT('%', CAST(:name AS TEXT), '%')
         ORDER BY cc.name
         LIMIT :limit OFFSET :offset
     """)
-    List<CargoCategory> findWithFilters(
+    List<CargoCategory> findByNameWithFilters(
         @Param("name") String name,
         @Param("limit") int limit,
         @Param("offset") int offset
     );
 
-    @Query("""
-        SELECT COUNT(*) FROM cargo_category cc 
-        WHERE (CAST(:name AS TEXT) IS NULL OR LOWER(cc.name) LIKE LOWER(CONCAT('%', CAST(:name AS TEXT), '%')))
-    """)
-    long countWithFilters(@Param("name") String name);
+    @Query("SELECT cc.* FROM cargo_category cc ORDER BY cc.name LIMIT :limit OFFSET :offset")
+    List<CargoCategory> findAllOrderByName(@Param("limit") int limit, @Param("offset") int offset);
+
+    @Query("SELECT COUNT(*) FROM cargo_category cc WHERE cc.name ILIKE CONCAT('%', CAST(:name AS TEXT), '%')")
+    long countByNameContaining(@Param("name") String name);
 
     @Query("""
         WITH RECURSIVE category_tree AS (
@@ -50,6 +65,6 @@ public interface CargoCategoryRepository extends CrudRepository<CargoCategory, L
     """)
     List<CargoCategory> findCategoryTree(@Param("categoryId") Long categoryId);
 
-    @Query("SELECT cc.* FROM cargo_category cc WHERE LOWER(cc.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    @Query("SELECT cc.* FROM cargo_category cc WHERE cc.name ILIKE CONCAT('%', CAST(:searchTerm AS TEXT), '%')")
     List<CargoCategory> searchByName(@Param("searchTerm") String searchTerm);
 }
\ No newline at end of file
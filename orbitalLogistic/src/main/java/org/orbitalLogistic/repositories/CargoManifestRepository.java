@@ -90,6 +90,40 @@ public interface CargoManifestRepository extends CrudRepository<CargoManifest, L
     """)
     List<CargoManifest> findActiveCargoBySpacecraft(@Param("spacecraftId") Long spacecraftId);
 
+    @Query("""
+        UPDATE cargo_manifest SET
+            manifest_status = 'UNLOADED',
+            unloaded_at = :unloadedAt,
+            unloaded_by_user_id = :unloadedByUserId
+        WHERE spacecraft_id = :spacecraftId
+        AND manifest_status IN ('LOADED', 'IN_TRANSIT')
+        RETURNING *
+    """)
+    List<CargoManifest> unloadActiveCargoBySpacecraft(
+        @Param("spacecraftId") Long spacecraftId,
+        @Param("unloadedByUserId") Long unloadedByUserId,
+        @Param("unloadedAt") LocalDateTime unloadedAt
+    );
+
+    /**
+     * То же, что unloadActiveCargoBySpacecraft, но возвращает только id выгруженных манифестов:
+     * для сводной выгрузки строки целиком не передаются и не маппятся в сущности.
+     */
+    @Query("""
+        UPDATE cargo_manifest SET
+            manifest_status = 'UNLOADED',
+            unloaded_at = :unloadedAt,
+            unloaded_by_user_id = :unloadedByUserId
+        WHERE spacecraft_id = :spacecraftId
+        AND manifest_status IN ('LOADED', 'IN_TRANSIT')
+        RETURNING id
+    """)
+    List<Long> unloadActiveCargoIdsBySpacecraft(
+        @Param("spacecraftId") Long spacecraftId,
+        @Param("unloadedByUserId") Long unloadedByUserId,
+        @Param("unloadedAt") LocalDateTime unloadedAt
+    );
+
     @Query("""
         SELECT SUM(cm.quantity) FROM cargo_manifest cm
         WHERE cm.spacecraft_id = :spacecraftId
@@ -17,15 +17,33 @@ public interface CargoRepository extends CrudRepository<Cargo, Long> {
     boolean existsByName(String name);
     List<Cargo> findByCargoCategoryId(Long categoryId);
 
+    /**
+     * Поиск с необязательным фильтром по подстроке имени. Условие по имени не пишется как
+     * "CAST(:name AS TEXT) IS NULL OR c.name ILIKE ...": в общем плане подготовленного запроса
+     * PostgreSQL не знает, задан ли :name, и не может выбрать idx_cargo_name_trgm. Поэтому при
+     * заданном имени выполняется отдельный запрос с безусловным ILIKE.
+     */
+    default List<Cargo> findWithFilters(String name, String cargoType, String hazardLevel, int limit, int offset) {
+        return name != null
+                ? findByNameWithFilters(name, cargoType, hazardLevel, limit, offset)
+                : findWithoutNameFilter(cargoType, hazardLevel, limit, offset);
+    }
+
+    default long countWithFilters(String name, String cargoType, String hazardLevel) {
+        return name != null
+                ? countByNameWithFilters(name, cargoType, hazardLevel)
+                : countWithoutNameFilter(cargoType, hazardLevel);
+    }
+
     @Query("""
         SELECT c.* FROM cargo c 
-        WHERE (CAST(:name AS TEXT) IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', CAST(:name AS TEXT), '%'))) 
+        WHERE c.name ILIKE CONCAT('%', CAST(:name AS TEXT), '%') 
         AND (CAST(:cargoType AS TEXT) IS NULL OR c.cargo_type = CAST(:cargoType AS cargo_type_enum))
         AND (CAST(:hazardLevel AS TEXT) IS NULL OR c.hazard_level = CAST(:hazardLevel AS hazard_level_enum))
         ORDER BY c.id
         LIMIT :limit OFFSET :offset
     """)
-    List<Cargo> findWithFilters(
+    List<Cargo> findByNameWithFilters(
         @Param("name") String name,
         @Param("cargoType") String cargoType,
         @Param("hazardLevel") String hazardLevel,
@@ -33,15 +51,42 @@ public interface CargoRepository extends CrudRepository<Cargo, Long> {
         @Param("offset") int offset
     );
 
+    @Query("""
+        SELECT c.* FROM cargo c 
+        WHERE (CAST(:cargoType AS TEXT) IS NULL OR c.cargo_type = CAST(:cargoType AS cargo_type_enum))
+        AND (CAST(:hazardLevel AS TEXT) IS NULL OR c.hazard_level = CAST(:hazardLevel AS hazard_level_enum))
+        ORDER BY c.id
+        LIMIT :limit OFFSET :offset
+    """)
+    List<Cargo> findWithoutNameFilter(
+        @Param("cargoType") String cargoType,
+        @Param("hazardLevel") String hazardLevel,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+
     @Query("""
         SELECT COUNT(*) FROM cargo c 
-        WHERE (CAST(:name AS TEXT) IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', CAST(:name AS TEXT), '%'))) 
+        WHERE c.name ILIKE CONCAT('%', CAST(:name AS TEXT), '%') 
         AND (CAST(:cargoType AS TEXT) IS NULL OR c.cargo_type = CAST(:cargoType AS cargo_type_enum))
         AND (CAST(:hazardLevel AS TEXT) IS NULL OR c.hazard_level = CAST(:hazardLevel AS hazard_level_enum))
     """)
-    long countWithFilters(
+    long countByNameWithFilters(
         @Param("name") String name,
         @Param("cargoType") String cargoType,
         @Param("hazardLevel") String hazardLevel
     );
+
+    @Query("""
+        SELECT COUNT(*) FROM cargo c 
+        WHERE (CAST(:cargoType AS TEXT) IS NULL OR c.cargo_type = CAST(:cargoType AS cargo_type_enum))
+        AND (CAST(:hazardLevel AS TEXT) IS NULL OR c.hazard_level = CAST(:hazardLevel AS hazard_level_enum))
+    """)
+    long countWithoutNameFilter(
+        @Param("cargoType") String cargoType,
+        @Param("hazardLevel") String hazardLevel
+    );
+
+    @Query("SELECT c.* FROM cargo c WHERE c.id = ANY(:ids)")
+    List<Cargo> findAllByIds(@Param("ids") Long[] ids);
 }
\ No newline at end of file
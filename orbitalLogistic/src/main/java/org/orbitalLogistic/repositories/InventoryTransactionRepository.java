@@ -29,6 +29,25 @@ public interface InventoryTransactionRepository extends CrudRepository<Inventory
     """)
     List<InventoryTransaction> findByCargoIdOrderByTransactionDate(@Param("cargoId") Long cargoId);
 
+    @Query("""
+        SELECT it.* FROM inventory_transaction it
+        ORDER BY it.transaction_date DESC, it.id DESC
+        LIMIT :limit
+    """)
+    List<InventoryTransaction> findFirstKeysetPage(@Param("limit") int limit);
+
+    @Query("""
+        SELECT it.* FROM inventory_transaction it
+        WHERE (it.transaction_date, it.id) < (:afterDate, :afterId)
+        ORDER BY it.transaction_date DESC, it.id DESC
+        LIMIT :limit
+    """)
+    List<InventoryTransaction> findKeysetPageAfter(
+        @Param("afterDate") LocalDateTime afterDate,
+        @Param("afterId") Long afterId,
+        @Param("limit") int limit
+    );
+
     @Query("""
         SELECT it.* FROM inventory_transaction it
         WHERE (CAST(:transactionType AS TEXT) IS NULL OR it.transaction_type = CAST(:transactionType AS transaction_type_enum))
@@ -26,19 +26,63 @@ public interface MissionRepository extends CrudRepository<Mission, Long> {
     List<Mission> findByCommandingOfficerId(Long commandingOfficerId);
     List<Mission> findBySpacecraftId(Long spacecraftId);
 
-    @Query("""
-        SELECT m.* FROM mission m 
-        WHERE (CAST(:missionCode AS TEXT) IS NULL OR LOWER(m.mission_code) LIKE LOWER(CONCAT('%', CAST(:missionCode AS TEXT), '%')))
-        AND (CAST(:missionName AS TEXT) IS NULL OR LOWER(m.mission_name) LIKE LOWER(CONCAT('%', CAST(:missionName AS TEXT), '%')))
-        AND (CAST(:status AS TEXT) IS NULL OR m.status = CAST(:status AS mission_status_enum))
+    /**
+     * Фильтры поиска миссий, кроме подстрок кода и названия. Подстроки не пишутся как
+     * ":missionCode IS NULL OR ... ILIKE ...": в общем плане подготовленного запроса PostgreSQL
+     * не знает, задан ли параметр, и не использует триграммные индексы. Поэтому для каждого
+     * сочетания заданных подстрок есть свой запрос, а findWithFilters выбирает нужный.
+     */
+    String SEARCH_FILTERS = """
+        (CAST(:status AS TEXT) IS NULL OR m.status = CAST(:status AS mission_status_enum))
         AND (CAST(:missionType AS TEXT) IS NULL OR m.mission_type = CAST(:missionType AS mission_type_enum))
         AND (CAST(:priority AS TEXT) IS NULL OR m.priority = CAST(:priority AS mission_priority_enum))
         AND (CAST(:commandingOfficerId AS BIGINT) IS NULL OR m.commanding_officer_id = CAST(:commandingOfficerId AS BIGINT))
         AND (CAST(:spacecraftId AS BIGINT) IS NULL OR m.spacecraft_id = CAST(:spacecraftId AS BIGINT))
+    """;
+
+    String SEARCH_PAGE = """
         ORDER BY m.scheduled_departure DESC NULLS LAST, m.mission_code
         LIMIT :limit OFFSET :offset
-    """)
-    List<Mission> findWithFilters(
+    """;
+
+    String CODE_MATCHES = "m.mission_code ILIKE CONCAT('%', CAST(:missionCode AS TEXT), '%') AND ";
+    String NAME_MATCHES = "m.mission_name ILIKE CONCAT('%', CAST(:missionName AS TEXT), '%') AND ";
+
+    default List<Mission> findWithFilters(String missionCode, String missionName, String status, String missionType,
+                                          String priority, Long commandingOfficerId, Long spacecraftId,
+                                          int limit, int offset) {
+        if (missionCode != null && missionName != null) {
+            return findByCodeAndNameWithFilters(missionCode, missionName, status, missionType, priority,
+                    commandingOfficerId, spacecraftId, limit, offset);
+        }
+        if (missionCode != null) {
+            return findByCodeWithFilters(missionCode, status, missionType, priority,
+                    commandingOfficerId, spacecraftId, limit, offset);
+        }
+        if (missionName != null) {
+            return findByNameWithFilters(missionName, status, missionType, priority,
+                    commandingOfficerId, spacecraftId, limit, offset);
+        }
+        return findWithoutTextFilters(status, missionType, priority, commandingOfficerId, spacecraftId, limit, offset);
+    }
+
+    default long countWithFilters(String missionCode, String missionName, String status, String missionType,
+                                  String priority, Long commandingOfficerId, Long spacecraftId) {
+        if (missionCode != null && missionName != null) {
+            return countByCodeAndNameWithFilters(missionCode, missionName, status, missionType, priority,
+                    commandingOfficerId, spacecraftId);
+        }
+        if (missionCode != null) {
+            return countByCodeWithFilters(missionCode, status, missionType, priority, commandingOfficerId, spacecraftId);
+        }
+        if (missionName != null) {
+            return countByNameWithFilters(missionName, status, missionType, priority, commandingOfficerId, spacecraftId);
+        }
+        return countWithoutTextFilters(status, missionType, priority, commandingOfficerId, spacecraftId);
+    }
+
+    @Query("SELECT m.* FROM mission m WHERE " + CODE_MATCHES + NAME_MATCHES + SEARCH_FILTERS + SEARCH_PAGE)
+    List<Mission> findByCodeAndNameWithFilters(
         @Param("missionCode") String missionCode,
         @Param("missionName") String missionName,
         @Param("status") String status,
@@ -50,19 +94,74 @@ public interface MissionRepository extends CrudRepository<Mission, Long> {
         @Param("offset") int offset
     );
 
-    @Query("""
-        SELECT COUNT(*) FROM mission m 
-        WHERE (CAST(:missionCode AS TEXT) IS NULL OR LOWER(m.mission_code) LIKE LOWER(CONCAT('%', CAST(:missionCode AS TEXT), '%')))
-        AND (CAST(:missionName AS TEXT) IS NULL OR LOWER(m.mission_name) LIKE LOWER(CONCAT('%', CAST(:missionName AS TEXT), '%')))
-        AND (CAST(:status AS TEXT) IS NULL OR m.status = CAST(:status AS mission_status_enum))
-        AND (CAST(:missionType AS TEXT) IS NULL OR m.mission_type = CAST(:missionType AS mission_type_enum))
-        AND (CAST(:priority AS TEXT) IS NULL OR m.priority = CAST(:priority AS mission_priority_enum))
-        AND (CAST(:commandingOfficerId AS BIGINT) IS NULL OR m.commanding_officer_id = CAST(:commandingOfficerId AS BIGINT))
-        AND (CAST(:spacecraftId AS BIGINT) IS NULL OR m.spacecraft_id = CAST(:spacecraftId AS BIGINT))
-    """)
-    long countWithFilters(
+    @Query("SELECT m.* FROM mission m WHERE " + CODE_MATCHES + SEARCH_FILTERS + SEARCH_PAGE)
+    List<Mission> findByCodeWithFilters(
         @Param("missionCode") String missionCode,
+        @Param("status") String status,
+        @Param("missionType") String missionType,
+        @Param("priority") String priority,
+        @Param("commandingOfficerId") Long commandingOfficerId,
+        @Param("spacecraftId") Long spacecraftId,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+
+    @Query("SELECT m.* FROM mission m WHERE " + NAME_MATCHES + SEARCH_FILTERS + SEARCH_PAGE)
+    List<Mission> findByNameWithFilters(
         @Param("missionName") String missionName,
+        @Param("status") String status,
+        @Param("missionType") String missionType,
+        @Param("priority") String priority,
+        @Param("commandingOfficerId") Long commandingOfficerId,
+        @Param("spacecraftId") Long spacecraftId,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+
+    @Query("SELECT m.* FROM mission m WHERE " + SEARCH_FILTERS + SEARCH_PAGE)
+    List<Mission> findWithoutTextFilters(
+        @Param("status") String status,
+        @Param("missionType") String missionType,
+        @Param("priority") String priority,
+        @Param("commandingOfficerId") Long commandingOfficerId,
+        @Param("spacecraftId") Long spacecraftId,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+
+    @Query("SELECT COUNT(*) FROM mission m WHERE " + CODE_MATCHES + NAME_MATCHES + SEARCH_FILTERS)
+    long countByCodeAndNameWithFilters(
+        @Param("missionCode") String missionCode,
+        @Param("missionName") String missionName,
+        @Param("status") String status,
+        @Param("missionType") String missionType,
+        @Param("priority") String priority,
+        @Param("commandingOfficerId") Long commandingOfficerId,
+        @Param("spacecraftId") Long spacecraftId
+    );
+
+    @Query("SELECT COUNT(*) FROM mission m WHERE " + CODE_MATCHES + SEARCH_FILTERS)
+    long countByCodeWithFilters(
+        @Param("missionCode") String missionCode,
+        @Param("status") String status,
+        @Param("missionType") String missionType,
+        @Param("priority") String priority,
+        @Param("commandingOfficerId") Long commandingOfficerId,
+        @Param("spacecraftId") Long spacecraftId
+    );
+
+    @Query("SELECT COUNT(*) FROM mission m WHERE " + NAME_MATCHES + SEARCH_FILTERS)
+    long countByNameWithFilters(
+        @Param("missionName") String missionName,
+        @Param("status") String status,
+        @Param("missionType") String missionType,
+        @Param("priority") String priority,
+        @Param("commandingOfficerId") Long commandingOfficerId,
+        @Param("spacecraftId") Long spacecraftId
+    );
+
+    @Query("SELECT COUNT(*) FROM mission m WHERE " + SEARCH_FILTERS)
+    long countWithoutTextFilters(
         @Param("status") String status,
         @Param("missionType") String missionType,
         @Param("priority") String priority,
@@ -87,4 +186,7 @@ public interface MissionRepository extends CrudRepository<Mission, Long> {
         ORDER BY m.priority DESC, m.scheduled_departure
     """)
     List<Mission> findActiveMissions(@Param("dateTime") LocalDateTime dateTime);
+
+    @Query("SELECT m.* FROM mission m WHERE m.id = ANY(:ids)")
+    List<Mission> findAllByIds(@Param("ids") Long[] ids);
 }
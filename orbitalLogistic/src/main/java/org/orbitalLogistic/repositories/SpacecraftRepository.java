@@ -17,27 +17,62 @@ public interface SpacecraftRepository extends CrudRepository<Spacecraft, Long> {
     boolean existsByRegistryCode(String registryCode);
     List<Spacecraft> findByStatus(SpacecraftStatus status);
 
+    /**
+     * Фильтр по подстроке имени выбирается отдельным запросом, а не через ":name IS NULL OR ...":
+     * иначе общий план подготовленного запроса не использует idx_spacecraft_name_trgm.
+     */
+    default List<Spacecraft> findWithFilters(String name, String status, int limit, int offset) {
+        return name != null
+                ? findByNameWithFilters(name, status, limit, offset)
+                : findWithoutNameFilter(status, limit, offset);
+    }
+
+    default long countWithFilters(String name, String status) {
+        return name != null ? countByNameWithFilters(name, status) : countWithoutNameFilter(status);
+    }
+
     @Query("""
         SELECT s.* FROM spacecraft s 
-        WHERE (CAST(:name AS VARCHAR) IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', CAST(:name AS VARCHAR), '%'))) 
+        WHERE s.name ILIKE CONCAT('%', CAST(:name AS VARCHAR), '%') 
         AND (CAST(:status AS VARCHAR) IS NULL OR s.status = CAST(:status AS spacecraft_status_enum))
         ORDER BY s.id
         LIMIT :limit OFFSET :offset
     """)
-    List<Spacecraft> findWithFilters(
+    List<Spacecraft> findByNameWithFilters(
         @Param("name") String name,
         @Param("status") String status,
         @Param("limit") int limit,
         @Param("offset") int offset
     );
 
+    @Query("""
+        SELECT s.* FROM spacecraft s 
+        WHERE (CAST(:status AS VARCHAR) IS NULL OR s.status = CAST(:status AS spacecraft_status_enum))
+        ORDER BY s.id
+        LIMIT :limit OFFSET :offset
+    """)
+    List<Spacecraft> findWithoutNameFilter(
+        @Param("status") String status,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+
     @Query("""
         SELECT COUNT(*) FROM spacecraft s 
-        WHERE (CAST(:name AS VARCHAR) IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', CAST(:name AS VARCHAR), '%'))) 
+        WHERE s.name ILIKE CONCAT('%', CAST(:name AS VARCHAR), '%') 
         AND (CAST(:status AS VARCHAR) IS NULL OR s.status = CAST(:status AS spacecraft_status_enum))
     """)
-    long countWithFilters(@Param("name") String name, @Param("status") String status);
+    long countByNameWithFilters(@Param("name") String name, @Param("status") String status);
+
+    @Query("""
+        SELECT COUNT(*) FROM spacecraft s 
+        WHERE (CAST(:status AS VARCHAR) IS NULL OR s.status = CAST(:status AS spacecraft_status_enum))
+    """)
+    long countWithoutNameFilter(@Param("status") String status);
 
     @Query("SELECT s.* FROM spacecraft s WHERE s.status IN ('DOCKED', 'MAINTENANCE')")
     List<Spacecraft> findAvailableForMission();
+
+    @Query("SELECT s.* FROM spacecraft s WHERE s.id = ANY(:ids)")
+    List<Spacecraft> findAllByIds(@Param("ids") Long[] ids);
 }
\ No newline at end of file
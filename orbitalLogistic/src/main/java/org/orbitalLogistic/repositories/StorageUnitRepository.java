@@ -32,4 +32,7 @@ public interface StorageUnitRepository extends CrudRepository<StorageUnit, Long>
         @Param("requiredMass") Double requiredMass,
         @Param("requiredVolume") Double requiredVolume
     );
+
+    @Query("SELECT su.* FROM storage_unit su WHERE su.id = ANY(:ids)")
+    List<StorageUnit> findAllByIds(@Param("ids") Long[] ids);
 }
@@ -3,6 +3,7 @@ package org.orbitalLogistic.repositories;
 import org.orbitalLogistic.entities.User;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -30,4 +31,6 @@ public interface UserRepository extends CrudRepository<User, Long> {
        \s""")
     long countUsersWithFilters(String email, String name);
 
+    @Query("SELECT u.* FROM users u WHERE u.id = ANY(:ids)")
+    List<User> findAllByIds(@Param("ids") Long[] ids);
 }
@@ -0,0 +1,18 @@
+package org.orbitalLogistic.routing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * GET-эндпоинт только читает данные и может обслуживаться репликой: все запросы вне
+ * пишущих транзакций уходят на неё, если реплика не отстаёт и уже содержит последнюю
+ * запись клиента (см. ReadYourWritesFilter). Действует при orbital.replica.enabled=true.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnlyQuery {
+}
@@ -0,0 +1,28 @@
+package org.orbitalLogistic.routing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Отпускает на реплику все запросы GET-эндпоинтов с @ReadOnlyQuery (на методе или классе
+ * контроллера), сохраняя позицию WAL клиента, выставленную ReadYourWritesFilter.
+ * Контекст снимает сам фильтр по завершении запроса.
+ */
+public class ReadOnlyQueryInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(handlerMethod.hasMethodAnnotation(ReadOnlyQuery.class)
+                     || handlerMethod.getBeanType().isAnnotationPresent(ReadOnlyQuery.class))) {
+            return true;
+        }
+        ReadRouting routing = ReadRouting.current();
+        if (routing != null && routing.mode() == ReadRouting.Mode.READ_ONLY_TRANSACTIONS) {
+            ReadRouting.bind(ReadRouting.replica(routing.minLsn()));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package org.orbitalLogistic.routing;
+
+/**
+ * Что разрешено читать с реплики в текущем потоке и с какой позиции WAL она должна
+ * начинаться, чтобы клиент увидел свои записи. Хранится в ThreadLocal на время HTTP-запроса;
+ * вне запроса (фоновые задачи, потоковые ответы) контекста нет и на реплику идут только
+ * транзакции readOnly.
+ */
+public record ReadRouting(Mode mode, long minLsn) {
+
+    public static final ReadRouting PRIMARY = new ReadRouting(Mode.PRIMARY, 0);
+
+    private static final ThreadLocal<ReadRouting> CURRENT = new ThreadLocal<>();
+
+    public enum Mode {
+        /** Пишущий запрос: всё, включая readOnly-транзакции, читает с primary. */
+        PRIMARY,
+        /** Обычный GET: на реплику идут только транзакции readOnly. */
+        READ_ONLY_TRANSACTIONS,
+        /** GET с @ReadOnlyQuery: на реплику идёт всё вне пишущих транзакций. */
+        REPLICA
+    }
+
+    public static ReadRouting readOnlyTransactions(long minLsn) {
+        return new ReadRouting(Mode.READ_ONLY_TRANSACTIONS, minLsn);
+    }
+
+    public static ReadRouting replica(long minLsn) {
+        return new ReadRouting(Mode.REPLICA, minLsn);
+    }
+
+    public static ReadRouting current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Привязывает контекст к потоку; null снимает привязку.
+     */
+    public static void bind(ReadRouting routing) {
+        if (routing != null) {
+            CURRENT.set(routing);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,164 @@
+package org.orbitalLogistic.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+
+/**
+ * Чтение своих записей при маршрутизации на реплику. Успешный пишущий запрос получает
+ * позицию WAL primary после своих изменений: заголовок X-Min-LSN и cookie min_lsn.
+ * Последующие GET с этой позицией (из заголовка или cookie) читают с реплики только
+ * после того, как она её проиграла, до этого — с primary. Некорректная позиция
+ * отправляет чтение на primary.
+ *
+ * Пишущие запросы целиком выполняются на primary, GET по умолчанию отпускают на реплику
+ * только транзакции readOnly; ReadOnlyQueryInterceptor расширяет это для @ReadOnlyQuery.
+ */
+@Slf4j
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String MIN_LSN_HEADER = "X-Min-LSN";
+    public static final String MIN_LSN_COOKIE = "min_lsn";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Duration tokenTtl;
+
+    public ReadYourWritesFilter(ReplicaLagMonitor lagMonitor, Duration tokenTtl) {
+        this.lagMonitor = lagMonitor;
+        this.tokenTtl = tokenTtl;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isSafe(request.getMethod())) {
+            ReadRouting.bind(ReadRouting.readOnlyTransactions(requestedLsn(request)));
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                ReadRouting.clear();
+            }
+            return;
+        }
+
+        ReadRouting.bind(ReadRouting.PRIMARY);
+        TokenWritingResponse wrappedResponse = new TokenWritingResponse(response);
+        try {
+            filterChain.doFilter(request, wrappedResponse);
+        } finally {
+            ReadRouting.clear();
+        }
+        wrappedResponse.writeToken();
+    }
+
+    static long requestedLsn(HttpServletRequest request) {
+        String token = request.getHeader(MIN_LSN_HEADER);
+        if (token == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (MIN_LSN_COOKIE.equals(cookie.getName())) {
+                    token = cookie.getValue();
+                }
+            }
+        }
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            return ReplicaLagMonitor.parseLsn(token.trim());
+        } catch (IllegalArgumentException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    /**
+     * Выставляет позицию WAL непосредственно перед тем, как ответ начнёт писаться:
+     * к этому моменту изменения запроса уже зафиксированы, а заголовки ещё можно менять.
+     */
+    private final class TokenWritingResponse extends HttpServletResponseWrapper {
+
+        private boolean tokenWritten;
+
+        TokenWritingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeToken() {
+            if (tokenWritten || isCommitted()) {
+                tokenWritten = true;
+                return;
+            }
+            tokenWritten = true;
+            if (getStatus() >= 400) {
+                return;
+            }
+            String token;
+            try {
+                token = ReplicaLagMonitor.formatLsn(lagMonitor.currentPrimaryLsn());
+            } catch (DataAccessException e) {
+                log.debug("Could not read primary WAL position", e);
+                return;
+            }
+            setHeader(MIN_LSN_HEADER, token);
+            addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(MIN_LSN_COOKIE, token)
+                    .path("/api")
+                    .maxAge(tokenTtl)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeToken();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeToken();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeToken();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeToken();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeToken();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeToken();
+            super.sendRedirect(location);
+        }
+    }
+}
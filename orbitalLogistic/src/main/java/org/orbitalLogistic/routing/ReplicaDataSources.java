@@ -0,0 +1,20 @@
+package org.orbitalLogistic.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Пулы primary и реплики. Сами пулы не регистрируются как DataSource-бины, чтобы приложение
+ * видело один DataSource (маршрутизирующий), а обёртки вроде QueryCountingDataSource
+ * не применялись дважды; закрываются вместе с этим бином.
+ */
+public record ReplicaDataSources(HikariDataSource primary, HikariDataSource replica) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        try {
+            replica.close();
+        } finally {
+            primary.close();
+        }
+    }
+}
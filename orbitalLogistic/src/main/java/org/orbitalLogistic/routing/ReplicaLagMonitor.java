@@ -0,0 +1,110 @@
+package org.orbitalLogistic.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Следит за отставанием потоковой реплики по позициям WAL: периодически читает
+ * pg_last_wal_replay_lsn() на реплике и pg_current_wal_lsn() на primary.
+ * Реплика пригодна для чтения, если последний замер свежий, отставание не больше max-lag
+ * и реплика уже проиграла позицию, которую требует клиент. Замер между опросами только
+ * устаревает в безопасную сторону: проигранная позиция на реплике может лишь вырасти.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+    private static final String REPLAY_LSN_SQL = "SELECT pg_last_wal_replay_lsn()::text";
+
+    private static final Snapshot UNAVAILABLE = new Snapshot(false, 0, Long.MAX_VALUE, 0);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagBytes;
+    private final long maxStalenessNanos;
+    private volatile Snapshot snapshot = UNAVAILABLE;
+
+    public ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, long maxLagBytes, Duration maxStaleness,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagBytes = maxLagBytes;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        Gauge.builder("orbital.replica.lag", this, monitor -> monitor.snapshot.available()
+                        ? monitor.snapshot.lagBytes() : Double.NaN)
+                .description("Replication lag of the read replica behind the primary WAL position")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orbital.replica.lag-check-interval:PT0.5S}")
+    public void refresh() {
+        boolean wasHealthy = isHealthy(snapshot);
+        snapshot = measure();
+        boolean healthy = isHealthy(snapshot);
+        if (wasHealthy && !healthy) {
+            log.warn("Read replica is unavailable or lags behind primary, routing reads to primary");
+        } else if (!wasHealthy && healthy) {
+            log.info("Read replica caught up with primary, lag {} bytes", snapshot.lagBytes());
+        }
+    }
+
+    /**
+     * Можно ли читать с реплики клиенту, чьи записи заканчиваются на позиции minLsn (0 — без требования).
+     */
+    public boolean isReplicaUsable(long minLsn) {
+        Snapshot current = snapshot;
+        return isHealthy(current)
+                && current.replayLsn() >= minLsn
+                && System.nanoTime() - current.checkedAtNanos() <= maxStalenessNanos;
+    }
+
+    private Snapshot measure() {
+        try {
+            // Сначала реплика, потом primary: отставание может оказаться только завышенным
+            String replayed = replica.queryForObject(REPLAY_LSN_SQL, String.class);
+            long primaryLsn = currentPrimaryLsn();
+            if (replayed == null) {
+                log.debug("Read replica is not in recovery");
+                return UNAVAILABLE;
+            }
+            long replayLsn = parseLsn(replayed);
+            return new Snapshot(true, replayLsn, Math.max(0, primaryLsn - replayLsn), System.nanoTime());
+        } catch (DataAccessException e) {
+            log.debug("Read replica lag check failed", e);
+            return UNAVAILABLE;
+        }
+    }
+
+    private boolean isHealthy(Snapshot current) {
+        return current.available() && current.lagBytes() <= maxLagBytes;
+    }
+
+    public long currentPrimaryLsn() {
+        return parseLsn(primary.queryForObject(PRIMARY_LSN_SQL, String.class));
+    }
+
+    /**
+     * Позиция WAL в текстовом виде PostgreSQL ("16/B374D848") как 64-битное число, сравнимое по порядку.
+     */
+    public static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash <= 0 || slash == lsn.length() - 1 || slash > 8 || lsn.length() - slash - 1 > 8) {
+            throw new IllegalArgumentException("Invalid LSN: " + lsn);
+        }
+        return Long.parseLong(lsn, 0, slash, 16) << 32 | Long.parseLong(lsn, slash + 1, lsn.length(), 16);
+    }
+
+    public static String formatLsn(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+
+    private record Snapshot(boolean available, long replayLsn, long lagBytes, long checkedAtNanos) {
+    }
+}
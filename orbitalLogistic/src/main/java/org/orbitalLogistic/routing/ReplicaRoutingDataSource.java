@@ -0,0 +1,45 @@
+package org.orbitalLogistic.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Выбирает пул для каждого нового соединения: реплику — для транзакций readOnly и запросов
+ * с @ReadOnlyQuery, если ReplicaLagMonitor считает её достаточно свежей, иначе primary.
+ * Пишущие транзакции и пишущие HTTP-запросы всегда идут на primary.
+ *
+ * Должен стоять за LazyConnectionDataSourceProxy: менеджер транзакций берёт соединение
+ * до того, как отметит транзакцию readOnly, а ленивый прокси откладывает выбор пула
+ * до первого запроса, когда признак уже известен.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        ReadRouting routing = ReadRouting.current();
+        if (routing != null && routing.mode() == ReadRouting.Mode.PRIMARY) {
+            return Route.PRIMARY;
+        }
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                ? TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                : routing != null && routing.mode() == ReadRouting.Mode.REPLICA;
+        long minLsn = routing != null ? routing.minLsn() : 0;
+        return readOnly && lagMonitor.isReplicaUsable(minLsn) ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,152 @@
+package org.orbitalLogistic.scheduling;
+
+import java.util.Arrays;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Неизменяемое дерево полуоткрытых интервалов [start, end) на примитивных массивах.
+ * Интервалы отсортированы по началу; дерево неявное: корень поддиапазона [lo, hi) — его середина,
+ * а maxEnd[i] хранит наибольший конец интервала в поддереве. Поиск пересечений отбрасывает
+ * поддеревья, которые целиком заканчиваются до запроса или начинаются после него:
+ * O(log n + k) без выделения памяти под узлы.
+ */
+public final class IntervalTree {
+
+    private static final IntervalTree EMPTY = new IntervalTree(new long[0], new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] ids;
+    private final long[] maxEnd;
+
+    private IntervalTree(long[] starts, long[] ends, long[] ids) {
+        this.starts = starts;
+        this.ends = ends;
+        this.ids = ids;
+        this.maxEnd = new long[starts.length];
+        buildMaxEnd(0, starts.length);
+    }
+
+    public static IntervalTree empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Вызывает visitor(start, end) для каждого интервала, пересекающего [from, to), в порядке начала.
+     * Возвращаемое visitor значение игнорируется; LongBinaryOperator выбран, чтобы не упаковывать long.
+     */
+    public void forEachOverlapping(long from, long to, LongBinaryOperator visitor) {
+        if (from < to) {
+            visit(0, starts.length, from, to, visitor);
+        }
+    }
+
+    /**
+     * Идентификатор любого интервала, пересекающего [from, to), или -1.
+     */
+    public long findAnyOverlapping(long from, long to) {
+        return from < to ? find(0, starts.length, from, to) : -1;
+    }
+
+    private void visit(int lo, int hi, long from, long to, LongBinaryOperator visitor) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] <= from) {
+            return;
+        }
+        visit(lo, mid, from, to, visitor);
+        if (starts[mid] >= to) {
+            return;
+        }
+        if (ends[mid] > from) {
+            visitor.applyAsLong(starts[mid], ends[mid]);
+        }
+        visit(mid + 1, hi, from, to, visitor);
+    }
+
+    private long find(int lo, int hi, long from, long to) {
+        if (lo >= hi) {
+            return -1;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] <= from) {
+            return -1;
+        }
+        if (starts[mid] < to && ends[mid] > from) {
+            return ids[mid];
+        }
+        long left = find(lo, mid, from, to);
+        if (left >= 0 || starts[mid] >= to) {
+            return left;
+        }
+        return find(mid + 1, hi, from, to);
+    }
+
+    private long buildMaxEnd(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnd(lo, mid), buildMaxEnd(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    public static final class Builder {
+
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private long[] ids = new long[16];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(long id, long start, long end) {
+            if (end <= start) {
+                throw new IllegalArgumentException("Interval end must be after start: [" + start + ", " + end + ")");
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            ids[size] = id;
+            size++;
+            return this;
+        }
+
+        public IntervalTree build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+
+            long[] sortedStarts = new long[size];
+            long[] sortedEnds = new long[size];
+            long[] sortedIds = new long[size];
+            for (int i = 0; i < size; i++) {
+                sortedStarts[i] = starts[order[i]];
+                sortedEnds[i] = ends[order[i]];
+                sortedIds[i] = ids[order[i]];
+            }
+            return new IntervalTree(sortedStarts, sortedEnds, sortedIds);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.orbitalLogistic.services;
 
-import lombok.RequiredArgsConstructor;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.cache.ReferenceDataCache;
 import org.orbitalLogistic.dto.request.CargoCategoryRequestDTO;
 import org.orbitalLogistic.dto.response.CargoCategoryResponseDTO;
 import org.orbitalLogistic.entities.CargoCategory;
@@ -9,17 +10,38 @@ import org.orbitalLogistic.exceptions.common.DataNotFoundException;
 import org.orbitalLogistic.mappers.CargoCategoryMapper;
 import org.orbitalLogistic.repositories.CargoCategoryRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 public class CargoCategoryService {
 
     private final CargoCategoryRepository cargoCategoryRepository;
     private final CargoCategoryMapper cargoCategoryMapper;
+    private final ReferenceDataCache<Long, CargoCategory> cargoCategoryCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    // Дерево категорий кэшируется целиком; treeVersion не даёт записать в кэш дерево,
+    // построенное до createCategory, если инвалидация случилась во время сборки.
+    private final Object treeLock = new Object();
+    private volatile List<CargoCategoryResponseDTO> categoryTree;
+    private long treeVersion;
+
+    public CargoCategoryService(CargoCategoryRepository cargoCategoryRepository,
+                                CargoCategoryMapper cargoCategoryMapper,
+                                ReferenceDataCache<Long, CargoCategory> cargoCategoryCache,
+                                CacheInvalidationBus cacheInvalidationBus) {
+        this.cargoCategoryRepository = cargoCategoryRepository;
+        this.cargoCategoryMapper = cargoCategoryMapper;
+        this.cargoCategoryCache = cargoCategoryCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        // Новая категория на другом узле меняет дерево, даже если сама запись здесь не кэширована
+        cacheInvalidationBus.register(cargoCategoryCache.getName(),
+                key -> invalidateCategoryTree(), this::invalidateCategoryTree);
+    }
 
     public List<CargoCategoryResponseDTO> getAllCategories() {
         List<CargoCategory> categories = (List<CargoCategory>) cargoCategoryRepository.findAll();
@@ -29,57 +51,106 @@ public class CargoCategoryService {
     }
 
     public CargoCategoryResponseDTO getCategoryById(Long id) {
-        CargoCategory category = cargoCategoryRepository.findById(id)
-                .orElseThrow(() -> new CargoCategoryNotFoundException("Cargo category not found with id: " + id));
-        return toResponseDTO(category);
+        return toResponseDTO(getEntityById(id));
     }
 
-    // Метод требует @Transactional, так как выполняет множественные запросы к БД для построения дерева категорий с children.
-    @Transactional(readOnly = true)
+    /**
+     * Загружает всю таблицу одним запросом и собирает дерево в памяти
+     * по индексу parentId -> children. Результат кэшируется до следующего createCategory
+     * на любом узле (см. CacheInvalidationBus).
+     */
     public List<CargoCategoryResponseDTO> getCategoryTree() {
-        List<CargoCategory> rootCategories = cargoCategoryRepository.findByParentCategoryIdIsNull();
-        return rootCategories.stream()
-                .map(category -> buildCategoryTree(category, 0))
-                .toList();
+        List<CargoCategoryResponseDTO> cached = categoryTree;
+        if (cached != null) {
+            return cached;
+        }
+
+        long version;
+        synchronized (treeLock) {
+            version = treeVersion;
+        }
+
+        List<CargoCategoryResponseDTO> tree = buildCategoryTree(cargoCategoryRepository.findAllOrderById());
+
+        synchronized (treeLock) {
+            if (treeVersion == version) {
+                categoryTree = tree;
+            }
+        }
+        return tree;
     }
 
     public CargoCategoryResponseDTO createCategory(CargoCategoryRequestDTO request) {
-        if (request.parentCategoryId() != null) {
-            cargoCategoryRepository.findById(request.parentCategoryId())
-                    .orElseThrow(() -> new DataNotFoundException("Parent category not found"));
+        if (request.parentCategoryId() != null && findCachedCategory(request.parentCategoryId()) == null) {
+            throw new DataNotFoundException("Parent category not found");
         }
 
         CargoCategory category = cargoCategoryMapper.toEntity(request);
         CargoCategory saved = cargoCategoryRepository.save(category);
+        cargoCategoryCache.put(saved.getId(), saved);
+        invalidateCategoryTree();
+        cacheInvalidationBus.publish(cargoCategoryCache.getName(), saved.getId());
         return toResponseDTO(saved);
     }
 
     public CargoCategory getEntityById(Long id) {
-        return cargoCategoryRepository.findById(id)
-                .orElseThrow(() -> new CargoCategoryNotFoundException("Cargo category not found with id: " + id));
+        CargoCategory category = findCachedCategory(id);
+        if (category == null) {
+            throw new CargoCategoryNotFoundException("Cargo category not found with id: " + id);
+        }
+        return category;
     }
 
-    private CargoCategoryResponseDTO buildCategoryTree(CargoCategory category, int level) {
-        List<CargoCategory> children = cargoCategoryRepository.findByParentCategoryId(category.getId());
-        List<CargoCategoryResponseDTO> childrenDTOs = children.stream()
-                .map(child -> buildCategoryTree(child, level + 1))
-                .toList();
+    private CargoCategory findCachedCategory(Long id) {
+        return cargoCategoryCache.get(id, key -> cargoCategoryRepository.findById(key).orElse(null));
+    }
 
-        String parentCategoryName = null;
-        if (category.getParentCategoryId() != null) {
-            CargoCategory parent = cargoCategoryRepository.findById(category.getParentCategoryId()).orElse(null);
-            if (parent != null) {
-                parentCategoryName = parent.getName();
+    private void invalidateCategoryTree() {
+        synchronized (treeLock) {
+            treeVersion++;
+            categoryTree = null;
+        }
+    }
+
+    private List<CargoCategoryResponseDTO> buildCategoryTree(List<CargoCategory> categories) {
+        Map<Long, CargoCategory> byId = new HashMap<>(categories.size() * 2);
+        Map<Long, List<CargoCategory>> childrenByParentId = new HashMap<>();
+        List<CargoCategory> roots = new ArrayList<>();
+
+        for (CargoCategory category : categories) {
+            byId.put(category.getId(), category);
+        }
+        for (CargoCategory category : categories) {
+            if (category.getParentCategoryId() == null) {
+                roots.add(category);
+            } else {
+                childrenByParentId.computeIfAbsent(category.getParentCategoryId(), id -> new ArrayList<>())
+                        .add(category);
             }
         }
 
+        return roots.stream()
+                .map(root -> toTreeNode(root, 0, byId, childrenByParentId))
+                .toList();
+    }
+
+    private CargoCategoryResponseDTO toTreeNode(CargoCategory category, int level,
+                                                Map<Long, CargoCategory> byId,
+                                                Map<Long, List<CargoCategory>> childrenByParentId) {
+        List<CargoCategoryResponseDTO> childrenDTOs = childrenByParentId.getOrDefault(category.getId(), List.of()).stream()
+                .map(child -> toTreeNode(child, level + 1, byId, childrenByParentId))
+                .toList();
+
+        CargoCategory parent = category.getParentCategoryId() != null ? byId.get(category.getParentCategoryId()) : null;
+        String parentCategoryName = parent != null ? parent.getName() : null;
+
         return cargoCategoryMapper.toResponseDTO(category, parentCategoryName, childrenDTOs, level);
     }
 
     private CargoCategoryResponseDTO toResponseDTO(CargoCategory category) {
         String parentCategoryName = null;
         if (category.getParentCategoryId() != null) {
-            CargoCategory parent = cargoCategoryRepository.findById(category.getParentCategoryId()).orElse(null);
+            CargoCategory parent = findCachedCategory(category.getParentCategoryId());
             if (parent != null) {
                 parentCategoryName = parent.getName();
             }
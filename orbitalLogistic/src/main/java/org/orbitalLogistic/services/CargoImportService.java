@@ -0,0 +1,412 @@
+package org.orbitalLogistic.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.orbitalLogistic.dto.response.CargoImportErrorDTO;
+import org.orbitalLogistic.dto.response.CargoImportResponseDTO;
+import org.orbitalLogistic.exceptions.InvalidImportFileException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Массовый импорт каталога грузов и их размещения по хранилищам из CSV или NDJSON.
+ * Файл потоком загружается через COPY во временную таблицу, проверяется запросами
+ * сразу над всеми строками и сливается в cargo / cargo_storage в одной транзакции.
+ * Строки с ошибками не импортируются и возвращаются в отчёте с номером и причиной.
+ * <p>
+ * Одна строка описывает груз (name, cargoCategoryId, massPerUnit, volumePerUnit, cargoType,
+ * hazardLevel) и, необязательно, его размещение (storageUnitId, quantity). Груз ищется по имени:
+ * новый создаётся, существующий используется, если его характеристики совпадают с файлом.
+ */
+@Slf4j
+@Service
+public class CargoImportService {
+
+    private static final int COPY_CHUNK_SIZE = 64 * 1024;
+
+    /** Поле файла → колонка временной таблицы, в порядке описания формата. */
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("name", "cargoCategoryId", "massPerUnit", "volumePerUnit", "cargoType", "hazardLevel");
+
+    static {
+        COLUMNS.put("name", "name");
+        COLUMNS.put("cargoCategoryId", "cargo_category_id");
+        COLUMNS.put("massPerUnit", "mass_per_unit");
+        COLUMNS.put("volumePerUnit", "volume_per_unit");
+        COLUMNS.put("cargoType", "cargo_type");
+        COLUMNS.put("hazardLevel", "hazard_level");
+        COLUMNS.put("storageUnitId", "storage_unit_id");
+        COLUMNS.put("quantity", "quantity");
+    }
+
+    // Сырые значения хранятся как текст, чтобы COPY не падал на первой же ошибке формата;
+    // типизированные колонки заполняются только для значений, прошедших проверку
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE cargo_import_staging (" +
+            "  line_no BIGINT GENERATED ALWAYS AS IDENTITY, " +
+            "  name TEXT, cargo_category_id TEXT, mass_per_unit TEXT, volume_per_unit TEXT, " +
+            "  cargo_type TEXT, hazard_level TEXT, storage_unit_id TEXT, quantity TEXT, parse_error TEXT, " +
+            "  cargo_name TEXT, category_id BIGINT, mass NUMERIC(10,2), volume NUMERIC(10,2), " +
+            "  cargo_type_value cargo_type_enum, hazard_level_value hazard_level_enum, unit_id BIGINT, qty INTEGER, cargo_id BIGINT, " +
+            "  error TEXT" +
+            ") ON COMMIT DROP";
+
+    private static final String PARSE_AND_VALIDATE_SQL =
+            "UPDATE cargo_import_staging SET " +
+            "  cargo_name = btrim(name), " +
+            "  category_id = CASE WHEN pg_input_is_valid(cargo_category_id, 'bigint') THEN cargo_category_id::bigint END, " +
+            "  mass = CASE WHEN pg_input_is_valid(mass_per_unit, 'numeric(10,2)') THEN mass_per_unit::numeric(10,2) END, " +
+            "  volume = CASE WHEN pg_input_is_valid(volume_per_unit, 'numeric(10,2)') THEN volume_per_unit::numeric(10,2) END, " +
+            "  cargo_type_value = CASE WHEN pg_input_is_valid(btrim(cargo_type), 'cargo_type_enum') THEN btrim(cargo_type)::cargo_type_enum END, " +
+            "  hazard_level_value = CASE WHEN pg_input_is_valid(btrim(hazard_level), 'hazard_level_enum') THEN btrim(hazard_level)::hazard_level_enum END, " +
+            "  unit_id = CASE WHEN pg_input_is_valid(storage_unit_id, 'bigint') THEN storage_unit_id::bigint END, " +
+            "  qty = CASE WHEN pg_input_is_valid(quantity, 'integer') THEN quantity::integer END, " +
+            "  error = CASE " +
+            "    WHEN parse_error IS NOT NULL THEN parse_error " +
+            "    WHEN NULLIF(btrim(name), '') IS NULL THEN 'name is required' " +
+            "    WHEN char_length(btrim(name)) > 200 THEN 'name must not exceed 200 characters' " +
+            "    WHEN cargo_category_id IS NULL THEN 'cargoCategoryId is required' " +
+            "    WHEN NOT pg_input_is_valid(cargo_category_id, 'bigint') THEN 'cargoCategoryId must be an integer' " +
+            "    WHEN mass_per_unit IS NULL THEN 'massPerUnit is required' " +
+            "    WHEN NOT pg_input_is_valid(mass_per_unit, 'numeric(10,2)') THEN 'massPerUnit must be a number with at most 8 integer digits' " +
+            "    WHEN mass_per_unit::numeric(10,2) <= 0 THEN 'massPerUnit must be positive' " +
+            "    WHEN volume_per_unit IS NULL THEN 'volumePerUnit is required' " +
+            "    WHEN NOT pg_input_is_valid(volume_per_unit, 'numeric(10,2)') THEN 'volumePerUnit must be a number with at most 8 integer digits' " +
+            "    WHEN volume_per_unit::numeric(10,2) <= 0 THEN 'volumePerUnit must be positive' " +
+            "    WHEN cargo_type IS NULL THEN 'cargoType is required' " +
+            "    WHEN NOT pg_input_is_valid(btrim(cargo_type), 'cargo_type_enum') " +
+            "      THEN 'cargoType must be one of: ' || array_to_string(enum_range(NULL::cargo_type_enum), ', ') " +
+            "    WHEN hazard_level IS NULL THEN 'hazardLevel is required' " +
+            "    WHEN NOT pg_input_is_valid(btrim(hazard_level), 'hazard_level_enum') " +
+            "      THEN 'hazardLevel must be one of: ' || array_to_string(enum_range(NULL::hazard_level_enum), ', ') " +
+            "    WHEN storage_unit_id IS NULL AND quantity IS NOT NULL THEN 'storageUnitId is required when quantity is set' " +
+            "    WHEN storage_unit_id IS NOT NULL AND quantity IS NULL THEN 'quantity is required when storageUnitId is set' " +
+            "    WHEN NOT pg_input_is_valid(storage_unit_id, 'bigint') THEN 'storageUnitId must be an integer' " +
+            "    WHEN NOT pg_input_is_valid(quantity, 'integer') THEN 'quantity must be an integer' " +
+            "    WHEN quantity::integer < 0 THEN 'quantity must be non-negative' " +
+            "  END";
+
+    private static final String MISSING_CATEGORY_SQL =
+            "UPDATE cargo_import_staging s SET error = 'Cargo category not found: ' || s.category_id " +
+            "WHERE s.error IS NULL AND NOT EXISTS (SELECT 1 FROM cargo_category cc WHERE cc.id = s.category_id)";
+
+    private static final String MISSING_STORAGE_UNIT_SQL =
+            "UPDATE cargo_import_staging s SET error = 'Storage unit not found: ' || s.unit_id " +
+            "WHERE s.error IS NULL AND s.unit_id IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM storage_unit su WHERE su.id = s.unit_id)";
+
+    // Первая строка с данным именем задаёт характеристики груза, остальные должны с ней совпадать
+    private static final String CONFLICTING_ROWS_SQL =
+            "UPDATE cargo_import_staging s SET error = 'Cargo \"' || s.cargo_name || '\" is defined differently in row ' || f.line_no " +
+            "FROM (" +
+            "  SELECT DISTINCT ON (cargo_name) cargo_name, line_no, category_id, mass, volume, cargo_type_value, hazard_level_value " +
+            "  FROM cargo_import_staging WHERE error IS NULL ORDER BY cargo_name, line_no" +
+            ") f " +
+            "WHERE s.error IS NULL AND s.cargo_name = f.cargo_name AND s.line_no <> f.line_no " +
+            "AND (s.category_id, s.mass, s.volume, s.cargo_type_value, s.hazard_level_value) IS DISTINCT FROM " +
+            "    (f.category_id, f.mass, f.volume, f.cargo_type_value, f.hazard_level_value)";
+
+    // Изменение массы или объёма существующего груза исказило бы учёт занятого места в хранилищах
+    private static final String CONFLICTING_CATALOG_SQL =
+            "UPDATE cargo_import_staging s SET error = 'Cargo \"' || s.cargo_name || '\" already exists with different attributes' " +
+            "FROM cargo c " +
+            "WHERE s.error IS NULL AND c.name = s.cargo_name " +
+            "AND (c.cargo_category_id, c.mass_per_unit, c.volume_per_unit, c.cargo_type, c.hazard_level) IS DISTINCT FROM " +
+            "    (s.category_id, s.mass, s.volume, s.cargo_type_value, s.hazard_level_value)";
+
+    private static final String LOCK_STORAGE_UNITS_SQL =
+            "SELECT id FROM storage_unit " +
+            "WHERE id IN (SELECT unit_id FROM cargo_import_staging WHERE error IS NULL AND unit_id IS NOT NULL) " +
+            "ORDER BY id FOR NO KEY UPDATE";
+
+    // Строки размещаются по хранилищу в порядке файла, пока хватает свободного места
+    private static final String INSUFFICIENT_CAPACITY_SQL =
+            "UPDATE cargo_import_staging s SET error = 'Insufficient capacity in storage unit ' || s.unit_id " +
+            "FROM (" +
+            "  SELECT t.line_no, " +
+            "         SUM(t.qty * t.mass) OVER w AS mass_total, " +
+            "         SUM(t.qty * t.volume) OVER w AS volume_total, " +
+            "         su.total_mass_capacity - su.current_mass AS free_mass, " +
+            "         su.total_volume_capacity - su.current_volume AS free_volume " +
+            "  FROM cargo_import_staging t " +
+            "  JOIN storage_unit su ON su.id = t.unit_id " +
+            "  WHERE t.error IS NULL " +
+            "  WINDOW w AS (PARTITION BY t.unit_id ORDER BY t.line_no)" +
+            ") c " +
+            "WHERE s.line_no = c.line_no AND (c.mass_total > c.free_mass OR c.volume_total > c.free_volume)";
+
+    private static final String INSERT_CARGO_SQL =
+            "INSERT INTO cargo (name, cargo_category_id, mass_per_unit, volume_per_unit, cargo_type, hazard_level) " +
+            "SELECT DISTINCT ON (s.cargo_name) s.cargo_name, s.category_id, s.mass, s.volume, s.cargo_type_value, s.hazard_level_value " +
+            "FROM cargo_import_staging s " +
+            "WHERE s.error IS NULL AND NOT EXISTS (SELECT 1 FROM cargo c WHERE c.name = s.cargo_name) " +
+            "ORDER BY s.cargo_name, s.line_no";
+
+    private static final String RESOLVE_CARGO_IDS_SQL =
+            "UPDATE cargo_import_staging s SET cargo_id = c.id " +
+            "FROM (" +
+            "  SELECT name, MIN(id) AS id FROM cargo " +
+            "  WHERE name IN (SELECT cargo_name FROM cargo_import_staging WHERE error IS NULL) " +
+            "  GROUP BY name" +
+            ") c " +
+            "WHERE s.error IS NULL AND s.cargo_name = c.name";
+
+    // Уникального ключа (storage_unit_id, cargo_id) нет, поэтому пополняется самая ранняя запись пары
+    private static final String MERGE_CARGO_STORAGE_SQL =
+            "WITH incoming AS (" +
+            "  SELECT unit_id, cargo_id, SUM(qty)::integer AS quantity FROM cargo_import_staging " +
+            "  WHERE error IS NULL AND unit_id IS NOT NULL GROUP BY unit_id, cargo_id" +
+            "), updated AS (" +
+            "  UPDATE cargo_storage cs SET quantity = cs.quantity + i.quantity " +
+            "  FROM incoming i " +
+            "  WHERE cs.id = (SELECT MIN(x.id) FROM cargo_storage x " +
+            "                 WHERE x.storage_unit_id = i.unit_id AND x.cargo_id = i.cargo_id) " +
+            "  RETURNING cs.storage_unit_id, cs.cargo_id" +
+            "), inserted AS (" +
+            "  INSERT INTO cargo_storage (storage_unit_id, cargo_id, quantity) " +
+            "  SELECT i.unit_id, i.cargo_id, i.quantity FROM incoming i " +
+            "  WHERE NOT EXISTS (SELECT 1 FROM updated u WHERE u.storage_unit_id = i.unit_id AND u.cargo_id = i.cargo_id) " +
+            "  RETURNING 1" +
+            ") " +
+            "SELECT (SELECT COUNT(*) FROM inserted) AS inserted, (SELECT COUNT(*) FROM updated) AS updated";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final StorageCapacityService storageCapacityService;
+    private final int maxReportedErrors;
+
+    public CargoImportService(JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              StorageCapacityService storageCapacityService,
+                              @Value("${orbital.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.storageCapacityService = storageCapacityService;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Импорт CSV с заголовком из имён полей (порядок произвольный). Тело после заголовка
+     * передаётся в COPY как есть, без разбора в Java.
+     */
+    @Transactional
+    public CargoImportResponseDTO importCsv(InputStream input) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(input, COPY_CHUNK_SIZE);
+        List<String> columns = parseHeader(readLine(in));
+
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        String copySql = "COPY cargo_import_staging (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        withCopyManager(copySql, copyManager -> copyManager.copyIn(copySql, in, COPY_CHUNK_SIZE));
+        return process();
+    }
+
+    /**
+     * Импорт NDJSON: каждая строка — JSON-объект с полями формата. Строки перекодируются
+     * в CSV и пишутся в тот же COPY; нераспознанный JSON становится ошибкой этой строки.
+     */
+    @Transactional
+    public CargoImportResponseDTO importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), COPY_CHUNK_SIZE);
+
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        String copySql = "COPY cargo_import_staging (" + String.join(", ", COLUMNS.values()) + ", parse_error) " +
+                         "FROM STDIN WITH (FORMAT csv)";
+        withCopyManager(copySql, copyManager -> {
+            CopyIn copyIn = copyManager.copyIn(copySql);
+            try {
+                StringBuilder chunk = new StringBuilder(COPY_CHUNK_SIZE + 1024);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    appendNdjsonRow(chunk, line);
+                    if (chunk.length() >= COPY_CHUNK_SIZE) {
+                        writeChunk(copyIn, chunk);
+                    }
+                }
+                writeChunk(copyIn, chunk);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        return process();
+    }
+
+    private CargoImportResponseDTO process() {
+        jdbcTemplate.execute("ANALYZE cargo_import_staging");
+        jdbcTemplate.update(PARSE_AND_VALIDATE_SQL);
+        jdbcTemplate.update(MISSING_CATEGORY_SQL);
+        jdbcTemplate.update(MISSING_STORAGE_UNIT_SQL);
+        jdbcTemplate.update(CONFLICTING_ROWS_SQL);
+
+        // Импорты выполняются по одному: иначе два файла могли бы одновременно создать груз с одним именем
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('cargo_import'))");
+        jdbcTemplate.update(CONFLICTING_CATALOG_SQL);
+        jdbcTemplate.queryForList(LOCK_STORAGE_UNITS_SQL, Long.class);
+        jdbcTemplate.update(INSUFFICIENT_CAPACITY_SQL);
+
+        int createdCargos = jdbcTemplate.update(INSERT_CARGO_SQL);
+        jdbcTemplate.update(RESOLVE_CARGO_IDS_SQL);
+        Map<String, Object> merged = jdbcTemplate.queryForMap(MERGE_CARGO_STORAGE_SQL);
+        storageCapacityService.reserveAll(jdbcTemplate.query(
+                "SELECT unit_id, cargo_id, SUM(qty)::integer AS quantity FROM cargo_import_staging " +
+                "WHERE error IS NULL AND unit_id IS NOT NULL GROUP BY unit_id, cargo_id",
+                (rs, rowNum) -> new StorageCapacityService.CargoReservation(
+                        rs.getLong("unit_id"), rs.getLong("cargo_id"), rs.getInt("quantity"))));
+
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE error IS NOT NULL) AS rejected FROM cargo_import_staging");
+        long total = ((Number) totals.get("total")).longValue();
+        long rejected = ((Number) totals.get("rejected")).longValue();
+        List<CargoImportErrorDTO> errors = jdbcTemplate.query(
+                "SELECT line_no, name, error FROM cargo_import_staging WHERE error IS NOT NULL ORDER BY line_no LIMIT ?",
+                (rs, rowNum) -> new CargoImportErrorDTO(rs.getLong("line_no"), rs.getString("name"), rs.getString("error")),
+                maxReportedErrors);
+
+        log.info("Cargo import: {} rows, {} rejected, {} cargos created", total, rejected, createdCargos);
+        return new CargoImportResponseDTO(total, total - rejected, rejected, createdCargos,
+                ((Number) merged.get("inserted")).intValue(),
+                ((Number) merged.get("updated")).intValue(),
+                errors);
+    }
+
+    private List<String> parseHeader(String header) {
+        if (header == null || header.isBlank()) {
+            throw new InvalidImportFileException("Import file is empty");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+
+        List<String> columns = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        for (String rawField : header.split(",", -1)) {
+            String field = rawField.trim();
+            if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+                field = field.substring(1, field.length() - 1);
+            }
+            String column = COLUMNS.get(field);
+            if (column == null) {
+                throw new InvalidImportFileException(
+                        "Unknown column '" + field + "'. Expected columns: " + String.join(",", COLUMNS.keySet()));
+            }
+            if (fields.contains(field)) {
+                throw new InvalidImportFileException("Duplicate column '" + field + "'");
+            }
+            fields.add(field);
+            columns.add(column);
+        }
+
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(field -> !fields.contains(field)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportFileException("Missing required columns: " + String.join(",", missing));
+        }
+        return columns;
+    }
+
+    /**
+     * Читает первую строку побайтно, чтобы не забрать из потока данные, предназначенные для COPY.
+     */
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            line.write(b);
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        String value = line.toString(StandardCharsets.UTF_8);
+        return value.endsWith("\r") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    private void appendNdjsonRow(StringBuilder chunk, String line) {
+        JsonNode node;
+        String parseError = null;
+        try {
+            node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                parseError = "Row must be a JSON object";
+            }
+        } catch (JsonProcessingException e) {
+            node = null;
+            parseError = "Malformed JSON: " + e.getOriginalMessage();
+        }
+
+        for (String field : COLUMNS.keySet()) {
+            JsonNode value = parseError == null ? node.get(field) : null;
+            appendCsvField(chunk, value == null || value.isNull() ? null : value.asText());
+            chunk.append(',');
+        }
+        appendCsvField(chunk, parseError);
+        chunk.append('\n');
+    }
+
+    /**
+     * Пустое поле без кавычек COPY читает как NULL, поэтому значения всегда берутся в кавычки.
+     */
+    private static void appendCsvField(StringBuilder chunk, String value) {
+        if (value == null) {
+            return;
+        }
+        chunk.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void writeChunk(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    private void withCopyManager(String sql, CopyAction action) throws IOException {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            action.copy(connection.unwrap(PGConnection.class).getCopyAPI());
+        } catch (SQLException e) {
+            // Ошибки разбора CSV (класс 22: число колонок, незакрытые кавычки, кодировка) — ошибка клиента
+            if (e.getSQLState() != null && e.getSQLState().startsWith("22")) {
+                throw new InvalidImportFileException("Malformed import file: " + e.getMessage());
+            }
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY", sql, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CopyAction {
+        long copy(CopyManager copyManager) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,220 @@
+package org.orbitalLogistic.services;
+
+import org.orbitalLogistic.config.converters.EnumLookup;
+import org.orbitalLogistic.dto.request.CargoManifestRequestDTO;
+import org.orbitalLogistic.dto.request.LoadPlanRequestDTO;
+import org.orbitalLogistic.dto.response.LoadPlanResponseDTO;
+import org.orbitalLogistic.dto.response.SpacecraftLoadPlanDTO;
+import org.orbitalLogistic.entities.Cargo;
+import org.orbitalLogistic.entities.Spacecraft;
+import org.orbitalLogistic.entities.enums.HazardLevel;
+import org.orbitalLogistic.entities.enums.ManifestPriority;
+import org.orbitalLogistic.planning.LoadPlanner;
+import org.orbitalLogistic.repositories.SpacecraftRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Предлагает раскладку партии грузов по флоту (см. LoadPlanner). Ничего не записывает:
+ * результат — набор позиций для последующей погрузки через load-cargo.
+ * Корабли заполняются по убыванию свободной массы, чтобы партия занимала как можно
+ * меньше кораблей; уже погруженные грузы учитываются и по вместимости, и по опасности.
+ */
+@Service
+public class CargoLoadPlanService {
+
+    /**
+     * Правила совместного размещения: безопасный груз не везут с MEDIUM и выше,
+     * соседние уровни NONE-LOW и LOW-MEDIUM совместимы, HIGH везут только отдельно.
+     */
+    static final int[] COMPATIBLE_HAZARDS = new int[HazardLevel.values().length];
+
+    static {
+        allow(HazardLevel.NONE, HazardLevel.NONE, HazardLevel.LOW);
+        allow(HazardLevel.LOW, HazardLevel.NONE, HazardLevel.LOW, HazardLevel.MEDIUM);
+        allow(HazardLevel.MEDIUM, HazardLevel.LOW, HazardLevel.MEDIUM);
+        allow(HazardLevel.HIGH, HazardLevel.HIGH);
+    }
+
+    private static final EnumLookup<HazardLevel> HAZARD_LEVELS = EnumLookup.of(HazardLevel.class);
+
+    private final SpacecraftRepository spacecraftRepository;
+    private final ReferenceResolver referenceResolver;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CargoLoadPlanService(SpacecraftRepository spacecraftRepository,
+                                ReferenceResolver referenceResolver,
+                                JdbcTemplate jdbcTemplate) {
+        this.spacecraftRepository = spacecraftRepository;
+        this.referenceResolver = referenceResolver;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public LoadPlanResponseDTO planLoad(LoadPlanRequestDTO request) {
+        List<CargoManifestRequestDTO.CargoItemDTO> items = request.items();
+        List<Long> requestedSpacecraftIds = request.spacecraftIds() != null ? request.spacecraftIds() : List.of();
+
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds();
+        for (CargoManifestRequestDTO.CargoItemDTO item : items) {
+            ids.cargo(item.cargoId()).storageUnit(item.storageUnitId());
+        }
+        requestedSpacecraftIds.forEach(ids::spacecraft);
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        List<Spacecraft> fleet = new ArrayList<>();
+        if (requestedSpacecraftIds.isEmpty()) {
+            fleet.addAll(spacecraftRepository.findAvailableForMission());
+        } else {
+            for (Long id : new LinkedHashSet<>(requestedSpacecraftIds)) {
+                fleet.add(refs.spacecraft(id));
+            }
+        }
+        fleet.sort(Comparator.comparing(CargoLoadPlanService::freeMass).reversed()
+                .thenComparing(Spacecraft::getId));
+
+        int itemCount = items.size();
+        long[] unitMass = new long[itemCount];
+        long[] unitVolume = new long[itemCount];
+        int[] quantity = new int[itemCount];
+        int[] rank = new int[itemCount];
+        int[] hazard = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            CargoManifestRequestDTO.CargoItemDTO item = items.get(i);
+            Cargo cargo = refs.cargo(item.cargoId());
+            refs.storageUnit(item.storageUnitId());
+            unitMass[i] = toHundredths(cargo.getMassPerUnit(), RoundingMode.CEILING);
+            unitVolume[i] = toHundredths(cargo.getVolumePerUnit(), RoundingMode.CEILING);
+            quantity[i] = item.quantity();
+            rank[i] = priorityOf(item).ordinal();
+            hazard[i] = cargo.getHazardLevel().ordinal();
+        }
+
+        int binCount = fleet.size();
+        long[] massCapacity = new long[binCount];
+        long[] volumeCapacity = new long[binCount];
+        for (int b = 0; b < binCount; b++) {
+            massCapacity[b] = Math.max(0, toHundredths(freeMass(fleet.get(b)), RoundingMode.FLOOR));
+            volumeCapacity[b] = Math.max(0, toHundredths(freeVolume(fleet.get(b)), RoundingMode.FLOOR));
+        }
+        int[] hazardMask = loadedHazardMasks(fleet);
+
+        LoadPlanner.Plan plan = LoadPlanner.pack(unitMass, unitVolume, quantity, rank, hazard,
+                massCapacity, volumeCapacity, hazardMask, COMPATIBLE_HAZARDS);
+
+        return toResponse(items, fleet, plan, unitMass, unitVolume);
+    }
+
+    private LoadPlanResponseDTO toResponse(List<CargoManifestRequestDTO.CargoItemDTO> items, List<Spacecraft> fleet,
+                                           LoadPlanner.Plan plan, long[] unitMass, long[] unitVolume) {
+        int binCount = fleet.size();
+        List<List<CargoManifestRequestDTO.CargoItemDTO>> perBin = new ArrayList<>(binCount);
+        long[] plannedMass = new long[binCount];
+        long[] plannedVolume = new long[binCount];
+        for (int b = 0; b < binCount; b++) {
+            perBin.add(new ArrayList<>());
+        }
+
+        for (int a = 0; a < plan.size(); a++) {
+            int item = plan.assignmentItem()[a];
+            int bin = plan.assignmentBin()[a];
+            int placed = plan.assignmentQuantity()[a];
+            CargoManifestRequestDTO.CargoItemDTO source = items.get(item);
+            perBin.get(bin).add(new CargoManifestRequestDTO.CargoItemDTO(
+                    source.cargoId(), source.storageUnitId(), placed, priorityOf(source)));
+            plannedMass[bin] += placed * unitMass[item];
+            plannedVolume[bin] += placed * unitVolume[item];
+        }
+
+        List<SpacecraftLoadPlanDTO> spacecrafts = new ArrayList<>();
+        for (int b = 0; b < binCount; b++) {
+            if (perBin.get(b).isEmpty()) {
+                continue;
+            }
+            Spacecraft spacecraft = fleet.get(b);
+            spacecrafts.add(new SpacecraftLoadPlanDTO(
+                    spacecraft.getId(),
+                    spacecraft.getName(),
+                    fromHundredths(plannedMass[b]),
+                    fromHundredths(plannedVolume[b]),
+                    fromHundredths(plan.remainingMass()[b]),
+                    fromHundredths(plan.remainingVolume()[b]),
+                    perBin.get(b)));
+        }
+
+        List<CargoManifestRequestDTO.CargoItemDTO> unplaced = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            int left = plan.unplaced()[i];
+            if (left > 0) {
+                CargoManifestRequestDTO.CargoItemDTO source = items.get(i);
+                unplaced.add(new CargoManifestRequestDTO.CargoItemDTO(
+                        source.cargoId(), source.storageUnitId(), left, priorityOf(source)));
+            }
+        }
+
+        return new LoadPlanResponseDTO(items.size() - unplaced.size(), spacecrafts.size(), spacecrafts, unplaced);
+    }
+
+    private int[] loadedHazardMasks(List<Spacecraft> fleet) {
+        int[] masks = new int[fleet.size()];
+        if (fleet.isEmpty()) {
+            return masks;
+        }
+        Map<Long, Integer> binById = new HashMap<>(fleet.size() * 2);
+        for (int b = 0; b < fleet.size(); b++) {
+            binById.put(fleet.get(b).getId(), b);
+        }
+
+        String sql = "SELECT DISTINCT cm.spacecraft_id, c.hazard_level " +
+                     "FROM cargo_manifest cm " +
+                     "JOIN cargo c ON cm.cargo_id = c.id " +
+                     "WHERE cm.spacecraft_id = ANY(?) " +
+                     "AND cm.manifest_status IN ('LOADED', 'IN_TRANSIT')";
+
+        jdbcTemplate.query(sql, rs -> {
+            Integer bin = binById.get(rs.getLong("spacecraft_id"));
+            if (bin != null) {
+                masks[bin] |= 1 << HAZARD_LEVELS.parse(rs.getString("hazard_level")).ordinal();
+            }
+        }, (Object) binById.keySet().toArray(Long[]::new));
+        return masks;
+    }
+
+    private static void allow(HazardLevel level, HazardLevel... companions) {
+        for (HazardLevel companion : companions) {
+            COMPATIBLE_HAZARDS[level.ordinal()] |= 1 << companion.ordinal();
+        }
+    }
+
+    private static ManifestPriority priorityOf(CargoManifestRequestDTO.CargoItemDTO item) {
+        return item.priority() != null ? item.priority() : ManifestPriority.NORMAL;
+    }
+
+    private static BigDecimal freeMass(Spacecraft spacecraft) {
+        return spacecraft.getMassCapacity().subtract(orZero(spacecraft.getCurrentMassUsage()));
+    }
+
+    private static BigDecimal freeVolume(Spacecraft spacecraft) {
+        return spacecraft.getVolumeCapacity().subtract(orZero(spacecraft.getCurrentVolumeUsage()));
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static long toHundredths(BigDecimal value, RoundingMode roundingMode) {
+        return value.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+
+    private static BigDecimal fromHundredths(long value) {
+        return BigDecimal.valueOf(value, 2);
+    }
+}
@@ -1,5 +1,7 @@
 package org.orbitalLogistic.services;
 
+import org.orbitalLogistic.concurrent.ParallelLookups;
+import org.orbitalLogistic.config.converters.PgEnum;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.CargoManifestRequestDTO;
 import org.orbitalLogistic.dto.response.CargoManifestResponseDTO;
@@ -8,6 +10,7 @@ import org.orbitalLogistic.entities.Spacecraft;
 import org.orbitalLogistic.entities.Cargo;
 import org.orbitalLogistic.entities.StorageUnit;
 import org.orbitalLogistic.entities.User;
+import org.orbitalLogistic.entities.enums.ManifestPriority;
 import org.orbitalLogistic.entities.enums.ManifestStatus;
 import org.orbitalLogistic.exceptions.CargoManifestNotFoundException;
 import org.orbitalLogistic.mappers.CargoManifestMapper;
@@ -19,8 +22,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 public class CargoManifestService {
@@ -28,6 +33,9 @@ public class CargoManifestService {
     private final CargoManifestRepository cargoManifestRepository;
     private final CargoManifestMapper cargoManifestMapper;
     private final JdbcTemplate jdbcTemplate;
+    private final ReferenceResolver referenceResolver;
+    private final SpacecraftLoadService spacecraftLoadService;
+    private final ParallelLookups parallelLookups;
 
     private SpacecraftService spacecraftService;
     private CargoService cargoService;
@@ -36,10 +44,16 @@ public class CargoManifestService {
 
     public CargoManifestService(CargoManifestRepository cargoManifestRepository,
                                 CargoManifestMapper cargoManifestMapper,
-                                JdbcTemplate jdbcTemplate) {
+                                JdbcTemplate jdbcTemplate,
+                                ReferenceResolver referenceResolver,
+                                SpacecraftLoadService spacecraftLoadService,
+                                ParallelLookups parallelLookups) {
         this.cargoManifestRepository = cargoManifestRepository;
         this.cargoManifestMapper = cargoManifestMapper;
         this.jdbcTemplate = jdbcTemplate;
+        this.referenceResolver = referenceResolver;
+        this.spacecraftLoadService = spacecraftLoadService;
+        this.parallelLookups = parallelLookups;
     }
 
     @Autowired
@@ -67,11 +81,10 @@ public class CargoManifestService {
         long total = cargoManifestRepository.count();
         List<CargoManifest> manifests = (List<CargoManifest>) cargoManifestRepository.findAll();
 
-        List<CargoManifestResponseDTO> manifestDTOs = manifests.stream()
+        List<CargoManifestResponseDTO> manifestDTOs = toResponseDTOs(manifests.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) total / size);
         return new PageResponseDTO<>(manifestDTOs, page, size, total, totalPages, page == 0, page >= totalPages - 1);
@@ -86,11 +99,10 @@ public class CargoManifestService {
     public PageResponseDTO<CargoManifestResponseDTO> getSpacecraftManifest(Long spacecraftId, int page, int size) {
         List<CargoManifest> manifests = cargoManifestRepository.findBySpacecraftIdOrderByPriorityAndLoadedAt(spacecraftId);
 
-        List<CargoManifestResponseDTO> manifestDTOs = manifests.stream()
+        List<CargoManifestResponseDTO> manifestDTOs = toResponseDTOs(manifests.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) manifests.size() / size);
         return new PageResponseDTO<>(manifestDTOs, page, size, manifests.size(), totalPages, page == 0, page >= totalPages - 1);
@@ -112,67 +124,138 @@ public class CargoManifestService {
             manifest.setManifestStatus(ManifestStatus.LOADED);
             manifest.setLoadedAt(LocalDateTime.now());
             CargoManifest saved = cargoManifestRepository.save(manifest);
+            spacecraftLoadService.recordLoad(saved.getSpacecraftId(), saved.getCargoId(), saved.getQuantity());
             results.add(toResponseDTO(saved));
         }
 
         if (request.cargoItems() != null && !request.cargoItems().isEmpty()) {
-            for (CargoManifestRequestDTO.CargoItemDTO item : request.cargoItems()) {
-                CargoManifest manifest = CargoManifest.builder()
-                        .spacecraftId(spacecraftId)
-                        .cargoId(cargoService.getCargoById(item.cargoId()).id())
-                        .storageUnitId(storageUnitService.getStorageUnitById(item.storageUnitId()).id())
-                        .quantity(item.quantity())
-                        .priority(item.priority() != null ? item.priority() : org.orbitalLogistic.entities.enums.ManifestPriority.NORMAL)
-                        .loadedByUserId(userService.findUserById(request.loadedByUserId()).id())
-                        .manifestStatus(ManifestStatus.LOADED)
-                        .loadedAt(LocalDateTime.now())
-                        .build();
-
-                CargoManifest saved = cargoManifestRepository.save(manifest);
-                results.add(toResponseDTO(saved));
-            }
+            results.addAll(loadCargoItems(spacecraftId, request.loadedByUserId(), request.cargoItems()));
         }
 
         return results;
     }
 
     /**
-     * Требует @Transactional, так как выполняет множественные UPDATE операции
-     * для выгрузки всего груза с космического корабля. Все операции должны
-     * выполниться атомарно - либо весь груз выгружен, либо ничего.
+     * Требует @Transactional: выгрузка манифестов и пересчёт загрузки корабля
+     * должны выполниться атомарно - либо весь груз выгружен, либо ничего.
+     * Все активные манифесты переводятся в UNLOADED одним UPDATE ... RETURNING,
+     * ответ собирается пакетно через ReferenceResolver.
      */
     @Transactional
     public List<CargoManifestResponseDTO> unloadCargoFromSpacecraft(Long spacecraftId, CargoManifestRequestDTO request) {
+        validateUnloadReferences(spacecraftId, request);
+
+        List<CargoManifest> unloaded = new ArrayList<>(cargoManifestRepository.unloadActiveCargoBySpacecraft(
+                spacecraftId, request.unloadedByUserId(), LocalDateTime.now()));
+        spacecraftLoadService.recordUnload(spacecraftId, unloaded.stream()
+                .map(CargoManifest::getId)
+                .toList());
+
+        unloaded.sort(Comparator.comparing(CargoManifest::getPriority).reversed());
+        return toResponseDTOs(unloaded);
+    }
+
+    /**
+     * То же, что unloadCargoFromSpacecraft, но без сборки DTO - для больших выгрузок,
+     * когда клиенту достаточно количества выгруженных манифестов. UPDATE возвращает
+     * только id, их же получает пересчёт загрузки корабля.
+     */
+    @Transactional
+    public int unloadAllCargoFromSpacecraft(Long spacecraftId, CargoManifestRequestDTO request) {
+        validateUnloadReferences(spacecraftId, request);
+
+        List<Long> unloadedIds = cargoManifestRepository.unloadActiveCargoIdsBySpacecraft(
+                spacecraftId, request.unloadedByUserId(), LocalDateTime.now());
+        spacecraftLoadService.recordUnload(spacecraftId, unloadedIds);
+
+        return unloadedIds.size();
+    }
+
+    private void validateUnloadReferences(Long spacecraftId, CargoManifestRequestDTO request) {
         spacecraftService.getEntityById(spacecraftId);
         userService.getEntityById(request.loadedByUserId());
         userService.getEntityById(request.unloadedByUserId());
         storageUnitService.getEntityById(request.storageUnitId());
         storageUnitService.getEntityById(request.unloadedByUserId());
         cargoService.getCargoById(request.cargoId());
-        List<CargoManifest> activeManifests = cargoManifestRepository.findActiveCargoBySpacecraft(spacecraftId);
+    }
 
-        List<CargoManifestResponseDTO> results = new ArrayList<>();
-        for (CargoManifest manifest : activeManifests) {
-            String sql = "UPDATE cargo_manifest SET " +
-                         "manifest_status = ?::manifest_status_enum, " +
-                         "unloaded_at = ?, " +
-                         "unloaded_by_user_id = ? " +
-                         "WHERE id = ?";
-            
-            jdbcTemplate.update(sql,
-                    ManifestStatus.UNLOADED.name(),
-                    LocalDateTime.now(),
-                    request.unloadedByUserId(),
-                    manifest.getId()
-            );
-
-            manifest.setManifestStatus(ManifestStatus.UNLOADED);
-            manifest.setUnloadedAt(LocalDateTime.now());
-            manifest.setUnloadedByUserId(request.unloadedByUserId());
-
-            results.add(toResponseDTO(manifest));
+    /**
+     * Пакетная погрузка: ссылки проверяются одним запросом на таблицу через ReferenceResolver,
+     * все манифесты вставляются одним INSERT ... SELECT FROM unnest(...), а ответ собирается
+     * из уже загруженных ссылок. Число обращений к базе не зависит от количества позиций.
+     */
+    private List<CargoManifestResponseDTO> loadCargoItems(Long spacecraftId, Long loadedByUserId,
+                                                         List<CargoManifestRequestDTO.CargoItemDTO> items) {
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds()
+                .spacecraft(spacecraftId)
+                .user(loadedByUserId);
+        for (CargoManifestRequestDTO.CargoItemDTO item : items) {
+            ids.cargo(item.cargoId()).storageUnit(item.storageUnitId());
+        }
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        int count = items.size();
+        Long[] cargoIds = new Long[count];
+        Long[] storageUnitIds = new Long[count];
+        Integer[] quantities = new Integer[count];
+        String[] priorities = new String[count];
+        for (int i = 0; i < count; i++) {
+            CargoManifestRequestDTO.CargoItemDTO item = items.get(i);
+            cargoIds[i] = refs.cargo(item.cargoId()).getId();
+            storageUnitIds[i] = refs.storageUnit(item.storageUnitId()).getId();
+            quantities[i] = item.quantity();
+            priorities[i] = (item.priority() != null ? item.priority() : ManifestPriority.NORMAL).name();
+        }
+        Spacecraft spacecraft = refs.spacecraft(spacecraftId);
+        User loadedByUser = refs.user(loadedByUserId);
+        LocalDateTime loadedAt = LocalDateTime.now();
+
+        // ORDER BY ord задаёт порядок вставки, поэтому RETURNING отдаёт id в порядке позиций запроса
+        String sql = "INSERT INTO cargo_manifest " +
+                     "(spacecraft_id, cargo_id, storage_unit_id, quantity, priority, " +
+                     " loaded_by_user_id, manifest_status, loaded_at) " +
+                     "SELECT ?, i.cargo_id, i.storage_unit_id, i.quantity, i.priority, " +
+                     "       ?, ?, ? " +
+                     "FROM unnest(?::bigint[], ?::bigint[], ?::integer[], ?::manifest_priority_enum[]) " +
+                     "     WITH ORDINALITY AS i(cargo_id, storage_unit_id, quantity, priority, ord) " +
+                     "ORDER BY i.ord " +
+                     "RETURNING id";
+
+        List<Long> manifestIds = jdbcTemplate.queryForList(sql, Long.class,
+                spacecraftId,
+                loadedByUserId,
+                PgEnum.bind(ManifestStatus.LOADED),
+                loadedAt,
+                cargoIds,
+                storageUnitIds,
+                quantities,
+                priorities
+        );
+
+        spacecraftLoadService.recordLoad(spacecraftId, manifestIds);
+
+        List<CargoManifestResponseDTO> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CargoManifest manifest = CargoManifest.builder()
+                    .id(manifestIds.get(i))
+                    .spacecraftId(spacecraftId)
+                    .cargoId(cargoIds[i])
+                    .storageUnitId(storageUnitIds[i])
+                    .quantity(quantities[i])
+                    .priority(ManifestPriority.valueOf(priorities[i]))
+                    .loadedByUserId(loadedByUserId)
+                    .manifestStatus(ManifestStatus.LOADED)
+                    .loadedAt(loadedAt)
+                    .build();
+
+            results.add(cargoManifestMapper.toResponseDTO(manifest,
+                    spacecraft.getName(),
+                    refs.cargo(manifest.getCargoId()).getName(),
+                    refs.storageUnit(manifest.getStorageUnitId()).getUnitCode(),
+                    loadedByUser.getUsername(),
+                    null));
         }
-
         return results;
     }
 
@@ -192,25 +275,49 @@ public class CargoManifestService {
         return cargoManifestRepository.existsByCargoId(cargoId);
     }
 
-    public CargoManifestResponseDTO toResponseDTO(CargoManifest manifest) {
-        Spacecraft spacecraft = spacecraftService.getEntityById(manifest.getSpacecraftId());
-        Cargo cargo = cargoService.getEntityById(manifest.getCargoId());
-        StorageUnit storageUnit = storageUnitService.getEntityById(manifest.getStorageUnitId());
-        User loadedByUser = userService.getEntityById(manifest.getLoadedByUserId());
-
-        String unloadedByUserName = null;
-        if (manifest.getUnloadedByUserId() != null) {
-            User unloadedByUser = userService.getEntityByIdOrNull(manifest.getUnloadedByUserId());
-            if (unloadedByUser != null) {
-                unloadedByUserName = unloadedByUser.getUsername();
-            }
+    public List<CargoManifestResponseDTO> toResponseDTOs(List<CargoManifest> manifests) {
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds();
+        for (CargoManifest manifest : manifests) {
+            ids.spacecraft(manifest.getSpacecraftId())
+                    .cargo(manifest.getCargoId())
+                    .storageUnit(manifest.getStorageUnitId())
+                    .user(manifest.getLoadedByUserId())
+                    .user(manifest.getUnloadedByUserId());
         }
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        return manifests.stream()
+                .map(manifest -> cargoManifestMapper.toResponseDTO(manifest,
+                        refs.spacecraft(manifest.getSpacecraftId()).getName(),
+                        refs.cargo(manifest.getCargoId()).getName(),
+                        refs.storageUnit(manifest.getStorageUnitId()).getUnitCode(),
+                        refs.user(manifest.getLoadedByUserId()).getUsername(),
+                        refs.userNameOrNull(manifest.getUnloadedByUserId())))
+                .toList();
+    }
 
-        return cargoManifestMapper.toResponseDTO(manifest,
-                spacecraft.getName(),
-                cargo.getName(),
-                storageUnit.getUnitCode(),
-                loadedByUser.getUsername(),
-                unloadedByUserName);
+    /**
+     * Четыре-пять независимых чтений по ссылкам манифеста выполняются параллельно,
+     * если ParallelLookups включён и вызов идёт вне транзакции.
+     */
+    public CargoManifestResponseDTO toResponseDTO(CargoManifest manifest) {
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            Supplier<Spacecraft> spacecraft = scope.fork(() -> spacecraftService.getEntityById(manifest.getSpacecraftId()));
+            Supplier<Cargo> cargo = scope.fork(() -> cargoService.getEntityById(manifest.getCargoId()));
+            Supplier<StorageUnit> storageUnit = scope.fork(() -> storageUnitService.getEntityById(manifest.getStorageUnitId()));
+            Supplier<User> loadedByUser = scope.fork(() -> userService.getEntityById(manifest.getLoadedByUserId()));
+            Supplier<User> unloadedByUser = manifest.getUnloadedByUserId() != null
+                    ? scope.fork(() -> userService.getEntityByIdOrNull(manifest.getUnloadedByUserId()))
+                    : () -> null;
+            scope.join();
+
+            User unloadedBy = unloadedByUser.get();
+            return cargoManifestMapper.toResponseDTO(manifest,
+                    spacecraft.get().getName(),
+                    cargo.get().getName(),
+                    storageUnit.get().getUnitCode(),
+                    loadedByUser.get().getUsername(),
+                    unloadedBy != null ? unloadedBy.getUsername() : null);
+        }
     }
 }
@@ -13,6 +13,9 @@ import org.orbitalLogistic.repositories.CargoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -20,14 +23,23 @@ public class CargoService {
 
     private final CargoRepository cargoRepository;
     private final CargoMapper cargoMapper;
+    private final StorageCapacityService storageCapacityService;
+    private final StorageOccupancyService storageOccupancyService;
+    private final SpacecraftLoadService spacecraftLoadService;
 
     private CargoCategoryService cargoCategoryService;
     private CargoManifestService cargoManifestService;
     private CargoStorageService cargoStorageService;
 
-    public CargoService(CargoRepository cargoRepository, CargoMapper cargoMapper) {
+    public CargoService(CargoRepository cargoRepository, CargoMapper cargoMapper,
+                        StorageCapacityService storageCapacityService,
+                        StorageOccupancyService storageOccupancyService,
+                        SpacecraftLoadService spacecraftLoadService) {
         this.cargoRepository = cargoRepository;
         this.cargoMapper = cargoMapper;
+        this.storageCapacityService = storageCapacityService;
+        this.storageOccupancyService = storageOccupancyService;
+        this.spacecraftLoadService = spacecraftLoadService;
     }
 
     @Autowired
@@ -88,6 +100,12 @@ public class CargoService {
         return toResponseDTO(saved);
     }
 
+    /**
+     * Изменение массы или объёма единицы переносится на загрузку хранилищ, где лежит груз,
+     * и кораблей, где он погружен, в той же транзакции — иначе current_mass/current_volume
+     * и current_mass_usage/current_volume_usage разойдутся с содержимым.
+     */
+    @Transactional
     public CargoResponseDTO updateCargo(Long id, CargoRequestDTO request) {
         Cargo cargo = cargoRepository.findById(id)
                 .orElseThrow(() -> new CargoNotFoundException("Cargo not found with id: " + id));
@@ -97,6 +115,9 @@ public class CargoService {
         }
 
         CargoCategory cargoCategory = cargoCategoryService.getEntityById(request.cargoCategoryId());
+        BigDecimal massPerUnitDelta = request.massPerUnit().subtract(cargo.getMassPerUnit());
+        BigDecimal volumePerUnitDelta = request.volumePerUnit().subtract(cargo.getVolumePerUnit());
+        boolean hazardChanged = cargo.getHazardLevel() != request.hazardLevel();
 
         cargo.setName(request.name());
         cargo.setCargoCategoryId(cargoCategory.getId());
@@ -106,9 +127,15 @@ public class CargoService {
         cargo.setHazardLevel(request.hazardLevel());
 
         Cargo updated = cargoRepository.save(cargo);
+        storageCapacityService.resizeCargo(id, massPerUnitDelta, volumePerUnitDelta);
+        spacecraftLoadService.resizeCargo(id, massPerUnitDelta, volumePerUnitDelta);
+        if (hazardChanged || massPerUnitDelta.signum() != 0 || volumePerUnitDelta.signum() != 0) {
+            storageOccupancyService.invalidate();
+        }
         return toResponseDTO(updated);
     }
 
+    @Transactional
     public void deleteCargo(Long id) {
         if (!cargoRepository.existsById(id)) {
             throw new CargoNotFoundException("Cargo not found with id: " + id);
@@ -119,7 +146,10 @@ public class CargoService {
             throw new InvalidOperationException("Cannot delete cargo: it is used in cargo manifests");
         }
 
+        // Записи cargo_storage удаляются каскадно, место в хранилищах освобождаем заранее
+        storageCapacityService.releaseCargo(id);
         cargoRepository.deleteById(id);
+        storageOccupancyService.invalidate();
     }
 
     public PageResponseDTO<CargoResponseDTO> searchCargos(String name, String cargoType, String hazardLevel, int page, int size) {
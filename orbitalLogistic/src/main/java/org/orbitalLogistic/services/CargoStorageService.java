@@ -24,15 +24,21 @@ public class CargoStorageService {
 
     private final CargoStorageRepository cargoStorageRepository;
     private final CargoStorageMapper cargoStorageMapper;
+    private final ReferenceResolver referenceResolver;
+    private final StorageCapacityService storageCapacityService;
 
     private CargoService cargoService;
     private StorageUnitService storageUnitService;
     private UserService userService;
 
     public CargoStorageService(CargoStorageRepository cargoStorageRepository,
-                               CargoStorageMapper cargoStorageMapper) {
+                               CargoStorageMapper cargoStorageMapper,
+                               ReferenceResolver referenceResolver,
+                               StorageCapacityService storageCapacityService) {
         this.cargoStorageRepository = cargoStorageRepository;
         this.cargoStorageMapper = cargoStorageMapper;
+        this.referenceResolver = referenceResolver;
+        this.storageCapacityService = storageCapacityService;
     }
 
     @Autowired
@@ -54,11 +60,10 @@ public class CargoStorageService {
         long total = cargoStorageRepository.count();
         List<CargoStorage> cargoStorages = (List<CargoStorage>) cargoStorageRepository.findAll();
 
-        List<CargoStorageResponseDTO> storageDTOs = cargoStorages.stream()
+        List<CargoStorageResponseDTO> storageDTOs = toResponseDTOs(cargoStorages.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) total / size);
         return new PageResponseDTO<>(storageDTOs, page, size, total, totalPages, page == 0, page >= totalPages - 1);
@@ -67,11 +72,10 @@ public class CargoStorageService {
     public PageResponseDTO<CargoStorageResponseDTO> getStorageUnitCargo(Long storageUnitId, int page, int size) {
         List<CargoStorage> cargoStorages = cargoStorageRepository.findByStorageUnitIdOrderByStoredAt(storageUnitId);
 
-        List<CargoStorageResponseDTO> storageDTOs = cargoStorages.stream()
+        List<CargoStorageResponseDTO> storageDTOs = toResponseDTOs(cargoStorages.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) cargoStorages.size() / size);
         return new PageResponseDTO<>(storageDTOs, page, size, cargoStorages.size(), totalPages, page == 0, page >= totalPages - 1);
@@ -80,11 +84,13 @@ public class CargoStorageService {
     /**
      * Требует @Transactional, так как метод выполняет либо INSERT, либо UPDATE
      * в зависимости от наличия груза в хранилище. Также выполняется проверка
-     * наличия всех связанных сущностей. Все операции должны быть атомарными.
+     * наличия всех связанных сущностей и резервирование места в хранилище.
+     * Все операции должны быть атомарными.
      */
     @Transactional
     public CargoStorageResponseDTO addCargoToStorage(CargoStorageRequestDTO request) {
         validateEntities(request);
+        storageCapacityService.reserve(request.storageUnitId(), request.cargoId(), request.quantity());
 
         List<CargoStorage> existing = cargoStorageRepository.findByStorageUnitIdAndCargoId(
                 request.storageUnitId(), cargoService.getCargoById(request.cargoId()).id());
@@ -101,6 +107,11 @@ public class CargoStorageService {
         return toResponseDTO(saved);
     }
 
+    /**
+     * Требует @Transactional: изменение количества резервирует или освобождает разницу
+     * в хранилище, и это должно откатиться вместе с обновлением записи.
+     */
+    @Transactional
     public CargoStorageResponseDTO updateQuantity(Long id, CargoStorageRequestDTO request) {
         try {
             Long user_id = userService.findUserById(request.updatedByUserId()).id();
@@ -111,6 +122,10 @@ public class CargoStorageService {
         CargoStorage cargoStorage = cargoStorageRepository.findById(id)
                 .orElseThrow(() -> new CargoStorageNotFoundException("Cargo storage not found with id: " + id));
 
+        int previousQuantity = cargoStorage.getQuantity() != null ? cargoStorage.getQuantity() : 0;
+        storageCapacityService.reserve(cargoStorage.getStorageUnitId(), cargoStorage.getCargoId(),
+                request.quantity() - previousQuantity);
+
         cargoStorage.setQuantity(request.quantity());
         cargoStorage.setLastInventoryCheck(LocalDateTime.now());
 
@@ -146,6 +161,27 @@ public class CargoStorageService {
         }
     }
 
+    private List<CargoStorageResponseDTO> toResponseDTOs(List<CargoStorage> cargoStorages) {
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds();
+        for (CargoStorage cargoStorage : cargoStorages) {
+            ids.storageUnit(cargoStorage.getStorageUnitId())
+                    .cargo(cargoStorage.getCargoId())
+                    .user(cargoStorage.getLastCheckedByUserId());
+        }
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        return cargoStorages.stream()
+                .map(cargoStorage -> {
+                    StorageUnit storageUnit = refs.storageUnit(cargoStorage.getStorageUnitId());
+                    return cargoStorageMapper.toResponseDTO(cargoStorage,
+                            storageUnit.getUnitCode(),
+                            storageUnit.getLocation(),
+                            refs.cargo(cargoStorage.getCargoId()).getName(),
+                            refs.userNameOrNull(cargoStorage.getLastCheckedByUserId()));
+                })
+                .toList();
+    }
+
     private CargoStorageResponseDTO toResponseDTO(CargoStorage cargoStorage) {
         StorageUnit storageUnit = storageUnitService.getEntityById(cargoStorage.getStorageUnitId());
         Cargo cargo = cargoService.getEntityById(cargoStorage.getCargoId());
@@ -0,0 +1,62 @@
+package org.orbitalLogistic.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Разовое архивирование старых секций журнала транзакций из командной строки:
+ * <pre>
+ * java -jar orbitalLogistic.jar --spring.main.web-application-type=none \
+ *      --archive-inventory-transactions --older-than-months=12 --archive-dir=/var/archive
+ * </pre>
+ * Без опции --archive-inventory-transactions приложение стартует как обычно.
+ * После архивирования контекст закрывается и процесс завершается.
+ */
+@Slf4j
+@Component
+public class InventoryTransactionArchiveCommand implements ApplicationRunner {
+
+    static final String COMMAND_OPTION = "archive-inventory-transactions";
+    static final String OLDER_THAN_MONTHS_OPTION = "older-than-months";
+    static final String ARCHIVE_DIR_OPTION = "archive-dir";
+
+    private static final int DEFAULT_OLDER_THAN_MONTHS = 12;
+    private static final String DEFAULT_ARCHIVE_DIR = "archive";
+
+    private final InventoryTransactionPartitionService partitionService;
+    private final ApplicationContext applicationContext;
+
+    public InventoryTransactionArchiveCommand(InventoryTransactionPartitionService partitionService,
+                                              ApplicationContext applicationContext) {
+        this.partitionService = partitionService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption(COMMAND_OPTION)) {
+            return;
+        }
+
+        int olderThanMonths = args.containsOption(OLDER_THAN_MONTHS_OPTION)
+                ? Integer.parseInt(args.getOptionValues(OLDER_THAN_MONTHS_OPTION).getFirst())
+                : DEFAULT_OLDER_THAN_MONTHS;
+        Path directory = Path.of(args.containsOption(ARCHIVE_DIR_OPTION)
+                ? args.getOptionValues(ARCHIVE_DIR_OPTION).getFirst()
+                : DEFAULT_ARCHIVE_DIR);
+
+        List<InventoryTransactionPartitionService.ArchivedPartition> archived =
+                partitionService.archiveOlderThan(olderThanMonths, directory);
+        log.info("Archived {} inventory transaction partitions older than {} months to {}",
+                archived.size(), olderThanMonths, directory.toAbsolutePath());
+
+        SpringApplication.exit(applicationContext, () -> 0);
+    }
+}
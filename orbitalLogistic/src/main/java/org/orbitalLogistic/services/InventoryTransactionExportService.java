@@ -0,0 +1,256 @@
+package org.orbitalLogistic.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.orbitalLogistic.config.converters.EnumLookup;
+import org.orbitalLogistic.dto.response.InventoryTransactionResponseDTO;
+import org.orbitalLogistic.entities.enums.TransactionType;
+import org.orbitalLogistic.exceptions.InvalidEnumValueException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Потоковая выгрузка журнала транзакций в NDJSON или CSV.
+ * Строки читаются курсором (fetch size, транзакция без автокоммита) и пишутся в поток по одной,
+ * имена грузов, мест и пользователей берутся из справочников, загруженных один раз до выгрузки.
+ * Память не зависит от числа строк: в куче только справочники и одна текущая строка.
+ */
+@Service
+public class InventoryTransactionExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final EnumLookup<TransactionType> TRANSACTION_TYPES = EnumLookup.of(TransactionType.class);
+    private static final String CSV_HEADER = "id,transactionType,cargoName,quantity,fromLocation,toLocation," +
+                                             "performedByUserName,transactionDate,reasonCode,referenceNumber,notes";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final ObjectWriter rowWriter;
+
+    public InventoryTransactionExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.cursorJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.rowWriter = objectMapper.writerFor(InventoryTransactionResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public enum ExportFormat {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ExportFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat fromParameter(String value) {
+            for (ExportFormat format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new InvalidEnumValueException("format", value,
+                    Arrays.stream(values()).map(ExportFormat::getExtension).toArray(String[]::new));
+        }
+    }
+
+    /**
+     * Пишет транзакции за [from, to) в порядке (transaction_date, id). Границы необязательны.
+     */
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        Dictionaries dictionaries = loadDictionaries();
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, transaction_type, cargo_id, quantity, from_storage_unit_id, to_storage_unit_id, " +
+                "from_spacecraft_id, to_spacecraft_id, performed_by_user_id, transaction_date, " +
+                "reason_code, reference_number, notes FROM inventory_transaction WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND transaction_date >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND transaction_date < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY transaction_date, id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowSink sink = format == ExportFormat.CSV ? new CsvSink(writer) : new NdjsonSink(writer);
+        try {
+            sink.begin();
+            cursorJdbcTemplate.query(sql.toString(), rs -> {
+                try {
+                    sink.write(toRow(rs, dictionaries));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray());
+            sink.end();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private InventoryTransactionResponseDTO toRow(ResultSet rs, Dictionaries dictionaries) throws SQLException {
+        return new InventoryTransactionResponseDTO(
+                rs.getLong("id"),
+                TRANSACTION_TYPES.parse(rs.getString("transaction_type")),
+                dictionaries.cargoNames().get(rs.getLong("cargo_id")),
+                rs.getInt("quantity"),
+                dictionaries.location(getLong(rs, "from_storage_unit_id"), getLong(rs, "from_spacecraft_id")),
+                dictionaries.location(getLong(rs, "to_storage_unit_id"), getLong(rs, "to_spacecraft_id")),
+                dictionaries.userNames().get(rs.getLong("performed_by_user_id")),
+                rs.getTimestamp("transaction_date").toLocalDateTime(),
+                rs.getString("reason_code"),
+                rs.getString("reference_number"),
+                rs.getString("notes"));
+    }
+
+    private Dictionaries loadDictionaries() {
+        return new Dictionaries(
+                loadNames("SELECT id, name FROM cargo"),
+                loadNames("SELECT id, unit_code FROM storage_unit"),
+                loadNames("SELECT id, name FROM spacecraft"),
+                loadNames("SELECT id, username FROM users"));
+    }
+
+    private Map<Long, String> loadNames(String sql) {
+        Map<Long, String> names = new HashMap<>();
+        cursorJdbcTemplate.query(sql, rs -> {
+            names.put(rs.getLong(1), rs.getString(2));
+        });
+        return names;
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private record Dictionaries(Map<Long, String> cargoNames, Map<Long, String> storageUnitCodes,
+                                Map<Long, String> spacecraftNames, Map<Long, String> userNames) {
+
+        String location(Long storageUnitId, Long spacecraftId) {
+            if (storageUnitId != null) {
+                return "Storage: " + storageUnitCodes.get(storageUnitId);
+            }
+            if (spacecraftId != null) {
+                return "Spacecraft: " + spacecraftNames.get(spacecraftId);
+            }
+            return "Unknown Location";
+        }
+    }
+
+    private interface RowSink {
+
+        default void begin() throws IOException {
+        }
+
+        void write(InventoryTransactionResponseDTO row) throws IOException;
+
+        default void end() throws IOException {
+        }
+    }
+
+    private final class NdjsonSink implements RowSink {
+
+        private final JsonGenerator generator;
+
+        NdjsonSink(Writer writer) throws IOException {
+            this.generator = rowWriter.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(InventoryTransactionResponseDTO row) throws IOException {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvSink implements RowSink {
+
+        private final Writer writer;
+
+        CsvSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(InventoryTransactionResponseDTO row) throws IOException {
+            writer.write(String.valueOf(row.id()));
+            writeField(row.transactionType().name());
+            writeField(row.cargoName());
+            writeField(String.valueOf(row.quantity()));
+            writeField(row.fromLocation());
+            writeField(row.toLocation());
+            writeField(row.performedByUserName());
+            writeField(row.transactionDate().toString());
+            writeField(row.reasonCode());
+            writeField(row.referenceNumber());
+            writeField(row.notes());
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.orbitalLogistic.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Обслуживание помесячных секций inventory_transaction (V8): заранее создаёт секции будущих
+ * месяцев, добавляет BRIN-индексы закрытым месяцам и архивирует старые секции в файлы .csv.gz.
+ */
+@Slf4j
+@Service
+public class InventoryTransactionPartitionService {
+
+    private static final String PARTITION_PREFIX = "inv_txn_";
+    private static final String DEFAULT_PARTITION = "inv_txn_default";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public InventoryTransactionPartitionService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${orbital.inventory-partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    public record ArchivedPartition(String partitionName, YearMonth month, long rows, Path file) {
+    }
+
+    /**
+     * Создаёт секции на monthsAhead месяцев вперёд, чтобы новые транзакции не попадали
+     * в секцию по умолчанию, и индексирует BRIN только что закрытые месяцы. Строки
+     * созданных месяцев переносятся из inv_txn_default функцией (V10); всё, что осталось
+     * там после этого, — даты вне созданных секций, о них пишется предупреждение.
+     */
+    @Scheduled(fixedDelayString = "${orbital.inventory-partitions.maintenance-interval:PT12H}")
+    public void maintainPartitions() {
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT create_inventory_transaction_partitions(CURRENT_DATE, ?)", Integer.class, monthsAhead);
+        Integer indexed = jdbcTemplate.queryForObject(
+                "SELECT index_closed_inventory_transaction_partitions()", Integer.class);
+        warnIfDefaultPartitionNotEmpty();
+
+        if (created != null && created > 0 || indexed != null && indexed > 0) {
+            log.info("Inventory transaction partitions: {} created, {} BRIN-indexed", created, indexed);
+        }
+    }
+
+    private void warnIfDefaultPartitionNotEmpty() {
+        jdbcTemplate.query(
+                "SELECT COUNT(*) AS row_count, MIN(transaction_date) AS min_date, MAX(transaction_date) AS max_date " +
+                "FROM " + DEFAULT_PARTITION,
+                rs -> {
+                    long rows = rs.getLong("row_count");
+                    if (rows > 0) {
+                        log.warn("{} holds {} inventory transaction(s) dated {} .. {}: partitions for these months " +
+                                 "are missing or could not be created",
+                                DEFAULT_PARTITION, rows, rs.getTimestamp("min_date"), rs.getTimestamp("max_date"));
+                    }
+                });
+    }
+
+    /**
+     * Архивирует секции месяцев старше текущего на olderThanMonths и более: секция отсоединяется,
+     * выгружается через COPY в directory/inventory_transaction_YYYY_MM.csv.gz и удаляется.
+     * Таблица удаляется только после того, как файл полностью записан, поэтому прерванный
+     * запуск безопасно повторить: отсоединённые, но не удалённые секции подбираются снова.
+     */
+    public List<ArchivedPartition> archiveOlderThan(int olderThanMonths, Path directory) throws IOException {
+        if (olderThanMonths < 1) {
+            throw new IllegalArgumentException("olderThanMonths must be at least 1");
+        }
+        YearMonth cutoff = YearMonth.now().minusMonths(olderThanMonths);
+        Files.createDirectories(directory);
+
+        List<ArchivedPartition> archived = new ArrayList<>();
+        for (PartitionTable partition : findMonthlyPartitions()) {
+            if (!partition.month().isAfter(cutoff)) {
+                archived.add(archive(partition, directory));
+            }
+        }
+        return archived;
+    }
+
+    private ArchivedPartition archive(PartitionTable partition, Path directory) throws IOException {
+        if (partition.attached()) {
+            jdbcTemplate.execute("ALTER TABLE inventory_transaction DETACH PARTITION " + partition.name());
+        }
+
+        Path file = directory.resolve("inventory_transaction_" + partition.month().format(PARTITION_MONTH) + ".csv.gz");
+        Path partial = directory.resolve(file.getFileName() + ".part");
+        long rows = copyOut(partition.name(), partial);
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        jdbcTemplate.execute("DROP TABLE " + partition.name());
+        log.info("Archived {} ({} rows) to {}", partition.name(), rows, file);
+        return new ArchivedPartition(partition.name(), partition.month(), rows, file);
+    }
+
+    private long copyOut(String tableName, Path target) throws IOException {
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(target)), 64 * 1024)) {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(
+                    "COPY (SELECT * FROM " + tableName + " ORDER BY transaction_date, id) " +
+                    "TO STDOUT WITH (FORMAT csv, HEADER)", out);
+        } catch (SQLException e) {
+            throw new IOException("Failed to export " + tableName, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Месячные секции, включая отсоединённые прерванным архивированием. Имена таблиц берутся
+     * из каталога по строгому шаблону, поэтому их можно подставлять в DDL без экранирования.
+     */
+    private List<PartitionTable> findMonthlyPartitions() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, c.relispartition FROM pg_class c " +
+                "WHERE c.relkind = 'r' AND c.relnamespace = current_schema()::regnamespace " +
+                "AND c.relname ~ '^inv_txn_[0-9]{4}_[0-9]{2}$' " +
+                "ORDER BY c.relname",
+                (rs, rowNum) -> {
+                    String name = rs.getString("relname");
+                    return new PartitionTable(name,
+                            YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_MONTH),
+                            rs.getBoolean("relispartition"));
+                });
+    }
+
+    private record PartitionTable(String name, YearMonth month, boolean attached) {
+    }
+}
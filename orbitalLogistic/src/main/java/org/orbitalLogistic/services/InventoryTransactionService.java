@@ -1,5 +1,6 @@
 package org.orbitalLogistic.services;
 
+import org.orbitalLogistic.dto.common.CursorPageResponseDTO;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.InventoryTransactionRequestDTO;
 import org.orbitalLogistic.dto.response.InventoryTransactionResponseDTO;
@@ -9,6 +10,7 @@ import org.orbitalLogistic.entities.User;
 import org.orbitalLogistic.entities.StorageUnit;
 import org.orbitalLogistic.entities.Spacecraft;
 import org.orbitalLogistic.entities.enums.TransactionType;
+import org.orbitalLogistic.exceptions.InvalidCursorException;
 import org.orbitalLogistic.exceptions.InventoryTransactionNotFoundException;
 import org.orbitalLogistic.exceptions.user.UserNotFoundException;
 import org.orbitalLogistic.mappers.InventoryTransactionMapper;
@@ -18,6 +20,10 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -25,6 +31,8 @@ public class InventoryTransactionService {
 
     private final InventoryTransactionRepository inventoryTransactionRepository;
     private final InventoryTransactionMapper inventoryTransactionMapper;
+    private final ReferenceResolver referenceResolver;
+    private final StorageCapacityService storageCapacityService;
 
     private CargoService cargoService;
     private StorageUnitService storageUnitService;
@@ -32,9 +40,13 @@ public class InventoryTransactionService {
     private UserService userService;
 
     public InventoryTransactionService(InventoryTransactionRepository inventoryTransactionRepository,
-                                      InventoryTransactionMapper inventoryTransactionMapper) {
+                                      InventoryTransactionMapper inventoryTransactionMapper,
+                                      ReferenceResolver referenceResolver,
+                                      StorageCapacityService storageCapacityService) {
         this.inventoryTransactionRepository = inventoryTransactionRepository;
         this.inventoryTransactionMapper = inventoryTransactionMapper;
+        this.referenceResolver = referenceResolver;
+        this.storageCapacityService = storageCapacityService;
     }
 
     @Autowired
@@ -61,11 +73,10 @@ public class InventoryTransactionService {
         long total = inventoryTransactionRepository.count();
         List<InventoryTransaction> transactions = (List<InventoryTransaction>) inventoryTransactionRepository.findAll();
 
-        List<InventoryTransactionResponseDTO> transactionDTOs = transactions.stream()
+        List<InventoryTransactionResponseDTO> transactionDTOs = toResponseDTOs(transactions.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) total / size);
         return new PageResponseDTO<>(transactionDTOs, page, size, total, totalPages, page == 0, page >= totalPages - 1);
@@ -77,14 +88,39 @@ public class InventoryTransactionService {
         return toResponseDTO(transaction);
     }
 
+    /**
+     * Курсорная пагинация журнала по (transaction_date, id), от новых к старым.
+     * В отличие от skip/limit стоимость страницы не зависит от её глубины:
+     * запрос идёт по индексу idx_inventory_transaction_date_id и читает size + 1 строк.
+     * Пустой или отсутствующий курсор означает первую страницу.
+     * Размер меньше единицы поднимается до 1: пустая страница не даёт курсора для продолжения,
+     * а отрицательный LIMIT PostgreSQL отклоняет.
+     */
+    public CursorPageResponseDTO<InventoryTransactionResponseDTO> getTransactionsAfter(String cursor, int size) {
+        int pageSize = Math.max(1, size);
+        List<InventoryTransaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = inventoryTransactionRepository.findFirstKeysetPage(pageSize + 1);
+        } else {
+            TransactionCursor after = decodeCursor(cursor);
+            transactions = inventoryTransactionRepository.findKeysetPageAfter(
+                    after.transactionDate(), after.id(), pageSize + 1);
+        }
+
+        boolean hasNext = transactions.size() > pageSize;
+        List<InventoryTransaction> pageContent = hasNext ? transactions.subList(0, pageSize) : transactions;
+        String nextCursor = hasNext ? encodeCursor(pageContent.get(pageContent.size() - 1)) : null;
+
+        return new CursorPageResponseDTO<>(toResponseDTOs(pageContent), pageSize, nextCursor, hasNext);
+    }
+
     public PageResponseDTO<InventoryTransactionResponseDTO> getCargoHistory(Long cargoId, int page, int size) {
         List<InventoryTransaction> transactions = inventoryTransactionRepository.findByCargoIdOrderByTransactionDate(cargoId);
 
-        List<InventoryTransactionResponseDTO> transactionDTOs = transactions.stream()
+        List<InventoryTransactionResponseDTO> transactionDTOs = toResponseDTOs(transactions.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) transactions.size() / size);
         return new PageResponseDTO<>(transactionDTOs, page, size, transactions.size(), totalPages, page == 0, page >= totalPages - 1);
@@ -92,7 +128,8 @@ public class InventoryTransactionService {
 
     /**
      * Требует @Transactional, так как перемещение груза между хранилищами должно
-     * быть атомарной операцией.
+     * быть атомарной операцией: груз перекладывается в cargo_storage, место в хранилище
+     * назначения резервируется, в исходном освобождается одним пакетом вместе с записью в журнал.
      */
     @Transactional
     public InventoryTransactionResponseDTO transferBetweenStorages(InventoryTransactionRequestDTO request) {
@@ -108,6 +145,12 @@ public class InventoryTransactionService {
             throw new IllegalArgumentException("Both source and destination storage units are required for transfer");
         }
 
+        storageCapacityService.moveStoredCargo(request.fromStorageUnitId(), request.toStorageUnitId(),
+                request.cargoId(), request.quantity());
+        storageCapacityService.reserveAll(List.of(
+                new StorageCapacityService.CargoReservation(request.toStorageUnitId(), request.cargoId(), request.quantity()),
+                new StorageCapacityService.CargoReservation(request.fromStorageUnitId(), request.cargoId(), -request.quantity())));
+
         InventoryTransaction transaction = inventoryTransactionMapper.toEntity(request);
         transaction.setTransactionType(TransactionType.TRANSFER);
 
@@ -115,6 +158,28 @@ public class InventoryTransactionService {
         return toResponseDTO(saved);
     }
 
+    private record TransactionCursor(LocalDateTime transactionDate, Long id) {}
+
+    private static String encodeCursor(InventoryTransaction transaction) {
+        String raw = transaction.getTransactionDate() + "|" + transaction.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TransactionCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
     private void validateTransactionEntities(InventoryTransactionRequestDTO request) {
         cargoService.getEntityById(request.cargoId());
         userService.getEntityById(request.performedByUserId());
@@ -150,6 +215,37 @@ public class InventoryTransactionService {
                 performedByUser.getUsername());
     }
 
+    private List<InventoryTransactionResponseDTO> toResponseDTOs(List<InventoryTransaction> transactions) {
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds();
+        for (InventoryTransaction transaction : transactions) {
+            ids.cargo(transaction.getCargoId())
+                    .user(transaction.getPerformedByUserId())
+                    .storageUnit(transaction.getFromStorageUnitId())
+                    .storageUnit(transaction.getToStorageUnitId())
+                    .spacecraft(transaction.getFromSpacecraftId())
+                    .spacecraft(transaction.getToSpacecraftId());
+        }
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        return transactions.stream()
+                .map(transaction -> inventoryTransactionMapper.toResponseDTO(transaction,
+                        refs.cargo(transaction.getCargoId()).getName(),
+                        getLocationName(refs, transaction.getFromStorageUnitId(), transaction.getFromSpacecraftId()),
+                        getLocationName(refs, transaction.getToStorageUnitId(), transaction.getToSpacecraftId()),
+                        refs.user(transaction.getPerformedByUserId()).getUsername()))
+                .toList();
+    }
+
+    private String getLocationName(ReferenceResolver.References refs, Long storageUnitId, Long spacecraftId) {
+        if (storageUnitId != null) {
+            return "Storage: " + refs.storageUnit(storageUnitId).getUnitCode();
+        }
+        if (spacecraftId != null) {
+            return "Spacecraft: " + refs.spacecraft(spacecraftId).getName();
+        }
+        return "Unknown Location";
+    }
+
     private String getLocationName(Long storageUnitId, Long spacecraftId) {
         if (storageUnitId != null) {
             StorageUnit unit = storageUnitService.getEntityById(storageUnitId);
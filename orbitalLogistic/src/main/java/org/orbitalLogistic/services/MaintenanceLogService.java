@@ -25,14 +25,17 @@ public class MaintenanceLogService {
 
     private final MaintenanceLogRepository maintenanceLogRepository;
     private final MaintenanceLogMapper maintenanceLogMapper;
+    private final ReferenceResolver referenceResolver;
 
     private SpacecraftService spacecraftService;
     private UserService userService;
 
     public MaintenanceLogService(MaintenanceLogRepository maintenanceLogRepository,
-                                MaintenanceLogMapper maintenanceLogMapper) {
+                                MaintenanceLogMapper maintenanceLogMapper,
+                                ReferenceResolver referenceResolver) {
         this.maintenanceLogRepository = maintenanceLogRepository;
         this.maintenanceLogMapper = maintenanceLogMapper;
+        this.referenceResolver = referenceResolver;
     }
 
     @Autowired
@@ -49,11 +52,10 @@ public class MaintenanceLogService {
         long total = maintenanceLogRepository.count();
         List<MaintenanceLog> logs = (List<MaintenanceLog>) maintenanceLogRepository.findAll();
 
-        List<MaintenanceLogResponseDTO> logDTOs = logs.stream()
+        List<MaintenanceLogResponseDTO> logDTOs = toResponseDTOs(logs.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) total / size);
         return new PageResponseDTO<>(logDTOs, page, size, total, totalPages, page == 0, page >= totalPages - 1);
@@ -62,11 +64,10 @@ public class MaintenanceLogService {
     public PageResponseDTO<MaintenanceLogResponseDTO> getSpacecraftMaintenanceHistory(Long spacecraftId, int page, int size) {
         List<MaintenanceLog> logs = maintenanceLogRepository.findBySpacecraftIdOrderByStartTime(spacecraftId);
 
-        List<MaintenanceLogResponseDTO> logDTOs = logs.stream()
+        List<MaintenanceLogResponseDTO> logDTOs = toResponseDTOs(logs.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) logs.size() / size);
         return new PageResponseDTO<>(logDTOs, page, size, logs.size(), totalPages, page == 0, page >= totalPages - 1);
@@ -133,6 +134,23 @@ public class MaintenanceLogService {
         }
     }
 
+    private List<MaintenanceLogResponseDTO> toResponseDTOs(List<MaintenanceLog> logs) {
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds();
+        for (MaintenanceLog maintenanceLog : logs) {
+            ids.spacecraft(maintenanceLog.getSpacecraftId())
+                    .user(maintenanceLog.getPerformedByUserId())
+                    .user(maintenanceLog.getSupervisedByUserId());
+        }
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        return logs.stream()
+                .map(maintenanceLog -> maintenanceLogMapper.toResponseDTO(maintenanceLog,
+                        refs.spacecraft(maintenanceLog.getSpacecraftId()).getName(),
+                        refs.user(maintenanceLog.getPerformedByUserId()).getUsername(),
+                        refs.userNameOrNull(maintenanceLog.getSupervisedByUserId())))
+                .toList();
+    }
+
     private MaintenanceLogResponseDTO toResponseDTO(MaintenanceLog maintenanceLog) {
         Spacecraft spacecraft = spacecraftService.getEntityById(maintenanceLog.getSpacecraftId());
         try {
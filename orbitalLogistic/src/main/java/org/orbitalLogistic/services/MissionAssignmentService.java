@@ -1,5 +1,6 @@
 package org.orbitalLogistic.services;
 
+import org.orbitalLogistic.config.converters.PgEnum;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.MissionAssignmentRequestDTO;
 import org.orbitalLogistic.dto.response.MissionAssignmentResponseDTO;
@@ -25,16 +26,19 @@ public class MissionAssignmentService {
     private final MissionAssignmentRepository missionAssignmentRepository;
     private final MissionAssignmentMapper missionAssignmentMapper;
     private final JdbcTemplate jdbcTemplate;
+    private final ReferenceResolver referenceResolver;
 
     private MissionService missionService;
     private UserService userService;
 
     public MissionAssignmentService(MissionAssignmentRepository missionAssignmentRepository,
                                    MissionAssignmentMapper missionAssignmentMapper,
-                                   JdbcTemplate jdbcTemplate) {
+                                   JdbcTemplate jdbcTemplate,
+                                   ReferenceResolver referenceResolver) {
         this.missionAssignmentRepository = missionAssignmentRepository;
         this.missionAssignmentMapper = missionAssignmentMapper;
         this.jdbcTemplate = jdbcTemplate;
+        this.referenceResolver = referenceResolver;
     }
 
     @Autowired
@@ -51,11 +55,10 @@ public class MissionAssignmentService {
         long total = missionAssignmentRepository.count();
         List<MissionAssignment> assignments = (List<MissionAssignment>) missionAssignmentRepository.findAll();
 
-        List<MissionAssignmentResponseDTO> assignmentDTOs = assignments.stream()
+        List<MissionAssignmentResponseDTO> assignmentDTOs = toResponseDTOs(assignments.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) total / size);
         return new PageResponseDTO<>(assignmentDTOs, page, size, total, totalPages, page == 0, page >= totalPages - 1);
@@ -64,11 +67,10 @@ public class MissionAssignmentService {
     public PageResponseDTO<MissionAssignmentResponseDTO> getMissionAssignments(Long missionId, int page, int size) {
         List<MissionAssignment> assignments = missionAssignmentRepository.findByMissionIdOrderByRole(missionId);
 
-        List<MissionAssignmentResponseDTO> assignmentDTOs = assignments.stream()
+        List<MissionAssignmentResponseDTO> assignmentDTOs = toResponseDTOs(assignments.stream()
                 .skip((long) page * size)
                 .limit(size)
-                .map(this::toResponseDTO)
-                .toList();
+                .toList());
 
         int totalPages = (int) Math.ceil((double) assignments.size() / size);
         return new PageResponseDTO<>(assignmentDTOs, page, size, assignments.size(), totalPages, page == 0, page >= totalPages - 1);
@@ -119,13 +121,13 @@ public class MissionAssignmentService {
 
         String sql = "INSERT INTO mission_assignment " +
                         "(mission_id, user_id, assignment_role, responsibility_zone) " +
-                        "VALUES (?, ?, ?::assignment_role_enum, ?) " +
+                        "VALUES (?, ?, ?, ?) " +
                         "RETURNING id";
         
         Long newId = jdbcTemplate.queryForObject(sql, Long.class,
                 missionId,
                 userId,
-                role.name(),
+                PgEnum.bind(role),
                 responsibilityZone
         );
 
@@ -143,6 +145,24 @@ public class MissionAssignmentService {
                 newId);
         }
 
+    private List<MissionAssignmentResponseDTO> toResponseDTOs(List<MissionAssignment> assignments) {
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds();
+        for (MissionAssignment assignment : assignments) {
+            ids.mission(assignment.getMissionId())
+                    .user(assignment.getUserId());
+        }
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        return assignments.stream()
+                .map(assignment -> {
+                    User user = refs.user(assignment.getUserId());
+                    return missionAssignmentMapper.toResponseDTO(assignment,
+                            refs.mission(assignment.getMissionId()).getMissionName(),
+                            user.getUsername() + " " + user.getUsername());
+                })
+                .toList();
+    }
+
     private MissionAssignmentResponseDTO toResponseDTO(MissionAssignment assignment) {
         Mission mission = missionService.getEntityById(assignment.getMissionId());
         User user = userService.getEntityById(assignment.getUserId());
@@ -0,0 +1,118 @@
+package org.orbitalLogistic.services;
+
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.cache.ReferenceDataCache;
+import org.orbitalLogistic.dto.response.FreeWindowResponseDTO;
+import org.orbitalLogistic.exceptions.InvalidTimeRangeException;
+import org.orbitalLogistic.scheduling.IntervalTree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Расписание кораблей в памяти: для каждого корабля — IntervalTree по активным
+ * (SCHEDULED, IN_PROGRESS) миссиям. Дерево строится одним запросом при первом обращении
+ * и сбрасывается при изменении миссий корабля на любом узле (см. CacheInvalidationBus).
+ * Целостность расписания гарантирует ограничение excl_mission_spacecraft_period в БД,
+ * индекс нужен только для быстрых ответов на чтение.
+ */
+@Service
+public class MissionScheduleService {
+
+    public static final String CACHE_NAME = "mission_schedule";
+
+    private static final String ACTIVE_MISSIONS_SQL =
+            "SELECT id, scheduled_departure, scheduled_arrival FROM mission " +
+            "WHERE spacecraft_id = ? AND status IN ('SCHEDULED', 'IN_PROGRESS') AND period IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ReferenceDataCache<Long, IntervalTree> schedules;
+
+    public MissionScheduleService(JdbcTemplate jdbcTemplate,
+                                  CacheInvalidationBus cacheInvalidationBus,
+                                  @Value("${orbital.mission-schedule.cache-size:1024}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.schedules = new ReferenceDataCache<>(CACHE_NAME, cacheSize);
+        cacheInvalidationBus.register(schedules);
+    }
+
+    /**
+     * Свободные окна корабля внутри [from, to): промежутки между активными миссиями,
+     * обрезанные по границам запроса. Миссия без прибытия занимает корабль до конца диапазона.
+     */
+    public List<FreeWindowResponseDTO> findFreeWindows(Long spacecraftId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new InvalidTimeRangeException("'from' must be before 'to'");
+        }
+
+        long rangeStart = toMicros(from);
+        long rangeEnd = toMicros(to);
+        List<FreeWindowResponseDTO> windows = new ArrayList<>();
+        long[] cursor = {rangeStart};
+
+        schedules.get(spacecraftId, this::load).forEachOverlapping(rangeStart, rangeEnd, (start, end) -> {
+            if (start > cursor[0]) {
+                windows.add(new FreeWindowResponseDTO(fromMicros(cursor[0]), fromMicros(start)));
+            }
+            cursor[0] = Math.max(cursor[0], end);
+            return 0;
+        });
+
+        if (cursor[0] < rangeEnd) {
+            windows.add(new FreeWindowResponseDTO(fromMicros(cursor[0]), to));
+        }
+        return windows;
+    }
+
+    /**
+     * Сбрасывает индекс корабля после изменения его миссий. Внутри транзакции индекс
+     * сбрасывается ещё раз после COMMIT, иначе параллельное чтение успело бы закэшировать
+     * расписание без незафиксированных изменений.
+     */
+    public void invalidate(Long spacecraftId) {
+        if (spacecraftId == null) {
+            return;
+        }
+        schedules.evict(spacecraftId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedules.evict(spacecraftId);
+                }
+            });
+        }
+        cacheInvalidationBus.publish(CACHE_NAME, spacecraftId);
+    }
+
+    private IntervalTree load(Long spacecraftId) {
+        IntervalTree.Builder builder = IntervalTree.builder();
+        jdbcTemplate.query(ACTIVE_MISSIONS_SQL, rs -> {
+            Timestamp arrival = rs.getTimestamp("scheduled_arrival");
+            builder.add(rs.getLong("id"),
+                    toMicros(rs.getTimestamp("scheduled_departure").toLocalDateTime()),
+                    arrival != null ? toMicros(arrival.toLocalDateTime()) : Long.MAX_VALUE);
+        }, spacecraftId);
+        return builder.build();
+    }
+
+    // Время хранится без часового пояса, UTC здесь — просто фиксированная шкала для long
+    static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
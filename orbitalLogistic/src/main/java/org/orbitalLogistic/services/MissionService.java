@@ -1,5 +1,6 @@
 package org.orbitalLogistic.services;
 
+import org.orbitalLogistic.config.converters.PgEnum;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.MissionRequestDTO;
 import org.orbitalLogistic.dto.response.MissionResponseDTO;
@@ -9,35 +10,55 @@ import org.orbitalLogistic.entities.Spacecraft;
 import org.orbitalLogistic.entities.enums.MissionPriority;
 import org.orbitalLogistic.entities.enums.MissionStatus;
 import org.orbitalLogistic.entities.enums.MissionType;
+import org.orbitalLogistic.exceptions.InvalidTimeRangeException;
 import org.orbitalLogistic.exceptions.MissionNotFoundException;
+import org.orbitalLogistic.exceptions.MissionScheduleConflictException;
 import org.orbitalLogistic.exceptions.user.UserNotFoundException;
 import org.orbitalLogistic.exceptions.MissionAlreadyExistsException;
 import org.orbitalLogistic.mappers.MissionMapper;
 import org.orbitalLogistic.repositories.MissionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class MissionService {
 
+    // SQLSTATE exclusion_violation: сработало ограничение excl_mission_spacecraft_period
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final String SCHEDULE_CONFLICT_SQL =
+            "SELECT mission_code FROM mission " +
+            "WHERE spacecraft_id = ? AND id IS DISTINCT FROM ? " +
+            "AND status IN ('SCHEDULED', 'IN_PROGRESS') " +
+            "AND period && tsrange(?::timestamp, ?::timestamp, '[)') " +
+            "LIMIT 1";
+
     private final MissionRepository missionRepository;
     private final MissionMapper missionMapper;
     private final JdbcTemplate jdbcTemplate;
+    private final ReferenceResolver referenceResolver;
+    private final MissionScheduleService missionScheduleService;
 
     private UserService userService;
     private SpacecraftService spacecraftService;
 
     public MissionService(MissionRepository missionRepository,
                          MissionMapper missionMapper,
-                         JdbcTemplate jdbcTemplate) {
+                         JdbcTemplate jdbcTemplate,
+                         ReferenceResolver referenceResolver,
+                         MissionScheduleService missionScheduleService) {
         this.missionRepository = missionRepository;
         this.missionMapper = missionMapper;
         this.jdbcTemplate = jdbcTemplate;
+        this.referenceResolver = referenceResolver;
+        this.missionScheduleService = missionScheduleService;
     }
 
     @Autowired
@@ -55,9 +76,7 @@ public class MissionService {
         List<Mission> missions = missionRepository.findWithFilters(missionCode, null, status, missionType, null, null, null, size, offset);
         long total = missionRepository.countWithFilters(missionCode, null, status, missionType, null, null, null);
 
-        List<MissionResponseDTO> missionDTOs = missions.stream()
-                .map(this::toResponseDTO)
-                .toList();
+        List<MissionResponseDTO> missionDTOs = toResponseDTOs(missions);
 
         int totalPages = (int) Math.ceil((double) total / size);
         return new PageResponseDTO<>(missionDTOs, page, size, total, totalPages, page == 0, page >= totalPages - 1);
@@ -71,9 +90,7 @@ public class MissionService {
 
     public List<MissionResponseDTO> getActiveMissions() {
         LocalDateTime now = LocalDateTime.now();
-        return missionRepository.findActiveMissions(now).stream()
-                .map(this::toResponseDTO)
-                .toList();
+        return toResponseDTOs(missionRepository.findActiveMissions(now));
     }
 
     public MissionResponseDTO createMission(MissionRequestDTO request) {
@@ -87,25 +104,33 @@ public class MissionService {
             throw new UserNotFoundException("Command officer not found with id: " + request.commandingOfficerId());
         }
         spacecraftService.getEntityById(request.spacecraftId());
+        ensureScheduleAvailable(null, request.spacecraftId(), request.status(),
+                request.scheduledDeparture(), request.scheduledArrival());
 
         String sql = "INSERT INTO mission " +
                     "(mission_code, mission_name, mission_type, status, priority, " +
                     "commanding_officer_id, spacecraft_id, scheduled_departure, scheduled_arrival) " +
-                    "VALUES (?, ?, ?::mission_type_enum, ?::mission_status_enum, ?::mission_priority_enum, " +
+                    "VALUES (?, ?, ?, ?, ?, " +
                     "?, ?, ?, ?) " +
                     "RETURNING id";
         
-        Long newId = jdbcTemplate.queryForObject(sql, Long.class,
-                request.missionCode(),
-                request.missionName(),
-                request.missionType().name(),
-                request.status().name(),
-                request.priority().name(),    
-                request.commandingOfficerId(),
-                request.spacecraftId(),
-                request.scheduledDeparture(), 
-                request.scheduledArrival() 
-        );
+        Long newId;
+        try {
+            newId = jdbcTemplate.queryForObject(sql, Long.class,
+                    request.missionCode(),
+                    request.missionName(),
+                    PgEnum.bind(request.missionType()),
+                    PgEnum.bind(request.status()),
+                    PgEnum.bind(request.priority()),
+                    request.commandingOfficerId(),
+                    request.spacecraftId(),
+                    request.scheduledDeparture(),
+                    request.scheduledArrival()
+            );
+        } catch (DataIntegrityViolationException e) {
+            throw translateScheduleViolation(e, request.spacecraftId());
+        }
+        missionScheduleService.invalidate(request.spacecraftId());
 
         String selectSql = "SELECT * FROM mission WHERE id = ?";
         Mission saved = jdbcTemplate.queryForObject(selectSql, 
@@ -140,9 +165,9 @@ public class MissionService {
         String sql = "UPDATE mission SET " +
                      "mission_code = ?, " +
                      "mission_name = ?, " +
-                     "mission_type = ?::mission_type_enum, " +
-                     "status = ?::mission_status_enum, " +
-                     "priority = ?::mission_priority_enum, " +
+                     "mission_type = ?, " +
+                     "status = ?, " +
+                     "priority = ?, " +
                      "commanding_officer_id = ?, " +
                      "spacecraft_id = ?, " +
                      "scheduled_departure = ?, " +
@@ -155,17 +180,27 @@ public class MissionService {
             throw new UserNotFoundException("Command officer not found with id: " + request.commandingOfficerId());
         }
 
-        jdbcTemplate.update(sql,
-                request.missionCode(),
-                request.missionName(),
-                request.missionType().name(),
-                request.status().name(),
-                request.priority().name(),
-                userService.findUserById(request.commandingOfficerId()).id(),
-                spacecraftService.getSpacecraftById(request.spacecraftId()).id(),
-                request.scheduledDeparture(),
-                request.scheduledArrival(),
-                id);
+        ensureScheduleAvailable(id, request.spacecraftId(), request.status(),
+                request.scheduledDeparture(), request.scheduledArrival());
+
+        try {
+            jdbcTemplate.update(sql,
+                    request.missionCode(),
+                    request.missionName(),
+                    PgEnum.bind(request.missionType()),
+                    PgEnum.bind(request.status()),
+                    PgEnum.bind(request.priority()),
+                    userService.findUserById(request.commandingOfficerId()).id(),
+                    spacecraftService.getSpacecraftById(request.spacecraftId()).id(),
+                    request.scheduledDeparture(),
+                    request.scheduledArrival(),
+                    id);
+        } catch (DataIntegrityViolationException e) {
+            throw translateScheduleViolation(e, request.spacecraftId());
+        }
+        // Миссия могла перейти на другой корабль: освобождается окно и в старом расписании
+        missionScheduleService.invalidate(mission.getSpacecraftId());
+        missionScheduleService.invalidate(request.spacecraftId());
 
         mission.setMissionCode(request.missionCode());
         mission.setMissionName(request.missionName());
@@ -184,11 +219,12 @@ public class MissionService {
         Mission mission = missionRepository.findById(id)
                 .orElseThrow(() -> new MissionNotFoundException("Mission not found with id: " + id));
 
-        String sql = "UPDATE mission SET status = ?::mission_status_enum WHERE id = ?";
+        String sql = "UPDATE mission SET status = ? WHERE id = ?";
         jdbcTemplate.update(sql, 
-            request.isSuccessful() ? MissionStatus.COMPLETED.name() : MissionStatus.CANCELLED.name(), 
+            PgEnum.bind(request.isSuccessful() ? MissionStatus.COMPLETED : MissionStatus.CANCELLED), 
             id
         );
+        missionScheduleService.invalidate(mission.getSpacecraftId());
 
         mission.setStatus(request.isSuccessful() ? MissionStatus.COMPLETED : MissionStatus.CANCELLED);
 
@@ -200,8 +236,7 @@ public class MissionService {
         Mission mission = missionRepository.findById(id)
                 .orElseThrow(() -> new MissionNotFoundException("Mission not found with id: " + id));
 
-        String sql = "UPDATE mission SET status = ?::mission_status_enum WHERE id = ?";
-        jdbcTemplate.update(sql, MissionStatus.IN_PROGRESS.name(), id);
+        changeActiveStatus(mission, MissionStatus.IN_PROGRESS);
 
         mission.setStatus(MissionStatus.IN_PROGRESS);
         return toResponseDTO(mission);
@@ -211,8 +246,7 @@ public class MissionService {
         Mission mission = missionRepository.findById(id)
                 .orElseThrow(() -> new MissionNotFoundException("Mission not found with id: " + id));
 
-        String sql = "UPDATE mission SET status = ?::mission_status_enum WHERE id = ?";
-        jdbcTemplate.update(sql, MissionStatus.SCHEDULED.name(), id);
+        changeActiveStatus(mission, MissionStatus.SCHEDULED);
 
         mission.setStatus(MissionStatus.SCHEDULED);
         return toResponseDTO(mission);
@@ -222,8 +256,9 @@ public class MissionService {
         Mission mission = missionRepository.findById(id)
                 .orElseThrow(() -> new MissionNotFoundException("Mission not found with id: " + id));
 
-        String sql = "UPDATE mission SET status = ?::mission_status_enum WHERE id = ?";
-        jdbcTemplate.update(sql, MissionStatus.CANCELLED.name(), id);
+        String sql = "UPDATE mission SET status = ? WHERE id = ?";
+        jdbcTemplate.update(sql, PgEnum.bind(MissionStatus.CANCELLED), id);
+        missionScheduleService.invalidate(mission.getSpacecraftId());
 
         mission.setStatus(MissionStatus.CANCELLED);
         return toResponseDTO(mission);
@@ -233,16 +268,14 @@ public class MissionService {
         Mission mission = missionRepository.findById(id)
                 .orElseThrow(() -> new MissionNotFoundException("Mission not found with id: " + id));
 
-        String sql = "UPDATE mission SET priority = ?::mission_priority_enum WHERE id = ?";
-        jdbcTemplate.update(sql, priority, id);
+        String sql = "UPDATE mission SET priority = ? WHERE id = ?";
+        jdbcTemplate.update(sql, PgEnum.bind(priority), id);
 
         return toResponseDTO(mission);
     }
 
     public List<MissionResponseDTO> getMissionsByStatus(MissionStatus status) {
-        return missionRepository.findByStatus(status).stream()
-                .map(this::toResponseDTO)
-                .toList();
+        return toResponseDTOs(missionRepository.findByStatus(status));
     }
 
     public Mission getEntityById(Long id) {
@@ -250,6 +283,21 @@ public class MissionService {
                 .orElseThrow(() -> new MissionNotFoundException("Mission not found with id: " + id));
     }
 
+    private List<MissionResponseDTO> toResponseDTOs(List<Mission> missions) {
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds();
+        for (Mission mission : missions) {
+            ids.user(mission.getCommandingOfficerId())
+                    .spacecraft(mission.getSpacecraftId());
+        }
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        return missions.stream()
+                .map(mission -> missionMapper.toResponseDTO(mission,
+                        refs.user(mission.getCommandingOfficerId()).getUsername(),
+                        refs.spacecraft(mission.getSpacecraftId()).getName()))
+                .toList();
+    }
+
     private MissionResponseDTO toResponseDTO(Mission mission) {
         User commandingOfficer = userService.getEntityById(mission.getCommandingOfficerId());
         Spacecraft spacecraft = spacecraftService.getEntityById(mission.getSpacecraftId());
@@ -260,14 +308,58 @@ public class MissionService {
     }
 
     public boolean canCreateMission(Long spacecraftId, LocalDateTime departure, LocalDateTime arrival) {
-        String sql = "SELECT COUNT(*) = 0 FROM mission " +
+        String sql = "SELECT COUNT(*) FROM mission " +
                      "WHERE spacecraft_id = ? " +
                      "AND status IN ('SCHEDULED', 'IN_PROGRESS') " +
-                     "AND (scheduled_departure, scheduled_arrival) OVERLAPS (?, ?)";
-        
-        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, 
+                     "AND period && tsrange(?::timestamp, ?::timestamp, '[)')";
+
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class,
                 spacecraftId, departure, arrival);
-        
+
         return count != null && count == 0;
     }
+
+    private void changeActiveStatus(Mission mission, MissionStatus status) {
+        ensureScheduleAvailable(mission.getId(), mission.getSpacecraftId(), status,
+                mission.getScheduledDeparture(), mission.getScheduledArrival());
+
+        String sql = "UPDATE mission SET status = ? WHERE id = ?";
+        try {
+            jdbcTemplate.update(sql, PgEnum.bind(status), mission.getId());
+        } catch (DataIntegrityViolationException e) {
+            throw translateScheduleViolation(e, mission.getSpacecraftId());
+        }
+        missionScheduleService.invalidate(mission.getSpacecraftId());
+    }
+
+    /**
+     * Предварительная проверка ради понятного сообщения с кодом конфликтующей миссии.
+     * Гонку двух параллельных запросов закрывает только ограничение в БД,
+     * его нарушение переводится в тот же 409 в translateScheduleViolation.
+     */
+    private void ensureScheduleAvailable(Long missionId, Long spacecraftId, MissionStatus status,
+                                         LocalDateTime departure, LocalDateTime arrival) {
+        if (departure != null && arrival != null && !arrival.isAfter(departure)) {
+            throw new InvalidTimeRangeException("Scheduled arrival must be after scheduled departure");
+        }
+        if (departure == null || (status != MissionStatus.SCHEDULED && status != MissionStatus.IN_PROGRESS)) {
+            return;
+        }
+
+        List<String> conflicts = jdbcTemplate.queryForList(SCHEDULE_CONFLICT_SQL, String.class,
+                spacecraftId, missionId, departure, arrival);
+        if (!conflicts.isEmpty()) {
+            throw new MissionScheduleConflictException("Spacecraft " + spacecraftId +
+                    " is already booked for overlapping mission " + conflicts.getFirst());
+        }
+    }
+
+    private RuntimeException translateScheduleViolation(DataIntegrityViolationException e, Long spacecraftId) {
+        if (e.getMostSpecificCause() instanceof SQLException sqlException
+                && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+            return new MissionScheduleConflictException("Spacecraft " + spacecraftId +
+                    " is already booked for an overlapping mission");
+        }
+        return e;
+    }
 }
@@ -0,0 +1,169 @@
+package org.orbitalLogistic.services;
+
+import lombok.RequiredArgsConstructor;
+import org.orbitalLogistic.concurrent.ParallelLookups;
+import org.orbitalLogistic.entities.Cargo;
+import org.orbitalLogistic.entities.Mission;
+import org.orbitalLogistic.entities.Spacecraft;
+import org.orbitalLogistic.entities.StorageUnit;
+import org.orbitalLogistic.entities.User;
+import org.orbitalLogistic.exceptions.CargoNotFoundException;
+import org.orbitalLogistic.exceptions.MissionNotFoundException;
+import org.orbitalLogistic.exceptions.SpacecraftNotFoundException;
+import org.orbitalLogistic.exceptions.StorageUnitNotFoundException;
+import org.orbitalLogistic.exceptions.user.UserNotFoundException;
+import org.orbitalLogistic.repositories.CargoRepository;
+import org.orbitalLogistic.repositories.MissionRepository;
+import org.orbitalLogistic.repositories.SpacecraftRepository;
+import org.orbitalLogistic.repositories.StorageUnitRepository;
+import org.orbitalLogistic.repositories.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Пакетное разрешение внешних ключей для страницы сущностей.
+ * Вместо findById на каждую ссылку каждой строки собирает все id страницы
+ * и загружает каждую таблицу одним запросом WHERE id = ANY(?).
+ * Запросы к разным таблицам независимы и выполняются через ParallelLookups.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceResolver {
+
+    private final SpacecraftRepository spacecraftRepository;
+    private final CargoRepository cargoRepository;
+    private final StorageUnitRepository storageUnitRepository;
+    private final UserRepository userRepository;
+    private final MissionRepository missionRepository;
+    private final ParallelLookups parallelLookups;
+
+    public References resolve(ReferenceIds ids) {
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            Supplier<Map<Long, Spacecraft>> spacecrafts = load(scope, ids.spacecraftIds, spacecraftRepository::findAllByIds, Spacecraft::getId);
+            Supplier<Map<Long, Cargo>> cargos = load(scope, ids.cargoIds, cargoRepository::findAllByIds, Cargo::getId);
+            Supplier<Map<Long, StorageUnit>> storageUnits = load(scope, ids.storageUnitIds, storageUnitRepository::findAllByIds, StorageUnit::getId);
+            Supplier<Map<Long, User>> users = load(scope, ids.userIds, userRepository::findAllByIds, User::getId);
+            Supplier<Map<Long, Mission>> missions = load(scope, ids.missionIds, missionRepository::findAllByIds, Mission::getId);
+            scope.join();
+
+            return new References(spacecrafts.get(), cargos.get(), storageUnits.get(), users.get(), missions.get());
+        }
+    }
+
+    private static <T> Supplier<Map<Long, T>> load(ParallelLookups.Scope scope, Set<Long> ids,
+                                                   Function<Long[], List<T>> loader, Function<T, Long> idOf) {
+        if (ids.isEmpty()) {
+            return Map::of;
+        }
+        Long[] idArray = ids.toArray(Long[]::new);
+        return scope.fork(() -> {
+            Map<Long, T> result = new HashMap<>(idArray.length * 2);
+            for (T entity : loader.apply(idArray)) {
+                result.put(idOf.apply(entity), entity);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Набор id, собранный со страницы перед разрешением. Null-ссылки игнорируются.
+     */
+    public static class ReferenceIds {
+        private final Set<Long> spacecraftIds = new LinkedHashSet<>();
+        private final Set<Long> cargoIds = new LinkedHashSet<>();
+        private final Set<Long> storageUnitIds = new LinkedHashSet<>();
+        private final Set<Long> userIds = new LinkedHashSet<>();
+        private final Set<Long> missionIds = new LinkedHashSet<>();
+
+        public ReferenceIds spacecraft(Long id) {
+            return add(spacecraftIds, id);
+        }
+
+        public ReferenceIds cargo(Long id) {
+            return add(cargoIds, id);
+        }
+
+        public ReferenceIds storageUnit(Long id) {
+            return add(storageUnitIds, id);
+        }
+
+        public ReferenceIds user(Long id) {
+            return add(userIds, id);
+        }
+
+        public ReferenceIds mission(Long id) {
+            return add(missionIds, id);
+        }
+
+        private ReferenceIds add(Set<Long> target, Long id) {
+            if (id != null) {
+                target.add(id);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Результат разрешения. Обязательные ссылки бросают те же NotFound-исключения,
+     * что и getEntityById соответствующих сервисов.
+     */
+    public record References(
+            Map<Long, Spacecraft> spacecrafts,
+            Map<Long, Cargo> cargos,
+            Map<Long, StorageUnit> storageUnits,
+            Map<Long, User> users,
+            Map<Long, Mission> missions
+    ) {
+        public Spacecraft spacecraft(Long id) {
+            Spacecraft spacecraft = spacecrafts.get(id);
+            if (spacecraft == null) {
+                throw new SpacecraftNotFoundException("Spacecraft not found with id: " + id);
+            }
+            return spacecraft;
+        }
+
+        public Cargo cargo(Long id) {
+            Cargo cargo = cargos.get(id);
+            if (cargo == null) {
+                throw new CargoNotFoundException("Cargo not found with id: " + id);
+            }
+            return cargo;
+        }
+
+        public StorageUnit storageUnit(Long id) {
+            StorageUnit storageUnit = storageUnits.get(id);
+            if (storageUnit == null) {
+                throw new StorageUnitNotFoundException("Storage unit not found with id: " + id);
+            }
+            return storageUnit;
+        }
+
+        public User user(Long id) {
+            User user = users.get(id);
+            if (user == null) {
+                throw new UserNotFoundException("User not found with id: " + id);
+            }
+            return user;
+        }
+
+        public String userNameOrNull(Long id) {
+            User user = id != null ? users.get(id) : null;
+            return user != null ? user.getUsername() : null;
+        }
+
+        public Mission mission(Long id) {
+            Mission mission = missions.get(id);
+            if (mission == null) {
+                throw new MissionNotFoundException("Mission not found with id: " + id);
+            }
+            return mission;
+        }
+    }
+}
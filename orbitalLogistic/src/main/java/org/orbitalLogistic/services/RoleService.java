@@ -1,5 +1,6 @@
 package org.orbitalLogistic.services;
 
+import org.orbitalLogistic.cache.ReferenceDataCache;
 import org.orbitalLogistic.dto.request.RoleRequestDTO;
 import org.orbitalLogistic.dto.response.RoleResponseDTO;
 import org.orbitalLogistic.entities.UserRole;
@@ -12,9 +13,12 @@ import org.springframework.stereotype.Service;
 public class RoleService {
 
     private final UserRoleRepository userRoleRepository;
+    private final ReferenceDataCache<Long, UserRole> userRoleCache;
 
-    public RoleService(UserRoleRepository userRoleRepository) {
+    public RoleService(UserRoleRepository userRoleRepository,
+                       ReferenceDataCache<Long, UserRole> userRoleCache) {
         this.userRoleRepository = userRoleRepository;
+        this.userRoleCache = userRoleCache;
     }
 
     public RoleResponseDTO createRole(RoleRequestDTO request) {
@@ -23,17 +27,24 @@ public class RoleService {
                 .build();
 
         UserRole savedRole = userRoleRepository.save(role);
+        userRoleCache.put(savedRole.getId(), savedRole);
         return toResponseDTO(savedRole);
     }
 
     public RoleResponseDTO getRoleById(Long id) {
-        UserRole role = userRoleRepository.findById(id)
-                .orElseThrow(() -> new RoleNotFoundException(id));
+        UserRole role = findCachedRole(id);
+        if (role == null) {
+            throw new RoleNotFoundException(id);
+        }
         return toResponseDTO(role);
     }
 
     public boolean roleExists(Long id) {
-        return userRoleRepository.existsById(id);
+        return findCachedRole(id) != null;
+    }
+
+    private UserRole findCachedRole(Long id) {
+        return userRoleCache.get(id, key -> userRoleRepository.findById(key).orElse(null));
     }
 
     private RoleResponseDTO toResponseDTO(UserRole role) {
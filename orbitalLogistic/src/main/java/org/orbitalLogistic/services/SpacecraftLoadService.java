@@ -0,0 +1,176 @@
+package org.orbitalLogistic.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Инкрементальный учёт текущей загрузки кораблей (spacecraft.current_mass_usage /
+ * current_volume_usage). Методы record* вызываются внутри транзакций погрузки и выгрузки,
+ * поэтому счётчики меняются атомарно вместе с манифестами.
+ */
+@Slf4j
+@Service
+public class SpacecraftLoadService {
+
+    private static final String DRIFT_CANDIDATES_SQL =
+            "SELECT s.id " +
+            "FROM spacecraft s " +
+            "LEFT JOIN (" +
+            "  SELECT cm.spacecraft_id, " +
+            "         SUM(cm.quantity * c.mass_per_unit) AS mass_usage, " +
+            "         SUM(cm.quantity * c.volume_per_unit) AS volume_usage " +
+            "  FROM cargo_manifest cm " +
+            "  JOIN cargo c ON cm.cargo_id = c.id " +
+            "  WHERE cm.manifest_status IN ('LOADED', 'IN_TRANSIT') " +
+            "  GROUP BY cm.spacecraft_id" +
+            ") t ON t.spacecraft_id = s.id " +
+            "WHERE s.current_mass_usage <> COALESCE(t.mass_usage, 0) " +
+            "OR s.current_volume_usage <> COALESCE(t.volume_usage, 0) " +
+            "ORDER BY s.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SpacecraftLoadService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordLoad(Long spacecraftId, Long cargoId, int quantity) {
+        String sql = "UPDATE spacecraft s SET " +
+                     "current_mass_usage = s.current_mass_usage + ? * c.mass_per_unit, " +
+                     "current_volume_usage = s.current_volume_usage + ? * c.volume_per_unit " +
+                     "FROM cargo c " +
+                     "WHERE s.id = ? AND c.id = ?";
+
+        jdbcTemplate.update(sql, quantity, quantity, spacecraftId, cargoId);
+    }
+
+    /**
+     * Учитывает пакет только что вставленных манифестов одним UPDATE.
+     */
+    public void recordLoad(Long spacecraftId, List<Long> manifestIds) {
+        updateUsage(spacecraftId, manifestIds, "+");
+    }
+
+    public void recordUnload(Long spacecraftId, List<Long> manifestIds) {
+        updateUsage(spacecraftId, manifestIds, "-");
+    }
+
+    /**
+     * Переносит изменение массы и объёма единицы груза на корабли, где он погружен
+     * (манифесты LOADED / IN_TRANSIT): каждый получает количество × дельту. Иначе выгрузка
+     * вычтет количество × новый размер, и счётчик разойдётся вплоть до отрицательного.
+     * Корабли блокируются до подсчёта количества, как в reconcile.
+     */
+    @Transactional
+    public void resizeCargo(Long cargoId, BigDecimal massPerUnitDelta, BigDecimal volumePerUnitDelta) {
+        if (massPerUnitDelta.signum() == 0 && volumePerUnitDelta.signum() == 0) {
+            return;
+        }
+
+        List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM spacecraft " +
+                "WHERE id IN (SELECT spacecraft_id FROM cargo_manifest " +
+                "             WHERE cargo_id = ? AND manifest_status IN ('LOADED', 'IN_TRANSIT')) " +
+                "ORDER BY id FOR NO KEY UPDATE",
+                Long.class, cargoId);
+        if (locked.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE spacecraft s SET " +
+                     "current_mass_usage = s.current_mass_usage + m.quantity * ?, " +
+                     "current_volume_usage = s.current_volume_usage + m.quantity * ? " +
+                     "FROM (" +
+                     "  SELECT spacecraft_id, SUM(quantity) AS quantity " +
+                     "  FROM cargo_manifest " +
+                     "  WHERE cargo_id = ? AND manifest_status IN ('LOADED', 'IN_TRANSIT') " +
+                     "  GROUP BY spacecraft_id" +
+                     ") m " +
+                     "WHERE s.id = m.spacecraft_id";
+
+        jdbcTemplate.update(sql, massPerUnitDelta, volumePerUnitDelta, cargoId);
+    }
+
+    private void updateUsage(Long spacecraftId, List<Long> manifestIds, String sign) {
+        if (manifestIds.isEmpty()) {
+            return;
+        }
+
+        String sql = "UPDATE spacecraft s SET " +
+                     "current_mass_usage = s.current_mass_usage " + sign + " d.mass_usage, " +
+                     "current_volume_usage = s.current_volume_usage " + sign + " d.volume_usage " +
+                     "FROM (" +
+                     "  SELECT COALESCE(SUM(cm.quantity * c.mass_per_unit), 0) AS mass_usage, " +
+                     "         COALESCE(SUM(cm.quantity * c.volume_per_unit), 0) AS volume_usage " +
+                     "  FROM cargo_manifest cm " +
+                     "  JOIN cargo c ON cm.cargo_id = c.id " +
+                     "  WHERE cm.id = ANY(?)" +
+                     ") d " +
+                     "WHERE s.id = ?";
+
+        jdbcTemplate.update(sql, manifestIds.toArray(Long[]::new), spacecraftId);
+    }
+
+    /**
+     * Сверяет счётчики с активными манифестами и исправляет расхождения
+     * (например, после ручных правок cargo_manifest в обход сервиса).
+     * Поиск кандидатов — один запрос без блокировок; каждый корабль исправляется
+     * в своей транзакции (см. reconcile(Long)).
+     * Возвращает id кораблей, у которых загрузка была пересчитана.
+     */
+    @Scheduled(fixedDelayString = "${orbital.spacecraft-load.reconcile-interval:PT15M}")
+    public List<Long> reconcile() {
+        List<Long> candidates = jdbcTemplate.queryForList(DRIFT_CANDIDATES_SQL, Long.class);
+        List<Long> drifted = new ArrayList<>(candidates.size());
+        for (Long spacecraftId : candidates) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(spacecraftId)))) {
+                drifted.add(spacecraftId);
+            }
+        }
+        if (!drifted.isEmpty()) {
+            log.warn("Spacecraft load ledger drift corrected for spacecraft ids: {}", drifted);
+        }
+        return drifted;
+    }
+
+    /**
+     * Пересчёт одного корабля. Строка блокируется до подсчёта, а сумма считается отдельным
+     * запросом с новым снимком: параллельная погрузка либо уже зафиксирована и попадёт
+     * в сумму, либо дождётся пересчёта и применит свою дельту после. В одном UPDATE
+     * с подзапросом сумма осталась бы из снимка до ожидания блокировки и затёрла бы эту дельту.
+     */
+    private boolean reconcile(Long spacecraftId) {
+        List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM spacecraft WHERE id = ? FOR NO KEY UPDATE", Long.class, spacecraftId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+
+        String sql = "UPDATE spacecraft s SET " +
+                     "current_mass_usage = t.mass_usage, " +
+                     "current_volume_usage = t.volume_usage " +
+                     "FROM (" +
+                     "  SELECT COALESCE(SUM(cm.quantity * c.mass_per_unit), 0) AS mass_usage, " +
+                     "         COALESCE(SUM(cm.quantity * c.volume_per_unit), 0) AS volume_usage " +
+                     "  FROM cargo_manifest cm " +
+                     "  JOIN cargo c ON cm.cargo_id = c.id " +
+                     "  WHERE cm.spacecraft_id = ? AND cm.manifest_status IN ('LOADED', 'IN_TRANSIT')" +
+                     ") t " +
+                     "WHERE s.id = ? " +
+                     "AND (s.current_mass_usage <> t.mass_usage OR s.current_volume_usage <> t.volume_usage) " +
+                     "RETURNING s.id";
+
+        return !jdbcTemplate.queryForList(sql, Long.class, spacecraftId, spacecraftId).isEmpty();
+    }
+}
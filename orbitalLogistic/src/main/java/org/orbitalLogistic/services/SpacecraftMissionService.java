@@ -22,15 +22,18 @@ public class SpacecraftMissionService {
 
     private final SpacecraftMissionRepository spacecraftMissionRepository;
     private final SpacecraftMissionMapper spacecraftMissionMapper;
+    private final ReferenceResolver referenceResolver;
 
     private SpacecraftService spacecraftService;
     private MissionService missionService;
     private UserService userService;
 
     public SpacecraftMissionService(SpacecraftMissionRepository spacecraftMissionRepository,
-                                   SpacecraftMissionMapper spacecraftMissionMapper) {
+                                   SpacecraftMissionMapper spacecraftMissionMapper,
+                                   ReferenceResolver referenceResolver) {
         this.spacecraftMissionRepository = spacecraftMissionRepository;
         this.spacecraftMissionMapper = spacecraftMissionMapper;
+        this.referenceResolver = referenceResolver;
     }
 
     @Autowired
@@ -50,8 +53,25 @@ public class SpacecraftMissionService {
 
     public List<SpacecraftMissionResponseDTO> getMissionBackupSpacecrafts(Long missionId) {
         List<SpacecraftMission> spacecraftMissions = spacecraftMissionRepository.findByMissionIdOrderBySpacecraftName(missionId);
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds();
+        for (SpacecraftMission spacecraftMission : spacecraftMissions) {
+            ids.spacecraft(spacecraftMission.getSpacecraftId())
+                    .mission(spacecraftMission.getMissionId());
+        }
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
         return spacecraftMissions.stream()
-                .map(this::toResponseDTO)
+                .map(spacecraftMission -> {
+                    Spacecraft spacecraft = refs.spacecraft(spacecraftMission.getSpacecraftId());
+                    Mission mission = refs.mission(spacecraftMission.getMissionId());
+                    return spacecraftMissionMapper.toResponseDTO(spacecraftMission,
+                            spacecraft.getName(),
+                            spacecraft.getRegistryCode(),
+                            mission.getMissionName(),
+                            mission.getMissionCode(),
+                            null,
+                            null);
+                })
                 .toList();
     }
 
@@ -90,10 +110,6 @@ public class SpacecraftMissionService {
         userService.getEntityById(request.assignedByUserId());
     }
 
-    private SpacecraftMissionResponseDTO toResponseDTO(SpacecraftMission spacecraftMission) {
-        return toResponseDTO(spacecraftMission, null, null);
-    }
-
     private SpacecraftMissionResponseDTO toResponseDTO(SpacecraftMission spacecraftMission,
                                                       String roleDescription, Long assignedByUserId) {
         Spacecraft spacecraft = spacecraftService.getEntityById(spacecraftMission.getSpacecraftId());
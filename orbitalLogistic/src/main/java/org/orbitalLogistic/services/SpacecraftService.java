@@ -1,5 +1,7 @@
 package org.orbitalLogistic.services;
 
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.config.converters.PgEnum;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.SpacecraftRequestDTO;
 import org.orbitalLogistic.dto.response.SpacecraftResponseDTO;
@@ -11,6 +13,7 @@ import org.orbitalLogistic.exceptions.SpacecraftAlreadyExistsException;
 import org.orbitalLogistic.exceptions.SpacecraftNotFoundException;
 import org.orbitalLogistic.mappers.SpacecraftMapper;
 import org.orbitalLogistic.repositories.SpacecraftRepository;
+import org.orbitalLogistic.streaming.SpacecraftEventStream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -27,15 +30,21 @@ public class SpacecraftService {
     private final SpacecraftRepository spacecraftRepository;
     private final SpacecraftMapper spacecraftMapper;
     private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final SpacecraftEventStream spacecraftEventStream;
 
     private SpacecraftTypeService spacecraftTypeService;
 
     public SpacecraftService(SpacecraftRepository spacecraftRepository,
                             SpacecraftMapper spacecraftMapper,
-                            JdbcTemplate jdbcTemplate) {
+                            JdbcTemplate jdbcTemplate,
+                            CacheInvalidationBus cacheInvalidationBus,
+                            SpacecraftEventStream spacecraftEventStream) {
         this.spacecraftRepository = spacecraftRepository;
         this.spacecraftMapper = spacecraftMapper;
         this.jdbcTemplate = jdbcTemplate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.spacecraftEventStream = spacecraftEventStream;
     }
 
     @Autowired
@@ -81,7 +90,7 @@ public class SpacecraftService {
 
         String sql = "INSERT INTO spacecraft " +
                      "(registry_code, name, spacecraft_type_id, mass_capacity, volume_capacity, status, current_location) " +
-                     "VALUES (?, ?, ?, ?, ?, ?::spacecraft_status_enum, ?) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?) " +
                      "RETURNING id";
         
         Long newId = jdbcTemplate.queryForObject(sql, Long.class,
@@ -90,12 +99,14 @@ public class SpacecraftService {
                 request.spacecraftTypeId(),
                 request.massCapacity(),
                 request.volumeCapacity(),
-                request.status().name(),
+                PgEnum.bind(request.status()),
                 request.currentLocation()
         );
 
         Spacecraft saved = spacecraftRepository.findById(newId)
                 .orElseThrow(() -> new DataNotFoundException("Failed to create spacecraft"));
+        cacheInvalidationBus.publish(CacheInvalidationBus.SPACECRAFT, newId);
+        spacecraftEventStream.publishChange(newId, saved.getStatus(), saved.getCurrentLocation());
 
         return toResponseDTO(saved);
     }
@@ -117,7 +128,7 @@ public class SpacecraftService {
                      "spacecraft_type_id = ?, " +
                      "mass_capacity = ?, " +
                      "volume_capacity = ?, " +
-                     "status = ?::spacecraft_status_enum, " +
+                     "status = ?, " +
                      "current_location = ? " +
                      "WHERE id = ?";
         
@@ -127,10 +138,11 @@ public class SpacecraftService {
                 request.spacecraftTypeId(),
                 request.massCapacity(),
                 request.volumeCapacity(),
-                request.status().name(),
+                PgEnum.bind(request.status()),
                 request.currentLocation(),
                 id
         );
+        cacheInvalidationBus.publish(CacheInvalidationBus.SPACECRAFT, id);
 
         spacecraft.setRegistryCode(request.registryCode());
         spacecraft.setName(request.name());
@@ -139,6 +151,7 @@ public class SpacecraftService {
         spacecraft.setVolumeCapacity(request.volumeCapacity());
         spacecraft.setStatus(request.status() != null ? request.status() : spacecraft.getStatus());
         spacecraft.setCurrentLocation(request.currentLocation());
+        spacecraftEventStream.publishChange(id, spacecraft.getStatus(), spacecraft.getCurrentLocation());
 
         return toResponseDTO(spacecraft);
     }
@@ -148,6 +161,8 @@ public class SpacecraftService {
             throw new SpacecraftNotFoundException("Spacecraft not found with id: " + id);
         }
         spacecraftRepository.deleteById(id);
+        cacheInvalidationBus.publish(CacheInvalidationBus.SPACECRAFT, id);
+        spacecraftEventStream.publishRemoval(id);
     }
 
     public List<SpacecraftResponseDTO> getAvailableSpacecrafts() {
@@ -160,10 +175,12 @@ public class SpacecraftService {
         Spacecraft spacecraft = spacecraftRepository.findById(id)
                 .orElseThrow(() -> new SpacecraftNotFoundException("Spacecraft not found with id: " + id));
 
-        String sql = "UPDATE spacecraft SET status = ?::spacecraft_status_enum WHERE id = ?";
-        jdbcTemplate.update(sql, status.name(), id);
+        String sql = "UPDATE spacecraft SET status = ? WHERE id = ?";
+        jdbcTemplate.update(sql, PgEnum.bind(status), id);
+        cacheInvalidationBus.publish(CacheInvalidationBus.SPACECRAFT, id);
 
         spacecraft.setStatus(status);
+        spacecraftEventStream.publishChange(id, status, spacecraft.getCurrentLocation());
         return toResponseDTO(spacecraft);
     }
 
@@ -173,8 +190,10 @@ public class SpacecraftService {
 
         String sql = "UPDATE spacecraft SET current_location = ? WHERE id = ?";
         jdbcTemplate.update(sql, newLocation, id);
+        cacheInvalidationBus.publish(CacheInvalidationBus.SPACECRAFT, id);
 
         spacecraft.setCurrentLocation(newLocation);
+        spacecraftEventStream.publishChange(id, spacecraft.getStatus(), newLocation);
         return toResponseDTO(spacecraft);
     }
 
@@ -199,41 +218,28 @@ public class SpacecraftService {
     private SpacecraftResponseDTO toResponseDTO(Spacecraft spacecraft) {
         SpacecraftType spacecraftType = spacecraftTypeService.getEntityById(spacecraft.getSpacecraftTypeId());
 
-        BigDecimal currentMassUsage = calculateCurrentMassUsage(spacecraft);
-        BigDecimal currentVolumeUsage = calculateCurrentVolumeUsage(spacecraft);
-
         return spacecraftMapper.toResponseDTO(
             spacecraft,
             spacecraftType.getTypeName(),
             spacecraftType.getClassification(),
-            currentMassUsage,
-            currentVolumeUsage
+            currentMassUsage(spacecraft),
+            currentVolumeUsage(spacecraft)
         );
     }
 
-    private BigDecimal calculateCurrentMassUsage(Spacecraft spacecraft) {
-        String sql = "SELECT COALESCE(SUM(cm.quantity * c.mass_per_unit), 0) " +
-                     "FROM cargo_manifest cm " +
-                     "JOIN cargo c ON cm.cargo_id = c.id " +
-                     "WHERE cm.spacecraft_id = ? AND cm.manifest_status IN ('LOADED', 'IN_TRANSIT')";
-        
-        return jdbcTemplate.queryForObject(sql, BigDecimal.class, spacecraft.getId());
+    private static BigDecimal currentMassUsage(Spacecraft spacecraft) {
+        return spacecraft.getCurrentMassUsage() != null ? spacecraft.getCurrentMassUsage() : BigDecimal.ZERO;
     }
 
-    private BigDecimal calculateCurrentVolumeUsage(Spacecraft spacecraft) {
-        String sql = "SELECT COALESCE(SUM(cm.quantity * c.volume_per_unit), 0) " +
-                     "FROM cargo_manifest cm " +
-                     "JOIN cargo c ON cm.cargo_id = c.id " +
-                     "WHERE cm.spacecraft_id = ? AND cm.manifest_status IN ('LOADED', 'IN_TRANSIT')";
-        
-        return jdbcTemplate.queryForObject(sql, BigDecimal.class, spacecraft.getId());
+    private static BigDecimal currentVolumeUsage(Spacecraft spacecraft) {
+        return spacecraft.getCurrentVolumeUsage() != null ? spacecraft.getCurrentVolumeUsage() : BigDecimal.ZERO;
     }
 
     public BigDecimal getAvailableMassCapacity(Long spacecraftId) {
         Spacecraft spacecraft = spacecraftRepository.findById(spacecraftId)
                 .orElseThrow(() -> new SpacecraftNotFoundException("Spacecraft not found"));
         
-        BigDecimal currentUsage = calculateCurrentMassUsage(spacecraft);
+        BigDecimal currentUsage = currentMassUsage(spacecraft);
         return spacecraft.getMassCapacity().subtract(currentUsage);
     }
 
@@ -241,7 +247,7 @@ public class SpacecraftService {
         Spacecraft spacecraft = spacecraftRepository.findById(spacecraftId)
                 .orElseThrow(() -> new SpacecraftNotFoundException("Spacecraft not found"));
         
-        BigDecimal currentUsage = calculateCurrentVolumeUsage(spacecraft);
+        BigDecimal currentUsage = currentVolumeUsage(spacecraft);
         return spacecraft.getVolumeCapacity().subtract(currentUsage);
     }
 }
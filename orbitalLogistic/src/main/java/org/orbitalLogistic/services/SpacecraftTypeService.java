@@ -1,6 +1,8 @@
 package org.orbitalLogistic.services;
 
 import lombok.RequiredArgsConstructor;
+import org.orbitalLogistic.cache.ReferenceDataCache;
+import org.orbitalLogistic.config.converters.PgEnum;
 import org.orbitalLogistic.dto.request.SpacecraftTypeRequestDTO;
 import org.orbitalLogistic.dto.response.SpacecraftTypeResponseDTO;
 import org.orbitalLogistic.entities.SpacecraftType;
@@ -19,6 +21,7 @@ public class SpacecraftTypeService {
     private final SpacecraftTypeRepository spacecraftTypeRepository;
     private final SpacecraftTypeMapper spacecraftTypeMapper;
     private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataCache<Long, SpacecraftType> spacecraftTypeCache;
 
     public List<SpacecraftTypeResponseDTO> getAllSpacecraftTypes() {
         List<SpacecraftType> types = (List<SpacecraftType>) spacecraftTypeRepository.findAll();
@@ -28,31 +31,33 @@ public class SpacecraftTypeService {
     }
 
     public SpacecraftTypeResponseDTO getSpacecraftTypeById(Long id) {
-        SpacecraftType type = spacecraftTypeRepository.findById(id)
-                .orElseThrow(() -> new SpacecraftTypeNotFoundException("Spacecraft type not found with id: " + id));
-        return spacecraftTypeMapper.toResponseDTO(type);
+        return spacecraftTypeMapper.toResponseDTO(getEntityById(id));
     }
 
     public SpacecraftTypeResponseDTO createSpacecraftType(SpacecraftTypeRequestDTO request) {
         String sql = "INSERT INTO spacecraft_type " +
                      "(type_name, classification, max_crew_capacity) " +
-                     "VALUES (?, ?::spacecraft_classification_enum, ?) " +
+                     "VALUES (?, ?, ?) " +
                      "RETURNING id";
         
         Long newId = jdbcTemplate.queryForObject(sql, Long.class,
                 request.typeName(),
-                request.classification().name(),
+                PgEnum.bind(request.classification()),
                 request.maxCrewCapacity()
         );
 
         SpacecraftType saved = spacecraftTypeRepository.findById(newId)
                 .orElseThrow(() -> new SpacecraftTypeNotFoundException("Failed to create spacecraft type"));
+        spacecraftTypeCache.put(saved.getId(), saved);
 
         return spacecraftTypeMapper.toResponseDTO(saved);
     }
 
     public SpacecraftType getEntityById(Long id) {
-        return spacecraftTypeRepository.findById(id)
-                .orElseThrow(() -> new SpacecraftTypeNotFoundException("Spacecraft type not found with id: " + id));
+        SpacecraftType type = spacecraftTypeCache.get(id, key -> spacecraftTypeRepository.findById(key).orElse(null));
+        if (type == null) {
+            throw new SpacecraftTypeNotFoundException("Spacecraft type not found with id: " + id);
+        }
+        return type;
     }
 }
@@ -0,0 +1,322 @@
+package org.orbitalLogistic.services;
+
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.exceptions.CargoNotFoundException;
+import org.orbitalLogistic.exceptions.InsufficientStoredCargoException;
+import org.orbitalLogistic.exceptions.StorageCapacityExceededException;
+import org.orbitalLogistic.exceptions.StorageUnitNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Атомарное резервирование места в хранилищах (storage_unit.current_mass / current_volume).
+ * Проверка свободного места и изменение счётчиков выполняются одним условным UPDATE,
+ * поэтому параллельные размещения не могут переполнить хранилище, а пересчёт
+ * по cargo_storage не нужен. Положительное количество резервирует место, отрицательное освобождает;
+ * освобождение больше занятого отклоняется, а не обрезается до нуля — такое расхождение
+ * означает ошибку в учёте и не должно скрываться.
+ * Изменение размеров единицы груза и удаление груза тоже применяются дельтой — по хранилищам,
+ * где он лежит; расхождения, накопленные в обход сервиса, исправляет StorageUnitInventoryVerifier.
+ * Каждое применённое изменение количества передаётся в StorageOccupancyService для сводки загрузки.
+ */
+@Service
+public class StorageCapacityService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final StorageOccupancyService storageOccupancyService;
+
+    public StorageCapacityService(JdbcTemplate jdbcTemplate,
+                                  CacheInvalidationBus cacheInvalidationBus,
+                                  StorageOccupancyService storageOccupancyService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.storageOccupancyService = storageOccupancyService;
+    }
+
+    public record CargoReservation(Long storageUnitId, Long cargoId, int quantity) {}
+
+    /**
+     * Резервирует место под quantity единиц груза одним UPDATE ... RETURNING.
+     */
+    public void reserve(Long storageUnitId, Long cargoId, int quantity) {
+        if (quantity == 0) {
+            return;
+        }
+
+        String sql = "UPDATE storage_unit su SET " +
+                     "current_mass = su.current_mass + ? * c.mass_per_unit, " +
+                     "current_volume = su.current_volume + ? * c.volume_per_unit " +
+                     "FROM cargo c " +
+                     "WHERE su.id = ? AND c.id = ? " +
+                     "AND su.total_mass_capacity - su.current_mass >= ? * c.mass_per_unit " +
+                     "AND su.total_volume_capacity - su.current_volume >= ? * c.volume_per_unit " +
+                     "AND su.current_mass + ? * c.mass_per_unit >= 0 " +
+                     "AND su.current_volume + ? * c.volume_per_unit >= 0 " +
+                     "RETURNING su.id";
+
+        List<Long> updated = jdbcTemplate.queryForList(sql, Long.class,
+                quantity, quantity, storageUnitId, cargoId, quantity, quantity, quantity, quantity);
+        if (updated.isEmpty()) {
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM storage_unit WHERE id = ?)", Boolean.class, storageUnitId);
+            if (!Boolean.TRUE.equals(exists)) {
+                throw new StorageUnitNotFoundException("Storage unit not found with id: " + storageUnitId);
+            }
+            requireCargoExists(Set.of(cargoId));
+            throw quantity > 0 ? rejection(List.of(storageUnitId)) : underflow(List.of(storageUnitId));
+        }
+        storageOccupancyService.recordChanges(List.of(new CargoReservation(storageUnitId, cargoId, quantity)));
+        cacheInvalidationBus.publish(CacheInvalidationBus.STORAGE_UNIT, storageUnitId);
+    }
+
+    public void release(Long storageUnitId, Long cargoId, int quantity) {
+        reserve(storageUnitId, cargoId, -quantity);
+    }
+
+    /**
+     * Применяет набор резервирований по нескольким хранилищам атомарно: либо все, либо ни одного.
+     * Строки storage_unit блокируются в порядке возрастания id, поэтому встречные пакеты
+     * (например, перемещения A→B и B→A) ждут друг друга, а не взаимоблокируются.
+     * Изменения по одному хранилищу суммируются, так что перемещение внутри хранилища не требует места.
+     * Хранилище со ссылкой на несуществующий груз не обновляется, и весь пакет отклоняется
+     * с CargoNotFoundException.
+     */
+    @Transactional
+    public void reserveAll(List<CargoReservation> reservations) {
+        List<CargoReservation> effective = reservations.stream()
+                .filter(reservation -> reservation.quantity() != 0)
+                .toList();
+        if (effective.isEmpty()) {
+            return;
+        }
+
+        Long[] storageUnitIds = new Long[effective.size()];
+        Long[] cargoIds = new Long[effective.size()];
+        Integer[] quantities = new Integer[effective.size()];
+        Set<Long> requestedUnits = new TreeSet<>();
+        Map<Long, Integer> netQuantities = new HashMap<>();
+        for (int i = 0; i < effective.size(); i++) {
+            CargoReservation reservation = effective.get(i);
+            storageUnitIds[i] = reservation.storageUnitId();
+            cargoIds[i] = reservation.cargoId();
+            quantities[i] = reservation.quantity();
+            requestedUnits.add(reservation.storageUnitId());
+            netQuantities.merge(reservation.storageUnitId(), reservation.quantity(), Integer::sum);
+        }
+
+        lockStorageUnits(requestedUnits);
+
+        String sql = "UPDATE storage_unit su SET " +
+                     "current_mass = su.current_mass + d.mass, " +
+                     "current_volume = su.current_volume + d.volume " +
+                     "FROM (" +
+                     "  SELECT r.storage_unit_id, " +
+                     "         SUM(r.quantity * c.mass_per_unit) AS mass, " +
+                     "         SUM(r.quantity * c.volume_per_unit) AS volume, " +
+                     "         COUNT(*) FILTER (WHERE c.id IS NULL) AS unknown_cargo " +
+                     "  FROM unnest(?::bigint[], ?::bigint[], ?::integer[]) AS r(storage_unit_id, cargo_id, quantity) " +
+                     "  LEFT JOIN cargo c ON c.id = r.cargo_id " +
+                     "  GROUP BY r.storage_unit_id" +
+                     ") d " +
+                     "WHERE su.id = d.storage_unit_id " +
+                     "AND d.unknown_cargo = 0 " +
+                     "AND su.total_mass_capacity - su.current_mass >= d.mass " +
+                     "AND su.total_volume_capacity - su.current_volume >= d.volume " +
+                     "AND su.current_mass + d.mass >= 0 " +
+                     "AND su.current_volume + d.volume >= 0 " +
+                     "RETURNING su.id";
+
+        List<Long> updated = jdbcTemplate.queryForList(sql, Long.class, storageUnitIds, cargoIds, quantities);
+        if (updated.size() != requestedUnits.size()) {
+            requireCargoExists(new TreeSet<>(Arrays.asList(cargoIds)));
+            Set<Long> rejected = new LinkedHashSet<>(requestedUnits);
+            updated.forEach(rejected::remove);
+            // Исключение откатывает уже применённые в этом UPDATE изменения по остальным хранилищам
+            boolean released = rejected.stream().allMatch(id -> netQuantities.get(id) < 0);
+            throw released ? underflow(new ArrayList<>(rejected)) : rejection(new ArrayList<>(rejected));
+        }
+        storageOccupancyService.recordChanges(effective);
+        requestedUnits.forEach(id -> cacheInvalidationBus.publish(CacheInvalidationBus.STORAGE_UNIT, id));
+    }
+
+    /**
+     * Перекладывает quantity единиц груза между записями cargo_storage двух хранилищ;
+     * счётчики storage_unit меняет reserveAll, вызываемый в той же транзакции.
+     * Хранилища блокируются первыми и в том же порядке, что в reserveAll и при размещении
+     * груза, поэтому записи cargo_storage этих хранилищ никто параллельно не меняет.
+     * Списывается с записей источника по порядку id; если там меньше quantity — отказ.
+     * В назначении количество добавляется к первой записи этого груза или создаётся новая.
+     */
+    @Transactional
+    public void moveStoredCargo(Long fromStorageUnitId, Long toStorageUnitId, Long cargoId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity to move must be positive");
+        }
+        lockStorageUnits(new TreeSet<>(List.of(fromStorageUnitId, toStorageUnitId)));
+
+        List<Map<String, Object>> sourceRows = jdbcTemplate.queryForList(
+                "SELECT id, quantity FROM cargo_storage WHERE storage_unit_id = ? AND cargo_id = ? " +
+                "ORDER BY id FOR UPDATE",
+                fromStorageUnitId, cargoId);
+        int available = sourceRows.stream().mapToInt(row -> ((Number) row.get("quantity")).intValue()).sum();
+        if (available < quantity) {
+            throw new InsufficientStoredCargoException("Storage unit " + fromStorageUnitId + " holds " + available +
+                    " unit(s) of cargo " + cargoId + ", cannot move " + quantity);
+        }
+
+        int remaining = quantity;
+        for (Map<String, Object> row : sourceRows) {
+            int taken = Math.min(remaining, ((Number) row.get("quantity")).intValue());
+            if (taken > 0) {
+                jdbcTemplate.update("UPDATE cargo_storage SET quantity = quantity - ? WHERE id = ?",
+                        taken, row.get("id"));
+                remaining -= taken;
+            }
+            if (remaining == 0) {
+                break;
+            }
+        }
+
+        int added = jdbcTemplate.update(
+                "UPDATE cargo_storage SET quantity = quantity + ? " +
+                "WHERE id = (SELECT MIN(id) FROM cargo_storage WHERE storage_unit_id = ? AND cargo_id = ?)",
+                quantity, toStorageUnitId, cargoId);
+        if (added == 0) {
+            jdbcTemplate.update("INSERT INTO cargo_storage (storage_unit_id, cargo_id, quantity) VALUES (?, ?, ?)",
+                    toStorageUnitId, cargoId, quantity);
+        }
+    }
+
+    /**
+     * Переносит изменение массы и объёма единицы груза на все хранилища, где он лежит:
+     * каждое получает количество × дельту, без пересчёта остального содержимого.
+     * Увеличение не проверяется по вместимости — груз уже физически размещён.
+     * Уменьшение, уводящее счётчик ниже нуля, отклоняется целиком, как и в reserveAll.
+     */
+    @Transactional
+    public void resizeCargo(Long cargoId, BigDecimal massPerUnitDelta, BigDecimal volumePerUnitDelta) {
+        if (massPerUnitDelta.signum() == 0 && volumePerUnitDelta.signum() == 0) {
+            return;
+        }
+
+        String sql = "UPDATE storage_unit su SET " +
+                     "current_mass = su.current_mass + s.quantity * ?, " +
+                     "current_volume = su.current_volume + s.quantity * ? " +
+                     "FROM (" +
+                     "  SELECT storage_unit_id, SUM(quantity) AS quantity " +
+                     "  FROM cargo_storage WHERE cargo_id = ? GROUP BY storage_unit_id" +
+                     ") s " +
+                     "WHERE su.id = s.storage_unit_id " +
+                     "AND su.current_mass + s.quantity * ? >= 0 " +
+                     "AND su.current_volume + s.quantity * ? >= 0 " +
+                     "RETURNING su.id";
+
+        List<Long> storageUnitIds = lockStorageUnitsHolding(cargoId);
+        if (storageUnitIds.isEmpty()) {
+            return;
+        }
+        List<Long> updated = jdbcTemplate.queryForList(sql, Long.class,
+                massPerUnitDelta, volumePerUnitDelta, cargoId, massPerUnitDelta, volumePerUnitDelta);
+        requireAllUpdated(storageUnitIds, updated);
+        storageUnitIds.forEach(id -> cacheInvalidationBus.publish(CacheInvalidationBus.STORAGE_UNIT, id));
+    }
+
+    /**
+     * Освобождает место, занятое грузом во всех хранилищах. Вызывается перед удалением груза:
+     * его записи cargo_storage удалятся каскадно, и без этого счётчики остались бы завышенными.
+     * Если в каком-то хранилище счётчик меньше, чем занимает груз, удаление отклоняется:
+     * расхождение сначала исправляет StorageUnitInventoryVerifier.
+     */
+    @Transactional
+    public void releaseCargo(Long cargoId) {
+        String sql = "UPDATE storage_unit su SET " +
+                     "current_mass = su.current_mass - s.mass, " +
+                     "current_volume = su.current_volume - s.volume " +
+                     "FROM (" +
+                     "  SELECT cs.storage_unit_id, " +
+                     "         SUM(cs.quantity * c.mass_per_unit) AS mass, " +
+                     "         SUM(cs.quantity * c.volume_per_unit) AS volume " +
+                     "  FROM cargo_storage cs " +
+                     "  JOIN cargo c ON c.id = cs.cargo_id " +
+                     "  WHERE cs.cargo_id = ? " +
+                     "  GROUP BY cs.storage_unit_id" +
+                     ") s " +
+                     "WHERE su.id = s.storage_unit_id " +
+                     "AND su.current_mass - s.mass >= 0 " +
+                     "AND su.current_volume - s.volume >= 0 " +
+                     "RETURNING su.id";
+
+        List<Long> storageUnitIds = lockStorageUnitsHolding(cargoId);
+        if (storageUnitIds.isEmpty()) {
+            return;
+        }
+        requireAllUpdated(storageUnitIds, jdbcTemplate.queryForList(sql, Long.class, cargoId));
+        storageUnitIds.forEach(id -> cacheInvalidationBus.publish(CacheInvalidationBus.STORAGE_UNIT, id));
+    }
+
+    private void lockStorageUnits(Set<Long> storageUnitIds) {
+        List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM storage_unit WHERE id = ANY(?::bigint[]) ORDER BY id FOR NO KEY UPDATE",
+                Long.class, (Object) storageUnitIds.toArray(Long[]::new));
+        if (locked.size() != storageUnitIds.size()) {
+            Set<Long> missing = new TreeSet<>(storageUnitIds);
+            locked.forEach(missing::remove);
+            throw new StorageUnitNotFoundException("Storage unit not found with id: " + missing.iterator().next());
+        }
+    }
+
+    /**
+     * Вызывается, когда UPDATE затронул не все хранилища: несуществующий груз выпадает из JOIN,
+     * и без этой проверки отказ выглядел бы как нехватка места.
+     */
+    private void requireCargoExists(Set<Long> cargoIds) {
+        List<Long> found = jdbcTemplate.queryForList(
+                "SELECT id FROM cargo WHERE id = ANY(?::bigint[])",
+                Long.class, (Object) cargoIds.toArray(Long[]::new));
+        if (found.size() != cargoIds.size()) {
+            Set<Long> missing = new TreeSet<>(cargoIds);
+            found.forEach(missing::remove);
+            throw new CargoNotFoundException("Cargo not found with id: " + missing.iterator().next());
+        }
+    }
+
+    // Тот же порядок блокировок, что и в reserveAll: по возрастанию id
+    private List<Long> lockStorageUnitsHolding(Long cargoId) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM storage_unit " +
+                "WHERE id IN (SELECT storage_unit_id FROM cargo_storage WHERE cargo_id = ?) " +
+                "ORDER BY id FOR NO KEY UPDATE",
+                Long.class, cargoId);
+    }
+
+    // Исключение откатывает изменения, уже применённые этим UPDATE к остальным хранилищам
+    private void requireAllUpdated(List<Long> storageUnitIds, List<Long> updated) {
+        if (updated.size() != storageUnitIds.size()) {
+            Set<Long> rejected = new LinkedHashSet<>(storageUnitIds);
+            updated.forEach(rejected::remove);
+            throw underflow(new ArrayList<>(rejected));
+        }
+    }
+
+    private StorageCapacityExceededException rejection(List<Long> storageUnitIds) {
+        return new StorageCapacityExceededException(
+                "Insufficient capacity in storage unit(s): " + storageUnitIds);
+    }
+
+    private InsufficientStoredCargoException underflow(List<Long> storageUnitIds) {
+        return new InsufficientStoredCargoException(
+                "Cannot release more cargo than stored in storage unit(s): " + storageUnitIds);
+    }
+}
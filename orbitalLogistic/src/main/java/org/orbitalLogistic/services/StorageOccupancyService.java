@@ -0,0 +1,281 @@
+package org.orbitalLogistic.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.orbitalLogistic.analytics.OccupancyColumns;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.config.converters.EnumLookup;
+import org.orbitalLogistic.dto.response.StorageOccupancyResponseDTO;
+import org.orbitalLogistic.entities.enums.HazardLevel;
+import org.orbitalLogistic.entities.enums.StorageTypeEnum;
+import org.orbitalLogistic.exceptions.InvalidEnumValueException;
+import org.orbitalLogistic.routing.ReadRouting;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сводка загрузки хранилищ по локации, типу хранилища и уровню опасности груза
+ * из колоночного снимка в памяти (см. OccupancyColumns). Снимок строится при старте
+ * тремя запросами в одной REPEATABLE READ транзакции, дальше поддерживается дельтами:
+ * StorageCapacityService сообщает о каждом изменении количества груза в хранилище,
+ * дельта применяется после COMMIT. Чтение сводки к Postgres не обращается.
+ *
+ * Изменения, которые дельтой не выразить (новое или изменённое хранилище, изменение
+ * размеров и опасности груза, удаление груза), а также изменения на других узлах
+ * (уведомления storage_unit из CacheInvalidationBus) помечают снимок устаревшим:
+ * его перестраивает следующий запрос сводки, остальные в это время читают прежний снимок.
+ */
+@Slf4j
+@Service
+public class StorageOccupancyService {
+
+    public static final String GROUP_BY_LOCATION = "location";
+    public static final String GROUP_BY_STORAGE_TYPE = "storageType";
+    public static final String GROUP_BY_HAZARD_LEVEL = "hazardLevel";
+
+    private static final String[] GROUP_BY_VALUES = {GROUP_BY_LOCATION, GROUP_BY_STORAGE_TYPE, GROUP_BY_HAZARD_LEVEL};
+
+    private static final EnumLookup<StorageTypeEnum> STORAGE_TYPES = EnumLookup.of(StorageTypeEnum.class);
+    private static final EnumLookup<HazardLevel> HAZARD_LEVELS = EnumLookup.of(HazardLevel.class);
+    private static final StorageTypeEnum[] STORAGE_TYPE_VALUES = StorageTypeEnum.values();
+    private static final HazardLevel[] HAZARD_LEVEL_VALUES = HazardLevel.values();
+
+    private static final String UNITS_SQL =
+            "SELECT id, location, storage_type, total_mass_capacity, total_volume_capacity " +
+            "FROM storage_unit ORDER BY id";
+
+    private static final String CARGOS_SQL =
+            "SELECT id, hazard_level, mass_per_unit, volume_per_unit FROM cargo ORDER BY id";
+
+    private static final String STORED_SQL =
+            "SELECT cs.storage_unit_id, c.hazard_level, " +
+            "       SUM(cs.quantity * c.mass_per_unit) AS mass, " +
+            "       SUM(cs.quantity * c.volume_per_unit) AS volume " +
+            "FROM cargo_storage cs " +
+            "JOIN cargo c ON c.id = cs.cargo_id " +
+            "GROUP BY cs.storage_unit_id, c.hazard_level";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong appliedDeltas = new AtomicLong();
+    private final AtomicInteger pendingTransactions = new AtomicInteger();
+
+    private volatile OccupancyColumns columns;
+
+    public StorageOccupancyService(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   CacheInvalidationBus cacheInvalidationBus) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        cacheInvalidationBus.register(CacheInvalidationBus.STORAGE_UNIT, key -> stale.set(true), () -> stale.set(true));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Storage occupancy snapshot not loaded on startup, will retry on first request", e);
+        }
+    }
+
+    /**
+     * Сводка по измерениям из groupBy (location, storageType, hazardLevel) в любом сочетании.
+     */
+    public List<StorageOccupancyResponseDTO> getOccupancy(List<String> groupBy) {
+        boolean byLocation = false;
+        boolean byStorageType = false;
+        boolean byHazard = false;
+        for (String dimension : groupBy) {
+            switch (dimension.trim()) {
+                case GROUP_BY_LOCATION -> byLocation = true;
+                case GROUP_BY_STORAGE_TYPE -> byStorageType = true;
+                case GROUP_BY_HAZARD_LEVEL -> byHazard = true;
+                default -> throw new InvalidEnumValueException("groupBy", dimension, GROUP_BY_VALUES);
+            }
+        }
+
+        OccupancyColumns snapshot = current();
+        return snapshot.groupBy(byLocation, byStorageType, byHazard).stream()
+                .map(group -> toResponseDTO(snapshot, group))
+                .toList();
+    }
+
+    /**
+     * Учитывает изменения количества грузов в хранилищах. Внутри транзакции дельты
+     * применяются после COMMIT, чтобы откаченная операция не попала в сводку.
+     */
+    public void recordChanges(List<StorageCapacityService.CargoReservation> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingTransactions.incrementAndGet();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    pendingTransactions.decrementAndGet();
+                }
+            });
+        } else {
+            apply(changes);
+        }
+    }
+
+    /**
+     * Помечает снимок устаревшим. Внутри транзакции — ещё раз после COMMIT, иначе перестроение,
+     * успевшее прочитать данные до фиксации, сняло бы отметку без этих изменений.
+     */
+    public void invalidate() {
+        stale.set(true);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale.set(true);
+                }
+            });
+        }
+    }
+
+    private void apply(List<StorageCapacityService.CargoReservation> changes) {
+        appliedDeltas.incrementAndGet();
+        OccupancyColumns snapshot = columns;
+        if (snapshot == null) {
+            return;
+        }
+        for (StorageCapacityService.CargoReservation change : changes) {
+            if (!snapshot.apply(change.storageUnitId(), change.cargoId(), change.quantity())) {
+                stale.set(true);
+            }
+        }
+    }
+
+    private OccupancyColumns current() {
+        OccupancyColumns snapshot = columns;
+        if (snapshot == null) {
+            synchronized (this) {
+                if (columns == null) {
+                    rebuild();
+                }
+                return columns;
+            }
+        }
+        if (stale.get() && rebuilding.compareAndSet(false, true)) {
+            try {
+                rebuild();
+            } catch (DataAccessException e) {
+                log.warn("Storage occupancy snapshot rebuild failed, serving previous snapshot", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Транзакция, зафиксированная во время загрузки, могла попасть в прочитанные данные,
+     * а её дельта — в прежний снимок или уже в новый. Такой снимок сразу помечается
+     * устаревшим и перестраивается при следующем запросе, чтобы дельта не потерялась
+     * и не учлась дважды.
+     *
+     * Загрузка всегда читает с primary: реплика может ещё не воспроизвести транзакцию,
+     * дельта которой уже применена, и снимок остался бы без неё незаметно для этих проверок.
+     */
+    private void rebuild() {
+        stale.set(false);
+        long deltasBefore = appliedDeltas.get();
+        boolean overlapped = pendingTransactions.get() > 0;
+        OccupancyColumns loaded;
+        ReadRouting routing = ReadRouting.current();
+        ReadRouting.bind(ReadRouting.PRIMARY);
+        try {
+            loaded = snapshotTransaction.execute(status -> load());
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        } finally {
+            ReadRouting.bind(routing);
+        }
+        columns = loaded;
+        if (overlapped || pendingTransactions.get() > 0 || appliedDeltas.get() != deltasBefore) {
+            stale.set(true);
+        }
+        log.debug("Storage occupancy snapshot rebuilt for {} storage units", loaded.unitCount());
+    }
+
+    private OccupancyColumns load() {
+        OccupancyColumns.Builder builder = OccupancyColumns.builder(STORAGE_TYPE_VALUES.length, HAZARD_LEVEL_VALUES.length);
+        jdbcTemplate.query(UNITS_SQL, rs -> {
+            builder.addUnit(rs.getLong("id"),
+                    rs.getString("location"),
+                    STORAGE_TYPES.parse(rs.getString("storage_type")).ordinal(),
+                    toHundredths(rs.getBigDecimal("total_mass_capacity")),
+                    toHundredths(rs.getBigDecimal("total_volume_capacity")));
+        });
+        jdbcTemplate.query(CARGOS_SQL, rs -> {
+            builder.addCargo(rs.getLong("id"),
+                    HAZARD_LEVELS.parse(rs.getString("hazard_level")).ordinal(),
+                    toHundredths(rs.getBigDecimal("mass_per_unit")),
+                    toHundredths(rs.getBigDecimal("volume_per_unit")));
+        });
+        jdbcTemplate.query(STORED_SQL, rs -> {
+            builder.addStored(rs.getLong("storage_unit_id"),
+                    HAZARD_LEVELS.parse(rs.getString("hazard_level")).ordinal(),
+                    toHundredths(rs.getBigDecimal("mass")),
+                    toHundredths(rs.getBigDecimal("volume")));
+        });
+        return builder.build();
+    }
+
+    private static StorageOccupancyResponseDTO toResponseDTO(OccupancyColumns snapshot, OccupancyColumns.Group group) {
+        return new StorageOccupancyResponseDTO(
+                group.location() >= 0 ? snapshot.location(group.location()) : null,
+                group.storageType() >= 0 ? STORAGE_TYPE_VALUES[group.storageType()] : null,
+                group.hazard() >= 0 ? HAZARD_LEVEL_VALUES[group.hazard()] : null,
+                group.units(),
+                fromHundredths(group.massCapacity()),
+                fromHundredths(group.volumeCapacity()),
+                fromHundredths(group.storedMass()),
+                fromHundredths(group.storedVolume()),
+                percentage(group.storedMass(), group.massCapacity()),
+                percentage(group.storedVolume(), group.volumeCapacity()));
+    }
+
+    private static Double percentage(long used, long capacity) {
+        return capacity > 0
+                ? BigDecimal.valueOf(used).divide(BigDecimal.valueOf(capacity), 4, RoundingMode.HALF_UP).doubleValue() * 100
+                : 0.0;
+    }
+
+    private static long toHundredths(BigDecimal value) {
+        return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromHundredths(long value) {
+        return BigDecimal.valueOf(value, 2);
+    }
+}
@@ -0,0 +1,68 @@
+package org.orbitalLogistic.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.orbitalLogistic.exceptions.StorageUnitNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Фоновая сверка storage_unit.current_mass / current_volume с содержимым cargo_storage.
+ * Загрузку поддерживает StorageCapacityService дельтами, поэтому расхождения возникают
+ * только при правках в обход сервиса. Поиск кандидатов — один агрегирующий запрос без
+ * блокировок; исправляется каждое хранилище отдельно, под блокировкой его строки
+ * (см. StorageUnitService.updateStorageUnitCapacity), чтобы не держать весь склад.
+ */
+@Slf4j
+@Service
+public class StorageUnitInventoryVerifier {
+
+    private static final String DRIFT_CANDIDATES_SQL =
+            "SELECT su.id " +
+            "FROM storage_unit su " +
+            "LEFT JOIN (" +
+            "  SELECT cs.storage_unit_id, " +
+            "         SUM(cs.quantity * c.mass_per_unit) AS mass, " +
+            "         SUM(cs.quantity * c.volume_per_unit) AS volume " +
+            "  FROM cargo_storage cs " +
+            "  JOIN cargo c ON cs.cargo_id = c.id " +
+            "  GROUP BY cs.storage_unit_id" +
+            ") t ON t.storage_unit_id = su.id " +
+            "WHERE su.current_mass <> COALESCE(t.mass, 0) " +
+            "OR su.current_volume <> COALESCE(t.volume, 0) " +
+            "ORDER BY su.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageUnitService storageUnitService;
+
+    public StorageUnitInventoryVerifier(JdbcTemplate jdbcTemplate, StorageUnitService storageUnitService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.storageUnitService = storageUnitService;
+    }
+
+    /**
+     * Возвращает id хранилищ, загрузка которых была пересчитана. Кандидат, которого
+     * к моменту пересчёта уже исправила параллельная операция, в результат не попадает.
+     */
+    @Scheduled(cron = "${orbital.storage-inventory.verify-cron:0 30 3 * * *}")
+    public List<Long> verify() {
+        List<Long> candidates = jdbcTemplate.queryForList(DRIFT_CANDIDATES_SQL, Long.class);
+        List<Long> corrected = new ArrayList<>(candidates.size());
+        for (Long storageUnitId : candidates) {
+            try {
+                if (storageUnitService.updateStorageUnitCapacity(storageUnitId)) {
+                    corrected.add(storageUnitId);
+                }
+            } catch (StorageUnitNotFoundException e) {
+                // Хранилище удалили после поиска кандидатов — исправлять нечего
+            }
+        }
+        if (!corrected.isEmpty()) {
+            log.warn("Storage unit inventory drift corrected for storage unit ids: {}", corrected);
+        }
+        return corrected;
+    }
+}
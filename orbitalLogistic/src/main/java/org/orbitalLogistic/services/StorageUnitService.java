@@ -1,5 +1,7 @@
 package org.orbitalLogistic.services;
 
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.config.converters.PgEnum;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.StorageUnitRequestDTO;
 import org.orbitalLogistic.dto.response.StorageUnitResponseDTO;
@@ -15,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.math.BigDecimal;
@@ -27,15 +30,21 @@ public class StorageUnitService {
     private final StorageUnitRepository storageUnitRepository;
     private final StorageUnitMapper storageUnitMapper;
     private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final StorageOccupancyService storageOccupancyService;
 
     private CargoStorageService cargoStorageService;
 
     public StorageUnitService(StorageUnitRepository storageUnitRepository,
                              StorageUnitMapper storageUnitMapper,
-                             JdbcTemplate jdbcTemplate) {
+                             JdbcTemplate jdbcTemplate,
+                             CacheInvalidationBus cacheInvalidationBus,
+                             StorageOccupancyService storageOccupancyService) {
         this.storageUnitRepository = storageUnitRepository;
         this.storageUnitMapper = storageUnitMapper;
         this.jdbcTemplate = jdbcTemplate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.storageOccupancyService = storageOccupancyService;
     }
 
     @Autowired
@@ -69,16 +78,18 @@ public class StorageUnitService {
 
         String sql = "INSERT INTO storage_unit " +
                      "(unit_code, location, storage_type, total_mass_capacity, total_volume_capacity, current_mass, current_volume) " +
-                     "VALUES (?, ?, ?::storage_type_enum, ?, ?, 0.00, 0.00) " +
+                     "VALUES (?, ?, ?, ?, ?, 0.00, 0.00) " +
                      "RETURNING id";
         
         Long newId = jdbcTemplate.queryForObject(sql, Long.class,
                 request.unitCode(),
                 request.location(),
-                request.storageType().name(),
+                PgEnum.bind(request.storageType()),
                 request.totalMassCapacity(),
                 request.totalVolumeCapacity()
         );
+        storageOccupancyService.invalidate();
+        cacheInvalidationBus.publish(CacheInvalidationBus.STORAGE_UNIT, newId);
 
         StorageUnit saved = storageUnitRepository.findById(newId)
                 .orElseThrow(() -> new StorageUnitNotFoundException("Failed to create storage unit"));
@@ -107,7 +118,7 @@ public class StorageUnitService {
         String sql = "UPDATE storage_unit SET " +
                      "unit_code = ?, " +
                      "location = ?, " +
-                     "storage_type = ?::storage_type_enum, " +
+                     "storage_type = ?, " +
                      "total_mass_capacity = ?, " +
                      "total_volume_capacity = ?, " +
                      "current_mass = ?, " +
@@ -117,13 +128,15 @@ public class StorageUnitService {
         jdbcTemplate.update(sql,
                 request.unitCode(),
                 request.location(),
-                request.storageType().name(),
+                PgEnum.bind(request.storageType()),
                 request.totalMassCapacity(),
                 request.totalVolumeCapacity(),
                 storageUnit.getCurrentMass(),
                 storageUnit.getCurrentVolume(),
                 id
         );
+        storageOccupancyService.invalidate();
+        cacheInvalidationBus.publish(CacheInvalidationBus.STORAGE_UNIT, id);
 
         storageUnit.setUnitCode(request.unitCode());
         storageUnit.setLocation(request.location());
@@ -142,25 +155,47 @@ public class StorageUnitService {
         return cargoStorageService.getStorageUnitCargo(id, page, size);
     }
 
-    public void updateStorageUnitCapacity(Long storageUnitId) {
-        String sql = "UPDATE storage_unit su " +
-                     "SET current_mass = ( " +
-                     "    SELECT COALESCE(SUM(cs.quantity * c.mass_per_unit), 0.00) " +
-                     "    FROM cargo_storage cs " +
-                     "    JOIN cargo c ON cs.cargo_id = c.id " +
-                     "    WHERE cs.storage_unit_id = su.id " +
-                     "), " +
-                     "current_volume = ( " +
-                     "    SELECT COALESCE(SUM(cs.quantity * c.volume_per_unit), 0.00) " +
-                     "    FROM cargo_storage cs " +
-                     "    JOIN cargo c ON cs.cargo_id = c.id " +
-                     "    WHERE cs.storage_unit_id = su.id " +
-                     ") " +
-                     "WHERE su.id = ?";
-        
-        jdbcTemplate.update(sql, storageUnitId);
+    /**
+     * Полный пересчёт загрузки хранилища по cargo_storage одним проходом по его содержимому.
+     * Текущие значения поддерживает StorageCapacityService дельтами; пересчёт нужен только
+     * для исправления расхождений (см. StorageUnitInventoryVerifier). Строка хранилища
+     * блокируется до подсчёта, поэтому параллельное размещение не потеряется: оно либо уже
+     * зафиксировано и попадёт в сумму, либо дождётся пересчёта и применит свою дельту после.
+     * Возвращает true, если значения были исправлены.
+     */
+    @Transactional
+    public boolean updateStorageUnitCapacity(Long storageUnitId) {
+        List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM storage_unit WHERE id = ? FOR NO KEY UPDATE", Long.class, storageUnitId);
+        if (locked.isEmpty()) {
+            throw new StorageUnitNotFoundException("Storage unit not found with id: " + storageUnitId);
+        }
+
+        String sql = "UPDATE storage_unit su SET " +
+                     "current_mass = t.mass, " +
+                     "current_volume = t.volume " +
+                     "FROM (" +
+                     "  SELECT COALESCE(SUM(cs.quantity * c.mass_per_unit), 0.00) AS mass, " +
+                     "         COALESCE(SUM(cs.quantity * c.volume_per_unit), 0.00) AS volume " +
+                     "  FROM cargo_storage cs " +
+                     "  JOIN cargo c ON cs.cargo_id = c.id " +
+                     "  WHERE cs.storage_unit_id = ?" +
+                     ") t " +
+                     "WHERE su.id = ? " +
+                     "AND (su.current_mass <> t.mass OR su.current_volume <> t.volume) " +
+                     "RETURNING su.id";
+
+        boolean corrected = !jdbcTemplate.queryForList(sql, Long.class, storageUnitId, storageUnitId).isEmpty();
+        if (corrected) {
+            cacheInvalidationBus.publish(CacheInvalidationBus.STORAGE_UNIT, storageUnitId);
+        }
+        return corrected;
     }
 
+    /**
+     * Информационная проверка: между ней и записью место может занять другой запрос.
+     * Для размещения груза используйте StorageCapacityService.reserve.
+     */
     public boolean hasAvailableCapacity(Long storageUnitId, BigDecimal requiredMass, BigDecimal requiredVolume) {
         String sql = "SELECT " +
                      "(total_mass_capacity - current_mass) >= ? AND " +
@@ -0,0 +1,247 @@
+package org.orbitalLogistic.streaming;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.config.converters.EnumLookup;
+import org.orbitalLogistic.dto.response.SpacecraftChangeEventDTO;
+import org.orbitalLogistic.entities.enums.SpacecraftStatus;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Поток изменений статуса и местоположения кораблей для GET /api/spacecrafts/stream (SSE).
+ * SpacecraftService публикует изменение после COMMIT, изменения с других узлов приходят
+ * уведомлениями spacecraft из CacheInvalidationBus: по id корабля состояние перечитывается
+ * из БД. Клиент получает только дельты вместо периодического перечитывания всего списка.
+ *
+ * Последние ring-size событий хранятся в кольцевом буфере: переподключившийся клиент
+ * передаёт Last-Event-ID и получает пропущенное. Идентификаторы — epoch-номер, где epoch
+ * задаётся при старте узла; если события уже вытеснены, id с другого узла или из прошлого
+ * запуска, либо в пропущенном отрезке были изменения, не попавшие в буфер, клиент
+ * получает событие reset и перечитывает список целиком.
+ */
+@Slf4j
+@Component
+public class SpacecraftEventStream implements DisposableBean {
+
+    private static final EnumLookup<SpacecraftStatus> STATUSES = EnumLookup.of(SpacecraftStatus.class);
+
+    private static final String STATE_SQL = "SELECT status, current_location FROM spacecraft WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int subscriberBuffer;
+    private final long coalesceMillis;
+    private final long heartbeatMillis;
+    private final long timeoutMillis;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final List<StreamSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService remoteChanges =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("spacecraft-stream-remote").factory());
+
+    /** null в ячейке — изменение, которое не попало в буфер; возобновление через него невозможно. */
+    private final SpacecraftStreamEvent[] ring;
+    private final long[] ringSequence;
+    private long sequence;
+
+    public SpacecraftEventStream(JdbcTemplate jdbcTemplate,
+                                 CacheInvalidationBus cacheInvalidationBus,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${orbital.spacecraft-stream.ring-size:1024}") int ringSize,
+                                 @Value("${orbital.spacecraft-stream.subscriber-buffer:256}") int subscriberBuffer,
+                                 @Value("${orbital.spacecraft-stream.coalesce-window:PT0.25S}") Duration coalesceWindow,
+                                 @Value("${orbital.spacecraft-stream.heartbeat:PT15S}") Duration heartbeat,
+                                 @Value("${orbital.spacecraft-stream.timeout:PT30M}") Duration timeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.subscriberBuffer = subscriberBuffer;
+        this.coalesceMillis = coalesceWindow.toMillis();
+        this.heartbeatMillis = heartbeat.toMillis();
+        this.timeoutMillis = timeout.toMillis();
+        this.ring = new SpacecraftStreamEvent[ringSize];
+        this.ringSequence = new long[ringSize];
+
+        cacheInvalidationBus.register(CacheInvalidationBus.SPACECRAFT, this::onRemoteChange, this::onRemoteReset);
+        Gauge.builder("orbital.spacecraft.stream.subscribers", subscribers, List::size)
+                .description("Open spacecraft SSE streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+    }
+
+    /**
+     * Подключает emitter к потоку. Повтор пропущенных событий и добавление в список
+     * подписчиков выполняются под одной блокировкой с публикацией, поэтому событие
+     * не теряется и не приходит дважды на стыке повтора и живого потока.
+     */
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, subscriberBuffer);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(subscriber, lastEventId.trim());
+            }
+            subscribers.add(subscriber);
+        }
+        Thread.ofVirtual()
+                .name("spacecraft-stream-" + Integer.toHexString(System.identityHashCode(subscriber)))
+                .start(() -> subscriber.run(coalesceMillis, heartbeatMillis));
+        return emitter;
+    }
+
+    /**
+     * Публикует новое состояние корабля; внутри транзакции — после COMMIT.
+     */
+    public void publishChange(Long spacecraftId, SpacecraftStatus status, String currentLocation) {
+        afterCommit(new SpacecraftChangeEventDTO(spacecraftId, status, currentLocation, false));
+    }
+
+    public void publishRemoval(Long spacecraftId) {
+        afterCommit(new SpacecraftChangeEventDTO(spacecraftId, null, null, true));
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    synchronized String lastEventId() {
+        return eventId(sequence);
+    }
+
+    @Override
+    public void destroy() {
+        remoteChanges.shutdownNow();
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter().complete();
+        }
+        subscribers.clear();
+    }
+
+    private void afterCommit(SpacecraftChangeEventDTO change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(change);
+                }
+            });
+        } else {
+            append(change);
+        }
+    }
+
+    private synchronized void append(SpacecraftChangeEventDTO change) {
+        SpacecraftStreamEvent event = store(change);
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    private synchronized SpacecraftStreamEvent store(SpacecraftChangeEventDTO change) {
+        long next = ++sequence;
+        SpacecraftStreamEvent event = change != null ? new SpacecraftStreamEvent(eventId(next), change) : null;
+        int slot = (int) (next % ring.length);
+        ring[slot] = event;
+        ringSequence[slot] = next;
+        return event;
+    }
+
+    private void replay(StreamSubscriber subscriber, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        if (lastSequence < 0 || lastSequence > sequence || lastSequence < sequence - ring.length) {
+            subscriber.reset(eventId(sequence));
+            return;
+        }
+        for (long next = lastSequence + 1; next <= sequence; next++) {
+            int slot = (int) (next % ring.length);
+            if (ring[slot] == null || ringSequence[slot] != next) {
+                subscriber.reset(eventId(sequence));
+                return;
+            }
+            subscriber.offer(ring[slot]);
+        }
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator <= 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long value) {
+        return epoch + "-" + value;
+    }
+
+    private void unsubscribe(StreamSubscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Изменение на другом узле. Без подписчиков состояние не перечитывается:
+     * в буфере остаётся только отметка о пропуске для тех, кто переподключится позже.
+     */
+    private void onRemoteChange(String key) {
+        Long spacecraftId = Long.valueOf(key);
+        synchronized (this) {
+            if (subscribers.isEmpty()) {
+                store(null);
+                return;
+            }
+        }
+        try {
+            remoteChanges.execute(() -> loadRemoteChange(spacecraftId));
+        } catch (RejectedExecutionException e) {
+            // Узел останавливается, подписчики всё равно будут отключены
+        }
+    }
+
+    private void loadRemoteChange(Long spacecraftId) {
+        try {
+            List<SpacecraftChangeEventDTO> state = jdbcTemplate.query(STATE_SQL,
+                    (rs, rowNum) -> new SpacecraftChangeEventDTO(spacecraftId,
+                            STATUSES.parse(rs.getString("status")), rs.getString("current_location"), false),
+                    spacecraftId);
+            append(state.isEmpty() ? new SpacecraftChangeEventDTO(spacecraftId, null, null, true) : state.getFirst());
+        } catch (DataAccessException e) {
+            log.warn("Failed to load spacecraft {} for stream, resetting subscribers", spacecraftId, e);
+            onRemoteReset();
+        }
+    }
+
+    /**
+     * Уведомления могли быть потеряны (переподключение LISTEN): подписчики перечитывают список.
+     */
+    private synchronized void onRemoteReset() {
+        store(null);
+        String id = eventId(sequence);
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.reset(id);
+        }
+    }
+}
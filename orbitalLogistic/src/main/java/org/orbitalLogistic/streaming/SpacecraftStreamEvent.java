@@ -0,0 +1,13 @@
+package org.orbitalLogistic.streaming;
+
+import org.orbitalLogistic.dto.response.SpacecraftChangeEventDTO;
+
+/**
+ * Событие потока кораблей с идентификатором для Last-Event-ID.
+ */
+record SpacecraftStreamEvent(String id, SpacecraftChangeEventDTO payload) {
+
+    Long spacecraftId() {
+        return payload.spacecraftId();
+    }
+}
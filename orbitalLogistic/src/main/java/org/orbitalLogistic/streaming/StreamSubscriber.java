@@ -0,0 +1,136 @@
+package org.orbitalLogistic.streaming;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Подписчик потока кораблей с ограниченным буфером. Необработанные события хранятся
+ * по одному на корабль: новое изменение заменяет ещё не отправленное, поэтому частые
+ * переключения статуса уходят клиенту одним последним состоянием. Если в буфере больше
+ * capacity кораблей, клиент не успевает читать — буфер сбрасывается, и клиент получает
+ * событие reset, после которого перечитывает список целиком.
+ *
+ * Отправку выполняет отдельный (виртуальный) поток подписчика: медленный клиент
+ * задерживает только себя, а не публикацию и не других подписчиков.
+ */
+final class StreamSubscriber {
+
+    static final String CHANGE_EVENT = "spacecraft";
+    static final String RESET_EVENT = "reset";
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final LinkedHashMap<Long, SpacecraftStreamEvent> pending = new LinkedHashMap<>();
+    private String resetId;
+    private boolean closed;
+
+    StreamSubscriber(SseEmitter emitter, int capacity) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    synchronized void offer(SpacecraftStreamEvent event) {
+        if (closed) {
+            return;
+        }
+        // Удаление перед вставкой переносит корабль в конец: порядок отправки — по последнему изменению
+        pending.remove(event.spacecraftId());
+        pending.put(event.spacecraftId(), event);
+        if (pending.size() > capacity) {
+            pending.clear();
+            resetId = event.id();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Клиенту нужно перечитать состояние целиком: отложенные изменения уже не нужны.
+     */
+    synchronized void reset(String eventId) {
+        if (closed) {
+            return;
+        }
+        pending.clear();
+        resetId = eventId;
+        notifyAll();
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+        notifyAll();
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Цикл отправки: ждёт первое событие, ещё coalesceMillis собирает следующие
+     * и отправляет накопленное. Без событий раз в heartbeatMillis шлёт комментарий,
+     * чтобы прокси не закрыли соединение, а оборванное соединение обнаружилось.
+     */
+    void run(long coalesceMillis, long heartbeatMillis) {
+        try {
+            while (true) {
+                if (!awaitPending(heartbeatMillis)) {
+                    if (isClosed()) {
+                        return;
+                    }
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                if (coalesceMillis > 0) {
+                    Thread.sleep(coalesceMillis);
+                }
+
+                String reset;
+                List<SpacecraftStreamEvent> batch;
+                synchronized (this) {
+                    if (closed) {
+                        return;
+                    }
+                    reset = resetId;
+                    batch = new ArrayList<>(pending.values());
+                    resetId = null;
+                    pending.clear();
+                }
+
+                if (reset != null) {
+                    emitter.send(SseEmitter.event().id(reset).name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON));
+                }
+                for (SpacecraftStreamEvent event : batch) {
+                    emitter.send(SseEmitter.event().id(event.id()).name(CHANGE_EVENT)
+                            .data(event.payload(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Клиент отключился или emitter уже завершён: контейнер сообщит об ошибке через onError
+            close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+        }
+    }
+
+    private synchronized boolean awaitPending(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!closed && pending.isEmpty() && resetId == null) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return !closed;
+    }
+}
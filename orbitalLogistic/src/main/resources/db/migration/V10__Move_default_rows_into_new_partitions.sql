@@ -0,0 +1,55 @@
+-- Если в inv_txn_default уже лежат строки месяца M (секцию не успели создать заранее, или
+-- дата введена с ошибкой), CREATE TABLE ... PARTITION OF для M падает: PostgreSQL не даёт
+-- создать секцию, диапазон которой пересекается со строками секции по умолчанию. Ошибка
+-- прерывала весь цикл create_inventory_transaction_partitions, и планировщик больше не
+-- создавал ни одного следующего месяца.
+--
+-- Теперь для такого месяца секция создаётся отдельной таблицей, строки месяца переносятся
+-- в неё из inv_txn_default, и таблица присоединяется к inventory_transaction. CHECK по
+-- диапазону дат добавляется до ATTACH, чтобы PostgreSQL не сканировал новую секцию повторно.
+-- Каждый месяц выполняется в своём блоке EXCEPTION: сбой одного месяца откатывает только
+-- его перенос, выводится WARNING, а остальные месяцы создаются.
+CREATE OR REPLACE FUNCTION create_inventory_transaction_partitions(from_month DATE, months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    month_end DATE;
+    last_month DATE := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    partition_name TEXT;
+    created INTEGER := 0;
+    moved_rows BIGINT;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        partition_name := 'inv_txn_' || to_char(month_start, 'YYYY_MM');
+        month_end := (month_start + INTERVAL '1 month')::date;
+        IF to_regclass(partition_name) IS NULL THEN
+            BEGIN
+                IF EXISTS (SELECT 1 FROM inv_txn_default
+                           WHERE transaction_date >= month_start AND transaction_date < month_end) THEN
+                    EXECUTE format('CREATE TABLE %I (LIKE inventory_transaction INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                                   partition_name);
+                    EXECUTE format('WITH moved AS (DELETE FROM inv_txn_default '
+                                   'WHERE transaction_date >= %L AND transaction_date < %L RETURNING *) '
+                                   'INSERT INTO %I SELECT * FROM moved',
+                                   month_start, month_end, partition_name);
+                    GET DIAGNOSTICS moved_rows = ROW_COUNT;
+                    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (transaction_date >= %L AND transaction_date < %L)',
+                                   partition_name, partition_name || '_range', month_start, month_end);
+                    EXECUTE format('ALTER TABLE inventory_transaction ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                                   partition_name, month_start, month_end);
+                    EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', partition_name, partition_name || '_range');
+                    RAISE NOTICE 'Moved % row(s) from inv_txn_default into %', moved_rows, partition_name;
+                ELSE
+                    EXECUTE format('CREATE TABLE %I PARTITION OF inventory_transaction FOR VALUES FROM (%L) TO (%L)',
+                                   partition_name, month_start, month_end);
+                END IF;
+                created := created + 1;
+            EXCEPTION WHEN OTHERS THEN
+                RAISE WARNING 'Failed to create partition %: %', partition_name, SQLERRM;
+            END;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,7 @@
+-- Повтор по Idempotency-Key должен совпадать с исходным ответом не только телом:
+-- Location созданного ресурса и прочие заголовки ответа сохраняются вместе с ним.
+-- Имена и значения лежат в параллельных массивах (как параметры unnest в StorageCapacityService);
+-- повторяющийся заголовок занимает несколько позиций с одним именем.
+ALTER TABLE idempotency_key
+    ADD COLUMN response_header_names TEXT[],
+    ADD COLUMN response_header_values TEXT[];
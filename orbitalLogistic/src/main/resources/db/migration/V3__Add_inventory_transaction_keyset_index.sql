@@ -0,0 +1,7 @@
+-- Курсорная пагинация журнала транзакций по (transaction_date, id).
+-- Ключ сортировки должен быть NOT NULL, иначе сравнение кортежей теряет строки.
+UPDATE inventory_transaction SET transaction_date = NOW() WHERE transaction_date IS NULL;
+ALTER TABLE inventory_transaction ALTER COLUMN transaction_date SET NOT NULL;
+
+CREATE INDEX idx_inventory_transaction_date_id
+    ON inventory_transaction (transaction_date DESC, id DESC);
@@ -0,0 +1,19 @@
+-- Текущая загрузка корабля хранится в самой строке spacecraft и поддерживается
+-- инкрементально при погрузке/выгрузке, вместо SUM по cargo_manifest на каждое чтение.
+ALTER TABLE spacecraft
+    ADD COLUMN current_mass_usage DECIMAL(17,2) NOT NULL DEFAULT 0,
+    ADD COLUMN current_volume_usage DECIMAL(17,2) NOT NULL DEFAULT 0;
+
+UPDATE spacecraft s
+SET current_mass_usage = t.mass_usage,
+    current_volume_usage = t.volume_usage
+FROM (
+    SELECT cm.spacecraft_id,
+           SUM(cm.quantity * c.mass_per_unit) AS mass_usage,
+           SUM(cm.quantity * c.volume_per_unit) AS volume_usage
+    FROM cargo_manifest cm
+    JOIN cargo c ON cm.cargo_id = c.id
+    WHERE cm.manifest_status IN ('LOADED', 'IN_TRANSIT')
+    GROUP BY cm.spacecraft_id
+) t
+WHERE s.id = t.spacecraft_id;
@@ -0,0 +1,19 @@
+-- Поиск по подстроке (ILIKE '%term%') не может использовать B-tree индексы.
+-- Триграммные GIN-индексы pg_trgm позволяют выполнять такие фильтры через bitmap index scan.
+-- Создание расширения требует прав владельца базы (или суперпользователя).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_cargo_name_trgm
+    ON cargo USING gin (name gin_trgm_ops);
+
+CREATE INDEX idx_spacecraft_name_trgm
+    ON spacecraft USING gin (name gin_trgm_ops);
+
+CREATE INDEX idx_mission_code_trgm
+    ON mission USING gin (mission_code gin_trgm_ops);
+
+CREATE INDEX idx_mission_name_trgm
+    ON mission USING gin (mission_name gin_trgm_ops);
+
+CREATE INDEX idx_cargo_category_name_trgm
+    ON cargo_category USING gin (name gin_trgm_ops);
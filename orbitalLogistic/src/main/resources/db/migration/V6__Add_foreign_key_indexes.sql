@@ -0,0 +1,105 @@
+-- Вторичные индексы под реальные WHERE / ORDER BY репозиториев.
+-- V1 объявляет только PK и UNIQUE, поэтому поиск по внешним ключам и диапазонам дат
+-- выполнялся последовательным сканированием, как и проверки ON DELETE для ссылающихся таблиц.
+
+-- cargo_manifest
+-- findActiveCargoBySpacecraft, unloadActiveCargoBySpacecraft, getTotalQuantityOnSpacecraft, findBySpacecraftId
+CREATE INDEX idx_cargo_manifest_spacecraft_status
+    ON cargo_manifest (spacecraft_id, manifest_status);
+-- findByCargoId, existsByCargoId, ON DELETE RESTRICT из cargo
+CREATE INDEX idx_cargo_manifest_cargo
+    ON cargo_manifest (cargo_id);
+CREATE INDEX idx_cargo_manifest_storage_unit
+    ON cargo_manifest (storage_unit_id);
+CREATE INDEX idx_cargo_manifest_loaded_by_user
+    ON cargo_manifest (loaded_by_user_id);
+CREATE INDEX idx_cargo_manifest_unloaded_by_user
+    ON cargo_manifest (unloaded_by_user_id) WHERE unloaded_by_user_id IS NOT NULL;
+-- findByLoadedAtBetween
+CREATE INDEX idx_cargo_manifest_loaded_at
+    ON cargo_manifest (loaded_at);
+-- findCriticalPendingManifests
+CREATE INDEX idx_cargo_manifest_critical_pending
+    ON cargo_manifest (loaded_at NULLS FIRST)
+    WHERE manifest_status = 'PENDING' AND priority = 'CRITICAL';
+
+-- inventory_transaction (диапазоны дат покрывает idx_inventory_transaction_date_id из V3)
+-- findByCargoId, findByCargoIdOrderByTransactionDate, getNetQuantityForCargoInStorage
+CREATE INDEX idx_inventory_transaction_cargo_date
+    ON inventory_transaction (cargo_id, transaction_date DESC);
+-- findByStorageUnitId / findBySpacecraftId фильтруют по from OR to: BitmapOr по двум индексам
+CREATE INDEX idx_inventory_transaction_from_storage_date
+    ON inventory_transaction (from_storage_unit_id, transaction_date DESC) WHERE from_storage_unit_id IS NOT NULL;
+CREATE INDEX idx_inventory_transaction_to_storage_date
+    ON inventory_transaction (to_storage_unit_id, transaction_date DESC) WHERE to_storage_unit_id IS NOT NULL;
+CREATE INDEX idx_inventory_transaction_from_spacecraft_date
+    ON inventory_transaction (from_spacecraft_id, transaction_date DESC) WHERE from_spacecraft_id IS NOT NULL;
+CREATE INDEX idx_inventory_transaction_to_spacecraft_date
+    ON inventory_transaction (to_spacecraft_id, transaction_date DESC) WHERE to_spacecraft_id IS NOT NULL;
+CREATE INDEX idx_inventory_transaction_performed_by_user
+    ON inventory_transaction (performed_by_user_id);
+
+-- cargo_storage
+-- findByStorageUnitId, findByStorageUnitIdAndCargoId, getTotalQuantityByStorageUnitId
+CREATE INDEX idx_cargo_storage_unit_cargo
+    ON cargo_storage (storage_unit_id, cargo_id);
+-- findByCargoId, getTotalQuantityByCargoId
+CREATE INDEX idx_cargo_storage_cargo
+    ON cargo_storage (cargo_id);
+CREATE INDEX idx_cargo_storage_checked_by_user
+    ON cargo_storage (last_checked_by_user_id) WHERE last_checked_by_user_id IS NOT NULL;
+-- findRequiringInventoryCheck
+CREATE INDEX idx_cargo_storage_last_inventory_check
+    ON cargo_storage (last_inventory_check NULLS FIRST);
+
+-- maintenance_log
+-- findBySpacecraftIdOrderByStartTime, getTotalMaintenanceCost
+CREATE INDEX idx_maintenance_log_spacecraft_start
+    ON maintenance_log (spacecraft_id, start_time DESC NULLS LAST);
+-- findLastMaintenanceByTypeAndSpacecraft
+CREATE INDEX idx_maintenance_log_spacecraft_type_start
+    ON maintenance_log (spacecraft_id, maintenance_type, start_time DESC);
+-- findByStartTimeBetween
+CREATE INDEX idx_maintenance_log_start_time
+    ON maintenance_log (start_time);
+-- findScheduledMaintenance
+CREATE INDEX idx_maintenance_log_scheduled_start
+    ON maintenance_log (start_time) WHERE status = 'SCHEDULED';
+CREATE INDEX idx_maintenance_log_performed_by_user
+    ON maintenance_log (performed_by_user_id);
+CREATE INDEX idx_maintenance_log_supervised_by_user
+    ON maintenance_log (supervised_by_user_id) WHERE supervised_by_user_id IS NOT NULL;
+
+-- mission_assignment
+-- findByMissionId, findByMissionIdOrderByRole, countByMissionIdAndRole, findByMissionIdAndAssignmentRole
+CREATE INDEX idx_mission_assignment_mission_role
+    ON mission_assignment (mission_id, assignment_role, assigned_at);
+-- findByUserId, findActiveAssignmentsByUserId, existsByMissionIdAndUserId
+CREATE INDEX idx_mission_assignment_user_mission
+    ON mission_assignment (user_id, mission_id);
+-- findByAssignedAtBetween
+CREATE INDEX idx_mission_assignment_assigned_at
+    ON mission_assignment (assigned_at);
+
+-- mission
+CREATE INDEX idx_mission_spacecraft
+    ON mission (spacecraft_id);
+CREATE INDEX idx_mission_commanding_officer
+    ON mission (commanding_officer_id);
+-- findByScheduledDepartureBetween, сортировка findWithFilters
+CREATE INDEX idx_mission_scheduled_departure
+    ON mission (scheduled_departure);
+
+-- spacecraft_mission: UNIQUE (spacecraft_id, mission_id) уже покрывает поиск по кораблю
+CREATE INDEX idx_spacecraft_mission_mission
+    ON spacecraft_mission (mission_id);
+
+-- Внешние ключи справочников
+CREATE INDEX idx_spacecraft_type
+    ON spacecraft (spacecraft_type_id);
+CREATE INDEX idx_cargo_category
+    ON cargo (cargo_category_id);
+CREATE INDEX idx_cargo_category_parent
+    ON cargo_category (parent_category_id);
+CREATE INDEX idx_users_role
+    ON users (role_id);
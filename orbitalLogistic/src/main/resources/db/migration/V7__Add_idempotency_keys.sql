@@ -0,0 +1,19 @@
+-- Ключи идемпотентности для повторяемых POST (погрузка, перемещение, назначение экипажа).
+-- Строка вставляется в статусе IN_PROGRESS до выполнения запроса и обновляется сохранённым
+-- ответом после него; locked_until ограничивает время, на которое упавший обработчик
+-- может занять ключ. Просроченные строки удаляет фоновая очистка по expires_at.
+CREATE TABLE idempotency_key (
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_path VARCHAR(500) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+    response_status INTEGER,
+    response_content_type VARCHAR(255),
+    response_body BYTEA,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    locked_until TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (idempotency_key, request_path)
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key (expires_at);
@@ -0,0 +1,120 @@
+-- Журнал транзакций только дописывается и растёт без ограничений. Таблица переводится
+-- на помесячное секционирование по transaction_date: запросы за недавний период читают
+-- только свои секции, а закрытые месяцы можно целиком отсоединять и архивировать
+-- (InventoryTransactionPartitionService).
+-- Секции называются коротко (inv_txn_YYYY_MM), чтобы автоматические имена их индексов
+-- не обрезались до 63 символов и оставались предсказуемыми.
+
+ALTER TABLE inventory_transaction RENAME TO inventory_transaction_old;
+ALTER INDEX inventory_transaction_pkey RENAME TO inventory_transaction_old_pkey;
+ALTER SEQUENCE inventory_transaction_id_seq OWNED BY NONE;
+
+-- Ключ секционирования обязан входить в первичный ключ
+CREATE TABLE inventory_transaction (
+    id BIGINT NOT NULL DEFAULT nextval('inventory_transaction_id_seq'),
+    transaction_type transaction_type_enum NOT NULL DEFAULT 'LOAD',
+    cargo_id BIGINT NOT NULL REFERENCES cargo(id) ON DELETE RESTRICT,
+    quantity INTEGER NOT NULL,
+    from_storage_unit_id BIGINT REFERENCES storage_unit(id) ON DELETE SET NULL,
+    to_storage_unit_id BIGINT REFERENCES storage_unit(id) ON DELETE SET NULL,
+    from_spacecraft_id BIGINT REFERENCES spacecraft(id) ON DELETE SET NULL,
+    to_spacecraft_id BIGINT REFERENCES spacecraft(id) ON DELETE SET NULL,
+    performed_by_user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE RESTRICT,
+    transaction_date TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    reason_code VARCHAR(50),
+    reference_number VARCHAR(100),
+    notes TEXT,
+    CONSTRAINT chk_transaction_source CHECK (
+        from_storage_unit_id IS NOT NULL OR from_spacecraft_id IS NOT NULL
+    ),
+    CONSTRAINT chk_transaction_target CHECK (
+        to_storage_unit_id IS NOT NULL OR to_spacecraft_id IS NOT NULL
+    ),
+    PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+-- Создаёт недостающие месячные секции от месяца from_month до текущего месяца + months_ahead.
+-- Вызывается миграцией и ежедневно планировщиком; возвращает число созданных секций.
+CREATE OR REPLACE FUNCTION create_inventory_transaction_partitions(from_month DATE, months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    last_month DATE := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        partition_name := 'inv_txn_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF inventory_transaction FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, (month_start + INTERVAL '1 month')::date);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Закрытые месяцы больше не меняются, и строки в них лежат в порядке transaction_date:
+-- BRIN-индекс на таких секциях занимает единицы страниц и обслуживает выборки по диапазону дат.
+CREATE OR REPLACE FUNCTION index_closed_inventory_transaction_partitions()
+RETURNS INTEGER AS $$
+DECLARE
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'inventory_transaction'::regclass
+          AND c.relname ~ '^inv_txn_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substr(c.relname, 9), 'YYYY_MM') < date_trunc('month', now())
+    LOOP
+        IF to_regclass(partition_name || '_date_brin') IS NULL THEN
+            EXECUTE format('CREATE INDEX %I ON %I USING brin (transaction_date)',
+                           partition_name || '_date_brin', partition_name);
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_inventory_transaction_partitions(
+    COALESCE((SELECT MIN(transaction_date) FROM inventory_transaction_old), NOW())::date, 3);
+
+-- Страховка для дат вне созданных секций (например, ошибочно введённых в будущем)
+CREATE TABLE inv_txn_default PARTITION OF inventory_transaction DEFAULT;
+
+INSERT INTO inventory_transaction (
+    id, transaction_type, cargo_id, quantity,
+    from_storage_unit_id, to_storage_unit_id, from_spacecraft_id, to_spacecraft_id,
+    performed_by_user_id, transaction_date, reason_code, reference_number, notes
+)
+SELECT id, transaction_type, cargo_id, quantity,
+       from_storage_unit_id, to_storage_unit_id, from_spacecraft_id, to_spacecraft_id,
+       performed_by_user_id, transaction_date, reason_code, reference_number, notes
+FROM inventory_transaction_old;
+
+DROP TABLE inventory_transaction_old;
+ALTER SEQUENCE inventory_transaction_id_seq OWNED BY inventory_transaction.id;
+
+-- Индексы из V3 и V6 создаются на родительской таблице и наследуются всеми секциями
+CREATE INDEX idx_inventory_transaction_date_id
+    ON inventory_transaction (transaction_date DESC, id DESC);
+CREATE INDEX idx_inventory_transaction_cargo_date
+    ON inventory_transaction (cargo_id, transaction_date DESC);
+CREATE INDEX idx_inventory_transaction_from_storage_date
+    ON inventory_transaction (from_storage_unit_id, transaction_date DESC) WHERE from_storage_unit_id IS NOT NULL;
+CREATE INDEX idx_inventory_transaction_to_storage_date
+    ON inventory_transaction (to_storage_unit_id, transaction_date DESC) WHERE to_storage_unit_id IS NOT NULL;
+CREATE INDEX idx_inventory_transaction_from_spacecraft_date
+    ON inventory_transaction (from_spacecraft_id, transaction_date DESC) WHERE from_spacecraft_id IS NOT NULL;
+CREATE INDEX idx_inventory_transaction_to_spacecraft_date
+    ON inventory_transaction (to_spacecraft_id, transaction_date DESC) WHERE to_spacecraft_id IS NOT NULL;
+CREATE INDEX idx_inventory_transaction_performed_by_user
+    ON inventory_transaction (performed_by_user_id);
+
+SELECT index_closed_inventory_transaction_partitions();
@@ -0,0 +1,40 @@
+-- Один корабль не может участвовать в двух пересекающихся по времени активных миссиях.
+-- Проверка запросом перед INSERT/UPDATE не защищает от гонки двух параллельных запросов,
+-- поэтому правило закреплено ограничением-исключением на GiST-индексе.
+-- btree_gist нужен для сравнения spacecraft_id (bigint) через = внутри GiST.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- scheduled_departure/scheduled_arrival хранятся без часового пояса, поэтому период — tsrange.
+-- Миссия без прибытия занимает корабль бессрочно; некорректные интервалы периода не получают
+-- и отсекаются проверкой ниже (NOT VALID: существующие строки не перепроверяются).
+ALTER TABLE mission ADD COLUMN period tsrange GENERATED ALWAYS AS (
+    CASE
+        WHEN scheduled_departure IS NOT NULL
+             AND (scheduled_arrival IS NULL OR scheduled_arrival > scheduled_departure)
+        THEN tsrange(scheduled_departure, scheduled_arrival, '[)')
+    END
+) STORED;
+
+ALTER TABLE mission ADD CONSTRAINT chk_mission_schedule_order
+    CHECK (scheduled_arrival IS NULL OR scheduled_departure IS NULL OR scheduled_arrival > scheduled_departure)
+    NOT VALID;
+
+-- Корабль занимают только запланированные и выполняемые миссии (как в MissionService.canCreateMission)
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(a.mission_code || ' / ' || b.mission_code, ', ')
+    INTO conflicts
+    FROM mission a
+    JOIN mission b ON a.spacecraft_id = b.spacecraft_id AND a.id < b.id AND a.period && b.period
+    WHERE a.status IN ('SCHEDULED', 'IN_PROGRESS') AND b.status IN ('SCHEDULED', 'IN_PROGRESS');
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Overlapping missions must be rescheduled before this migration: %', conflicts;
+    END IF;
+END $$;
+
+ALTER TABLE mission ADD CONSTRAINT excl_mission_spacecraft_period
+    EXCLUDE USING gist (spacecraft_id WITH =, period WITH &&)
+    WHERE (status IN ('SCHEDULED', 'IN_PROGRESS'));
@@ -0,0 +1,97 @@
+package org.orbitalLogistic.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyColumnsTests {
+
+    private static final int STORAGE_TYPES = 4;
+    private static final int HAZARDS = 4;
+
+    private static OccupancyColumns sample() {
+        return OccupancyColumns.builder(STORAGE_TYPES, HAZARDS)
+                .addUnit(1, "Orbit B", 0, 100_000, 50_000)
+                .addUnit(2, "Orbit A", 0, 200_000, 80_000)
+                .addUnit(5, "Orbit A", 3, 300_000, 90_000)
+                .addCargo(10, 0, 250, 100)
+                .addCargo(11, 3, 1_000, 500)
+                .addStored(1, 0, 2_500, 1_000)
+                .addStored(2, 0, 5_000, 2_000)
+                .addStored(5, 3, 10_000, 5_000)
+                .build();
+    }
+
+    @Test
+    void groupBy_AllDimensions_ShouldOrderByLocationTypeAndHazard() {
+        List<OccupancyColumns.Group> groups = sample().groupBy(true, true, true);
+
+        assertEquals(List.of(
+                new OccupancyColumns.Group(0, 0, 0, 1, 200_000, 80_000, 5_000, 2_000),
+                new OccupancyColumns.Group(0, 3, 3, 1, 300_000, 90_000, 10_000, 5_000),
+                new OccupancyColumns.Group(1, 0, 0, 1, 100_000, 50_000, 2_500, 1_000)), groups);
+    }
+
+    @Test
+    void groupBy_Location_ShouldSumCapacityAndContentsOfAllUnits() {
+        OccupancyColumns columns = sample();
+
+        List<OccupancyColumns.Group> groups = columns.groupBy(true, false, false);
+
+        assertEquals("Orbit A", columns.location(0));
+        assertEquals(List.of(
+                new OccupancyColumns.Group(0, -1, -1, 2, 500_000, 170_000, 15_000, 7_000),
+                new OccupancyColumns.Group(1, -1, -1, 1, 100_000, 50_000, 2_500, 1_000)), groups);
+    }
+
+    @Test
+    void groupBy_Hazard_ShouldShareCapacityAndSkipEmptyLevels() {
+        List<OccupancyColumns.Group> groups = sample().groupBy(false, false, true);
+
+        assertEquals(List.of(
+                new OccupancyColumns.Group(-1, -1, 0, 3, 600_000, 220_000, 7_500, 3_000),
+                new OccupancyColumns.Group(-1, -1, 3, 3, 600_000, 220_000, 10_000, 5_000)), groups);
+    }
+
+    @Test
+    void groupBy_WithoutStoredCargo_ShouldStillReportCapacity() {
+        OccupancyColumns columns = OccupancyColumns.builder(STORAGE_TYPES, HAZARDS)
+                .addUnit(1, "Orbit A", 1, 1_000, 1_000)
+                .build();
+
+        assertEquals(List.of(new OccupancyColumns.Group(-1, 1, -1, 1, 1_000, 1_000, 0, 0)),
+                columns.groupBy(false, true, false));
+        assertEquals(List.of(), columns.groupBy(false, false, true));
+    }
+
+    @Test
+    void apply_ShouldMoveContentsByQuantityTimesUnitSize() {
+        OccupancyColumns columns = sample();
+
+        assertTrue(columns.apply(1, 11, 3));
+        assertTrue(columns.apply(2, 10, -20));
+
+        assertEquals(List.of(
+                new OccupancyColumns.Group(0, -1, -1, 2, 500_000, 170_000, 10_000, 5_000),
+                new OccupancyColumns.Group(1, -1, -1, 1, 100_000, 50_000, 5_500, 2_500)),
+                columns.groupBy(true, false, false));
+    }
+
+    @Test
+    void apply_WithUnknownUnitOrCargo_ShouldReportStaleSnapshot() {
+        OccupancyColumns columns = sample();
+
+        assertFalse(columns.apply(3, 10, 1));
+        assertFalse(columns.apply(1, 12, 1));
+        assertEquals(17_500, columns.groupBy(false, false, false).getFirst().storedMass());
+    }
+
+    @Test
+    void builder_ShouldRejectUnorderedIds() {
+        OccupancyColumns.Builder builder = OccupancyColumns.builder(STORAGE_TYPES, HAZARDS).addUnit(2, "A", 0, 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.addUnit(1, "A", 0, 1, 1));
+    }
+}
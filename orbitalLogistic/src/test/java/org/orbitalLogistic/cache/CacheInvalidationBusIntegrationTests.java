@@ -0,0 +1,69 @@
+package org.orbitalLogistic.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Два экземпляра шины на одной базе имитируют два узла кластера.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CacheInvalidationBusIntegrationTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private CacheInvalidationBus nodeA;
+    private CacheInvalidationBus nodeB;
+    private ReferenceDataCache<Long, String> cacheA;
+    private ReferenceDataCache<Long, String> cacheB;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(postgres.getJdbcUrl());
+        dataSource.setUser(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        nodeA = new CacheInvalidationBus(dataSource, jdbcTemplate, true, 50, 100);
+        nodeB = new CacheInvalidationBus(dataSource, jdbcTemplate, true, 50, 100);
+        cacheA = new ReferenceDataCache<>("user_role", 16);
+        cacheB = new ReferenceDataCache<>("user_role", 16);
+        nodeA.register(cacheA);
+        nodeB.register(cacheB);
+        nodeA.start();
+        nodeB.start();
+        // Даём потокам выполнить LISTEN до первой записи
+        Thread.sleep(500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void publish_OnOneNode_ShouldEvictEntryOnOtherNode() throws InterruptedException {
+        cacheA.put(7L, "admin");
+        cacheB.put(7L, "admin");
+
+        nodeA.publish("user_role", 7L);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cacheB.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, cacheB.size());
+        assertEquals(1, cacheA.size());
+    }
+}
@@ -0,0 +1,124 @@
+package org.orbitalLogistic.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTests {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CacheInvalidationBus bus;
+    private ReferenceDataCache<Long, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(dataSource, jdbcTemplate, true, 100, 100);
+        cache = new ReferenceDataCache<>("spacecraft_type", 16);
+        cache.put(1L, "Cargo Ship");
+        cache.put(2L, "Shuttle");
+    }
+
+    @Test
+    void publish_WithRegisteredCache_ShouldNotifyChannelWithNodeScopedPayload() {
+        bus.register(cache);
+
+        bus.publish("spacecraft_type", 1L);
+
+        verify(jdbcTemplate, times(1)).query(eq("SELECT pg_notify(?, ?)"), any(RowCallbackHandler.class),
+                eq(CacheInvalidationBus.CHANNEL), eq(bus.getNodeId() + ":spacecraft_type:1"));
+    }
+
+    @Test
+    void publish_WithoutRegisteredCache_ShouldNotTouchDatabase() {
+        bus.publish(CacheInvalidationBus.SPACECRAFT, 1L);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void publish_WhenDisabled_ShouldNotTouchDatabase() {
+        CacheInvalidationBus disabled = new CacheInvalidationBus(dataSource, jdbcTemplate, false, 100, 100);
+        disabled.register(cache);
+
+        disabled.publish("spacecraft_type", 1L);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void dispatch_FromAnotherNode_ShouldEvictOnlyMatchingEntry() {
+        bus.register(cache);
+
+        bus.dispatch("other-node:spacecraft_type:1");
+
+        assertEquals(1, cache.size());
+        assertEquals("Shuttle", cache.get(2L, key -> null));
+    }
+
+    @Test
+    void dispatch_FromSameNode_ShouldBeIgnored() {
+        bus.register(cache);
+
+        bus.dispatch(bus.getNodeId() + ":spacecraft_type:1");
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void dispatch_WithMalformedPayload_ShouldBeIgnored() {
+        bus.register(cache);
+
+        bus.dispatch("garbage");
+        bus.dispatch(null);
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void dispatch_WhenEvictorFails_ShouldClearWholeCache() {
+        bus.register(cache);
+
+        bus.dispatch("other-node:spacecraft_type:not-a-number");
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidateAll_ShouldClearEveryRegisteredCache() {
+        ReferenceDataCache<Long, String> roles = new ReferenceDataCache<>("user_role", 16);
+        roles.put(1L, "admin");
+        bus.register(cache);
+        bus.register(roles);
+
+        bus.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, roles.size());
+    }
+
+    @Test
+    void start_WhenDisabled_ShouldNotStartListener() {
+        CacheInvalidationBus disabled = new CacheInvalidationBus(dataSource, jdbcTemplate, false, 100, 100);
+
+        disabled.start();
+
+        assertFalse(disabled.isRunning());
+        verifyNoInteractions(dataSource);
+    }
+}
@@ -0,0 +1,74 @@
+package org.orbitalLogistic.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataCacheTests {
+
+    @Test
+    void get_ShouldLoadOnceAndCountHitsAndMisses() {
+        ReferenceDataCache<Long, String> cache = new ReferenceDataCache<>("test", 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get(1L, id -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get(1L, id -> "v" + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void get_ShouldNotCacheNullValues() {
+        ReferenceDataCache<Long, String> cache = new ReferenceDataCache<>("test", 10);
+
+        assertNull(cache.get(1L, id -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedEntryWhenFull() {
+        ReferenceDataCache<Long, String> cache = new ReferenceDataCache<>("test", 2);
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.get(1L, id -> "reloaded");
+        cache.put(3L, "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get(1L, id -> "reloaded"));
+        assertEquals("reloaded", cache.get(2L, id -> "reloaded"));
+    }
+
+    @Test
+    void get_ShouldNotStoreValueLoadedBeforeInvalidation() {
+        ReferenceDataCache<Long, String> cache = new ReferenceDataCache<>("test", 10);
+
+        String loaded = cache.get(1L, id -> {
+            cache.evict(id);
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void bindTo_ShouldPublishCacheMetrics() {
+        ReferenceDataCache<Long, String> cache = new ReferenceDataCache<>("spacecraft_type", 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(1L, id -> "a");
+        cache.get(1L, id -> "a");
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "spacecraft_type").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "spacecraft_type").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.size").tag("cache", "spacecraft_type").gauge().value());
+    }
+}
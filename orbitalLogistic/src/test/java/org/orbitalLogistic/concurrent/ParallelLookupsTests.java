@@ -0,0 +1,163 @@
+package org.orbitalLogistic.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.orbitalLogistic.exceptions.SpacecraftNotFoundException;
+import org.orbitalLogistic.monitoring.QueryStatistics;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelLookupsTests {
+
+    private final ParallelLookups parallelLookups = new ParallelLookups(true, 4);
+
+    @AfterEach
+    void tearDown() {
+        parallelLookups.destroy();
+        QueryStatistics.clear();
+    }
+
+    @Test
+    void fork_WhenEnabled_ShouldRunTasksConcurrentlyOnVirtualThreads() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            Supplier<Boolean> first = scope.fork(() -> awaitPeer(bothStarted));
+            Supplier<Boolean> second = scope.fork(() -> awaitPeer(bothStarted));
+            scope.join();
+
+            assertTrue(first.get());
+            assertTrue(second.get());
+        }
+    }
+
+    @Test
+    void join_ShouldRethrowFirstFailureUnchanged() {
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            scope.fork(() -> {
+                throw new SpacecraftNotFoundException("Spacecraft not found with id: 1");
+            });
+            scope.fork(() -> "ok");
+
+            SpacecraftNotFoundException exception = assertThrows(SpacecraftNotFoundException.class, scope::join);
+            assertEquals("Spacecraft not found with id: 1", exception.getMessage());
+        }
+    }
+
+    @Test
+    void fork_WhenDisabled_ShouldRunInCallingThread() {
+        ParallelLookups sequential = ParallelLookups.sequential();
+        Thread caller = Thread.currentThread();
+
+        try (ParallelLookups.Scope scope = sequential.open()) {
+            Supplier<Thread> thread = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertSame(caller, thread.get());
+        }
+    }
+
+    @Test
+    void fork_InsideTransaction_ShouldRunInCallingThread() {
+        Thread caller = Thread.currentThread();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            Supplier<Thread> thread = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertSame(caller, thread.get());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    void fork_WhenConnectionBudgetIsExhausted_ShouldRunInCallingThread() {
+        ParallelLookups singlePermit = new ParallelLookups(true, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+
+        try (ParallelLookups.Scope scope = singlePermit.open()) {
+            Supplier<Boolean> blocking = scope.fork(() -> await(release));
+            Supplier<Thread> overflow = scope.fork(Thread::currentThread);
+            release.countDown();
+            scope.join();
+
+            assertTrue(blocking.get());
+            assertSame(caller, overflow.get());
+        } finally {
+            singlePermit.destroy();
+        }
+    }
+
+    @Test
+    void fork_ShouldReturnPermitsSoLaterScopesRunInParallelAgain() {
+        ParallelLookups singlePermit = new ParallelLookups(true, 1);
+        Thread caller = Thread.currentThread();
+        try {
+            for (int i = 0; i < 3; i++) {
+                try (ParallelLookups.Scope scope = singlePermit.open()) {
+                    Supplier<Thread> thread = scope.fork(Thread::currentThread);
+                    scope.join();
+
+                    assertNotSame(caller, thread.get());
+                    assertTrue(thread.get().isVirtual());
+                }
+            }
+        } finally {
+            singlePermit.destroy();
+        }
+    }
+
+    @Test
+    void fork_ShouldRecordQueriesInCallerStatistics() {
+        QueryStatistics statistics = QueryStatistics.start();
+        AtomicBoolean forkedThread = new AtomicBoolean();
+
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            scope.fork(() -> {
+                forkedThread.set(Thread.currentThread().isVirtual());
+                QueryStatistics.current().record("SELECT * FROM spacecraft WHERE id = ANY(?)", 1_000);
+                return null;
+            });
+            scope.join();
+        }
+
+        assertTrue(forkedThread.get());
+        assertEquals(1, statistics.getStatementCount());
+    }
+
+    @Test
+    void forkedResult_BeforeJoin_ShouldNotBeReadable() {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            Supplier<Boolean> pending = scope.fork(() -> await(release));
+
+            assertThrows(IllegalStateException.class, pending::get);
+            release.countDown();
+            scope.join();
+            assertTrue(pending.get());
+        }
+    }
+
+    private static boolean awaitPeer(CountDownLatch latch) {
+        latch.countDown();
+        return await(latch);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.orbitalLogistic.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.orbitalLogistic.OrbitalApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Нагрузочное сравнение режимов: платформенные потоки Tomcat и последовательные чтения
+ * против виртуальных потоков и ParallelLookups. Пул соединений одинаковый (10),
+ * в обоих режимах не должно быть ни ошибок, ни таймаутов ожидания соединения, а виртуальные
+ * потоки не должны заметно проигрывать платформенным по пропускной способности и p99.
+ * Запуск: ./gradlew test --tests '*VirtualThreadLoadTests' -Dorbital.benchmarks=true
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "orbital.benchmarks", matches = "true")
+class VirtualThreadLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTests.class);
+
+    private static final int POOL_SIZE = 10;
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // Допуск на шум измерения: прогон короткий, и на общем CI разброс между прогонами заметный
+    private static final double THROUGHPUT_TOLERANCE = 0.8;
+    private static final double P99_TOLERANCE = 1.5;
+    private static final List<String> PATHS = List.of(
+            "/api/cargo-manifests/1",
+            "/api/cargo-manifests?size=50",
+            "/api/spacecrafts/1/manifest?size=50");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    @Test
+    void virtualThreads_ShouldNotExhaustConnectionPoolUnderLoad() throws Exception {
+        LoadResult platform = runWith(false);
+        LoadResult virtual = runWith(true);
+
+        log.info("Platform threads: {} req/s, p99 {} ms; virtual threads: {} req/s, p99 {} ms",
+                Math.round(platform.throughput()), platform.p99Millis(),
+                Math.round(virtual.throughput()), virtual.p99Millis());
+
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+        assertEquals(0.0, platform.connectionTimeouts());
+        assertEquals(0.0, virtual.connectionTimeouts());
+
+        assertTrue(platform.throughput() > 0 && virtual.throughput() > 0);
+        assertTrue(platform.p99Millis() < REQUEST_TIMEOUT.toMillis(), "platform p99 " + platform.p99Millis() + " ms");
+        assertTrue(virtual.p99Millis() < REQUEST_TIMEOUT.toMillis(), "virtual p99 " + virtual.p99Millis() + " ms");
+        assertTrue(virtual.throughput() >= platform.throughput() * THROUGHPUT_TOLERANCE,
+                "virtual " + virtual.throughput() + " req/s vs platform " + platform.throughput() + " req/s");
+        assertTrue(virtual.p99Millis() <= platform.p99Millis() * P99_TOLERANCE,
+                "virtual p99 " + virtual.p99Millis() + " ms vs platform p99 " + platform.p99Millis() + " ms");
+    }
+
+    private LoadResult runWith(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrbitalApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + POOL_SIZE * 2,
+                        "orbital.parallel-lookups.max-concurrent=" + POOL_SIZE / 2,
+                        "orbital.cache-invalidation.enabled=false")
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            fire(client, port, CLIENTS, 5);
+            LoadResult result = fire(client, port, CLIENTS, REQUESTS_PER_CLIENT);
+
+            double timeouts = context.getBean(MeterRegistry.class).find("hikaricp.connections.timeout")
+                    .counters().stream().mapToDouble(counter -> counter.count()).sum();
+            return new LoadResult(result.throughput(), result.p99Millis(), result.errors(), timeouts);
+        }
+    }
+
+    private LoadResult fire(HttpClient client, int port, int clients, int requestsPerClient) throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int clientIndex = c;
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        String path = PATHS.get((clientIndex + i) % PATHS.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                .timeout(REQUEST_TIMEOUT)
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        long[] all = new long[clients * requestsPerClient];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        Arrays.sort(all);
+        double p99Millis = all[(int) Math.ceil(all.length * 0.99) - 1] / 1_000_000.0;
+        return new LoadResult(all.length / elapsedSeconds, p99Millis, errors.get(), 0);
+    }
+
+    private record LoadResult(double throughput, double p99Millis, int errors, double connectionTimeouts) {
+    }
+}
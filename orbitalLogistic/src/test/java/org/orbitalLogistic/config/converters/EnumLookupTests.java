@@ -0,0 +1,56 @@
+package org.orbitalLogistic.config.converters;
+
+import org.junit.jupiter.api.Test;
+import org.orbitalLogistic.entities.enums.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumLookupTests {
+
+    @Test
+    void parse_ShouldMatchValueOfForEveryConstantOfEveryEnum() {
+        List<Class<? extends Enum<?>>> types = List.of(
+                SpacecraftStatus.class, StorageTypeEnum.class, CargoType.class, HazardLevel.class,
+                MissionType.class, MissionStatus.class, TransactionType.class, ManifestStatus.class,
+                ManifestPriority.class, MaintenanceType.class, MaintenanceStatus.class,
+                AssignmentRole.class, MissionPriority.class, SpacecraftClassification.class);
+        for (Class<? extends Enum<?>> type : types) {
+            assertParsesAll(type);
+        }
+    }
+
+    @Test
+    void parse_WithFreshStringInstance_ShouldReturnConstant() {
+        String name = new String("IN_PROGRESS".toCharArray());
+        assertSame(MissionStatus.IN_PROGRESS, EnumLookup.of(MissionStatus.class).parse(name));
+    }
+
+    @Test
+    void parse_WithUnknownName_ShouldThrowSameMessageAsValueOf() {
+        EnumLookup<HazardLevel> lookup = EnumLookup.of(HazardLevel.class);
+
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+                () -> HazardLevel.valueOf("EXTREME"));
+        IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> lookup.parse("EXTREME"));
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> lookup.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> lookup.parse("none"));
+    }
+
+    @Test
+    void of_ShouldReuseLookupPerType() {
+        assertSame(EnumLookup.of(CargoType.class), EnumLookup.of(CargoType.class));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void assertParsesAll(Class type) {
+        EnumLookup lookup = EnumLookup.of(type);
+        for (Object constant : type.getEnumConstants()) {
+            String name = new String(((Enum<?>) constant).name().toCharArray());
+            assertSame(constant, lookup.parse(name), type.getSimpleName() + "." + name);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.orbitalLogistic.config.converters;
+
+import org.junit.jupiter.api.Test;
+import org.orbitalLogistic.entities.enums.*;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jdbc.core.convert.JdbcCustomConversions;
+import org.springframework.data.jdbc.core.mapping.JdbcValue;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+import java.sql.JDBCType;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgEnumConvertersTests {
+
+    @Test
+    void spacecraftStatusToPgEnum_ConvertValidEnum_ShouldReturnOtherTypedValue() {
+        Converter<SpacecraftStatus, JdbcValue> converter = new PgEnumConverters.SpacecraftStatusToPgEnum();
+        JdbcValue result = converter.convert(SpacecraftStatus.DOCKED);
+        assertEquals("DOCKED", result.getValue());
+        assertEquals(JDBCType.OTHER, result.getJdbcType());
+    }
+
+    @Test
+    void spacecraftStatusToPgEnum_ConvertNull_ShouldReturnNull() {
+        Converter<SpacecraftStatus, JdbcValue> converter = new PgEnumConverters.SpacecraftStatusToPgEnum();
+        assertNull(converter.convert(null));
+    }
+
+    @Test
+    void pgEnumToSpacecraftStatus_ConvertValidString_ShouldReturnEnum() {
+        Converter<String, SpacecraftStatus> converter = new PgEnumConverters.PgEnumToSpacecraftStatus();
+        assertEquals(SpacecraftStatus.DOCKED, converter.convert("DOCKED"));
+    }
+
+    @Test
+    void pgEnumToSpacecraftStatus_ConvertNull_ShouldReturnNull() {
+        Converter<String, SpacecraftStatus> converter = new PgEnumConverters.PgEnumToSpacecraftStatus();
+        assertNull(converter.convert(null));
+    }
+
+    @Test
+    void pgEnumToStorageType_ConvertValidString_ShouldReturnEnum() {
+        Converter<String, StorageTypeEnum> converter = new PgEnumConverters.PgEnumToStorageType();
+        assertEquals(StorageTypeEnum.AMBIENT, converter.convert("AMBIENT"));
+    }
+
+    @Test
+    void pgEnumToCargoType_ConvertValidString_ShouldReturnEnum() {
+        Converter<String, CargoType> converter = new PgEnumConverters.PgEnumToCargoType();
+        assertEquals(CargoType.FOOD, converter.convert("FOOD"));
+    }
+
+    @Test
+    void pgEnumToMissionType_ConvertValidString_ShouldReturnEnum() {
+        Converter<String, MissionType> converter = new PgEnumConverters.PgEnumToMissionType();
+        assertEquals(MissionType.CARGO_TRANSPORT, converter.convert("CARGO_TRANSPORT"));
+    }
+
+    @Test
+    void pgEnumToTransactionType_ConvertUnknownString_ShouldThrowLikeValueOf() {
+        Converter<String, TransactionType> converter = new PgEnumConverters.PgEnumToTransactionType();
+        assertThrows(IllegalArgumentException.class, () -> converter.convert("TELEPORT"));
+    }
+
+    @Test
+    void all_ShouldRegisterWriterAndReaderForEveryEnum() {
+        JdbcCustomConversions conversions = new JdbcCustomConversions(PgEnumConverters.all());
+        DefaultConversionService conversionService = new DefaultConversionService();
+        conversions.registerConvertersIn(conversionService);
+
+        assertEquals(26, PgEnumConverters.all().size());
+        assertTrue(conversions.hasCustomWriteTarget(MissionStatus.class));
+        assertEquals(JdbcValue.class, conversions.getCustomWriteTarget(HazardLevel.class).orElseThrow());
+        assertEquals(AssignmentRole.PILOT, conversionService.convert("PILOT", AssignmentRole.class));
+    }
+
+    @Test
+    void bind_ShouldPassEnumNameAsUntypedParameter() {
+        SqlParameterValue value = PgEnum.bind(MissionPriority.HIGH);
+        assertEquals(Types.OTHER, value.getSqlType());
+        assertEquals("HIGH", value.getValue());
+        assertThrows(NullPointerException.class, () -> PgEnum.bind((Enum<?>) null));
+    }
+}
@@ -0,0 +1,45 @@
+package org.orbitalLogistic.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.dto.response.StorageOccupancyResponseDTO;
+import org.orbitalLogistic.entities.enums.HazardLevel;
+import org.orbitalLogistic.entities.enums.StorageTypeEnum;
+import org.orbitalLogistic.services.StorageOccupancyService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsControllerTests {
+
+    @Mock
+    private StorageOccupancyService storageOccupancyService;
+
+    @InjectMocks
+    private AnalyticsController analyticsController;
+
+    @Test
+    void getStorageOccupancy_ShouldReturnGroupsFromService() {
+        List<String> groupBy = List.of("location", "hazardLevel");
+        List<StorageOccupancyResponseDTO> groups = List.of(new StorageOccupancyResponseDTO(
+                "Orbit A", StorageTypeEnum.AMBIENT, HazardLevel.LOW, 2,
+                new BigDecimal("1000.00"), new BigDecimal("500.00"),
+                new BigDecimal("250.00"), new BigDecimal("100.00"), 25.0, 20.0));
+        when(storageOccupancyService.getOccupancy(groupBy)).thenReturn(groups);
+
+        ResponseEntity<List<StorageOccupancyResponseDTO>> response = analyticsController.getStorageOccupancy(groupBy);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(groups, response.getBody());
+        verify(storageOccupancyService, times(1)).getOccupancy(groupBy);
+    }
+}
@@ -0,0 +1,56 @@
+package org.orbitalLogistic.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.dto.response.CargoImportErrorDTO;
+import org.orbitalLogistic.dto.response.CargoImportResponseDTO;
+import org.orbitalLogistic.services.CargoImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CargoImportControllerTests {
+
+    @Mock
+    private CargoImportService cargoImportService;
+
+    @InjectMocks
+    private CargoImportController cargoImportController;
+
+    private final CargoImportResponseDTO report = new CargoImportResponseDTO(
+            2, 1, 1, 1, 1, 0, List.of(new CargoImportErrorDTO(2, "Drill", "massPerUnit must be positive")));
+
+    @Test
+    void importCsv_ShouldPassBodyStreamToService() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(cargoImportService.importCsv(body)).thenReturn(report);
+
+        ResponseEntity<CargoImportResponseDTO> response = cargoImportController.importCsv(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(report, response.getBody());
+        verify(cargoImportService, never()).importNdjson(any());
+    }
+
+    @Test
+    void importNdjson_ShouldPassBodyStreamToService() throws Exception {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(cargoImportService.importNdjson(body)).thenReturn(report);
+
+        ResponseEntity<CargoImportResponseDTO> response = cargoImportController.importNdjson(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().rejectedRows());
+        verify(cargoImportService, never()).importCsv(any());
+    }
+}
@@ -8,9 +8,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.CargoManifestRequestDTO;
+import org.orbitalLogistic.dto.request.LoadPlanRequestDTO;
 import org.orbitalLogistic.dto.response.CargoManifestResponseDTO;
+import org.orbitalLogistic.dto.response.LoadPlanResponseDTO;
 import org.orbitalLogistic.entities.enums.ManifestPriority;
 import org.orbitalLogistic.entities.enums.ManifestStatus;
+import org.orbitalLogistic.services.CargoLoadPlanService;
 import org.orbitalLogistic.services.CargoManifestService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +31,9 @@ class CargoManifestControllerTests {
     @Mock
     private CargoManifestService cargoManifestService;
 
+    @Mock
+    private CargoLoadPlanService cargoLoadPlanService;
+
     @InjectMocks
     private CargoManifestController cargoManifestController;
 
@@ -135,6 +141,20 @@ class CargoManifestControllerTests {
                 .unloadCargoFromSpacecraft(eq(1L), eq(testManifestRequest));
     }
 
+    @Test
+    void unloadCargoFromSpacecraftSummary_ShouldReturnCountHeaderWithoutBody() {
+        when(cargoManifestService.unloadAllCargoFromSpacecraft(eq(1L), any(CargoManifestRequestDTO.class)))
+                .thenReturn(42);
+
+        ResponseEntity<Void> response =
+                cargoManifestController.unloadCargoFromSpacecraftSummary(1L, testManifestRequest);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertEquals("42", response.getHeaders().getFirst("X-Unloaded-Count"));
+        assertNull(response.getBody());
+        verify(cargoManifestService, never()).unloadCargoFromSpacecraft(any(), any());
+    }
+
     @Test
     void getSpacecraftManifest_ShouldReturnPageResponse() {
         when(cargoManifestService.getSpacecraftManifest(1L, 0, 20))
@@ -179,4 +199,17 @@ class CargoManifestControllerTests {
         verify(cargoManifestService, times(1))
                 .unloadCargoFromSpacecraft(999L, testManifestRequest);
     }
+
+    @Test
+    void planLoad_ShouldReturnProposedPlan() {
+        LoadPlanRequestDTO request = new LoadPlanRequestDTO(
+                List.of(new CargoManifestRequestDTO.CargoItemDTO(1L, 1L, 10, ManifestPriority.HIGH)), null);
+        LoadPlanResponseDTO plan = new LoadPlanResponseDTO(1, 0, List.of(), List.of());
+        when(cargoLoadPlanService.planLoad(request)).thenReturn(plan);
+
+        ResponseEntity<LoadPlanResponseDTO> response = cargoManifestController.planLoad(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(plan, response.getBody());
+    }
 }
@@ -6,14 +6,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.dto.common.CursorPageResponseDTO;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.InventoryTransactionRequestDTO;
 import org.orbitalLogistic.dto.response.InventoryTransactionResponseDTO;
 import org.orbitalLogistic.entities.enums.TransactionType;
+import org.orbitalLogistic.exceptions.InvalidEnumValueException;
+import org.orbitalLogistic.services.InventoryTransactionExportService;
 import org.orbitalLogistic.services.InventoryTransactionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -28,6 +35,9 @@ class InventoryTransactionControllerTests {
     @Mock
     private InventoryTransactionService inventoryTransactionService;
 
+    @Mock
+    private InventoryTransactionExportService inventoryTransactionExportService;
+
     @InjectMocks
     private InventoryTransactionController inventoryTransactionController;
 
@@ -91,6 +101,34 @@ class InventoryTransactionControllerTests {
         verify(inventoryTransactionService, times(1)).getAllTransactions(0, 20);
     }
 
+    @Test
+    void getTransactionsAfter_ShouldCapSizeAndReturnCursorPage() {
+        CursorPageResponseDTO<InventoryTransactionResponseDTO> cursorPage =
+                new CursorPageResponseDTO<>(List.of(testTransactionResponse), 50, "next", true);
+        when(inventoryTransactionService.getTransactionsAfter("abc", 50)).thenReturn(cursorPage);
+
+        ResponseEntity<CursorPageResponseDTO<InventoryTransactionResponseDTO>> response =
+                inventoryTransactionController.getTransactionsAfter("abc", 100);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next", response.getBody().nextCursor());
+        assertTrue(response.getBody().hasNext());
+        verify(inventoryTransactionService, times(1)).getTransactionsAfter("abc", 50);
+    }
+
+    @Test
+    void getTransactionsAfter_WithNonPositiveSize_ShouldRequestSinglePage() {
+        CursorPageResponseDTO<InventoryTransactionResponseDTO> cursorPage =
+                new CursorPageResponseDTO<>(List.of(testTransactionResponse), 1, "next", true);
+        when(inventoryTransactionService.getTransactionsAfter("abc", 1)).thenReturn(cursorPage);
+
+        inventoryTransactionController.getTransactionsAfter("abc", 0);
+        inventoryTransactionController.getTransactionsAfter("abc", -5);
+
+        verify(inventoryTransactionService, times(2)).getTransactionsAfter("abc", 1);
+    }
+
     @Test
     void getTransactionById_ShouldReturnTransaction() {
         when(inventoryTransactionService.getTransactionById(1L)).thenReturn(testTransactionResponse);
@@ -148,4 +186,35 @@ class InventoryTransactionControllerTests {
         verify(inventoryTransactionService, times(1))
                 .transferBetweenStorages(eq(testTransactionRequest));
     }
+
+    @Test
+    void exportTransactions_WithCsvFormat_ShouldStreamThroughExportService() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+        ResponseEntity<StreamingResponseBody> response =
+                inventoryTransactionController.exportTransactions("CSV", from, to);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.parseMediaType("text/csv;charset=UTF-8"), response.getHeaders().getContentType());
+        assertEquals("attachment; filename=\"inventory-transactions.csv\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        verifyNoInteractions(inventoryTransactionExportService);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(inventoryTransactionExportService, times(1))
+                .export(InventoryTransactionExportService.ExportFormat.CSV, from, to, out);
+    }
+
+    @Test
+    void exportTransactions_WithUnknownFormat_ShouldRejectRequest() {
+        InvalidEnumValueException ex = assertThrows(
+                InvalidEnumValueException.class,
+                () -> inventoryTransactionController.exportTransactions("xml", null, null)
+        );
+
+        assertEquals("format", ex.getFieldName());
+        assertArrayEquals(new String[]{"ndjson", "csv"}, ex.getAcceptedValues());
+    }
 }
@@ -8,17 +8,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.SpacecraftRequestDTO;
+import org.orbitalLogistic.dto.response.FreeWindowResponseDTO;
 import org.orbitalLogistic.dto.response.SpacecraftResponseDTO;
 import org.orbitalLogistic.entities.enums.SpacecraftClassification;
 import org.orbitalLogistic.entities.enums.SpacecraftStatus;
 import org.orbitalLogistic.exceptions.SpacecraftAlreadyExistsException;
 import org.orbitalLogistic.exceptions.SpacecraftNotFoundException;
 import org.orbitalLogistic.exceptions.common.DataNotFoundException;
+import org.orbitalLogistic.services.MissionScheduleService;
 import org.orbitalLogistic.services.SpacecraftService;
+import org.orbitalLogistic.streaming.SpacecraftEventStream;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +36,12 @@ class SpacecraftControllerTests {
     @Mock
     private SpacecraftService spacecraftService;
 
+    @Mock
+    private MissionScheduleService missionScheduleService;
+
+    @Mock
+    private SpacecraftEventStream spacecraftEventStream;
+
     @InjectMocks
     private SpacecraftController spacecraftController;
 
@@ -399,4 +410,44 @@ class SpacecraftControllerTests {
         assertEquals(SpacecraftClassification.SCIENCE_VESSEL, response.getBody().content().get(0).classification());
         verify(spacecraftService, times(1)).getSpacecrafts(null, null, 0, 20);
     }
+
+    @Test
+    void getFreeWindows_WithExistingSpacecraft_ShouldReturnWindows() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 2, 1, 0, 0);
+        List<FreeWindowResponseDTO> windows = List.of(new FreeWindowResponseDTO(from, to));
+        when(missionScheduleService.findFreeWindows(1L, from, to)).thenReturn(windows);
+
+        ResponseEntity<List<FreeWindowResponseDTO>> response = spacecraftController.getFreeWindows(1L, from, to);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(windows, response.getBody());
+        verify(spacecraftService).getEntityById(1L);
+    }
+
+    @Test
+    void getFreeWindows_WithInvalidId_ShouldPropagateException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(spacecraftService.getEntityById(999L)).thenThrow(new SpacecraftNotFoundException("Spacecraft not found"));
+
+        assertThrows(SpacecraftNotFoundException.class,
+                () -> spacecraftController.getFreeWindows(999L, from, from.plusDays(1)));
+        verify(missionScheduleService, never()).findFreeWindows(any(), any(), any());
+    }
+
+    @Test
+    void streamSpacecraftChanges_ShouldPreferLastEventIdHeader() {
+        SseEmitter emitter = new SseEmitter();
+        when(spacecraftEventStream.subscribe("abc-7")).thenReturn(emitter);
+
+        assertSame(emitter, spacecraftController.streamSpacecraftChanges("abc-7", "abc-3"));
+    }
+
+    @Test
+    void streamSpacecraftChanges_WithoutHeader_ShouldUseQueryParameter() {
+        SseEmitter emitter = new SseEmitter();
+        when(spacecraftEventStream.subscribe("abc-3")).thenReturn(emitter);
+
+        assertSame(emitter, spacecraftController.streamSpacecraftChanges(null, "abc-3"));
+    }
 }
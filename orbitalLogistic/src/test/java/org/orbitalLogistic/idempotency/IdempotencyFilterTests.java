@@ -0,0 +1,122 @@
+package org.orbitalLogistic.idempotency;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTests {
+
+    private static final String PATH = "/api/inventory-transactions/transfer";
+
+    @Mock
+    private HandlerMapping handlerMapping;
+
+    @Mock
+    private ObjectProvider<HandlerMapping> handlerMappingProvider;
+
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(handlerMappingProvider.getObject()).thenReturn(handlerMapping);
+        idempotencyFilter = new IdempotencyFilter(handlerMappingProvider);
+    }
+
+    @Test
+    void doFilter_ForIdempotentHandler_ShouldBufferRequestAndResponse() throws Exception {
+        when(handlerMapping.getHandler(any())).thenReturn(new HandlerExecutionChain(handler("idempotent")));
+        MockHttpServletRequest request = request("application/json");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServletRequest> seenRequest = new AtomicReference<>();
+        AtomicReference<ServletResponse> seenResponse = new AtomicReference<>();
+
+        idempotencyFilter.doFilter(request, response, (req, res) -> {
+            seenRequest.set(req);
+            seenResponse.set(res);
+            res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        IdempotencyFilter.CachedBodyRequest cached = assertInstanceOf(
+                IdempotencyFilter.CachedBodyRequest.class, seenRequest.get());
+        assertEquals("{\"cargoId\":1}", new String(cached.getBody(), StandardCharsets.UTF_8));
+        assertInstanceOf(ContentCachingResponseWrapper.class, seenResponse.get());
+        assertEquals("{}", response.getContentAsString());
+        assertFalse(ServletRequestPathUtils.hasParsedRequestPath(request));
+    }
+
+    @Test
+    void doFilter_ForHandlerWithoutAnnotation_ShouldPassRequestThrough() throws Exception {
+        when(handlerMapping.getHandler(any())).thenReturn(new HandlerExecutionChain(handler("plain")));
+        MockHttpServletRequest request = request("application/json");
+        MockFilterChain chain = new MockFilterChain();
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+    }
+
+    @Test
+    void doFilter_ForMultipartUpload_ShouldNotResolveHandler() throws Exception {
+        MockHttpServletRequest request = request("multipart/form-data; boundary=x");
+        MockFilterChain chain = new MockFilterChain();
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        verifyNoInteractions(handlerMapping);
+    }
+
+    @Test
+    void doFilter_WithoutKey_ShouldNotResolveHandler() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        MockFilterChain chain = new MockFilterChain();
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        verifyNoInteractions(handlerMapping);
+    }
+
+    private static MockHttpServletRequest request(String contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.setContentType(contentType);
+        request.setContent("{\"cargoId\":1}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getDeclaredMethod(method));
+    }
+
+    static class Handlers {
+
+        @Idempotent
+        void idempotent() {
+        }
+
+        void plain() {
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.orbitalLogistic.idempotency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.exceptions.InvalidIdempotencyKeyException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyInterceptorTests {
+
+    private static final String PATH = "/api/inventory-transactions/transfer";
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @InjectMocks
+    private IdempotencyInterceptor idempotencyInterceptor;
+
+    @Test
+    void preHandle_WithoutAnnotation_ShouldIgnoreKey() throws Exception {
+        HttpServletRequest request = request("key-1");
+
+        assertTrue(idempotencyInterceptor.preHandle(request, new MockHttpServletResponse(), handler("plain")));
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void preHandle_WithoutKey_ShouldProceedWithoutClaim() throws Exception {
+        HttpServletRequest request = request(null);
+
+        assertTrue(idempotencyInterceptor.preHandle(request, new MockHttpServletResponse(), handler("idempotent")));
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void preHandle_WithTooLongKey_ShouldRejectRequest() {
+        HttpServletRequest request = request("k".repeat(256));
+
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyInterceptor.preHandle(request, new MockHttpServletResponse(), handler("idempotent")));
+    }
+
+    @Test
+    void preHandle_WithStoredResponse_ShouldReplayItAndSkipHandler() throws Exception {
+        IdempotencyStore.StoredResponse stored = new IdempotencyStore.StoredResponse(
+                "hash", 201, "application/json", Map.of("Location", List.of("/api/inventory-transactions/7")),
+                "{\"id\":7}".getBytes(StandardCharsets.UTF_8), Instant.now().plusSeconds(60));
+        when(idempotencyStore.claim(eq("key-1"), eq("POST " + PATH), anyString()))
+                .thenReturn(new IdempotencyStore.Claim("key-1", "POST " + PATH, "hash", stored));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(idempotencyInterceptor.preHandle(request("key-1"), response, handler("idempotent")));
+
+        assertEquals(201, response.getStatus());
+        assertEquals("true", response.getHeader(IdempotencyInterceptor.REPLAYED_HEADER));
+        assertEquals("/api/inventory-transactions/7", response.getHeader("Location"));
+        assertEquals("application/json", response.getContentType());
+        assertEquals("{\"id\":7}", response.getContentAsString());
+    }
+
+    @Test
+    void preHandle_WithoutBufferedBody_ShouldRejectKey() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyInterceptor.preHandle(request, new MockHttpServletResponse(), handler("idempotent")));
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void afterCompletion_WithSuccessfulResponse_ShouldStoreBody() throws Exception {
+        IdempotencyStore.Claim claim = new IdempotencyStore.Claim("key-1", "POST " + PATH, "hash", null);
+        when(idempotencyStore.claim(anyString(), anyString(), anyString())).thenReturn(claim);
+        HttpServletRequest request = request("key-1");
+        ContentCachingResponseWrapper response = new ContentCachingResponseWrapper(new MockHttpServletResponse());
+
+        assertTrue(idempotencyInterceptor.preHandle(request, response, handler("idempotent")));
+        response.setStatus(201);
+        response.setContentType("application/json");
+        response.setHeader("Location", "/api/inventory-transactions/7");
+        response.setHeader("Vary", "Origin");
+        response.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        idempotencyInterceptor.afterCompletion(request, response, handler("idempotent"), null);
+
+        verify(idempotencyStore, times(1)).complete(eq(claim), eq(201), eq("application/json"),
+                eq(Map.of("Location", List.of("/api/inventory-transactions/7"))), aryEq("{}".getBytes()));
+    }
+
+    @Test
+    void afterCompletion_WithServerError_ShouldReleaseKey() throws Exception {
+        IdempotencyStore.Claim claim = new IdempotencyStore.Claim("key-1", "POST " + PATH, "hash", null);
+        when(idempotencyStore.claim(anyString(), anyString(), anyString())).thenReturn(claim);
+        HttpServletRequest request = request("key-1");
+        ContentCachingResponseWrapper response = new ContentCachingResponseWrapper(new MockHttpServletResponse());
+
+        idempotencyInterceptor.preHandle(request, response, handler("idempotent"));
+        response.setStatus(500);
+        idempotencyInterceptor.afterCompletion(request, response, handler("idempotent"), null);
+
+        verify(idempotencyStore, times(1)).abandon(claim);
+        verify(idempotencyStore, never()).complete(any(), anyInt(), any(), any(), any());
+    }
+
+    // Запрос в том виде, в каком его передаёт IdempotencyFilter
+    private static HttpServletRequest request(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return new IdempotencyFilter.CachedBodyRequest(request, "{\"cargoId\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getDeclaredMethod(method));
+    }
+
+    static class Handlers {
+
+        @Idempotent
+        void idempotent() {
+        }
+
+        void plain() {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.orbitalLogistic.idempotency;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orbitalLogistic.cache.ReferenceDataCache;
+import org.orbitalLogistic.exceptions.IdempotencyKeyInProgressException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет IdempotencyStore на реальной БД: два узла (два экземпляра хранилища с раздельными
+ * локальными кэшами) делят одну таблицу idempotency_key.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class IdempotencyStoreIntegrationTests {
+
+    private static final String PATH = "POST /api/spacecrafts/1/load-cargo";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void completedKey_ShouldBeReplayedOnAnotherNode() {
+        IdempotencyStore first = node(Duration.ofMinutes(1));
+        IdempotencyStore second = node(Duration.ofMinutes(1));
+
+        IdempotencyStore.Claim claim = first.claim("replay-key", PATH, "hash");
+        assertThrows(IdempotencyKeyInProgressException.class, () -> second.claim("replay-key", PATH, "hash"));
+
+        first.complete(claim, 201, "application/json",
+                Map.of("Location", List.of("/api/manifests/5"), "X-Trace", List.of("a", "b")),
+                "[{\"id\":5}]".getBytes(StandardCharsets.UTF_8));
+        IdempotencyStore.Claim replayed = second.claim("replay-key", PATH, "hash");
+
+        assertTrue(replayed.isReplay());
+        assertEquals(201, replayed.replay().status());
+        assertEquals("[{\"id\":5}]", new String(replayed.replay().body(), StandardCharsets.UTF_8));
+        assertEquals(List.of("/api/manifests/5"), replayed.replay().headers().get("Location"));
+        assertEquals(List.of("a", "b"), replayed.replay().headers().get("X-Trace"));
+    }
+
+    @Test
+    void abandonedLease_ShouldBeTakenOverByAnotherNode() {
+        IdempotencyStore crashed = node(Duration.ZERO);
+        IdempotencyStore survivor = node(Duration.ofMinutes(1));
+
+        crashed.claim("lease-key", PATH, "hash");
+        IdempotencyStore.Claim takenOver = survivor.claim("lease-key", PATH, "hash");
+
+        assertFalse(takenOver.isReplay());
+    }
+
+    @Test
+    void sweepExpired_ShouldRemoveOnlyExpiredKeys() {
+        IdempotencyStore store = node(Duration.ofMinutes(1));
+        store.complete(store.claim("fresh-key", PATH, "hash"), 201, "application/json", Map.of(), new byte[0]);
+        store.complete(store.claim("stale-key", PATH, "hash"), 201, "application/json", Map.of(), new byte[0]);
+        jdbcTemplate.update("UPDATE idempotency_key SET expires_at = now() - interval '1 minute' " +
+                            "WHERE idempotency_key = 'stale-key'");
+
+        assertTrue(store.sweepExpired() >= 1);
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM idempotency_key WHERE idempotency_key = 'stale-key'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM idempotency_key WHERE idempotency_key = 'fresh-key'", Integer.class));
+    }
+
+    private static IdempotencyStore node(Duration lease) {
+        return new IdempotencyStore(jdbcTemplate, new ReferenceDataCache<>("idempotency_response", 16),
+                Duration.ofHours(24), lease, Duration.ofSeconds(1));
+    }
+}
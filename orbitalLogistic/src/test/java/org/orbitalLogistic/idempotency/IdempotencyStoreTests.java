@@ -0,0 +1,156 @@
+package org.orbitalLogistic.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.cache.ReferenceDataCache;
+import org.orbitalLogistic.exceptions.IdempotencyKeyInProgressException;
+import org.orbitalLogistic.exceptions.IdempotencyKeyReusedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTests {
+
+    private static final String PATH = "POST /api/inventory-transactions/transfer";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(jdbcTemplate, new ReferenceDataCache<>("idempotency_response", 16),
+                Duration.ofHours(24), Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void claim_WithNewKey_ShouldInsertInProgressRowAndAcquireKey() {
+        stubInsert(List.of("key-1"));
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim("key-1", PATH, "hash");
+
+        assertFalse(claim.isReplay());
+        verify(jdbcTemplate, never()).query(anyString(), ArgumentMatchers.<RowMapper<Object>>any(), any(), any());
+    }
+
+    @Test
+    void claim_AfterCompletion_ShouldReplayFromLocalCacheWithoutDatabase() {
+        stubInsert(List.of("key-1"));
+        IdempotencyStore.Claim first = idempotencyStore.claim("key-1", PATH, "hash");
+        idempotencyStore.complete(first, 201, "application/json", Map.of("Location", List.of("/api/items/1")),
+                "{\"id\":1}".getBytes());
+        clearInvocations(jdbcTemplate);
+
+        IdempotencyStore.Claim repeated = idempotencyStore.claim("key-1", PATH, "hash");
+
+        assertTrue(repeated.isReplay());
+        assertEquals(201, repeated.replay().status());
+        assertArrayEquals("{\"id\":1}".getBytes(), repeated.replay().body());
+        assertEquals(List.of("/api/items/1"), repeated.replay().headers().get("Location"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void claim_WithDifferentBody_ShouldRejectReusedKey() {
+        stubInsert(List.of("key-1"));
+        IdempotencyStore.Claim first = idempotencyStore.claim("key-1", PATH, "hash");
+        idempotencyStore.complete(first, 201, "application/json", Map.of(), new byte[0]);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.claim("key-1", PATH, "other-hash"));
+    }
+
+    @Test
+    void claim_WhenAnotherNodeHoldsKey_ShouldReportInProgress() {
+        stubInsert(List.of());
+        when(jdbcTemplate.query(contains("FROM idempotency_key"), ArgumentMatchers.<RowMapper<Object>>any(),
+                eq("key-1"), eq(PATH)))
+                .thenAnswer(invocation -> List.of(existingRow(invocation.getArgument(1), "IN_PROGRESS", true)));
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> idempotencyStore.claim("key-1", PATH, "hash"));
+    }
+
+    @Test
+    void claim_WhenLeaseExpired_ShouldTakeOverKey() {
+        stubInsert(List.of());
+        when(jdbcTemplate.query(contains("FROM idempotency_key"), ArgumentMatchers.<RowMapper<Object>>any(),
+                eq("key-1"), eq(PATH)))
+                .thenAnswer(invocation -> List.of(existingRow(invocation.getArgument(1), "IN_PROGRESS", false)));
+        when(jdbcTemplate.update(contains("DO UPDATE SET"), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim("key-1", PATH, "hash");
+
+        assertFalse(claim.isReplay());
+    }
+
+    @Test
+    void claim_ConcurrentDuplicateInSameProcess_ShouldWaitForLeaderAndReplay() throws Exception {
+        stubInsert(List.of("key-1"));
+        IdempotencyStore.Claim leader = idempotencyStore.claim("key-1", PATH, "hash");
+
+        CompletableFuture<IdempotencyStore.Claim> duplicate = CompletableFuture.supplyAsync(
+                () -> idempotencyStore.claim("key-1", PATH, "hash"));
+        assertThrows(TimeoutException.class, () -> duplicate.get(200, TimeUnit.MILLISECONDS));
+
+        idempotencyStore.complete(leader, 201, "application/json", Map.of(), "{}".getBytes());
+
+        IdempotencyStore.Claim replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertTrue(replayed.isReplay());
+        verify(jdbcTemplate, times(1)).queryForList(contains("INSERT INTO idempotency_key"), eq(String.class),
+                any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void abandon_ShouldDeleteKeySoRetryRunsAgain() {
+        stubInsert(List.of("key-1"));
+        IdempotencyStore.Claim first = idempotencyStore.claim("key-1", PATH, "hash");
+
+        idempotencyStore.abandon(first);
+        IdempotencyStore.Claim retry = idempotencyStore.claim("key-1", PATH, "hash");
+
+        assertFalse(retry.isReplay());
+        verify(jdbcTemplate, times(1)).update(contains("DELETE FROM idempotency_key"), eq("key-1"), eq(PATH), eq("IN_PROGRESS"));
+    }
+
+    @Test
+    void sweepExpired_ShouldDeleteInBatchesUntilNothingLeft() {
+        when(jdbcTemplate.update(contains("expires_at < now()"), eq(1000))).thenReturn(1000, 7);
+
+        assertEquals(1007, idempotencyStore.sweepExpired());
+    }
+
+    private void stubInsert(List<String> returned) {
+        when(jdbcTemplate.queryForList(contains("INSERT INTO idempotency_key"), eq(String.class),
+                any(), any(), any(), any(), any(), any())).thenReturn(returned);
+    }
+
+    private static Object existingRow(RowMapper<?> rowMapper, String status, boolean locked) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("request_hash")).thenReturn("hash");
+        when(rs.getString("status")).thenReturn(status);
+        when(rs.getBoolean("locked")).thenReturn(locked);
+        when(rs.getTimestamp("expires_at")).thenReturn(Timestamp.from(Instant.now().plusSeconds(60)));
+        return rowMapper.mapRow(rs, 0);
+    }
+}
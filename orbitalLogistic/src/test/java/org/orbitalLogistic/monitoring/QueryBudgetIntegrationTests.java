@@ -0,0 +1,61 @@
+package org.orbitalLogistic.monitoring;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Прогоняет списочные эндпоинты на реальной базе в тестовом профиле, где превышение
+ * @QueryBudget завершает запрос QueryBudgetExceededException, и проверяет заголовки статистики.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetIntegrationTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/cargo-manifests?size=50",
+            "/api/spacecrafts/1/manifest?size=50",
+            "/api/cargo-storage?size=50",
+            "/api/mission-assignments?size=50"
+    })
+    void listEndpoints_ShouldStayWithinQueryBudgetWithoutRepeatedStatements(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        int count = Integer.parseInt(result.getResponse().getHeader(QueryCountingFilter.QUERY_COUNT_HEADER));
+        assertTrue(count > 0);
+        assertEquals("0", result.getResponse().getHeader(QueryCountingFilter.QUERY_REPEATED_HEADER));
+    }
+}
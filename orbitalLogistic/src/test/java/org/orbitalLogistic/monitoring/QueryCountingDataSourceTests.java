@@ -0,0 +1,120 @@
+package org.orbitalLogistic.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryCountingDataSourceTests {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Statement statement;
+
+    private QueryCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new QueryCountingDataSource(targetDataSource);
+        lenient().when(targetDataSource.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryStatistics.clear();
+    }
+
+    @Test
+    void getConnection_WithoutActiveStatistics_ShouldReturnTargetConnection() throws SQLException {
+        assertSame(connection, dataSource.getConnection());
+    }
+
+    @Test
+    void preparedStatementExecutions_ShouldBeCountedAndGroupedByShape() throws SQLException {
+        QueryStatistics statistics = QueryStatistics.start();
+        when(connection.prepareStatement("SELECT * FROM users WHERE id = ?")).thenReturn(preparedStatement);
+
+        Connection counted = dataSource.getConnection();
+        for (int i = 0; i < 3; i++) {
+            PreparedStatement ps = counted.prepareStatement("SELECT * FROM users WHERE id = ?");
+            ps.setLong(1, i);
+            ps.executeQuery();
+        }
+
+        assertEquals(3, statistics.getStatementCount());
+        assertEquals(2, statistics.getRepeatedStatementCount());
+        assertEquals(new QueryStatistics.Shape("SELECT * FROM users WHERE id = ?", 3), statistics.getMostRepeatedShape());
+        verify(preparedStatement, times(3)).executeQuery();
+        verify(preparedStatement).setLong(1, 2);
+    }
+
+    @Test
+    void plainStatements_ShouldNormalizeLiteralsIntoOneShape() throws SQLException {
+        QueryStatistics statistics = QueryStatistics.start();
+        when(connection.createStatement()).thenReturn(statement);
+
+        Connection counted = dataSource.getConnection();
+        counted.createStatement().execute("SELECT * FROM cargo WHERE id = 1 AND name = 'Fuel'");
+        counted.createStatement().execute("SELECT *  FROM cargo WHERE id = 42 AND name = 'O''Neil'");
+
+        assertEquals(2, statistics.getStatementCount());
+        assertEquals(1, statistics.getRepeatedStatementCount());
+        assertEquals("SELECT * FROM cargo WHERE id = ? AND name = ?", statistics.getMostRepeatedShape().sql());
+    }
+
+    @Test
+    void nonExecutingCalls_ShouldNotBeCounted() throws SQLException {
+        QueryStatistics statistics = QueryStatistics.start();
+        when(connection.prepareStatement("UPDATE cargo SET name = ?")).thenReturn(preparedStatement);
+
+        Connection counted = dataSource.getConnection();
+        PreparedStatement ps = counted.prepareStatement("UPDATE cargo SET name = ?");
+        ps.setString(1, "Water");
+        ps.close();
+        counted.commit();
+
+        assertEquals(0, statistics.getStatementCount());
+        assertNull(statistics.getMostRepeatedShape());
+        verify(connection).commit();
+    }
+
+    @Test
+    void unwrap_ShouldReachTargetConnection() throws SQLException {
+        QueryStatistics.start();
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+
+        Connection counted = dataSource.getConnection();
+
+        assertNotSame(connection, counted);
+        assertSame(pgConnection, counted.unwrap(PGConnection.class));
+        assertEquals(counted, counted);
+    }
+
+    @Test
+    void normalize_ShouldCollapseParameterListsAndWhitespace() {
+        assertEquals("SELECT * FROM cargo WHERE id IN (?)",
+                QueryStatistics.normalize("SELECT *\n  FROM cargo WHERE id IN (?, ?,  ?)"));
+    }
+}
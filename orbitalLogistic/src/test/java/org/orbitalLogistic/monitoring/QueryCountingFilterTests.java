@@ -0,0 +1,125 @@
+package org.orbitalLogistic.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountingFilterTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/cargo-storage");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/cargo-storage");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_ShouldExposeStatisticsAsHeadersBeforeBodyIsWritten() throws ServletException, IOException {
+        QueryCountingFilter filter = new QueryCountingFilter(meterRegistry, 50, 10, false);
+
+        filter.doFilter(request, response, chainExecuting(3, true));
+
+        assertEquals("3", response.getHeader(QueryCountingFilter.QUERY_COUNT_HEADER));
+        assertEquals("2", response.getHeader(QueryCountingFilter.QUERY_REPEATED_HEADER));
+        assertEquals("0.003", response.getHeader(QueryCountingFilter.QUERY_TIME_HEADER));
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_WithoutBody_ShouldWriteHeadersAfterChain() throws ServletException, IOException {
+        QueryCountingFilter filter = new QueryCountingFilter(meterRegistry, 50, 10, false);
+
+        filter.doFilter(request, response, chainExecuting(1, false));
+
+        assertEquals("1", response.getHeader(QueryCountingFilter.QUERY_COUNT_HEADER));
+        assertEquals("0", response.getHeader(QueryCountingFilter.QUERY_REPEATED_HEADER));
+    }
+
+    @Test
+    void doFilter_ShouldRecordMetricsTaggedByRoutePattern() throws ServletException, IOException {
+        QueryCountingFilter filter = new QueryCountingFilter(meterRegistry, 50, 10, false);
+
+        filter.doFilter(request, response, chainExecuting(4, true));
+
+        assertEquals(4.0, meterRegistry.get("http.server.requests.queries")
+                .tag("method", "GET").tag("uri", "/api/cargo-storage").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("http.server.requests.query.time")
+                .tag("uri", "/api/cargo-storage").timer().count());
+        assertTrue(meterRegistry.find("http.server.requests.query.budget.exceeded").counters().isEmpty());
+        assertNull(QueryStatistics.current());
+    }
+
+    @Test
+    void doFilter_OverDefaultBudget_ShouldCountButNotFailInLenientMode() throws ServletException, IOException {
+        QueryCountingFilter filter = new QueryCountingFilter(meterRegistry, 2, 10, false);
+
+        filter.doFilter(request, response, chainExecuting(3, true));
+
+        assertEquals(1.0, meterRegistry.get("http.server.requests.query.budget.exceeded")
+                .tag("uri", "/api/cargo-storage").counter().count());
+    }
+
+    @Test
+    void doFilter_OverAnnotatedBudget_ShouldFailInStrictMode() throws Exception {
+        QueryCountingFilter filter = new QueryCountingFilter(meterRegistry, 50, 10, true);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("list")));
+
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class,
+                () -> filter.doFilter(request, response, chainExecuting(3, true)));
+
+        assertEquals("GET /api/cargo-storage executed 3 SQL statements, budget is 2", exception.getMessage());
+    }
+
+    @Test
+    void doFilter_WithinAnnotatedBudget_ShouldPassInStrictMode() throws Exception {
+        QueryCountingFilter filter = new QueryCountingFilter(meterRegistry, 1, 10, true);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("list")));
+
+        assertDoesNotThrow(() -> filter.doFilter(request, response, chainExecuting(2, true)));
+    }
+
+    private static MockFilterChain chainExecuting(int statements, boolean writeBody) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                QueryStatistics statistics = QueryStatistics.current();
+                for (int i = 0; i < statements; i++) {
+                    statistics.record("SELECT * FROM cargo_storage WHERE id = " + i, 1_000);
+                }
+                if (writeBody) {
+                    resp.getWriter().write("[]");
+                    resp.flushBuffer();
+                } else {
+                    resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
+                }
+            }
+        });
+    }
+
+    static class BudgetedHandler {
+
+        @QueryBudget(maxStatements = 2)
+        public void list() {
+        }
+    }
+}
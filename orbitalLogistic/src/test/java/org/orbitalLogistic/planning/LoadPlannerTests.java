@@ -0,0 +1,153 @@
+package org.orbitalLogistic.planning;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadPlannerTests {
+
+    // Уровни 0 и 1 совместимы, уровень 2 везут отдельно
+    private static final int[] COMPATIBLE = {0b011, 0b011, 0b100};
+
+    @Test
+    void pack_ShouldPlaceLargestItemsFirstAndSplitQuantitiesAcrossBins() {
+        LoadPlanner.Plan plan = LoadPlanner.pack(
+                new long[]{10, 40}, new long[]{1, 1}, new int[]{5, 2}, new int[]{0, 0}, new int[]{0, 0},
+                new long[]{100, 100}, new long[]{100, 100}, new int[]{0, 0}, COMPATIBLE);
+
+        // 2 x 40 занимают первый корабль, 2 x 10 докладываются туда же, остальные 3 — во второй
+        assertArrayEquals(new int[]{1, 0, 0}, plan.assignmentItem());
+        assertArrayEquals(new int[]{0, 0, 1}, plan.assignmentBin());
+        assertArrayEquals(new int[]{2, 2, 3}, plan.assignmentQuantity());
+        assertArrayEquals(new int[]{0, 0}, plan.unplaced());
+        assertArrayEquals(new long[]{0, 70}, plan.remainingMass());
+    }
+
+    @Test
+    void pack_ShouldPlaceHigherRankBeforeLargerItems() {
+        LoadPlanner.Plan plan = LoadPlanner.pack(
+                new long[]{60, 50}, new long[]{1, 1}, new int[]{1, 1}, new int[]{0, 3}, new int[]{0, 0},
+                new long[]{100}, new long[]{100}, new int[]{0}, COMPATIBLE);
+
+        assertArrayEquals(new int[]{1}, plan.assignmentItem());
+        assertArrayEquals(new int[]{1, 0}, plan.unplaced());
+    }
+
+    @Test
+    void pack_ShouldRespectVolumeAsWellAsMass() {
+        LoadPlanner.Plan plan = LoadPlanner.pack(
+                new long[]{1}, new long[]{30}, new int[]{5}, new int[]{0}, new int[]{0},
+                new long[]{1000}, new long[]{100}, new int[]{0}, COMPATIBLE);
+
+        assertArrayEquals(new int[]{3}, plan.assignmentQuantity());
+        assertArrayEquals(new int[]{2}, plan.unplaced());
+        assertArrayEquals(new long[]{10}, plan.remainingVolume());
+    }
+
+    @Test
+    void pack_ShouldSegregateIncompatibleHazards() {
+        LoadPlanner.Plan plan = LoadPlanner.pack(
+                new long[]{10, 10, 10}, new long[]{1, 1, 1}, new int[]{1, 1, 1}, new int[]{0, 0, 0},
+                new int[]{2, 0, 1},
+                new long[]{100, 100, 100}, new long[]{100, 100, 100}, new int[]{0, 0, 0b001}, COMPATIBLE);
+
+        int[] binOfItem = new int[3];
+        for (int a = 0; a < plan.size(); a++) {
+            binOfItem[plan.assignmentItem()[a]] = plan.assignmentBin()[a];
+        }
+        assertEquals(0, binOfItem[0]);
+        assertEquals(1, binOfItem[1]);
+        assertEquals(1, binOfItem[2]);
+    }
+
+    @Test
+    void pack_WithRandomInput_ShouldNeverExceedCapacityOrLoseUnits() {
+        Random random = new Random(7);
+        int items = 2_000;
+        int bins = 40;
+        long[] mass = new long[items];
+        long[] volume = new long[items];
+        int[] quantity = new int[items];
+        int[] rank = new int[items];
+        int[] hazard = new int[items];
+        for (int i = 0; i < items; i++) {
+            mass[i] = 1 + random.nextInt(5_000);
+            volume[i] = 1 + random.nextInt(500);
+            quantity[i] = 1 + random.nextInt(20);
+            rank[i] = random.nextInt(4);
+            hazard[i] = random.nextInt(3);
+        }
+        long[] massCapacity = new long[bins];
+        long[] volumeCapacity = new long[bins];
+        Arrays.fill(massCapacity, 1_000_000);
+        Arrays.fill(volumeCapacity, 100_000);
+
+        LoadPlanner.Plan plan = LoadPlanner.pack(mass, volume, quantity, rank, hazard,
+                massCapacity, volumeCapacity, new int[bins], COMPATIBLE);
+
+        long[] usedMass = new long[bins];
+        long[] usedVolume = new long[bins];
+        int[] binMask = new int[bins];
+        int[] placed = new int[items];
+        for (int a = 0; a < plan.size(); a++) {
+            int item = plan.assignmentItem()[a];
+            int bin = plan.assignmentBin()[a];
+            usedMass[bin] += plan.assignmentQuantity()[a] * mass[item];
+            usedVolume[bin] += plan.assignmentQuantity()[a] * volume[item];
+            binMask[bin] |= 1 << hazard[item];
+            placed[item] += plan.assignmentQuantity()[a];
+        }
+        for (int b = 0; b < bins; b++) {
+            assertTrue(usedMass[b] <= massCapacity[b]);
+            assertTrue(usedVolume[b] <= volumeCapacity[b]);
+            assertEquals(massCapacity[b] - usedMass[b], plan.remainingMass()[b]);
+            assertFalse((binMask[b] & 0b100) != 0 && (binMask[b] & 0b011) != 0, "HIGH mixed in bin " + b);
+        }
+        for (int i = 0; i < items; i++) {
+            assertEquals(quantity[i], placed[i] + plan.unplaced()[i]);
+        }
+    }
+
+    @Test
+    void pack_WithMismatchedArrays_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> LoadPlanner.pack(
+                new long[]{1}, new long[0], new int[]{1}, new int[]{0}, new int[]{0},
+                new long[]{1}, new long[]{1}, new int[]{0}, COMPATIBLE));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "orbital.benchmarks", matches = "true")
+    void pack_With10kItems_ShouldFinishWellUnderASecond() {
+        Random random = new Random(11);
+        int items = 10_000;
+        int bins = 200;
+        long[] mass = new long[items];
+        long[] volume = new long[items];
+        int[] quantity = new int[items];
+        int[] rank = new int[items];
+        int[] hazard = new int[items];
+        for (int i = 0; i < items; i++) {
+            mass[i] = 1 + random.nextInt(100_000);
+            volume[i] = 1 + random.nextInt(10_000);
+            quantity[i] = 1 + random.nextInt(50);
+            rank[i] = random.nextInt(4);
+            hazard[i] = random.nextInt(3);
+        }
+        long[] massCapacity = new long[bins];
+        long[] volumeCapacity = new long[bins];
+        Arrays.fill(massCapacity, 50_000_000);
+        Arrays.fill(volumeCapacity, 5_000_000);
+
+        long start = System.nanoTime();
+        LoadPlanner.Plan plan = LoadPlanner.pack(mass, volume, quantity, rank, hazard,
+                massCapacity, volumeCapacity, new int[bins], COMPATIBLE);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(plan.size() > 0);
+        assertTrue(elapsedMillis < 250, "10k items planned in " + elapsedMillis + " ms");
+    }
+}
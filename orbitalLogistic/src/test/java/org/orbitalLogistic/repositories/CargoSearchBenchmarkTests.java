@@ -0,0 +1,162 @@
+package org.orbitalLogistic.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Задержка поиска груза по подстроке на 1M строк: прежний LOWER(name) LIKE без индекса
+ * против текущего запроса CargoRepository.findByNameWithFilters с триграммным индексом.
+ * Дополнительно проверяется, что индекс используется и в общем (generic) плане подготовленного
+ * запроса, который драйвер получает после нескольких выполнений одного PreparedStatement.
+ * Запуск: ./gradlew test --tests '*CargoSearchBenchmarkTests' -Dorbital.benchmarks=true
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "orbital.benchmarks", matches = "true")
+class CargoSearchBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(CargoSearchBenchmarkTests.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int ITERATIONS = 25;
+
+    private static final String LEGACY_SQL = """
+        SELECT c.* FROM cargo c
+        WHERE (CAST(:name AS TEXT) IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', CAST(:name AS TEXT), '%')))
+        AND (CAST(:cargoType AS TEXT) IS NULL OR c.cargo_type = CAST(:cargoType AS cargo_type_enum))
+        AND (CAST(:hazardLevel AS TEXT) IS NULL OR c.hazard_level = CAST(:hazardLevel AS hazard_level_enum))
+        ORDER BY c.id
+        LIMIT :limit OFFSET :offset
+    """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @BeforeAll
+    static void seed() {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(postgres.getJdbcUrl());
+        dataSource.setUser(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        jdbcTemplate.update("""
+            INSERT INTO cargo (name, cargo_category_id, mass_per_unit, volume_per_unit)
+            SELECT 'Cargo ' || md5(g::text), (SELECT MIN(id) FROM cargo_category), 1.00, 1.00
+            FROM generate_series(1, ?) g
+        """, ROWS);
+        jdbcTemplate.execute("ANALYZE cargo");
+    }
+
+    @Test
+    void substringSearch_WithTrigramIndex_ShouldBeatSequentialScan() throws NoSuchMethodException {
+        String currentSql = CargoRepository.class
+                .getMethod("findByNameWithFilters", String.class, String.class, String.class, int.class, int.class)
+                .getAnnotation(Query.class)
+                .value();
+        // Подстрока md5 одной конкретной строки — типичный селективный поиск
+        String term = jdbcTemplate.queryForObject("SELECT substr(md5('424242'), 5, 8)", String.class);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", term)
+                .addValue("cargoType", null)
+                .addValue("hazardLevel", null)
+                .addValue("limit", 20)
+                .addValue("offset", 0);
+
+        jdbcTemplate.execute("DROP INDEX idx_cargo_name_trgm");
+        double beforeMillis = medianMillis(LEGACY_SQL, params);
+
+        jdbcTemplate.execute("CREATE INDEX idx_cargo_name_trgm ON cargo USING gin (name gin_trgm_ops)");
+        jdbcTemplate.execute("ANALYZE cargo");
+        double afterMillis = medianMillis(currentSql, params);
+
+        log.info("Cargo substring search over {} rows: before {} ms, after {} ms (median of {})",
+                ROWS, beforeMillis, afterMillis, ITERATIONS);
+
+        String plan = String.join("\n", namedJdbcTemplate.queryForList("EXPLAIN " + currentSql, params, String.class));
+        assertTrue(plan.contains("idx_cargo_name_trgm"), plan);
+        assertTrue(afterMillis < beforeMillis,
+                "Expected indexed search to be faster: before " + beforeMillis + " ms, after " + afterMillis + " ms");
+
+        String genericPlan = genericPlan(currentSql, term);
+        assertTrue(genericPlan.contains("idx_cargo_name_trgm"), genericPlan);
+    }
+
+    /**
+     * План запроса с параметрами $1..$5 при plan_cache_mode = force_generic_plan: такой план
+     * строится без значений параметров, как у переиспользуемого PreparedStatement.
+     */
+    private static String genericPlan(String sql, String term) {
+        String positional = sql
+                .replace(":name", "$1")
+                .replace(":cargoType", "$2")
+                .replace(":hazardLevel", "$3")
+                .replace(":limit", "$4")
+                .replace(":offset", "$5");
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE cargo_search(text, text, text, int, int) AS " + positional);
+                List<String> lines = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery(
+                        "EXPLAIN EXECUTE cargo_search('" + term + "', NULL, NULL, 20, 0)")) {
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                }
+                statement.execute("DEALLOCATE cargo_search");
+                statement.execute("RESET plan_cache_mode");
+                return String.join("\n", lines);
+            }
+        });
+    }
+
+    private static double medianMillis(String sql, MapSqlParameterSource params) {
+        // Прогрев: кэш страниц и план
+        for (int i = 0; i < 3; i++) {
+            namedJdbcTemplate.queryForList(sql, params);
+        }
+
+        double[] samples = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            List<?> rows = namedJdbcTemplate.queryForList(sql, params);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+            assertFalse(rows.isEmpty());
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,171 @@
+package org.orbitalLogistic.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет, что горячие запросы репозиториев могут выполняться по индексам из V3/V6.
+ * На тестовых данных последовательное сканирование всегда дешевле, поэтому оно
+ * отключается (enable_seqscan = off): тест проверяет доступность индекса для плана,
+ * а не выбор планировщика на конкретном объёме.
+ * inventory_transaction секционирована (V8): в плане видны индексы секций, имена которых
+ * PostgreSQL строит из имени секции и колонок, поэтому проверяется их общий суффикс.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryIndexUsageIntegrationTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private static SingleConnectionDataSource dataSource;
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new SingleConnectionDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("ANALYZE");
+        template.execute("SET enable_seqscan = off");
+        jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void findActiveCargoBySpacecraft_ShouldUseSpacecraftStatusIndex() {
+        assertUsesIndex(queryOf(CargoManifestRepository.class, "findActiveCargoBySpacecraft"),
+                new MapSqlParameterSource("spacecraftId", 1L),
+                "idx_cargo_manifest_spacecraft_status");
+    }
+
+    @Test
+    void findCriticalPendingManifests_ShouldUsePartialIndex() {
+        assertUsesIndex(queryOf(CargoManifestRepository.class, "findCriticalPendingManifests"),
+                new MapSqlParameterSource(),
+                "idx_cargo_manifest_critical_pending");
+    }
+
+    @Test
+    void cargoManifestFindByCargoId_ShouldUseCargoIndex() {
+        assertUsesIndex("SELECT * FROM cargo_manifest WHERE cargo_id = :cargoId",
+                new MapSqlParameterSource("cargoId", 1L),
+                "idx_cargo_manifest_cargo");
+    }
+
+    @Test
+    void findByCargoIdOrderByTransactionDate_ShouldUseCargoDateIndex() {
+        assertUsesIndex(queryOf(InventoryTransactionRepository.class, "findByCargoIdOrderByTransactionDate"),
+                new MapSqlParameterSource("cargoId", 1L),
+                "_cargo_id_transaction_date_idx");
+    }
+
+    @Test
+    void findByTransactionDateBetween_ShouldUseDateIndex() {
+        assertUsesIndex(queryOf(InventoryTransactionRepository.class, "findByTransactionDateBetween"),
+                new MapSqlParameterSource("startDate", LocalDateTime.now().minusDays(7))
+                        .addValue("endDate", LocalDateTime.now()),
+                "_transaction_date_id_idx");
+    }
+
+    @Test
+    void inventoryTransactionFindByStorageUnitId_ShouldCombineFromAndToIndexes() {
+        assertUsesIndex(queryOf(InventoryTransactionRepository.class, "findByStorageUnitId"),
+                new MapSqlParameterSource("storageUnitId", 1L),
+                "_from_storage_unit_id_transaction_date_idx", "_to_storage_unit_id_transaction_date_idx");
+    }
+
+    @Test
+    void inventoryTransactionFindBySpacecraftId_ShouldCombineFromAndToIndexes() {
+        assertUsesIndex(queryOf(InventoryTransactionRepository.class, "findBySpacecraftId"),
+                new MapSqlParameterSource("spacecraftId", 1L),
+                "_from_spacecraft_id_transaction_date_idx", "_to_spacecraft_id_transaction_date_idx");
+    }
+
+    @Test
+    void getTotalQuantityByStorageUnitId_ShouldUseStorageUnitIndex() {
+        assertUsesIndex(queryOf(CargoStorageRepository.class, "getTotalQuantityByStorageUnitId"),
+                new MapSqlParameterSource("storageUnitId", 1L),
+                "idx_cargo_storage_unit_cargo");
+    }
+
+    @Test
+    void getTotalQuantityByCargoId_ShouldUseCargoIndex() {
+        assertUsesIndex(queryOf(CargoStorageRepository.class, "getTotalQuantityByCargoId"),
+                new MapSqlParameterSource("cargoId", 1L),
+                "idx_cargo_storage_cargo");
+    }
+
+    @Test
+    void findBySpacecraftIdOrderByStartTime_ShouldUseSpacecraftStartIndex() {
+        assertUsesIndex(queryOf(MaintenanceLogRepository.class, "findBySpacecraftIdOrderByStartTime"),
+                new MapSqlParameterSource("spacecraftId", 1L),
+                "idx_maintenance_log_spacecraft_start");
+    }
+
+    @Test
+    void findByMissionIdOrderByRole_ShouldUseMissionRoleIndex() {
+        assertUsesIndex(queryOf(MissionAssignmentRepository.class, "findByMissionIdOrderByRole"),
+                new MapSqlParameterSource("missionId", 1L),
+                "idx_mission_assignment_mission_role");
+    }
+
+    @Test
+    void missionAssignmentFindByUserId_ShouldUseUserIndex() {
+        assertUsesIndex("SELECT * FROM mission_assignment WHERE user_id = :userId",
+                new MapSqlParameterSource("userId", 1L),
+                "idx_mission_assignment_user_mission");
+    }
+
+    @Test
+    void findByScheduledDepartureBetween_ShouldUseDepartureIndex() {
+        assertUsesIndex(queryOf(MissionRepository.class, "findByScheduledDepartureBetween"),
+                new MapSqlParameterSource("startDate", LocalDateTime.now().minusDays(30))
+                        .addValue("endDate", LocalDateTime.now()),
+                "idx_mission_scheduled_departure");
+    }
+
+    private static String queryOf(Class<?> repository, String methodName) {
+        Method method = Arrays.stream(repository.getMethods())
+                .filter(m -> m.getName().equals(methodName) && m.isAnnotationPresent(Query.class))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(repository.getSimpleName() + "." + methodName));
+        return method.getAnnotation(Query.class).value();
+    }
+
+    private static void assertUsesIndex(String sql, MapSqlParameterSource params, String... indexNames) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, params, String.class));
+
+        assertFalse(plan.contains("Seq Scan"), plan);
+        for (String indexName : indexNames) {
+            assertTrue(plan.contains(indexName), "Expected " + indexName + " in plan:\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.orbitalLogistic.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadOnlyQueryInterceptorTests {
+
+    private final ReadOnlyQueryInterceptor interceptor = new ReadOnlyQueryInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.clear();
+    }
+
+    @Test
+    void preHandle_ForAnnotatedMethod_ShouldRouteWholeRequestToReplica() throws Exception {
+        ReadRouting.bind(ReadRouting.readOnlyTransactions(42));
+
+        assertTrue(preHandle(new Handlers(), "annotated"));
+
+        assertEquals(ReadRouting.replica(42), ReadRouting.current());
+    }
+
+    @Test
+    void preHandle_ForAnnotatedController_ShouldRouteWholeRequestToReplica() throws Exception {
+        ReadRouting.bind(ReadRouting.readOnlyTransactions(0));
+
+        preHandle(new AnnotatedHandlers(), "plain");
+
+        assertEquals(ReadRouting.replica(0), ReadRouting.current());
+    }
+
+    @Test
+    void preHandle_ForPlainMethod_ShouldKeepRouting() throws Exception {
+        ReadRouting.bind(ReadRouting.readOnlyTransactions(0));
+
+        preHandle(new Handlers(), "plain");
+
+        assertEquals(ReadRouting.readOnlyTransactions(0), ReadRouting.current());
+    }
+
+    @Test
+    void preHandle_ForWriteRequest_ShouldKeepPrimary() throws Exception {
+        ReadRouting.bind(ReadRouting.PRIMARY);
+
+        preHandle(new Handlers(), "annotated");
+
+        assertSame(ReadRouting.PRIMARY, ReadRouting.current());
+    }
+
+    private boolean preHandle(Object bean, String method) throws Exception {
+        HandlerMethod handler = new HandlerMethod(bean, bean.getClass().getMethod(method));
+        return interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+    }
+
+    static class Handlers {
+
+        @ReadOnlyQuery
+        public void annotated() {
+        }
+
+        public void plain() {
+        }
+    }
+
+    @ReadOnlyQuery
+    static class AnnotatedHandlers {
+
+        public void plain() {
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.orbitalLogistic.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Маршрутизация на настоящую потоковую реплику: второй контейнер разворачивается
+ * pg_basebackup с первого и проигрывает его WAL.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaIntegrationTests {
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of(
+                    "echo \"host replication all all scram-sha-256\" >> \"$PGDATA/pg_hba.conf\"\n"),
+                    "/docker-entrypoint-initdb.d/10-replication.sh");
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:17")
+            .dependsOn(primary)
+            .withNetwork(NETWORK)
+            .withEnv("PGPASSWORD", "test")
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+            .withCommand("bash", "-c",
+                    "pg_basebackup -h primary -U test -D /tmp/replica -R -X stream "
+                    + "&& chmod 700 /tmp/replica && exec postgres -D /tmp/replica")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+    private static ReplicaLagMonitor lagMonitor;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate readOnlyTransaction;
+
+    @BeforeAll
+    static void setUp() {
+        primaryPool = pool(primary.getJdbcUrl());
+        replicaPool = pool("jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432) + "/test_db");
+
+        Flyway.configure()
+                .dataSource(primaryPool)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        lagMonitor = new ReplicaLagMonitor(new JdbcTemplate(primaryPool), new JdbcTemplate(replicaPool),
+                64 * 1024, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryPool, replicaPool, lagMonitor));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        replicaPool.close();
+        primaryPool.close();
+    }
+
+    @BeforeEach
+    void awaitReplicaCaughtUp() {
+        new JdbcTemplate(replicaPool).execute("SELECT pg_wal_replay_resume()");
+        awaitTrue(() -> {
+            lagMonitor.refresh();
+            return lagMonitor.isReplicaUsable(lagMonitor.currentPrimaryLsn());
+        });
+    }
+
+    @AfterEach
+    void clearRouting() {
+        ReadRouting.clear();
+    }
+
+    @Test
+    void readOnlyQueries_ShouldBeServedByReplica() {
+        assertFalse(inRecovery());
+
+        ReadRouting.bind(ReadRouting.replica(0));
+        assertTrue(inRecovery());
+
+        ReadRouting.bind(ReadRouting.readOnlyTransactions(0));
+        assertFalse(inRecovery());
+        assertEquals(Boolean.TRUE, readOnlyTransaction.execute(status -> inRecovery()));
+
+        ReadRouting.bind(ReadRouting.PRIMARY);
+        assertEquals(Boolean.FALSE, readOnlyTransaction.execute(status -> inRecovery()));
+    }
+
+    @Test
+    void readAfterWrite_ShouldUsePrimaryUntilReplicaReplaysClientPosition() {
+        pauseReplay();
+
+        jdbcTemplate.update("INSERT INTO cargo_category (name, description) VALUES ('Replica probe', 'read your writes')");
+        long written = lagMonitor.currentPrimaryLsn();
+        lagMonitor.refresh();
+
+        ReadRouting.bind(ReadRouting.replica(written));
+        assertFalse(inRecovery());
+        assertEquals(1, countProbes());
+
+        ReadRouting.bind(ReadRouting.replica(0));
+        assertTrue(inRecovery());
+        assertEquals(0, countProbes());
+
+        new JdbcTemplate(replicaPool).execute("SELECT pg_wal_replay_resume()");
+        awaitTrue(() -> {
+            lagMonitor.refresh();
+            return lagMonitor.isReplicaUsable(written);
+        });
+
+        ReadRouting.bind(ReadRouting.replica(written));
+        assertTrue(inRecovery());
+        assertEquals(1, countProbes());
+    }
+
+    @Test
+    void laggingReplica_ShouldNotServeReads() {
+        pauseReplay();
+        new JdbcTemplate(primaryPool).execute(
+                "CREATE TABLE IF NOT EXISTS replica_lag_filler (payload text)");
+        new JdbcTemplate(primaryPool).update(
+                "INSERT INTO replica_lag_filler SELECT repeat('x', 1000) FROM generate_series(1, 1000)");
+        lagMonitor.refresh();
+
+        ReadRouting.bind(ReadRouting.replica(0));
+        assertFalse(lagMonitor.isReplicaUsable(0));
+        assertFalse(inRecovery());
+    }
+
+    private static void pauseReplay() {
+        JdbcTemplate replicaTemplate = new JdbcTemplate(replicaPool);
+        replicaTemplate.execute("SELECT pg_wal_replay_pause()");
+        awaitTrue(() -> "paused".equals(
+                replicaTemplate.queryForObject("SELECT pg_get_wal_replay_pause_state()", String.class)));
+    }
+
+    private static boolean inRecovery() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    private static int countProbes() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cargo_category WHERE name = 'Replica probe'", Integer.class);
+    }
+
+    private static HikariDataSource pool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(primary.getUsername());
+        pool.setPassword(primary.getPassword());
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition was not met within 30 seconds");
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.orbitalLogistic.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadYourWritesFilterTests {
+
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesFilter filter;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        filter = new ReadYourWritesFilter(lagMonitor, Duration.ofMinutes(1));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void doFilter_ForSuccessfulWrite_ShouldReturnPrimaryPositionBeforeBody() throws ServletException, IOException {
+        when(lagMonitor.currentPrimaryLsn()).thenReturn(0x16_B374D848L);
+        AtomicReference<ReadRouting> routing = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/cargos"), response, (req, res) -> {
+            routing.set(ReadRouting.current());
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setStatus(201);
+            httpResponse.getWriter().write("{}");
+            httpResponse.flushBuffer();
+        });
+
+        assertSame(ReadRouting.PRIMARY, routing.get());
+        assertNull(ReadRouting.current());
+        assertEquals("16/B374D848", response.getHeader(ReadYourWritesFilter.MIN_LSN_HEADER));
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(cookie.startsWith("min_lsn=16/B374D848"));
+        assertTrue(cookie.contains("Max-Age=60"));
+        assertTrue(cookie.contains("HttpOnly"));
+    }
+
+    @Test
+    void doFilter_ForFailedWrite_ShouldNotReturnPosition() throws ServletException, IOException {
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/cargos/1"), response,
+                (req, res) -> ((HttpServletResponse) res).setStatus(409));
+
+        assertNull(response.getHeader(ReadYourWritesFilter.MIN_LSN_HEADER));
+        verifyNoInteractions(lagMonitor);
+    }
+
+    @Test
+    void doFilter_WhenPrimaryPositionIsUnavailable_ShouldStillSucceed() throws ServletException, IOException {
+        when(lagMonitor.currentPrimaryLsn()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/cargos/1"), response,
+                (req, res) -> ((HttpServletResponse) res).setStatus(204));
+
+        assertEquals(204, response.getStatus());
+        assertNull(response.getHeader(ReadYourWritesFilter.MIN_LSN_HEADER));
+    }
+
+    @Test
+    void doFilter_ForRead_ShouldBindClientPositionFromHeaderOrCookie() throws ServletException, IOException {
+        MockHttpServletRequest withHeader = new MockHttpServletRequest("GET", "/api/cargo-manifests");
+        withHeader.addHeader(ReadYourWritesFilter.MIN_LSN_HEADER, "0/2A");
+        assertEquals(ReadRouting.readOnlyTransactions(42), routingDuring(withHeader));
+
+        MockHttpServletRequest withCookie = new MockHttpServletRequest("GET", "/api/cargo-manifests");
+        withCookie.setCookies(new Cookie(ReadYourWritesFilter.MIN_LSN_COOKIE, "1/0"));
+        assertEquals(ReadRouting.readOnlyTransactions(1L << 32), routingDuring(withCookie));
+
+        assertEquals(ReadRouting.readOnlyTransactions(0),
+                routingDuring(new MockHttpServletRequest("GET", "/api/cargo-manifests")));
+        assertNull(ReadRouting.current());
+        verifyNoInteractions(lagMonitor);
+    }
+
+    @Test
+    void doFilter_WithMalformedPosition_ShouldForcePrimaryReads() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cargo-manifests");
+        request.addHeader(ReadYourWritesFilter.MIN_LSN_HEADER, "not-an-lsn");
+
+        assertEquals(ReadRouting.readOnlyTransactions(Long.MAX_VALUE), routingDuring(request));
+    }
+
+    private ReadRouting routingDuring(MockHttpServletRequest request) throws ServletException, IOException {
+        AtomicReference<ReadRouting> routing = new AtomicReference<>();
+        FilterChain chain = (req, res) -> routing.set(ReadRouting.current());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return routing.get();
+    }
+}
@@ -0,0 +1,112 @@
+package org.orbitalLogistic.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTests {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(JdbcTemplate.class);
+        replica = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(primary, replica, 1024, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void parseLsn_ShouldReadPostgresTextFormat() {
+        assertEquals(0x16_B374D848L, ReplicaLagMonitor.parseLsn("16/B374D848"));
+        assertEquals(0L, ReplicaLagMonitor.parseLsn("0/0"));
+        assertEquals("16/B374D848", ReplicaLagMonitor.formatLsn(ReplicaLagMonitor.parseLsn("16/b374d848")));
+        assertTrue(ReplicaLagMonitor.parseLsn("1/0") > ReplicaLagMonitor.parseLsn("0/FFFFFFFF"));
+    }
+
+    @Test
+    void parseLsn_WithMalformedValue_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> ReplicaLagMonitor.parseLsn("16"));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaLagMonitor.parseLsn("/1"));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaLagMonitor.parseLsn("1/"));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaLagMonitor.parseLsn("1/XYZ"));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaLagMonitor.parseLsn("1/123456789"));
+    }
+
+    @Test
+    void isReplicaUsable_BeforeFirstCheck_ShouldBeFalse() {
+        assertFalse(monitor.isReplicaUsable(0));
+    }
+
+    @Test
+    void isReplicaUsable_WithSmallLag_ShouldRequireReplayedClientPosition() {
+        positions("0/1000", "0/1100");
+
+        monitor.refresh();
+
+        assertTrue(monitor.isReplicaUsable(0));
+        assertTrue(monitor.isReplicaUsable(0x1000));
+        assertFalse(monitor.isReplicaUsable(0x1001));
+        assertEquals(256.0, meterRegistry.get("orbital.replica.lag").gauge().value());
+    }
+
+    @Test
+    void isReplicaUsable_WithLagAboveLimit_ShouldBeFalse() {
+        positions("0/1000", "0/2000");
+
+        monitor.refresh();
+
+        assertFalse(monitor.isReplicaUsable(0));
+    }
+
+    @Test
+    void isReplicaUsable_WhenReplicaIsNotInRecovery_ShouldBeFalse() {
+        positions(null, "0/1000");
+
+        monitor.refresh();
+
+        assertFalse(monitor.isReplicaUsable(0));
+        assertTrue(Double.isNaN(meterRegistry.get("orbital.replica.lag").gauge().value()));
+    }
+
+    @Test
+    void isReplicaUsable_WhenCheckFails_ShouldFallBackToPrimary() {
+        positions("0/1000", "0/1000");
+        monitor.refresh();
+        assertTrue(monitor.isReplicaUsable(0));
+
+        when(replica.queryForObject(anyString(), eq(String.class)))
+                .thenThrow(new DataAccessResourceFailureException("replica down"));
+        monitor.refresh();
+
+        assertFalse(monitor.isReplicaUsable(0));
+    }
+
+    @Test
+    void isReplicaUsable_WithStaleMeasurement_ShouldBeFalse() {
+        ReplicaLagMonitor strict = new ReplicaLagMonitor(primary, replica, 1024, Duration.ZERO, meterRegistry);
+        positions("0/1000", "0/1000");
+
+        strict.refresh();
+
+        assertFalse(strict.isReplicaUsable(0));
+    }
+
+    private void positions(String replayed, String current) {
+        when(replica.queryForObject(anyString(), eq(String.class))).thenReturn(replayed);
+        when(primary.queryForObject(anyString(), eq(String.class))).thenReturn(current);
+    }
+}
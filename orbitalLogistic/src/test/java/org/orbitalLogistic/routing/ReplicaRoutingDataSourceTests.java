@@ -0,0 +1,102 @@
+package org.orbitalLogistic.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setActualTransactionActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+class ReplicaRoutingDataSourceTests {
+
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isReplicaUsable(anyLong())).thenReturn(true);
+        dataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.clear();
+        setActualTransactionActive(false);
+        setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_OutsideRequestAndTransaction_ShouldUsePrimary() throws SQLException {
+        assertSame(primaryConnection, dataSource.getConnection());
+        verifyNoInteractions(lagMonitor);
+    }
+
+    @Test
+    void getConnection_ForReadOnlyQueryRequest_ShouldUseReplicaWithClientPosition() throws SQLException {
+        ReadRouting.bind(ReadRouting.replica(42));
+
+        assertSame(replicaConnection, dataSource.getConnection());
+        verify(lagMonitor).isReplicaUsable(42);
+    }
+
+    @Test
+    void getConnection_WhenReplicaIsNotUsable_ShouldUsePrimary() throws SQLException {
+        when(lagMonitor.isReplicaUsable(42)).thenReturn(false);
+        ReadRouting.bind(ReadRouting.replica(42));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ForPlainGetOutsideTransaction_ShouldUsePrimary() throws SQLException {
+        ReadRouting.bind(ReadRouting.readOnlyTransactions(0));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransaction_ShouldUseReplica() throws SQLException {
+        setActualTransactionActive(true);
+        setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+
+        ReadRouting.bind(ReadRouting.readOnlyTransactions(7));
+        assertSame(replicaConnection, dataSource.getConnection());
+        verify(lagMonitor).isReplicaUsable(7);
+    }
+
+    @Test
+    void getConnection_InReadWriteTransactionOfReadOnlyQuery_ShouldUsePrimary() throws SQLException {
+        ReadRouting.bind(ReadRouting.replica(0));
+        setActualTransactionActive(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransactionOfWriteRequest_ShouldUsePrimary() throws SQLException {
+        ReadRouting.bind(ReadRouting.PRIMARY);
+        setActualTransactionActive(true);
+        setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        verifyNoInteractions(lagMonitor);
+    }
+}
@@ -0,0 +1,87 @@
+package org.orbitalLogistic.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTests {
+
+    @Test
+    void forEachOverlapping_ShouldVisitOnlyIntersectingIntervalsInStartOrder() {
+        IntervalTree tree = IntervalTree.builder()
+                .add(3, 50, 60)
+                .add(1, 10, 20)
+                .add(2, 20, 30)
+                .add(4, 0, 100)
+                .build();
+
+        assertEquals(List.of(List.of(0L, 100L), List.of(20L, 30L)), collect(tree, 20, 30));
+        assertEquals(List.of(List.of(0L, 100L)), collect(tree, 30, 50));
+        assertEquals(List.of(), collect(tree, 100, 200));
+    }
+
+    @Test
+    void forEachOverlapping_ShouldTreatIntervalsAsHalfOpen() {
+        IntervalTree tree = IntervalTree.builder().add(1, 10, 20).build();
+
+        assertEquals(List.of(), collect(tree, 20, 30));
+        assertEquals(List.of(), collect(tree, 0, 10));
+        assertEquals(1, tree.findAnyOverlapping(19, 21));
+        assertEquals(-1, tree.findAnyOverlapping(20, 21));
+    }
+
+    @Test
+    void findAnyOverlapping_ShouldMatchBruteForceOnRandomIntervals() {
+        Random random = new Random(42);
+        long[][] intervals = new long[500][];
+        IntervalTree.Builder builder = IntervalTree.builder();
+        for (int i = 0; i < intervals.length; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(500);
+            intervals[i] = new long[]{start, end};
+            builder.add(i, start, end);
+        }
+        IntervalTree tree = builder.build();
+
+        for (int q = 0; q < 2_000; q++) {
+            long from = random.nextInt(100_000);
+            long to = from + 1 + random.nextInt(1_000);
+            int expected = 0;
+            for (long[] interval : intervals) {
+                if (interval[0] < to && interval[1] > from) {
+                    expected++;
+                }
+            }
+
+            assertEquals(expected, collect(tree, from, to).size());
+            long id = tree.findAnyOverlapping(from, to);
+            if (expected == 0) {
+                assertEquals(-1, id);
+            } else {
+                long[] found = intervals[(int) id];
+                assertTrue(found[0] < to && found[1] > from);
+            }
+        }
+    }
+
+    @Test
+    void builder_WithEmptyInterval_ShouldThrowException() {
+        IntervalTree.Builder builder = IntervalTree.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(1, 10, 10));
+        assertEquals(0, builder.build().size());
+    }
+
+    private static List<List<Long>> collect(IntervalTree tree, long from, long to) {
+        List<List<Long>> result = new ArrayList<>();
+        tree.forEachOverlapping(from, to, (start, end) -> {
+            result.add(List.of(start, end));
+            return 0;
+        });
+        return result;
+    }
+}
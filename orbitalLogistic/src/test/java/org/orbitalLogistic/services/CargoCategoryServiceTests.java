@@ -3,9 +3,14 @@ package org.orbitalLogistic.services;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.cache.ReferenceDataCache;
 import org.orbitalLogistic.dto.request.CargoCategoryRequestDTO;
 import org.orbitalLogistic.dto.response.CargoCategoryResponseDTO;
 import org.orbitalLogistic.entities.CargoCategory;
@@ -16,6 +21,7 @@ import org.orbitalLogistic.repositories.CargoCategoryRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,9 +36,18 @@ class CargoCategoryServiceTests {
     @Mock
     private CargoCategoryMapper cargoCategoryMapper;
 
+    @Spy
+    private ReferenceDataCache<Long, CargoCategory> cargoCategoryCache = new ReferenceDataCache<>("test", 16);
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private CargoCategoryService cargoCategoryService;
 
+    @Captor
+    private ArgumentCaptor<Consumer<String>> evictor;
+
     private CargoCategory testCategory;
     private CargoCategoryResponseDTO testResponseDTO;
     private CargoCategoryRequestDTO testRequestDTO;
@@ -142,11 +157,7 @@ class CargoCategoryServiceTests {
                 1L, "Root", null, null, "Root category", List.of(childResponseDTO), 0
         );
 
-        when(cargoCategoryRepository.findByParentCategoryIdIsNull()).thenReturn(List.of(rootCategory));
-        when(cargoCategoryRepository.findByParentCategoryId(1L)).thenReturn(List.of(childCategory));
-
-
-        lenient().when(cargoCategoryRepository.findById(1L)).thenReturn(Optional.of(rootCategory));
+        when(cargoCategoryRepository.findAllOrderById()).thenReturn(List.of(rootCategory, childCategory));
 
 
         when(cargoCategoryMapper.toResponseDTO(eq(rootCategory), isNull(), anyList(), eq(0)))
@@ -161,8 +172,9 @@ class CargoCategoryServiceTests {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Root", result.get(0).name());
-        verify(cargoCategoryRepository, times(1)).findByParentCategoryIdIsNull();
-        verify(cargoCategoryRepository, times(1)).findByParentCategoryId(1L);
+        verify(cargoCategoryRepository, times(1)).findAllOrderById();
+        verify(cargoCategoryRepository, never()).findByParentCategoryId(anyLong());
+        verify(cargoCategoryRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -174,8 +186,7 @@ class CargoCategoryServiceTests {
         CargoCategoryResponseDTO root1Response = new CargoCategoryResponseDTO(1L, "Root1", null, null, null, List.of(), 0);
         CargoCategoryResponseDTO root2Response = new CargoCategoryResponseDTO(2L, "Root2", null, null, null, List.of(), 0);
 
-        when(cargoCategoryRepository.findByParentCategoryIdIsNull()).thenReturn(List.of(root1, root2));
-        when(cargoCategoryRepository.findByParentCategoryId(anyLong())).thenReturn(List.of());
+        when(cargoCategoryRepository.findAllOrderById()).thenReturn(List.of(root1, root2));
 
 
         when(cargoCategoryMapper.toResponseDTO(eq(root1), isNull(), eq(List.of()), eq(0)))
@@ -189,7 +200,7 @@ class CargoCategoryServiceTests {
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(cargoCategoryRepository, times(1)).findByParentCategoryIdIsNull();
+        verify(cargoCategoryRepository, times(1)).findAllOrderById();
     }
 
     @Test
@@ -316,15 +327,7 @@ class CargoCategoryServiceTests {
         CargoCategory child = CargoCategory.builder().id(2L).name("Child").parentCategoryId(1L).build();
         CargoCategory grandchild = CargoCategory.builder().id(3L).name("Grandchild").parentCategoryId(2L).build();
 
-        when(cargoCategoryRepository.findByParentCategoryIdIsNull()).thenReturn(List.of(root));
-        when(cargoCategoryRepository.findByParentCategoryId(1L)).thenReturn(List.of(child));
-        when(cargoCategoryRepository.findByParentCategoryId(2L)).thenReturn(List.of(grandchild));
-        when(cargoCategoryRepository.findByParentCategoryId(3L)).thenReturn(List.of());
-
-
-        lenient().when(cargoCategoryRepository.findById(1L)).thenReturn(Optional.empty());
-        lenient().when(cargoCategoryRepository.findById(2L)).thenReturn(Optional.of(root));
-        lenient().when(cargoCategoryRepository.findById(3L)).thenReturn(Optional.of(child));
+        when(cargoCategoryRepository.findAllOrderById()).thenReturn(List.of(grandchild, root, child));
 
 
         when(cargoCategoryMapper.toResponseDTO(any(CargoCategory.class), any(), any(), anyInt()))
@@ -344,10 +347,49 @@ class CargoCategoryServiceTests {
 
 
         assertNotNull(result);
+        assertEquals(1, result.size());
+        CargoCategoryResponseDTO childNode = result.get(0).children().get(0);
+        assertEquals("Root", childNode.parentCategoryName());
+        assertEquals(1, childNode.level());
+        CargoCategoryResponseDTO grandchildNode = childNode.children().get(0);
+        assertEquals("Child", grandchildNode.parentCategoryName());
+        assertEquals(2, grandchildNode.level());
+        verify(cargoCategoryRepository, times(1)).findAllOrderById();
+    }
+
+    @Test
+    void getCategoryTree_ShouldBeCachedUntilCategoryCreated() {
+
+        when(cargoCategoryRepository.findAllOrderById()).thenReturn(List.of(testCategory));
+        when(cargoCategoryMapper.toResponseDTO(any(CargoCategory.class), any(), any(), anyInt()))
+                .thenReturn(testResponseDTO);
+        when(cargoCategoryMapper.toEntity(testRequestDTO)).thenReturn(testCategory);
+        when(cargoCategoryRepository.save(testCategory)).thenReturn(testCategory);
+
+
+        List<CargoCategoryResponseDTO> first = cargoCategoryService.getCategoryTree();
+        List<CargoCategoryResponseDTO> second = cargoCategoryService.getCategoryTree();
+        cargoCategoryService.createCategory(testRequestDTO);
+        cargoCategoryService.getCategoryTree();
+
+
+        assertSame(first, second);
+        verify(cargoCategoryRepository, times(2)).findAllOrderById();
+        verify(cacheInvalidationBus, times(1)).publish("test", 1L);
+    }
+
+    @Test
+    void getCategoryTree_ShouldBeRebuiltAfterRemoteInvalidation() {
+        when(cargoCategoryRepository.findAllOrderById()).thenReturn(List.of(testCategory));
+        when(cargoCategoryMapper.toResponseDTO(any(CargoCategory.class), any(), any(), anyInt()))
+                .thenReturn(testResponseDTO);
+        verify(cacheInvalidationBus).register(eq("test"), evictor.capture(), any(Runnable.class));
+
+        cargoCategoryService.getCategoryTree();
+        evictor.getValue().accept("42");
+        cargoCategoryService.getCategoryTree();
 
-        verify(cargoCategoryRepository, times(1)).findByParentCategoryId(1L);
-        verify(cargoCategoryRepository, times(1)).findByParentCategoryId(2L);
-        verify(cargoCategoryRepository, times(1)).findByParentCategoryId(3L);
+        verify(cargoCategoryRepository, times(2)).findAllOrderById();
     }
 
     @Test
@@ -0,0 +1,204 @@
+package org.orbitalLogistic.services;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.config.JacksonConfig;
+import org.orbitalLogistic.dto.response.CargoImportErrorDTO;
+import org.orbitalLogistic.dto.response.CargoImportResponseDTO;
+import org.orbitalLogistic.exceptions.InvalidImportFileException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Массовый импорт грузов на реальной БД: COPY во временную таблицу, построчный отчёт об ошибках,
+ * слияние с существующими записями и учёт места в хранилищах.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CargoImportIntegrationTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static CargoImportService cargoImportService;
+    private static Long categoryId;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        cargoImportService = new CargoImportService(jdbcTemplate,
+                new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder()),
+                new StorageCapacityService(jdbcTemplate, mock(CacheInvalidationBus.class), mock(StorageOccupancyService.class)),
+                100);
+        categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM cargo_category", Long.class);
+    }
+
+    @Test
+    void importCsv_ShouldImportValidRowsAndReportInvalidOnes() {
+        Long unitId = createStorageUnit("IMP-CSV", 1000);
+        String csv = "name,cargoCategoryId,massPerUnit,volumePerUnit,cargoType,hazardLevel,storageUnitId,quantity\r\n" +
+                     "Csv Water," + categoryId + ",1.5,1.0,FOOD,NONE," + unitId + ",10\r\n" +
+                     "Csv Drill," + categoryId + ",abc,1.0,EQUIPMENT,LOW,,\r\n" +
+                     "Csv Laser," + categoryId + ",2.0,1.0,WEAPON,NONE,,\r\n" +
+                     "\"Csv \"\"Quoted\"\", Cargo\"," + categoryId + ",1,1,SCIENTIFIC,NONE,,\r\n" +
+                     "Csv Water," + categoryId + ",1.5,1.0,FOOD,NONE," + unitId + ",5\r\n" +
+                     "Csv Ghost," + categoryId + ",1,1,FOOD,NONE,999999,1\r\n";
+
+        CargoImportResponseDTO report = importCsv(csv);
+
+        assertEquals(6, report.totalRows());
+        assertEquals(3, report.importedRows());
+        assertEquals(2, report.createdCargos());
+        assertEquals(1, report.createdStorageEntries());
+        assertEquals(List.of(2L, 3L, 6L), report.errors().stream().map(CargoImportErrorDTO::row).toList());
+        assertEquals("massPerUnit must be a number with at most 8 integer digits", report.errors().get(0).message());
+        assertTrue(report.errors().get(1).message().startsWith("cargoType must be one of: FOOD"));
+        assertEquals("Storage unit not found: 999999", report.errors().get(2).message());
+
+        assertEquals(15, jdbcTemplate.queryForObject(
+                "SELECT cs.quantity FROM cargo_storage cs JOIN cargo c ON c.id = cs.cargo_id " +
+                "WHERE c.name = 'Csv Water' AND cs.storage_unit_id = ?", Integer.class, unitId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cargo WHERE name = 'Csv \"Quoted\", Cargo'", Integer.class));
+        assertEquals(0, new BigDecimal("22.50").compareTo(jdbcTemplate.queryForObject(
+                "SELECT current_mass FROM storage_unit WHERE id = ?", BigDecimal.class, unitId)));
+    }
+
+    @Test
+    void importNdjson_ShouldMergeIntoExistingStorageAndReportMalformedLines() {
+        Long unitId = createStorageUnit("IMP-JSON", 1000);
+        Long cargoId = jdbcTemplate.queryForObject(
+                "INSERT INTO cargo (name, cargo_category_id, mass_per_unit, volume_per_unit, cargo_type, hazard_level) " +
+                "VALUES ('Json Fuel', ?, 2.00, 1.00, 'EQUIPMENT', 'HIGH') RETURNING id", Long.class, categoryId);
+        jdbcTemplate.update("INSERT INTO cargo_storage (storage_unit_id, cargo_id, quantity) VALUES (?, ?, 4)",
+                unitId, cargoId);
+        jdbcTemplate.update(
+                "INSERT INTO cargo (name, cargo_category_id, mass_per_unit, volume_per_unit, cargo_type, hazard_level) " +
+                "VALUES ('Json Oxidizer', ?, 1.00, 1.00, 'EQUIPMENT', 'HIGH')", categoryId);
+        String ndjson = "{\"name\":\"Json Fuel\",\"cargoCategoryId\":" + categoryId + ",\"massPerUnit\":2,\"volumePerUnit\":1," +
+                        "\"cargoType\":\"EQUIPMENT\",\"hazardLevel\":\"HIGH\",\"storageUnitId\":" + unitId + ",\"quantity\":6}\n" +
+                        "{\"name\":\"Json Oxidizer\",\"cargoCategoryId\":" + categoryId + ",\"massPerUnit\":3,\"volumePerUnit\":1," +
+                        "\"cargoType\":\"EQUIPMENT\",\"hazardLevel\":\"HIGH\"}\n" +
+                        "{\"name\": broken\n";
+
+        CargoImportResponseDTO report = importNdjson(ndjson);
+
+        assertEquals(3, report.totalRows());
+        assertEquals(1, report.importedRows());
+        assertEquals(0, report.createdCargos());
+        assertEquals(1, report.updatedStorageEntries());
+        assertEquals("Cargo \"Json Oxidizer\" already exists with different attributes", report.errors().get(0).message());
+        assertTrue(report.errors().get(1).message().startsWith("Malformed JSON"));
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "SELECT quantity FROM cargo_storage WHERE cargo_id = ?", Integer.class, cargoId));
+    }
+
+    @Test
+    void importCsv_ShouldRejectRowsThatNoLongerFitInFileOrder() {
+        Long unitId = createStorageUnit("IMP-FULL", 10);
+        String csv = "storageUnitId,quantity,name,cargoCategoryId,massPerUnit,volumePerUnit,cargoType,hazardLevel\n" +
+                     unitId + ",6,Full First," + categoryId + ",1,1,FOOD,NONE\n" +
+                     unitId + ",6,Full Second," + categoryId + ",1,1,FOOD,NONE\n";
+
+        CargoImportResponseDTO report = importCsv(csv);
+
+        assertEquals(1, report.importedRows());
+        assertEquals(2L, report.errors().getFirst().row());
+        assertEquals("Insufficient capacity in storage unit " + unitId, report.errors().getFirst().message());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cargo WHERE name = 'Full Second'", Integer.class));
+    }
+
+    @Test
+    void importCsv_WithMalformedFile_ShouldRejectWholeImport() {
+        String csv = "name,cargoCategoryId,massPerUnit,volumePerUnit,cargoType,hazardLevel\n" +
+                     "Broken One," + categoryId + ",1,1,FOOD,NONE\n" +
+                     "Broken Two," + categoryId + ",1,1\n";
+
+        assertThrows(InvalidImportFileException.class, () -> importCsv(csv));
+        assertThrows(InvalidImportFileException.class, () -> importCsv("name,weight\nX,1\n"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cargo WHERE name LIKE 'Broken%'", Integer.class));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "orbital.benchmarks", matches = "true")
+    void importCsv_With100kRows_ShouldFinishInSeconds() {
+        Long unitId = createStorageUnit("IMP-BULK", 1_000_000);
+        StringBuilder csv = new StringBuilder("name,cargoCategoryId,massPerUnit,volumePerUnit,cargoType,hazardLevel,storageUnitId,quantity\n");
+        for (int i = 0; i < 100_000; i++) {
+            csv.append("Bulk ").append(i).append(',').append(categoryId).append(",1,1,FOOD,NONE,")
+                    .append(unitId).append(",1\n");
+        }
+
+        long start = System.nanoTime();
+        CargoImportResponseDTO report = importCsv(csv.toString());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(100_000, report.importedRows());
+        assertTrue(elapsedMillis < 15_000, "100k rows imported in " + elapsedMillis + " ms");
+    }
+
+    private CargoImportResponseDTO importCsv(String content) {
+        return transactionTemplate.execute(status -> {
+            try {
+                return cargoImportService.importCsv(stream(content));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private CargoImportResponseDTO importNdjson(String content) {
+        return transactionTemplate.execute(status -> {
+            try {
+                return cargoImportService.importNdjson(stream(content));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long createStorageUnit(String code, int capacity) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO storage_unit (unit_code, location, storage_type, total_mass_capacity, total_volume_capacity) " +
+                "VALUES (?, 'Import bay', 'AMBIENT'::storage_type_enum, ?, ?) RETURNING id",
+                Long.class, code, capacity, capacity);
+    }
+}
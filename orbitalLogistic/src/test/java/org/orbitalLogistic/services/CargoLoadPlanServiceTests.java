@@ -0,0 +1,143 @@
+package org.orbitalLogistic.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.dto.request.CargoManifestRequestDTO;
+import org.orbitalLogistic.dto.request.LoadPlanRequestDTO;
+import org.orbitalLogistic.dto.response.LoadPlanResponseDTO;
+import org.orbitalLogistic.dto.response.SpacecraftLoadPlanDTO;
+import org.orbitalLogistic.entities.Cargo;
+import org.orbitalLogistic.entities.Spacecraft;
+import org.orbitalLogistic.entities.StorageUnit;
+import org.orbitalLogistic.entities.enums.HazardLevel;
+import org.orbitalLogistic.entities.enums.ManifestPriority;
+import org.orbitalLogistic.exceptions.CargoNotFoundException;
+import org.orbitalLogistic.repositories.SpacecraftRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CargoLoadPlanServiceTests {
+
+    @Mock
+    private SpacecraftRepository spacecraftRepository;
+
+    @Mock
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private CargoLoadPlanService cargoLoadPlanService;
+
+    private final StorageUnit storageUnit = StorageUnit.builder().id(1L).unitCode("SU-1").build();
+
+    @Test
+    void planLoad_ShouldFillLargestFreeSpacecraftFirstAndReportLeftovers() {
+        Cargo water = cargo(10L, "2.50", "1.00", HazardLevel.NONE);
+        Spacecraft small = spacecraft(1L, "Small", "50.00", "0.00");
+        Spacecraft large = spacecraft(2L, "Large", "120.00", "20.00");
+        givenReferences(Map.of(10L, water));
+        when(spacecraftRepository.findAvailableForMission()).thenReturn(List.of(small, large));
+
+        LoadPlanResponseDTO plan = cargoLoadPlanService.planLoad(new LoadPlanRequestDTO(
+                List.of(new CargoManifestRequestDTO.CargoItemDTO(10L, 1L, 70, ManifestPriority.HIGH)), null));
+
+        assertEquals(2, plan.spacecraftsUsed());
+        SpacecraftLoadPlanDTO first = plan.spacecrafts().getFirst();
+        assertEquals(2L, first.spacecraftId());
+        assertEquals(40, first.cargoItems().getFirst().quantity());
+        assertEquals(new BigDecimal("100.00"), first.plannedMass());
+        assertEquals(new BigDecimal("0.00"), first.remainingMassCapacity());
+        assertEquals(20, plan.spacecrafts().get(1).cargoItems().getFirst().quantity());
+        assertEquals(List.of(new CargoManifestRequestDTO.CargoItemDTO(10L, 1L, 10, ManifestPriority.HIGH)),
+                plan.unplacedItems());
+        assertEquals(0, plan.plannedItems());
+    }
+
+    @Test
+    void planLoad_ShouldKeepHighHazardAwayFromSpacecraftWithSafeCargo() throws Exception {
+        Cargo fuel = cargo(20L, "1.00", "1.00", HazardLevel.HIGH);
+        Spacecraft loaded = spacecraft(1L, "Loaded", "500.00", "0.00");
+        Spacecraft empty = spacecraft(2L, "Empty", "100.00", "0.00");
+        givenReferences(Map.of(20L, fuel));
+        when(spacecraftRepository.findAvailableForMission()).thenReturn(List.of(loaded, empty));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("spacecraft_id")).thenReturn(1L);
+            when(rs.getString("hazard_level")).thenReturn("NONE");
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        LoadPlanResponseDTO plan = cargoLoadPlanService.planLoad(new LoadPlanRequestDTO(
+                List.of(new CargoManifestRequestDTO.CargoItemDTO(20L, 1L, 5, null)), null));
+
+        assertEquals(1, plan.spacecraftsUsed());
+        assertEquals(2L, plan.spacecrafts().getFirst().spacecraftId());
+        assertEquals(ManifestPriority.NORMAL, plan.spacecrafts().getFirst().cargoItems().getFirst().priority());
+        assertEquals(1, plan.plannedItems());
+    }
+
+    @Test
+    void planLoad_WithRequestedSpacecrafts_ShouldNotQueryFleet() {
+        Cargo water = cargo(10L, "1.00", "1.00", HazardLevel.NONE);
+        Spacecraft chosen = spacecraft(3L, "Chosen", "10.00", "0.00");
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(3L, chosen), Map.of(10L, water), Map.of(1L, storageUnit), Map.of(), Map.of()));
+
+        LoadPlanResponseDTO plan = cargoLoadPlanService.planLoad(new LoadPlanRequestDTO(
+                List.of(new CargoManifestRequestDTO.CargoItemDTO(10L, 1L, 3, null)), List.of(3L, 3L)));
+
+        assertEquals(3L, plan.spacecrafts().getFirst().spacecraftId());
+        verify(spacecraftRepository, never()).findAvailableForMission();
+    }
+
+    @Test
+    void planLoad_WithUnknownCargo_ShouldThrowException() {
+        givenReferences(Map.of());
+
+        assertThrows(CargoNotFoundException.class, () -> cargoLoadPlanService.planLoad(new LoadPlanRequestDTO(
+                List.of(new CargoManifestRequestDTO.CargoItemDTO(99L, 1L, 1, null)), null)));
+    }
+
+    private void givenReferences(Map<Long, Cargo> cargos) {
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(), cargos, Map.of(1L, storageUnit), Map.of(), Map.of()));
+    }
+
+    private static Cargo cargo(Long id, String mass, String volume, HazardLevel hazardLevel) {
+        return Cargo.builder()
+                .id(id)
+                .name("Cargo " + id)
+                .massPerUnit(new BigDecimal(mass))
+                .volumePerUnit(new BigDecimal(volume))
+                .hazardLevel(hazardLevel)
+                .build();
+    }
+
+    private static Spacecraft spacecraft(Long id, String name, String massCapacity, String massUsage) {
+        return Spacecraft.builder()
+                .id(id)
+                .name(name)
+                .massCapacity(new BigDecimal(massCapacity))
+                .volumeCapacity(new BigDecimal("1000.00"))
+                .currentMassUsage(new BigDecimal(massUsage))
+                .currentVolumeUsage(BigDecimal.ZERO)
+                .build();
+    }
+}
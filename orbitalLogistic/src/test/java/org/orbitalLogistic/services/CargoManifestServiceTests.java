@@ -5,9 +5,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.orbitalLogistic.concurrent.ParallelLookups;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.CargoManifestRequestDTO;
 import org.orbitalLogistic.dto.response.CargoManifestResponseDTO;
@@ -19,6 +21,7 @@ import org.orbitalLogistic.entities.User;
 import org.orbitalLogistic.entities.enums.ManifestStatus;
 import org.orbitalLogistic.entities.enums.ManifestPriority;
 import org.orbitalLogistic.exceptions.CargoManifestNotFoundException;
+import org.orbitalLogistic.exceptions.CargoNotFoundException;
 import org.orbitalLogistic.exceptions.common.DataNotFoundException;
 import org.orbitalLogistic.mappers.CargoManifestMapper;
 import org.orbitalLogistic.repositories.CargoManifestRepository;
@@ -27,13 +30,17 @@ import org.orbitalLogistic.repositories.CargoRepository;
 import org.orbitalLogistic.repositories.StorageUnitRepository;
 import org.orbitalLogistic.repositories.UserRepository;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.orbitalLogistic.dto.response.SpacecraftResponseDTO;
 
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -62,6 +69,15 @@ class CargoManifestServiceTests {
     @Mock
     private CargoManifestMapper cargoManifestMapper;
 
+    @Mock
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private SpacecraftLoadService spacecraftLoadService;
+
+    @Spy
+    private ParallelLookups parallelLookups = ParallelLookups.sequential();
+
     @InjectMocks
     private CargoManifestService cargoManifestService;
 
@@ -252,13 +268,14 @@ class CargoManifestServiceTests {
         assertNotNull(result);
         assertEquals(1, result.size());
         verify(cargoManifestRepository, times(1)).save(testManifest);
+        verify(spacecraftLoadService, times(1)).recordLoad(1L, 1L, 100);
     }
 
     @Test
-    void loadCargoToSpacecraft_WithMultipleCargoItems_ShouldCreateMultipleManifests() {
+    void loadCargoToSpacecraft_WithMultipleCargoItems_ShouldInsertAllManifestsInOneStatement() {
 
         CargoManifestRequestDTO.CargoItemDTO item1 = new CargoManifestRequestDTO.CargoItemDTO(1L, 1L, 100, ManifestPriority.HIGH);
-        CargoManifestRequestDTO.CargoItemDTO item2 = new CargoManifestRequestDTO.CargoItemDTO(2L, 2L, 50, ManifestPriority.NORMAL);
+        CargoManifestRequestDTO.CargoItemDTO item2 = new CargoManifestRequestDTO.CargoItemDTO(2L, 2L, 50, null);
 
         CargoManifestRequestDTO multiItemRequest = new CargoManifestRequestDTO(
                 1L, null, null, null, null, 1L,
@@ -271,86 +288,60 @@ class CargoManifestServiceTests {
         when(spacecraftService.getSpacecraftById(1L)).thenReturn(
                 new SpacecraftResponseDTO(1L, null, "Starship Alpha", null, null, null, null, null, null, null, null)
         );
-        when(cargoService.getCargoById(1L)).thenReturn(
-                new org.orbitalLogistic.dto.response.CargoResponseDTO(
-                        1L, "Scientific Equipment", "Electronics",
-                        java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO,
-                        org.orbitalLogistic.entities.enums.CargoType.SCIENTIFIC,
-                        org.orbitalLogistic.entities.enums.HazardLevel.LOW,
-                        0
-                )
-        );
-        when(cargoService.getEntityById(1L)).thenReturn(testCargo);
-        when(cargoService.getCargoById(2L)).thenReturn(
-                new org.orbitalLogistic.dto.response.CargoResponseDTO(
-                        2L, "Food Supplies", "Electronics",
-                        java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO,
-                        org.orbitalLogistic.entities.enums.CargoType.SCIENTIFIC,
-                        org.orbitalLogistic.entities.enums.HazardLevel.LOW,
-                        0
-                )
-        );
-        when(cargoService.getEntityById(2L)).thenReturn(cargo2);
-        when(storageUnitService.getStorageUnitById(1L)).thenReturn(
-                new org.orbitalLogistic.dto.response.StorageUnitResponseDTO(
-                        1L, "SU-001", "Warehouse A", null,
-                        java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO,
-                        java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO,
-                        java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO,
-                        0.0, 0.0
-                )
-        );
-        when(storageUnitService.getEntityById(1L)).thenReturn(testStorageUnit);
-        when(storageUnitService.getStorageUnitById(2L)).thenReturn(
-                new org.orbitalLogistic.dto.response.StorageUnitResponseDTO(
-                        2L, "SU-002", "Warehouse B", null,
-                        java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO,
-                        java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO,
-                        java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO,
-                        0.0, 0.0
-                )
-        );
-        when(storageUnitService.getEntityById(2L)).thenReturn(storageUnit2);
-        when(userService.findUserById(any())).thenReturn(new org.orbitalLogistic.dto.response.UserResponseDTO(1L, "john.doe@example.com", "John Doe"));
-        when(userService.getEntityById(any())).thenReturn(testUser);
-
-        CargoManifest manifest1 = CargoManifest.builder()
-                .id(1L)
-                .spacecraftId(1L)
-                .cargoId(1L)
-                .storageUnitId(1L)
-                .loadedByUserId(1L)
-                .quantity(100)
-                .priority(ManifestPriority.HIGH)
-                .build();
-
-        CargoManifest manifest2 = CargoManifest.builder()
-                .id(2L)
-                .spacecraftId(1L)
-                .cargoId(2L)
-                .storageUnitId(2L)
-                .loadedByUserId(1L)
-                .quantity(50)
-                .priority(ManifestPriority.NORMAL)
-                .build();
-
-        when(cargoManifestRepository.save(any(CargoManifest.class)))
-                .thenReturn(manifest1, manifest2);
-
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(1L, testSpacecraft),
+                Map.of(1L, testCargo, 2L, cargo2),
+                Map.of(1L, testStorageUnit, 2L, storageUnit2),
+                Map.of(1L, testUser),
+                Map.of()
+        ));
+        when(jdbcTemplate.queryForList(contains("unnest"), eq(Long.class),
+                eq(1L), eq(1L), pgEnum("LOADED"), any(LocalDateTime.class),
+                aryEq(new Long[]{1L, 2L}), aryEq(new Long[]{1L, 2L}),
+                aryEq(new Integer[]{100, 50}), aryEq(new String[]{"HIGH", "NORMAL"})))
+                .thenReturn(List.of(10L, 11L));
         when(cargoManifestMapper.toResponseDTO(any(), any(), any(), any(), any(), any()))
-                .thenReturn(testResponseDTO)
                 .thenReturn(testResponseDTO);
 
-        when(spacecraftService.getEntityById(1L)).thenReturn(testSpacecraft);
-
 
         List<CargoManifestResponseDTO> result = cargoManifestService.loadCargoToSpacecraft(1L, multiItemRequest);
 
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(cargoManifestRepository, times(2)).save(any(CargoManifest.class));
-        verify(userService, atLeast(2)).getEntityById(any());
+        verify(referenceResolver, times(1)).resolve(any());
+        verify(spacecraftLoadService, times(1)).recordLoad(1L, List.of(10L, 11L));
+        verify(cargoManifestMapper).toResponseDTO(argThat(m -> m.getId().equals(11L) && m.getPriority() == ManifestPriority.NORMAL),
+                eq("Starship Alpha"), eq("Food Supplies"), eq("SU-002"), eq("John Doe"), isNull());
+        verify(cargoManifestRepository, never()).save(any());
+        verifyNoInteractions(cargoService, storageUnitService, userService);
+    }
+
+    @Test
+    void loadCargoToSpacecraft_WithMultipleCargoItemsAndUnknownCargo_ShouldNotInsertAnything() {
+
+        CargoManifestRequestDTO.CargoItemDTO item = new CargoManifestRequestDTO.CargoItemDTO(999L, 1L, 100, ManifestPriority.HIGH);
+
+        CargoManifestRequestDTO multiItemRequest = new CargoManifestRequestDTO(
+                1L, null, null, null, null, 1L,
+                List.of(item), null, null, null, null, null, null
+        );
+
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(1L, testSpacecraft),
+                Map.of(),
+                Map.of(1L, testStorageUnit),
+                Map.of(1L, testUser),
+                Map.of()
+        ));
+
+
+        CargoNotFoundException exception = assertThrows(CargoNotFoundException.class,
+                () -> cargoManifestService.loadCargoToSpacecraft(1L, multiItemRequest));
+
+
+        assertEquals("Cargo not found with id: 999", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate, spacecraftLoadService);
     }
 
     @Test
@@ -461,47 +452,54 @@ class CargoManifestServiceTests {
                 .id(2L).spacecraftId(1L).cargoId(2L).storageUnitId(2L)
                 .quantity(50).loadedByUserId(1L).manifestStatus(ManifestStatus.LOADED).build();
 
-        List<CargoManifest> activeManifests = List.of(activeManifest1, activeManifest2);
-
-        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        CargoManifest activeManifest3 = CargoManifest.builder()
+                .id(3L).spacecraftId(1L).cargoId(1L).storageUnitId(1L)
+                .quantity(10).loadedByUserId(1L).manifestStatus(ManifestStatus.LOADED)
+                .priority(ManifestPriority.CRITICAL).build();
 
-        when(spacecraftService.getSpacecraftById(1L)).thenReturn(
-                new SpacecraftResponseDTO(1L, null, "Starship Alpha", null, null, null, null, null, null, null, null)
-        );
         when(spacecraftService.getEntityById(1L)).thenReturn(testSpacecraft);
-        when(cargoManifestRepository.findActiveCargoBySpacecraft(1L)).thenReturn(activeManifests);
         when(userService.getEntityById(2L)).thenReturn(unloadUser);
-
-        when(cargoService.getEntityById(1L)).thenReturn(testCargo);
-        when(cargoService.getEntityById(2L)).thenReturn(testCargo);
-        when(storageUnitService.getEntityById(1L)).thenReturn(testStorageUnit);
-        when(storageUnitService.getEntityById(2L)).thenReturn(testStorageUnit);
-        when(userService.getEntityById(1L)).thenReturn(testUser);
-
-
-        when(cargoManifestMapper.toResponseDTO(
-                any(CargoManifest.class),
-                anyString(),
-                anyString(),
-                anyString(),
-                anyString(),
-                anyString()
-        )).thenReturn(testResponseDTO);
+        when(cargoManifestRepository.unloadActiveCargoBySpacecraft(eq(1L), eq(2L), any(LocalDateTime.class)))
+                .thenReturn(List.of(activeManifest1, activeManifest2, activeManifest3));
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(1L, testSpacecraft),
+                Map.of(1L, testCargo, 2L, testCargo),
+                Map.of(1L, testStorageUnit, 2L, testStorageUnit),
+                Map.of(1L, testUser, 2L, unloadUser),
+                Map.of()
+        ));
+        when(cargoManifestMapper.toResponseDTO(any(CargoManifest.class), anyString(), anyString(), anyString(),
+                anyString(), any())).thenReturn(testResponseDTO);
 
         List<CargoManifestResponseDTO> result = cargoManifestService.unloadCargoFromSpacecraft(1L, unloadRequest);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(3, result.size());
+
+        verify(cargoManifestRepository, times(1)).unloadActiveCargoBySpacecraft(eq(1L), eq(2L), any(LocalDateTime.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(referenceResolver, times(1)).resolve(any());
+        verify(cargoManifestMapper).toResponseDTO(argThat(m -> m.getId().equals(3L)),
+                anyString(), anyString(), anyString(), anyString(), any());
+        verify(spacecraftLoadService, times(1)).recordUnload(1L, List.of(1L, 2L, 3L));
+    }
 
-        verify(cargoManifestRepository, times(1)).findActiveCargoBySpacecraft(1L);
-        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+    @Test
+    void unloadAllCargoFromSpacecraft_ShouldReturnCountWithoutHydration() {
+        CargoManifestRequestDTO unloadRequest = new CargoManifestRequestDTO(
+                null, null, null, null, null, null,
+                null, null, 2L, null, null, null, null
+        );
+
+        when(cargoManifestRepository.unloadActiveCargoIdsBySpacecraft(eq(1L), eq(2L), any(LocalDateTime.class)))
+                .thenReturn(List.of(1L, 4L));
 
-        verify(cargoService, atLeastOnce()).getEntityById(1L);
-        verify(cargoService, atLeastOnce()).getEntityById(2L);
-        verify(storageUnitService, atLeastOnce()).getEntityById(1L);
-        verify(storageUnitService, atLeastOnce()).getEntityById(2L);
-        verify(userService, atLeastOnce()).getEntityById(1L);
+        int unloaded = cargoManifestService.unloadAllCargoFromSpacecraft(1L, unloadRequest);
 
+        assertEquals(2, unloaded);
+        verify(spacecraftLoadService, times(1)).recordUnload(1L, List.of(1L, 4L));
+        verify(cargoManifestRepository, never()).unloadActiveCargoBySpacecraft(any(), any(), any());
+        verifyNoInteractions(referenceResolver, cargoManifestMapper);
     }
 
     @Test
@@ -515,7 +513,8 @@ class CargoManifestServiceTests {
         when(spacecraftService.getSpacecraftById(1L)).thenReturn(
                 new SpacecraftResponseDTO(1L, null, "Starship Alpha", null, null, null, null, null, null, null, null)
         );
-        when(cargoManifestRepository.findActiveCargoBySpacecraft(1L)).thenReturn(List.of());
+        when(cargoManifestRepository.unloadActiveCargoBySpacecraft(eq(1L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.of());
 
 
         List<CargoManifestResponseDTO> result = cargoManifestService.unloadCargoFromSpacecraft(1L, unloadRequest);
@@ -545,5 +544,17 @@ class CargoManifestServiceTests {
                         .passwordHash("encodedPassword")
                         .build()
         );
+        lenient().when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(1L, testSpacecraft),
+                Map.of(1L, testCargo),
+                Map.of(1L, testStorageUnit),
+                Map.of(1L, testUser),
+                Map.of()
+        ));
+    }
+
+    private static Object pgEnum(String name) {
+        return argThat(value -> value instanceof SqlParameterValue parameter
+                && parameter.getSqlType() == Types.OTHER && name.equals(parameter.getValue()));
     }
 }
@@ -53,6 +53,15 @@ class CargoServiceTests {
     @Mock
     private CargoMapper cargoMapper;
 
+    @Mock
+    private StorageCapacityService storageCapacityService;
+
+    @Mock
+    private StorageOccupancyService storageOccupancyService;
+
+    @Mock
+    private SpacecraftLoadService spacecraftLoadService;
+
     @InjectMocks
     private CargoService cargoService;
 
@@ -326,6 +335,9 @@ class CargoServiceTests {
         verify(cargoRepository, times(1)).findById(1L);
         verify(cargoRepository, times(1)).existsByName("Updated Equipment");
         verify(cargoRepository, times(1)).save(any(Cargo.class));
+        verify(storageCapacityService, times(1)).resizeCargo(1L, new BigDecimal("4.5"), new BigDecimal("2.0"));
+        verify(spacecraftLoadService, times(1)).resizeCargo(1L, new BigDecimal("4.5"), new BigDecimal("2.0"));
+        verify(storageOccupancyService, times(1)).invalidate();
     }
 
     @Test
@@ -406,6 +418,8 @@ class CargoServiceTests {
         verify(cargoRepository, times(1)).existsById(1L);
         verify(cargoManifestService, times(1)).existsByCargoId(1L);
         verify(cargoRepository, times(1)).deleteById(1L);
+        verify(storageCapacityService, times(1)).releaseCargo(1L);
+        verify(storageOccupancyService, times(1)).invalidate();
     }
 
     @Test
@@ -422,6 +436,7 @@ class CargoServiceTests {
         assertEquals("Cargo not found with id: 999", exception.getMessage());
         verify(cargoRepository, times(1)).existsById(999L);
         verify(cargoRepository, never()).deleteById(any());
+        verifyNoInteractions(storageCapacityService);
     }
 
     @Test
@@ -30,6 +30,7 @@ import org.orbitalLogistic.repositories.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,6 +56,12 @@ class CargoStorageServiceTests {
     @Mock
     private CargoStorageMapper cargoStorageMapper;
 
+    @Mock
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private StorageCapacityService storageCapacityService;
+
     @InjectMocks
     private CargoStorageService cargoStorageService;
 
@@ -125,6 +132,13 @@ class CargoStorageServiceTests {
                 new UserResponseDTO(1L, "john.doe@example.com", "John Doe")
         );
         lenient().when(userService.getEntityByIdOrNull(any())).thenReturn(testUser);
+        lenient().when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(),
+                Map.of(1L, testCargo),
+                Map.of(1L, testStorageUnit),
+                Map.of(1L, testUser),
+                Map.of()
+        ));
     }
 
     @Test
@@ -247,6 +261,7 @@ class CargoStorageServiceTests {
         verify(userService, times(1)).getEntityById(1L);
         verify(cargoStorageRepository, times(1)).findByStorageUnitIdAndCargoId(1L, 1L);
         verify(cargoStorageMapper, times(1)).toEntity(testRequestDTO);
+        verify(storageCapacityService, times(1)).reserve(1L, 1L, 100);
         verify(cargoStorageRepository, times(1)).save(newCargoStorage);
     }
 
@@ -372,6 +387,7 @@ class CargoStorageServiceTests {
         CargoStorageResponseDTO result = cargoStorageService.updateQuantity(1L, updateRequest);
 
         assertNotNull(result);
+        verify(storageCapacityService, times(1)).reserve(1L, 1L, 100);
         verify(cargoStorageRepository, times(1)).findById(1L);
         verify(cargoStorageRepository, times(1)).save(any(CargoStorage.class));
     }
@@ -0,0 +1,57 @@
+package org.orbitalLogistic.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryTransactionArchiveCommandTests {
+
+    @Mock
+    private InventoryTransactionPartitionService partitionService;
+
+    @Mock
+    private ConfigurableApplicationContext applicationContext;
+
+    @InjectMocks
+    private InventoryTransactionArchiveCommand command;
+
+    @Test
+    void run_WithoutCommandOption_ShouldDoNothing() throws Exception {
+        command.run(new DefaultApplicationArguments("--server.port=8080"));
+
+        verify(partitionService, never()).archiveOlderThan(anyInt(), any());
+        verify(applicationContext, never()).close();
+    }
+
+    @Test
+    void run_WithCommandOption_ShouldArchiveAndCloseContext() throws Exception {
+        when(partitionService.archiveOlderThan(6, Path.of("/tmp/archive"))).thenReturn(List.of());
+
+        command.run(new DefaultApplicationArguments(
+                "--archive-inventory-transactions", "--older-than-months=6", "--archive-dir=/tmp/archive"));
+
+        verify(partitionService).archiveOlderThan(6, Path.of("/tmp/archive"));
+        verify(applicationContext).close();
+    }
+
+    @Test
+    void run_WithDefaults_ShouldArchiveYearOldPartitions() throws Exception {
+        when(partitionService.archiveOlderThan(anyInt(), any())).thenReturn(List.of());
+
+        command.run(new DefaultApplicationArguments("--archive-inventory-transactions"));
+
+        verify(partitionService).archiveOlderThan(12, Path.of("archive"));
+    }
+}
@@ -0,0 +1,109 @@
+package org.orbitalLogistic.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orbitalLogistic.config.JacksonConfig;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Выгрузка журнала транзакций курсором на реальной БД: полнота, порядок, фильтр по датам
+ * и экранирование CSV.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class InventoryTransactionExportIntegrationTests {
+
+    private static final int ROWS = 5_000;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private static InventoryTransactionExportService exportService;
+    private static TransactionTemplate transactionTemplate;
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update(
+                "INSERT INTO inventory_transaction (transaction_type, cargo_id, quantity, from_storage_unit_id, " +
+                "to_storage_unit_id, performed_by_user_id, transaction_date, notes) " +
+                "SELECT 'TRANSFER', (SELECT MIN(id) FROM cargo), g, (SELECT MIN(id) FROM storage_unit), " +
+                "(SELECT MAX(id) FROM storage_unit), (SELECT MIN(id) FROM users), " +
+                "?::timestamp + g * interval '1 minute', " +
+                "CASE WHEN g = 1 THEN 'Checked, \"sealed\"' END " +
+                "FROM generate_series(1, ?) g",
+                START, ROWS);
+
+        objectMapper = new JacksonConfig().objectMapper(new Jackson2ObjectMapperBuilder());
+        exportService = new InventoryTransactionExportService(jdbcTemplate, objectMapper);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @Test
+    void exportNdjson_ShouldStreamEveryRowInDateOrder() throws Exception {
+        List<String> lines = export(InventoryTransactionExportService.ExportFormat.NDJSON,
+                START, START.plusDays(30));
+
+        assertEquals(ROWS, lines.size());
+        JsonNode first = objectMapper.readTree(lines.getFirst());
+        JsonNode last = objectMapper.readTree(lines.getLast());
+        assertEquals(1, first.get("quantity").asInt());
+        assertEquals(ROWS, last.get("quantity").asInt());
+        assertTrue(first.get("fromLocation").asText().startsWith("Storage: "));
+        assertFalse(first.get("performedByUserName").isNull());
+    }
+
+    @Test
+    void exportCsv_ShouldQuoteFieldsAndApplyDateRange() {
+        List<String> lines = export(InventoryTransactionExportService.ExportFormat.CSV,
+                START, START.plusMinutes(11));
+
+        assertEquals(11, lines.size());
+        assertTrue(lines.getFirst().startsWith("id,transactionType,cargoName"));
+        assertTrue(lines.get(1).endsWith(",\"Checked, \"\"sealed\"\"\""));
+    }
+
+    private List<String> export(InventoryTransactionExportService.ExportFormat format,
+                                LocalDateTime from, LocalDateTime to) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                exportService.export(format, from, to, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
@@ -0,0 +1,172 @@
+package org.orbitalLogistic.services;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.orbitalLogistic.repositories.InventoryTransactionRepository;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Секционирование inventory_transaction (V8, V10) на реальной БД: отсечение секций по дате,
+ * создание будущих секций с переносом строк из DEFAULT, BRIN на закрытых месяцах
+ * и архивирование старых секций.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class InventoryTransactionPartitionIntegrationTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static InventoryTransactionPartitionService partitionService;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String month : List.of("2019_01", "2019_02", "2020_01", "2020_02")) {
+            YearMonth start = YearMonth.parse(month.replace('_', '-'));
+            jdbcTemplate.execute("CREATE TABLE inv_txn_" + month + " PARTITION OF inventory_transaction " +
+                                 "FOR VALUES FROM ('" + start.atDay(1) + "') TO ('" + start.plusMonths(1).atDay(1) + "')");
+            insertTransactions(start.atDay(1).atStartOfDay(), 10);
+        }
+        jdbcTemplate.queryForObject("SELECT index_closed_inventory_transaction_partitions()", Integer.class);
+
+        partitionService = new InventoryTransactionPartitionService(jdbcTemplate, 6);
+    }
+
+    @Test
+    void findByTransactionDateBetween_ShouldScanOnlyMatchingPartition() {
+        NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        String sql = queryOf("findByTransactionDateBetween");
+
+        String plan = String.join("\n", namedTemplate.queryForList("EXPLAIN " + sql,
+                new MapSqlParameterSource("startDate", LocalDateTime.of(2020, 2, 1, 0, 0))
+                        .addValue("endDate", LocalDateTime.of(2020, 2, 15, 0, 0)),
+                String.class));
+
+        assertTrue(plan.contains("inv_txn_2020_02"), plan);
+        assertFalse(plan.contains("inv_txn_2020_01"), plan);
+        assertFalse(plan.contains("inv_txn_default"), plan);
+    }
+
+    @Test
+    void migration_ShouldIndexOnlyClosedMonthsWithBrin() {
+        String current = "inv_txn_" + YearMonth.now().toString().replace('-', '_');
+
+        assertNotNull(regclass("inv_txn_2020_01_date_brin"));
+        assertNull(regclass(current + "_date_brin"));
+        assertNotNull(regclass(current));
+    }
+
+    @Test
+    void maintainPartitions_ShouldCreateFutureMonthsOnce() {
+        partitionService.maintainPartitions();
+        Integer createdAgain = jdbcTemplate.queryForObject(
+                "SELECT create_inventory_transaction_partitions(CURRENT_DATE, 6)", Integer.class);
+
+        String lastMonth = "inv_txn_" + YearMonth.now().plusMonths(6).toString().replace('-', '_');
+        assertNotNull(regclass(lastMonth));
+        assertEquals(0, createdAgain);
+    }
+
+    @Test
+    void createPartitions_WithRowsInDefault_ShouldMoveThemIntoNewMonth() {
+        // Строки месяцев без секций: 2035-03 получит секцию, 2099-01 останется в DEFAULT
+        insertTransactions(LocalDateTime.of(2035, 3, 1, 0, 0), 5);
+        insertTransactions(LocalDateTime.of(2099, 1, 1, 0, 0), 2);
+        int monthsAhead = (int) ChronoUnit.MONTHS.between(YearMonth.now(), YearMonth.of(2035, 4));
+
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT create_inventory_transaction_partitions('2035-03-01', ?)", Integer.class, monthsAhead);
+        partitionService.maintainPartitions();
+
+        assertEquals(2, created);
+        assertNotNull(regclass("inv_txn_2035_03"));
+        assertNotNull(regclass("inv_txn_2035_04"));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inv_txn_2035_03", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inv_txn_default", Integer.class));
+        assertEquals(7, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_transaction WHERE transaction_date >= '2035-01-01'", Integer.class));
+    }
+
+    @Test
+    void archiveOlderThan_ShouldExportDropAndResumeDetachedPartitions(@TempDir Path directory) throws Exception {
+        // Прерванный прошлый запуск: секция уже отсоединена, но ещё не выгружена
+        jdbcTemplate.execute("ALTER TABLE inventory_transaction DETACH PARTITION inv_txn_2019_02");
+        int olderThanMonths = (int) ChronoUnit.MONTHS.between(YearMonth.of(2019, 12), YearMonth.now());
+
+        List<InventoryTransactionPartitionService.ArchivedPartition> archived =
+                partitionService.archiveOlderThan(olderThanMonths, directory);
+
+        assertEquals(List.of("inv_txn_2019_01", "inv_txn_2019_02"),
+                archived.stream().map(InventoryTransactionPartitionService.ArchivedPartition::partitionName).toList());
+        for (InventoryTransactionPartitionService.ArchivedPartition partition : archived) {
+            assertEquals(10, partition.rows());
+            assertNull(regclass(partition.partitionName()));
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(partition.file())), StandardCharsets.UTF_8))) {
+                List<String> lines = reader.lines().toList();
+                assertEquals(11, lines.size());
+                assertTrue(lines.getFirst().startsWith("id,transaction_type,cargo_id"));
+            }
+        }
+        assertNotNull(regclass("inv_txn_2020_01"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_transaction WHERE transaction_date < '2020-01-01'", Integer.class));
+    }
+
+    private static void insertTransactions(LocalDateTime start, int count) {
+        jdbcTemplate.update(
+                "INSERT INTO inventory_transaction (transaction_type, cargo_id, quantity, from_storage_unit_id, " +
+                "to_storage_unit_id, performed_by_user_id, transaction_date) " +
+                "SELECT 'TRANSFER', (SELECT MIN(id) FROM cargo), g, (SELECT MIN(id) FROM storage_unit), " +
+                "(SELECT MAX(id) FROM storage_unit), (SELECT MIN(id) FROM users), ?::timestamp + g * interval '1 hour' " +
+                "FROM generate_series(1, ?) g",
+                start, count);
+    }
+
+    private static String regclass(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, name);
+    }
+
+    private static String queryOf(String methodName) {
+        return Arrays.stream(InventoryTransactionRepository.class.getMethods())
+                .filter(m -> m.getName().equals(methodName) && m.isAnnotationPresent(Query.class))
+                .findFirst()
+                .orElseThrow()
+                .getAnnotation(Query.class)
+                .value();
+    }
+}
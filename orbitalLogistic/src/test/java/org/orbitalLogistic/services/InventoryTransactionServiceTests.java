@@ -6,16 +6,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.dto.common.CursorPageResponseDTO;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.InventoryTransactionRequestDTO;
 import org.orbitalLogistic.dto.response.InventoryTransactionResponseDTO;
+import org.orbitalLogistic.dto.response.UserResponseDTO;
 import org.orbitalLogistic.entities.Cargo;
 import org.orbitalLogistic.entities.InventoryTransaction;
 import org.orbitalLogistic.entities.Spacecraft;
 import org.orbitalLogistic.entities.StorageUnit;
 import org.orbitalLogistic.entities.User;
 import org.orbitalLogistic.entities.enums.TransactionType;
+import org.orbitalLogistic.exceptions.InsufficientStoredCargoException;
+import org.orbitalLogistic.exceptions.InvalidCursorException;
 import org.orbitalLogistic.exceptions.InventoryTransactionNotFoundException;
+import org.orbitalLogistic.exceptions.StorageCapacityExceededException;
 import org.orbitalLogistic.exceptions.common.DataNotFoundException;
 import org.orbitalLogistic.mappers.InventoryTransactionMapper;
 import org.orbitalLogistic.repositories.CargoManifestRepository;
@@ -27,6 +32,7 @@ import org.orbitalLogistic.repositories.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -54,6 +60,12 @@ class InventoryTransactionServiceTests {
     @Mock
     private InventoryTransactionMapper inventoryTransactionMapper;
 
+    @Mock
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private StorageCapacityService storageCapacityService;
+
     @InjectMocks
     private InventoryTransactionService inventoryTransactionService;
 
@@ -125,10 +137,13 @@ class InventoryTransactionServiceTests {
         List<InventoryTransaction> transactions = List.of(testTransaction);
         when(inventoryTransactionRepository.count()).thenReturn(1L);
         when(inventoryTransactionRepository.findAll()).thenReturn(transactions);
-        when(cargoService.getEntityById(1L)).thenReturn(testCargo);
-        when(userService.getEntityById(1L)).thenReturn(testUser);
-        when(storageUnitService.getEntityById(1L)).thenReturn(testStorageUnit);
-        when(storageUnitService.getEntityById(2L)).thenReturn(testStorageUnit);
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(),
+                Map.of(1L, testCargo),
+                Map.of(1L, testStorageUnit, 2L, testStorageUnit),
+                Map.of(1L, testUser),
+                Map.of()
+        ));
 
         when(inventoryTransactionMapper.toResponseDTO(any(InventoryTransaction.class), anyString(), anyString(), anyString(), anyString()))
                 .thenReturn(testResponseDTO);
@@ -207,10 +222,13 @@ class InventoryTransactionServiceTests {
 
         List<InventoryTransaction> transactions = List.of(testTransaction);
         when(inventoryTransactionRepository.findByCargoIdOrderByTransactionDate(1L)).thenReturn(transactions);
-        when(cargoService.getEntityById(1L)).thenReturn(testCargo);
-        when(userService.getEntityById(1L)).thenReturn(testUser);
-        when(storageUnitService.getEntityById(1L)).thenReturn(testStorageUnit);
-        when(storageUnitService.getEntityById(2L)).thenReturn(testStorageUnit);
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(),
+                Map.of(1L, testCargo),
+                Map.of(1L, testStorageUnit, 2L, testStorageUnit),
+                Map.of(1L, testUser),
+                Map.of()
+        ));
 
         when(inventoryTransactionMapper.toResponseDTO(any(InventoryTransaction.class), anyString(), anyString(), anyString(), anyString()))
                 .thenReturn(testResponseDTO);
@@ -349,6 +367,50 @@ class InventoryTransactionServiceTests {
         verify(inventoryTransactionRepository, never()).save(any());
     }
 
+    @Test
+    void transferBetweenStorages_WhenTargetIsFull_ShouldNotSaveTransaction() {
+
+        when(cargoService.getEntityById(1L)).thenReturn(testCargo);
+        when(userService.getEntityById(1L)).thenReturn(testUser);
+        when(userService.findUserById(1L)).thenReturn(new UserResponseDTO(1L, "john.doe@example.com", "John Doe"));
+        when(storageUnitService.getEntityById(1L)).thenReturn(testStorageUnit);
+        when(storageUnitService.getEntityById(2L)).thenReturn(testStorageUnit);
+        doThrow(new StorageCapacityExceededException("Insufficient capacity in storage unit(s): [2]"))
+                .when(storageCapacityService).reserveAll(anyList());
+
+
+        StorageCapacityExceededException exception = assertThrows(
+                StorageCapacityExceededException.class,
+                () -> inventoryTransactionService.transferBetweenStorages(testRequestDTO)
+        );
+
+        assertEquals("Insufficient capacity in storage unit(s): [2]", exception.getMessage());
+        verify(storageCapacityService, times(1)).moveStoredCargo(1L, 2L, 1L, 100);
+        verify(storageCapacityService, times(1)).reserveAll(List.of(
+                new StorageCapacityService.CargoReservation(2L, 1L, 100),
+                new StorageCapacityService.CargoReservation(1L, 1L, -100)));
+        verify(inventoryTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    void transferBetweenStorages_WhenSourceHoldsTooLittle_ShouldNotTouchCapacity() {
+
+        when(cargoService.getEntityById(1L)).thenReturn(testCargo);
+        when(userService.getEntityById(1L)).thenReturn(testUser);
+        when(userService.findUserById(1L)).thenReturn(new UserResponseDTO(1L, "john.doe@example.com", "John Doe"));
+        when(storageUnitService.getEntityById(1L)).thenReturn(testStorageUnit);
+        when(storageUnitService.getEntityById(2L)).thenReturn(testStorageUnit);
+        doThrow(new InsufficientStoredCargoException("Storage unit 1 holds 3 unit(s) of cargo 1, cannot move 100"))
+                .when(storageCapacityService).moveStoredCargo(1L, 2L, 1L, 100);
+
+
+        assertThrows(InsufficientStoredCargoException.class,
+                () -> inventoryTransactionService.transferBetweenStorages(testRequestDTO));
+
+        verify(storageCapacityService, never()).reserveAll(anyList());
+        verify(inventoryTransactionRepository, never()).save(any());
+    }
+
     @Test
     void getLocationName_WithStorageUnit_ShouldReturnStorageLocation() {
 
@@ -523,4 +585,104 @@ class InventoryTransactionServiceTests {
         assertEquals(5, result.totalElements());
         assertEquals(3, result.totalPages());
     }
+
+    @Test
+    void getTransactionsAfter_WithoutCursor_ShouldReturnFirstPageAndNextCursor() {
+
+        InventoryTransaction older = InventoryTransaction.builder()
+                .id(2L)
+                .cargoId(1L)
+                .performedByUserId(1L)
+                .fromStorageUnitId(1L)
+                .toStorageUnitId(2L)
+                .quantity(50)
+                .transactionType(TransactionType.TRANSFER)
+                .transactionDate(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
+        when(inventoryTransactionRepository.findFirstKeysetPage(2)).thenReturn(List.of(testTransaction, older));
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(),
+                Map.of(1L, testCargo),
+                Map.of(1L, testStorageUnit, 2L, testStorageUnit),
+                Map.of(1L, testUser),
+                Map.of()
+        ));
+        when(inventoryTransactionMapper.toResponseDTO(any(InventoryTransaction.class), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(testResponseDTO);
+
+
+        CursorPageResponseDTO<InventoryTransactionResponseDTO> result = inventoryTransactionService.getTransactionsAfter(null, 1);
+
+
+        assertEquals(1, result.content().size());
+        assertTrue(result.hasNext());
+        assertNotNull(result.nextCursor());
+        verify(inventoryTransactionRepository, never()).findAll();
+    }
+
+    @Test
+    void getTransactionsAfter_WithCursor_ShouldSeekPastCursorPosition() {
+
+        LocalDateTime date = LocalDateTime.of(2025, 1, 15, 9, 30, 0, 123456000);
+        InventoryTransaction last = InventoryTransaction.builder()
+                .id(42L)
+                .cargoId(1L)
+                .performedByUserId(1L)
+                .fromStorageUnitId(1L)
+                .toStorageUnitId(2L)
+                .quantity(10)
+                .transactionType(TransactionType.TRANSFER)
+                .transactionDate(date)
+                .build();
+        when(inventoryTransactionRepository.findFirstKeysetPage(2)).thenReturn(List.of(last, testTransaction));
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(), Map.of(1L, testCargo), Map.of(1L, testStorageUnit, 2L, testStorageUnit), Map.of(1L, testUser), Map.of()
+        ));
+        when(inventoryTransactionMapper.toResponseDTO(any(InventoryTransaction.class), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(testResponseDTO);
+        String cursor = inventoryTransactionService.getTransactionsAfter("", 1).nextCursor();
+        when(inventoryTransactionRepository.findKeysetPageAfter(date, 42L, 2)).thenReturn(List.of());
+
+
+        CursorPageResponseDTO<InventoryTransactionResponseDTO> result = inventoryTransactionService.getTransactionsAfter(cursor, 1);
+
+
+        assertTrue(result.content().isEmpty());
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+        verify(inventoryTransactionRepository, times(1)).findKeysetPageAfter(date, 42L, 2);
+    }
+
+    @Test
+    void getTransactionsAfter_WithNonPositiveSize_ShouldReturnSingleRowPage() {
+
+        when(inventoryTransactionRepository.findFirstKeysetPage(2)).thenReturn(List.of(testTransaction, testTransaction));
+        when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(), Map.of(1L, testCargo), Map.of(1L, testStorageUnit, 2L, testStorageUnit), Map.of(1L, testUser), Map.of()
+        ));
+        when(inventoryTransactionMapper.toResponseDTO(any(InventoryTransaction.class), anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(testResponseDTO);
+
+
+        CursorPageResponseDTO<InventoryTransactionResponseDTO> empty = inventoryTransactionService.getTransactionsAfter(null, 0);
+        CursorPageResponseDTO<InventoryTransactionResponseDTO> negative = inventoryTransactionService.getTransactionsAfter(null, -3);
+
+
+        assertEquals(1, empty.content().size());
+        assertEquals(1, empty.pageSize());
+        assertTrue(empty.hasNext());
+        assertEquals(1, negative.content().size());
+        verify(inventoryTransactionRepository, times(2)).findFirstKeysetPage(2);
+    }
+
+    @Test
+    void getTransactionsAfter_WithMalformedCursor_ShouldThrowException() {
+
+        assertThrows(InvalidCursorException.class,
+                () -> inventoryTransactionService.getTransactionsAfter("not a cursor!", 20));
+        assertThrows(InvalidCursorException.class,
+                () -> inventoryTransactionService.getTransactionsAfter("bm8tc2VwYXJhdG9y", 20));
+
+        verifyNoInteractions(inventoryTransactionRepository);
+    }
 }
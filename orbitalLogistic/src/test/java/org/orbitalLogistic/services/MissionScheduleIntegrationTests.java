@@ -0,0 +1,112 @@
+package org.orbitalLogistic.services;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.dto.response.FreeWindowResponseDTO;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Ограничение excl_mission_spacecraft_period и индекс свободных окон на реальной БД.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MissionScheduleIntegrationTests {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static MissionScheduleService missionScheduleService;
+
+    @BeforeAll
+    static void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        missionScheduleService = new MissionScheduleService(jdbcTemplate, mock(CacheInvalidationBus.class), 16);
+    }
+
+    @Test
+    void exclusionConstraint_ShouldRejectOverlappingActiveMissions() {
+        insertMission("EXCL-A", "SCHEDULED", 2, "2031-01-10 00:00", "2031-01-20 00:00");
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> insertMission("EXCL-B", "IN_PROGRESS", 2, "2031-01-15 00:00", "2031-01-25 00:00"));
+        assertEquals("23P01", ((SQLException) exception.getMostSpecificCause()).getSQLState());
+
+        // Смежные интервалы не пересекаются: период полуоткрытый
+        insertMission("EXCL-C", "SCHEDULED", 2, "2031-01-20 00:00", "2031-01-22 00:00");
+        // Черновик и другой корабль ограничению не подлежат
+        Long draftId = insertMission("EXCL-D", "PLANNING", 2, "2031-01-12 00:00", "2031-01-14 00:00");
+        insertMission("EXCL-E", "SCHEDULED", 3, "2031-01-12 00:00", "2031-01-14 00:00");
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "UPDATE mission SET status = 'SCHEDULED'::mission_status_enum WHERE id = ?", draftId));
+    }
+
+    @Test
+    void exclusionConstraint_ShouldTreatMissingArrivalAsOpenEnded() {
+        Long spacecraftId = createSpacecraft("OPEN-1");
+        insertMission("OPEN-A", "SCHEDULED", spacecraftId, "2032-05-01 00:00", null);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insertMission("OPEN-B", "SCHEDULED", spacecraftId, "2040-01-01 00:00", "2040-02-01 00:00"));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insertMission("OPEN-C", "PLANNING", spacecraftId, "2032-05-02 00:00", "2032-05-01 00:00"));
+    }
+
+    @Test
+    void findFreeWindows_ShouldReflectCommittedMissions() {
+        Long spacecraftId = createSpacecraft("FREE-1");
+        insertMission("FREE-A", "SCHEDULED", spacecraftId, "2033-03-05 00:00", "2033-03-10 00:00");
+        LocalDateTime from = LocalDateTime.of(2033, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2033, 3, 31, 0, 0);
+
+        assertEquals(List.of(
+                new FreeWindowResponseDTO(from, LocalDateTime.of(2033, 3, 5, 0, 0)),
+                new FreeWindowResponseDTO(LocalDateTime.of(2033, 3, 10, 0, 0), to)),
+                missionScheduleService.findFreeWindows(spacecraftId, from, to));
+
+        insertMission("FREE-B", "IN_PROGRESS", spacecraftId, "2033-03-20 00:00", null);
+        missionScheduleService.invalidate(spacecraftId);
+
+        assertEquals(LocalDateTime.of(2033, 3, 20, 0, 0),
+                missionScheduleService.findFreeWindows(spacecraftId, from, to).getLast().end());
+    }
+
+    private Long createSpacecraft(String registryCode) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO spacecraft (registry_code, name, spacecraft_type_id, mass_capacity, volume_capacity) " +
+                "VALUES (?, 'Schedule Test', 1, 100, 100) RETURNING id", Long.class, registryCode);
+    }
+
+    private Long insertMission(String code, String status, long spacecraftId, String departure, String arrival) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO mission (mission_code, mission_name, mission_type, status, priority, " +
+                "commanding_officer_id, spacecraft_id, scheduled_departure, scheduled_arrival) " +
+                "VALUES (?, ?, 'CARGO_TRANSPORT', ?::mission_status_enum, 'MEDIUM', 3, ?, ?::timestamp, ?::timestamp) " +
+                "RETURNING id",
+                Long.class, code, code, status, spacecraftId, departure, arrival);
+    }
+}
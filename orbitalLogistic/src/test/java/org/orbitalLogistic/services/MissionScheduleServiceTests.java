@@ -0,0 +1,100 @@
+package org.orbitalLogistic.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.dto.response.FreeWindowResponseDTO;
+import org.orbitalLogistic.exceptions.InvalidTimeRangeException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MissionScheduleServiceTests {
+
+    private static final LocalDateTime JAN_1 = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private MissionScheduleService missionScheduleService;
+
+    @BeforeEach
+    void setUp() {
+        missionScheduleService = new MissionScheduleService(jdbcTemplate, cacheInvalidationBus, 16);
+    }
+
+    @Test
+    void findFreeWindows_ShouldReturnGapsBetweenActiveMissions() throws Exception {
+        givenMissions(
+                new Object[]{1L, JAN_1.plusDays(5), JAN_1.plusDays(10)},
+                new Object[]{2L, JAN_1.plusDays(10), JAN_1.plusDays(12)},
+                new Object[]{3L, JAN_1.plusDays(20), null});
+
+        List<FreeWindowResponseDTO> windows = missionScheduleService.findFreeWindows(1L, JAN_1, JAN_1.plusDays(31));
+
+        assertEquals(List.of(
+                new FreeWindowResponseDTO(JAN_1, JAN_1.plusDays(5)),
+                new FreeWindowResponseDTO(JAN_1.plusDays(12), JAN_1.plusDays(20))), windows);
+    }
+
+    @Test
+    void findFreeWindows_ShouldClipWindowsToRequestedRangeAndReuseIndex() throws Exception {
+        givenMissions(new Object[]{1L, JAN_1.plusDays(5), JAN_1.plusDays(10)});
+
+        assertEquals(List.of(new FreeWindowResponseDTO(JAN_1.plusDays(10), JAN_1.plusDays(15))),
+                missionScheduleService.findFreeWindows(1L, JAN_1.plusDays(7), JAN_1.plusDays(15)));
+        assertEquals(List.of(new FreeWindowResponseDTO(JAN_1.plusHours(1).plusNanos(5_000), JAN_1.plusDays(2))),
+                missionScheduleService.findFreeWindows(1L, JAN_1.plusHours(1).plusNanos(5_000), JAN_1.plusDays(2)));
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void invalidate_ShouldReloadScheduleAndNotifyOtherNodes() throws Exception {
+        givenMissions(new Object[]{1L, JAN_1.plusDays(5), JAN_1.plusDays(10)});
+        missionScheduleService.findFreeWindows(1L, JAN_1, JAN_1.plusDays(1));
+
+        missionScheduleService.invalidate(1L);
+        missionScheduleService.findFreeWindows(1L, JAN_1, JAN_1.plusDays(1));
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        verify(cacheInvalidationBus).publish(MissionScheduleService.CACHE_NAME, 1L);
+    }
+
+    @Test
+    void findFreeWindows_WithInvertedRange_ShouldThrowException() {
+        assertThrows(InvalidTimeRangeException.class,
+                () -> missionScheduleService.findFreeWindows(1L, JAN_1, JAN_1));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void givenMissions(Object[]... missions) throws Exception {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] mission : missions) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn((Long) mission[0]);
+                when(rs.getTimestamp("scheduled_departure")).thenReturn(Timestamp.valueOf((LocalDateTime) mission[1]));
+                when(rs.getTimestamp("scheduled_arrival"))
+                        .thenReturn(mission[2] != null ? Timestamp.valueOf((LocalDateTime) mission[2]) : null);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+}
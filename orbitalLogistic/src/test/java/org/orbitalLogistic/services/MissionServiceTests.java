@@ -17,17 +17,22 @@ import org.orbitalLogistic.entities.User;
 import org.orbitalLogistic.entities.enums.MissionPriority;
 import org.orbitalLogistic.entities.enums.MissionStatus;
 import org.orbitalLogistic.entities.enums.MissionType;
+import org.orbitalLogistic.exceptions.InvalidTimeRangeException;
 import org.orbitalLogistic.exceptions.MissionAlreadyExistsException;
 import org.orbitalLogistic.exceptions.MissionNotFoundException;
+import org.orbitalLogistic.exceptions.MissionScheduleConflictException;
 import org.orbitalLogistic.exceptions.common.DataNotFoundException;
 import org.orbitalLogistic.mappers.MissionMapper;
 import org.orbitalLogistic.repositories.MissionRepository;
 import org.orbitalLogistic.repositories.SpacecraftRepository;
 import org.orbitalLogistic.repositories.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,6 +58,12 @@ class MissionServiceTests {
     @Mock
     private MissionMapper missionMapper;
 
+    @Mock
+    private ReferenceResolver referenceResolver;
+
+    @Mock
+    private MissionScheduleService missionScheduleService;
+
     @InjectMocks
     private MissionService missionService;
 
@@ -132,6 +143,13 @@ class MissionServiceTests {
         lenient().when(userService.getEntityById(1L)).thenReturn(testCommandingOfficer);
         lenient().when(spacecraftService.getEntityById(1L)).thenReturn(testSpacecraft);
         lenient().when(missionRepository.save(any(Mission.class))).thenReturn(testMission);
+        lenient().when(referenceResolver.resolve(any())).thenReturn(new ReferenceResolver.References(
+                Map.of(1L, testSpacecraft),
+                Map.of(),
+                Map.of(),
+                Map.of(1L, testCommandingOfficer),
+                Map.of()
+        ));
     }
 
     private MissionRequestDTO createMissionRequestDTO(String missionCode, String missionName,
@@ -540,4 +558,60 @@ class MissionServiceTests {
         boolean ok = missionService.canCreateMission(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
         assertFalse(ok);
     }
+
+    @Test
+    void createMission_WithOverlappingActiveMission_ShouldThrowConflict() {
+        MissionRequestDTO request = createDefaultMissionRequestDTO("MISSION-002", "Second Mission",
+                MissionType.CARGO_TRANSPORT, MissionStatus.SCHEDULED, MissionPriority.HIGH, 1L, 1L);
+        when(missionRepository.existsByMissionCode("MISSION-002")).thenReturn(false);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("MISSION-001"));
+
+        MissionScheduleConflictException exception = assertThrows(MissionScheduleConflictException.class,
+                () -> missionService.createMission(request));
+
+        assertTrue(exception.getMessage().contains("MISSION-001"));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class), any(Object[].class));
+        verify(missionScheduleService, never()).invalidate(any());
+    }
+
+    @Test
+    void createMission_WithArrivalBeforeDeparture_ShouldThrowException() {
+        LocalDateTime departure = LocalDateTime.now().plusDays(5);
+        MissionRequestDTO request = createMissionRequestDTO("MISSION-002", "Second Mission",
+                MissionType.CARGO_TRANSPORT, MissionStatus.PLANNING, MissionPriority.HIGH, 1L, 1L,
+                departure.minusDays(1), departure);
+        when(missionRepository.existsByMissionCode("MISSION-002")).thenReturn(false);
+
+        assertThrows(InvalidTimeRangeException.class, () -> missionService.createMission(request));
+    }
+
+    @Test
+    void startMission_WhenExclusionConstraintFails_ShouldTranslateToConflict() {
+        when(missionRepository.findById(1L)).thenReturn(Optional.of(testMission));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new DataIntegrityViolationException(
+                "conflicting key value violates exclusion constraint",
+                new SQLException("conflicting key value", "23P01")));
+
+        assertThrows(MissionScheduleConflictException.class, () -> missionService.startMission(1L));
+        verify(missionScheduleService, never()).invalidate(any());
+    }
+
+    @Test
+    void scheduleMission_WhenOtherIntegrityViolation_ShouldPropagate() {
+        when(missionRepository.findById(1L)).thenReturn(Optional.of(testMission));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new DataIntegrityViolationException(
+                "violates foreign key constraint", new SQLException("violates foreign key", "23503")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> missionService.scheduleMission(1L));
+    }
+
+    @Test
+    void cancelMission_ShouldInvalidateSpacecraftSchedule() {
+        when(missionRepository.findById(1L)).thenReturn(Optional.of(testMission));
+
+        missionService.cancelMission(1L);
+
+        verify(missionScheduleService).invalidate(1L);
+    }
 }
@@ -0,0 +1,110 @@
+package org.orbitalLogistic.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.concurrent.ParallelLookups;
+import org.orbitalLogistic.entities.Cargo;
+import org.orbitalLogistic.entities.Spacecraft;
+import org.orbitalLogistic.entities.User;
+import org.orbitalLogistic.exceptions.SpacecraftNotFoundException;
+import org.orbitalLogistic.exceptions.user.UserNotFoundException;
+import org.orbitalLogistic.repositories.CargoRepository;
+import org.orbitalLogistic.repositories.MissionRepository;
+import org.orbitalLogistic.repositories.SpacecraftRepository;
+import org.orbitalLogistic.repositories.StorageUnitRepository;
+import org.orbitalLogistic.repositories.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceResolverTests {
+
+    @Mock
+    private SpacecraftRepository spacecraftRepository;
+
+    @Mock
+    private CargoRepository cargoRepository;
+
+    @Mock
+    private StorageUnitRepository storageUnitRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MissionRepository missionRepository;
+
+    @Spy
+    private ParallelLookups parallelLookups = ParallelLookups.sequential();
+
+    @InjectMocks
+    private ReferenceResolver referenceResolver;
+
+    @Test
+    void resolve_ShouldLoadEachTableOnceWithDistinctIds() {
+        Spacecraft spacecraft = Spacecraft.builder().id(1L).name("Starship Alpha").build();
+        Cargo cargo1 = Cargo.builder().id(1L).name("Water").build();
+        Cargo cargo2 = Cargo.builder().id(2L).name("Oxygen").build();
+        User user = User.builder().id(1L).username("John Doe").build();
+
+        when(spacecraftRepository.findAllByIds(any())).thenReturn(List.of(spacecraft));
+        when(cargoRepository.findAllByIds(any())).thenReturn(List.of(cargo1, cargo2));
+        when(userRepository.findAllByIds(any())).thenReturn(List.of(user));
+
+        ReferenceResolver.ReferenceIds ids = new ReferenceResolver.ReferenceIds()
+                .spacecraft(1L).spacecraft(1L)
+                .cargo(1L).cargo(2L).cargo(1L)
+                .user(1L).user(null);
+
+        ReferenceResolver.References refs = referenceResolver.resolve(ids);
+
+        assertEquals("Starship Alpha", refs.spacecraft(1L).getName());
+        assertEquals("Oxygen", refs.cargo(2L).getName());
+        assertEquals("John Doe", refs.user(1L).getUsername());
+
+        ArgumentCaptor<Long[]> cargoIds = ArgumentCaptor.forClass(Long[].class);
+        verify(cargoRepository, times(1)).findAllByIds(cargoIds.capture());
+        assertArrayEquals(new Long[]{1L, 2L}, cargoIds.getValue());
+        verify(spacecraftRepository, times(1)).findAllByIds(any());
+        verify(userRepository, times(1)).findAllByIds(any());
+    }
+
+    @Test
+    void resolve_WithNoIds_ShouldNotQueryRepositories() {
+        ReferenceResolver.References refs = referenceResolver.resolve(new ReferenceResolver.ReferenceIds());
+
+        assertTrue(refs.spacecrafts().isEmpty());
+        verifyNoInteractions(spacecraftRepository, cargoRepository, storageUnitRepository,
+                userRepository, missionRepository);
+    }
+
+    @Test
+    void resolve_WithMissingReference_ShouldThrowNotFound() {
+        when(spacecraftRepository.findAllByIds(any())).thenReturn(List.of());
+
+        ReferenceResolver.References refs = referenceResolver.resolve(
+                new ReferenceResolver.ReferenceIds().spacecraft(999L));
+
+        SpacecraftNotFoundException exception = assertThrows(SpacecraftNotFoundException.class,
+                () -> refs.spacecraft(999L));
+        assertEquals("Spacecraft not found with id: 999", exception.getMessage());
+    }
+
+    @Test
+    void userNameOrNull_WithNullOrMissingId_ShouldReturnNull() {
+        ReferenceResolver.References refs = referenceResolver.resolve(new ReferenceResolver.ReferenceIds());
+
+        assertNull(refs.userNameOrNull(null));
+        assertNull(refs.userNameOrNull(5L));
+        assertThrows(UserNotFoundException.class, () -> refs.user(5L));
+    }
+}
@@ -4,7 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.cache.ReferenceDataCache;
 import org.orbitalLogistic.dto.request.RoleRequestDTO;
 import org.orbitalLogistic.dto.response.RoleResponseDTO;
 import org.orbitalLogistic.entities.UserRole;
@@ -22,6 +24,9 @@ class RoleServiceTests {
     @Mock
     private UserRoleRepository userRoleRepository;
 
+    @Spy
+    private ReferenceDataCache<Long, UserRole> userRoleCache = new ReferenceDataCache<>("test", 16);
+
     @InjectMocks
     private RoleService roleService;
 
@@ -48,13 +53,27 @@ class RoleServiceTests {
 
     @Test
     void roleExists_ShouldReturnFlags() {
-        when(userRoleRepository.existsById(1L)).thenReturn(true);
-        when(userRoleRepository.existsById(2L)).thenReturn(false);
+        when(userRoleRepository.findById(1L)).thenReturn(Optional.of(UserRole.builder().id(1L).name("admin").build()));
+        when(userRoleRepository.findById(2L)).thenReturn(Optional.empty());
 
         assertTrue(roleService.roleExists(1L));
         assertFalse(roleService.roleExists(2L));
-        verify(userRoleRepository, times(1)).existsById(1L);
-        verify(userRoleRepository, times(1)).existsById(2L);
+        verify(userRoleRepository, times(1)).findById(1L);
+        verify(userRoleRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void getRoleById_ShouldBeServedFromCacheOnRepeatedLookups() {
+        UserRole role = UserRole.builder().id(5L).name("admin").build();
+        when(userRoleRepository.findById(5L)).thenReturn(Optional.of(role));
+
+        roleService.getRoleById(5L);
+        roleService.getRoleById(5L);
+        assertTrue(roleService.roleExists(5L));
+
+        verify(userRoleRepository, times(1)).findById(5L);
+        assertEquals(2, userRoleCache.hitCount());
+        assertEquals(1, userRoleCache.missCount());
     }
 }
 
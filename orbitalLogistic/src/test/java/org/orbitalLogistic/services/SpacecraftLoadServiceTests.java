@@ -0,0 +1,127 @@
+package org.orbitalLogistic.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpacecraftLoadServiceTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SpacecraftLoadService spacecraftLoadService;
+
+    @Test
+    void recordLoad_ShouldIncrementLedgerByCargoUnitMassAndVolume() {
+        spacecraftLoadService.recordLoad(1L, 2L, 10);
+
+        verify(jdbcTemplate, times(1)).update(contains("current_mass_usage = s.current_mass_usage +"),
+                eq(10), eq(10), eq(1L), eq(2L));
+    }
+
+    @Test
+    void recordLoad_WithManifestBatch_ShouldIncrementLedgerInOneStatement() {
+        spacecraftLoadService.recordLoad(1L, List.of(5L, 6L));
+
+        verify(jdbcTemplate, times(1)).update(contains("current_mass_usage = s.current_mass_usage + d.mass_usage"),
+                aryEq(new Long[]{5L, 6L}), eq(1L));
+    }
+
+    @Test
+    void recordUnload_ShouldDecrementLedgerForUnloadedManifestsInOneStatement() {
+        spacecraftLoadService.recordUnload(1L, List.of(5L, 6L));
+
+        verify(jdbcTemplate, times(1)).update(contains("cm.id = ANY(?)"),
+                aryEq(new Long[]{5L, 6L}), eq(1L));
+    }
+
+    @Test
+    void recordUnload_WithNoManifests_ShouldNotTouchDatabase() {
+        spacecraftLoadService.recordUnload(1L, List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void resizeCargo_ShouldApplyDeltaToSpacecraftCarryingCargo() {
+        BigDecimal massDelta = new BigDecimal("1.5");
+        BigDecimal volumeDelta = new BigDecimal("-0.5");
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(7L))).thenReturn(List.of(1L, 2L));
+
+        spacecraftLoadService.resizeCargo(7L, massDelta, volumeDelta);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(7L));
+        inOrder.verify(jdbcTemplate).update(contains("s.current_mass_usage + m.quantity * ?"),
+                eq(massDelta), eq(volumeDelta), eq(7L));
+    }
+
+    @Test
+    void resizeCargo_WhenCargoIsNotLoaded_ShouldSkipUpdate() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(7L))).thenReturn(List.of());
+
+        spacecraftLoadService.resizeCargo(7L, BigDecimal.ONE, BigDecimal.ONE);
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void resizeCargo_WithoutDimensionChange_ShouldNotTouchDatabase() {
+        spacecraftLoadService.resizeCargo(7L, BigDecimal.ZERO, BigDecimal.valueOf(0, 2));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void reconcile_ShouldReturnSpacecraftIdsWithCorrectedDrift() {
+        when(jdbcTemplate.queryForList(contains("ORDER BY s.id"), eq(Long.class))).thenReturn(List.of(3L, 4L));
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), anyLong()))
+                .thenAnswer(invocation -> List.of(invocation.<Long>getArgument(2)));
+        when(jdbcTemplate.queryForList(contains("RETURNING s.id"), eq(Long.class), eq(3L), eq(3L))).thenReturn(List.of(3L));
+        when(jdbcTemplate.queryForList(contains("RETURNING s.id"), eq(Long.class), eq(4L), eq(4L))).thenReturn(List.of());
+
+        List<Long> drifted = spacecraftLoadService.reconcile();
+
+        assertEquals(List.of(3L), drifted);
+    }
+
+    @Test
+    void reconcile_ShouldLockSpacecraftBeforeSummingManifests() {
+        when(jdbcTemplate.queryForList(contains("ORDER BY s.id"), eq(Long.class))).thenReturn(List.of(3L));
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(3L))).thenReturn(List.of(3L));
+        when(jdbcTemplate.queryForList(contains("RETURNING s.id"), eq(Long.class), eq(3L), eq(3L))).thenReturn(List.of(3L));
+
+        spacecraftLoadService.reconcile();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(3L));
+        inOrder.verify(jdbcTemplate).queryForList(contains("RETURNING s.id"), eq(Long.class), eq(3L), eq(3L));
+    }
+
+    @Test
+    void reconcile_WhenSpacecraftWasDeleted_ShouldSkipIt() {
+        when(jdbcTemplate.queryForList(contains("ORDER BY s.id"), eq(Long.class))).thenReturn(List.of(3L));
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(3L))).thenReturn(List.of());
+
+        assertEquals(List.of(), spacecraftLoadService.reconcile());
+        verify(jdbcTemplate, never()).queryForList(contains("RETURNING s.id"), eq(Long.class), any(), any());
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.SpacecraftRequestDTO;
 import org.orbitalLogistic.dto.response.SpacecraftResponseDTO;
@@ -21,6 +22,7 @@ import org.orbitalLogistic.exceptions.common.DataNotFoundException;
 import org.orbitalLogistic.mappers.SpacecraftMapper;
 import org.orbitalLogistic.repositories.SpacecraftRepository;
 import org.orbitalLogistic.repositories.SpacecraftTypeRepository;
+import org.orbitalLogistic.streaming.SpacecraftEventStream;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
@@ -47,6 +49,12 @@ class SpacecraftServiceTests {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private SpacecraftEventStream spacecraftEventStream;
+
     @InjectMocks
     private SpacecraftService spacecraftService;
 
@@ -239,6 +247,7 @@ class SpacecraftServiceTests {
         assertNotNull(result);
         verify(spacecraftRepository, times(1)).findById(1L);
         verify(spacecraftRepository, times(1)).existsByRegistryCode("NCC-1701-A");
+        verify(spacecraftEventStream, times(1)).publishChange(1L, SpacecraftStatus.MAINTENANCE, "Mars Orbit");
 
 
     }
@@ -324,6 +333,7 @@ class SpacecraftServiceTests {
 
         verify(spacecraftRepository, times(1)).existsById(1L);
         verify(spacecraftRepository, times(1)).deleteById(1L);
+        verify(spacecraftEventStream, times(1)).publishRemoval(1L);
     }
 
     @Test
@@ -338,6 +348,7 @@ class SpacecraftServiceTests {
         assertEquals("Spacecraft not found with id: 999", exception.getMessage());
         verify(spacecraftRepository, times(1)).existsById(999L);
         verify(spacecraftRepository, never()).deleteById(any());
+        verifyNoInteractions(spacecraftEventStream);
     }
 
     @Test
@@ -369,8 +380,21 @@ class SpacecraftServiceTests {
 
         assertNotNull(result);
         verify(spacecraftRepository, times(1)).findById(1L);
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.SPACECRAFT, 1L);
+        verify(spacecraftEventStream, times(1)).publishChange(1L, SpacecraftStatus.MAINTENANCE, "Earth Orbit");
+
+
+    }
+
+    @Test
+    void changeSpacecraftLocation_ShouldStreamLocationWithCurrentStatus() {
+        when(spacecraftRepository.findById(1L)).thenReturn(Optional.of(testSpacecraft));
+        when(spacecraftTypeService.getEntityById(1L)).thenReturn(testSpacecraftType);
 
+        spacecraftService.changeSpacecraftLocation(1L, "Lunar Gateway");
 
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.SPACECRAFT, 1L);
+        verify(spacecraftEventStream, times(1)).publishChange(1L, SpacecraftStatus.DOCKED, "Lunar Gateway");
     }
 
     @Test
@@ -416,4 +440,15 @@ class SpacecraftServiceTests {
         assertEquals("Spacecraft type not found", exception.getMessage());
         verify(spacecraftTypeService, times(1)).getEntityById(1L);
     }
+
+    @Test
+    void getAvailableMassCapacity_ShouldReadLoadLedgerWithoutAggregateQuery() {
+        testSpacecraft.setCurrentMassUsage(BigDecimal.valueOf(250));
+        testSpacecraft.setCurrentVolumeUsage(BigDecimal.valueOf(100));
+        when(spacecraftRepository.findById(1L)).thenReturn(Optional.of(testSpacecraft));
+
+        assertEquals(0, BigDecimal.valueOf(750).compareTo(spacecraftService.getAvailableMassCapacity(1L)));
+        assertEquals(0, BigDecimal.valueOf(400).compareTo(spacecraftService.getAvailableVolumeCapacity(1L)));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(BigDecimal.class), any(Object[].class));
+    }
 }
@@ -5,7 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.cache.ReferenceDataCache;
 import org.orbitalLogistic.dto.request.SpacecraftTypeRequestDTO;
 import org.orbitalLogistic.dto.response.SpacecraftTypeResponseDTO;
 import org.orbitalLogistic.entities.SpacecraftType;
@@ -14,7 +16,9 @@ import org.orbitalLogistic.exceptions.SpacecraftTypeNotFoundException;
 import org.orbitalLogistic.mappers.SpacecraftTypeMapper;
 import org.orbitalLogistic.repositories.SpacecraftTypeRepository;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
 
+import java.sql.Types;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +38,9 @@ class SpacecraftTypeServiceTests {
     @Mock
     private SpacecraftTypeMapper spacecraftTypeMapper;
 
+    @Spy
+    private ReferenceDataCache<Long, SpacecraftType> spacecraftTypeCache = new ReferenceDataCache<>("test", 16);
+
     @InjectMocks
     private SpacecraftTypeService spacecraftTypeService;
 
@@ -158,12 +165,12 @@ class SpacecraftTypeServiceTests {
 
     @Test
     void createSpacecraftType_WithValidRequest_ShouldCreateType() {
-        String expectedSql = "INSERT INTO spacecraft_type (type_name, classification, max_crew_capacity) VALUES (?, ?::spacecraft_classification_enum, ?) RETURNING id";
+        String expectedSql = "INSERT INTO spacecraft_type (type_name, classification, max_crew_capacity) VALUES (?, ?, ?) RETURNING id";
         when(jdbcTemplate.queryForObject(
                 eq(expectedSql),
                 eq(Long.class),
                 eq("Cargo Ship"),
-                eq("CARGO_HAULER"),
+                pgEnum("CARGO_HAULER"),
                 eq(10)
         )).thenReturn(1L);
 
@@ -181,7 +188,7 @@ class SpacecraftTypeServiceTests {
                 eq(expectedSql),
                 eq(Long.class),
                 eq("Cargo Ship"),
-                eq("CARGO_HAULER"),
+                pgEnum("CARGO_HAULER"),
                 eq(10)
         );
 
@@ -190,4 +197,33 @@ class SpacecraftTypeServiceTests {
         verify(spacecraftTypeMapper, times(1)).toResponseDTO(testSpacecraftType);
 
     }
+
+    @Test
+    void getEntityById_ShouldHitDatabaseOnlyOnce() {
+        when(spacecraftTypeRepository.findById(1L)).thenReturn(Optional.of(testSpacecraftType));
+
+        SpacecraftType first = spacecraftTypeService.getEntityById(1L);
+        SpacecraftType second = spacecraftTypeService.getEntityById(1L);
+
+        assertSame(first, second);
+        verify(spacecraftTypeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void createSpacecraftType_ShouldWriteThroughToCache() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any(), any())).thenReturn(1L);
+        when(spacecraftTypeRepository.findById(1L)).thenReturn(Optional.of(testSpacecraftType));
+        when(spacecraftTypeMapper.toResponseDTO(testSpacecraftType)).thenReturn(testResponseDTO);
+
+        spacecraftTypeService.createSpacecraftType(testRequestDTO);
+        SpacecraftType cached = spacecraftTypeService.getEntityById(1L);
+
+        assertSame(testSpacecraftType, cached);
+        verify(spacecraftTypeRepository, times(1)).findById(1L);
+    }
+
+    private static Object pgEnum(String name) {
+        return argThat(value -> value instanceof SqlParameterValue parameter
+                && parameter.getSqlType() == Types.OTHER && name.equals(parameter.getValue()));
+    }
 }
@@ -0,0 +1,245 @@
+package org.orbitalLogistic.services;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.exceptions.CargoNotFoundException;
+import org.orbitalLogistic.exceptions.InsufficientStoredCargoException;
+import org.orbitalLogistic.exceptions.StorageCapacityExceededException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Многопоточная проверка резервирования места на реальной БД: параллельные размещения
+ * не переполняют хранилище, а встречные перемещения A→B и B→A не взаимоблокируются.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class StorageCapacityConcurrencyIntegrationTests {
+
+    private static final int THREADS = 16;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("test_db");
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static StorageCapacityService storageCapacityService;
+    private static Long cargoId;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        storageCapacityService = new StorageCapacityService(jdbcTemplate, mock(CacheInvalidationBus.class), mock(StorageOccupancyService.class));
+
+        cargoId = jdbcTemplate.queryForObject(
+                "INSERT INTO cargo (name, cargo_category_id, mass_per_unit, volume_per_unit) " +
+                "VALUES ('Capacity probe', (SELECT MIN(id) FROM cargo_category), 1, 1) RETURNING id",
+                Long.class);
+    }
+
+    @AfterAll
+    static void close() {
+        jdbcTemplate.update("DELETE FROM cargo WHERE id = ?", cargoId);
+    }
+
+    @Test
+    void concurrentReservations_ShouldNeverOverbookStorageUnit() throws Exception {
+        Long unitId = createStorageUnit("CAP-OVER", 100, 0);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(THREADS * 4, i -> {
+            try {
+                storageCapacityService.reserve(unitId, cargoId, 3);
+                accepted.incrementAndGet();
+            } catch (StorageCapacityExceededException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        Map<String, Object> unit = loadUnit(unitId);
+        assertEquals(33, accepted.get());
+        assertEquals(THREADS * 4 - 33, rejected.get());
+        assertEquals(0, new BigDecimal("99.00").compareTo((BigDecimal) unit.get("current_mass")));
+        assertTrue(((BigDecimal) unit.get("current_mass")).compareTo((BigDecimal) unit.get("total_mass_capacity")) <= 0);
+    }
+
+    @Test
+    void opposingTransfers_ShouldNotDeadlockAndShouldConserveMass() throws Exception {
+        Long first = createStorageUnit("CAP-A", 1_000, 500);
+        Long second = createStorageUnit("CAP-B", 1_000, 500);
+
+        runConcurrently(THREADS * 8, i -> {
+            Long from = i % 2 == 0 ? first : second;
+            Long to = i % 2 == 0 ? second : first;
+            try {
+                transactionTemplate.executeWithoutResult(status -> storageCapacityService.reserveAll(List.of(
+                        new StorageCapacityService.CargoReservation(to, cargoId, 5),
+                        new StorageCapacityService.CargoReservation(from, cargoId, -5))));
+            } catch (StorageCapacityExceededException ignored) {
+                // Отклонение допустимо, взаимоблокировка — нет
+            }
+        });
+
+        BigDecimal total = ((BigDecimal) loadUnit(first).get("current_mass"))
+                .add((BigDecimal) loadUnit(second).get("current_mass"));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(total));
+    }
+
+    @Test
+    void cargoResizeAndDelete_ShouldKeepStorageUnitsInSyncAndVerifierShouldRepairDrift() {
+        Long unitId = createStorageUnit("CAP-RESIZE", 1_000, 0);
+        Long resizedCargoId = jdbcTemplate.queryForObject(
+                "INSERT INTO cargo (name, cargo_category_id, mass_per_unit, volume_per_unit) " +
+                "VALUES ('Resize probe', (SELECT MIN(id) FROM cargo_category), 2, 1) RETURNING id",
+                Long.class);
+        storageCapacityService.reserve(unitId, resizedCargoId, 10);
+        jdbcTemplate.update("INSERT INTO cargo_storage (storage_unit_id, cargo_id, quantity) VALUES (?, ?, 10)",
+                unitId, resizedCargoId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE cargo SET mass_per_unit = 3.5 WHERE id = ?", resizedCargoId);
+            storageCapacityService.resizeCargo(resizedCargoId, new BigDecimal("1.5"), BigDecimal.ZERO);
+        });
+        assertEquals(0, new BigDecimal("35.00").compareTo((BigDecimal) loadUnit(unitId).get("current_mass")));
+
+        // Правка в обход сервиса: счётчик расходится с cargo_storage, сверка его исправляет
+        jdbcTemplate.update("UPDATE storage_unit SET current_mass = 7 WHERE id = ?", unitId);
+        assertThrows(InsufficientStoredCargoException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> storageCapacityService.releaseCargo(resizedCargoId)));
+        assertEquals(0, new BigDecimal("7.00").compareTo((BigDecimal) loadUnit(unitId).get("current_mass")));
+        StorageUnitService storageUnitService = new StorageUnitService(
+                null, null, jdbcTemplate, mock(CacheInvalidationBus.class), mock(StorageOccupancyService.class));
+        StorageUnitInventoryVerifier verifier = new StorageUnitInventoryVerifier(jdbcTemplate, storageUnitService);
+        assertTrue(verifier.verify().contains(unitId));
+        assertEquals(0, new BigDecimal("35.00").compareTo((BigDecimal) loadUnit(unitId).get("current_mass")));
+        assertFalse(storageUnitService.updateStorageUnitCapacity(unitId));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            storageCapacityService.releaseCargo(resizedCargoId);
+            jdbcTemplate.update("DELETE FROM cargo WHERE id = ?", resizedCargoId);
+        });
+        Map<String, Object> unit = loadUnit(unitId);
+        assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) unit.get("current_mass")));
+        assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) unit.get("current_volume")));
+    }
+
+    @Test
+    void transfer_ShouldMoveCargoStorageWithCountersSoVerifierFindsNoDrift() {
+        Long first = createStorageUnit("CAP-MOVE-A", 1_000, 0);
+        Long second = createStorageUnit("CAP-MOVE-B", 1_000, 0);
+        storageCapacityService.reserve(first, cargoId, 30);
+        jdbcTemplate.update("INSERT INTO cargo_storage (storage_unit_id, cargo_id, quantity) VALUES (?, ?, 30)",
+                first, cargoId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            storageCapacityService.moveStoredCargo(first, second, cargoId, 12);
+            storageCapacityService.reserveAll(List.of(
+                    new StorageCapacityService.CargoReservation(second, cargoId, 12),
+                    new StorageCapacityService.CargoReservation(first, cargoId, -12)));
+        });
+
+        assertEquals(18, storedQuantity(first));
+        assertEquals(12, storedQuantity(second));
+        assertEquals(0, new BigDecimal("18.00").compareTo((BigDecimal) loadUnit(first).get("current_mass")));
+        assertEquals(0, new BigDecimal("12.00").compareTo((BigDecimal) loadUnit(second).get("current_mass")));
+
+        StorageUnitService storageUnitService = new StorageUnitService(
+                null, null, jdbcTemplate, mock(CacheInvalidationBus.class), mock(StorageOccupancyService.class));
+        List<Long> repaired = new StorageUnitInventoryVerifier(jdbcTemplate, storageUnitService).verify();
+        assertFalse(repaired.contains(first));
+        assertFalse(repaired.contains(second));
+
+        assertThrows(InsufficientStoredCargoException.class,
+                () -> transactionTemplate.executeWithoutResult(status ->
+                        storageCapacityService.moveStoredCargo(second, first, cargoId, 13)));
+        assertEquals(12, storedQuantity(second));
+    }
+
+    @Test
+    void reserveAll_WithUnknownCargo_ShouldRejectBatchWithoutTouchingCounters() {
+        Long unitId = createStorageUnit("CAP-UNKNOWN", 1_000, 0);
+        Long unknownCargoId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1000 FROM cargo", Long.class);
+
+        // Известный груз в том же хранилище не должен скрыть неизвестный
+        assertThrows(CargoNotFoundException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> storageCapacityService.reserveAll(List.of(
+                        new StorageCapacityService.CargoReservation(unitId, cargoId, 5),
+                        new StorageCapacityService.CargoReservation(unitId, unknownCargoId, 5)))));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) loadUnit(unitId).get("current_mass")));
+    }
+
+    private int storedQuantity(Long storageUnitId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM cargo_storage WHERE storage_unit_id = ? AND cargo_id = ?",
+                Integer.class, storageUnitId, cargoId);
+    }
+
+    private Long createStorageUnit(String code, int capacity, int currentMass) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO storage_unit (unit_code, location, storage_type, total_mass_capacity, " +
+                "total_volume_capacity, current_mass, current_volume) " +
+                "VALUES (?, 'Test bay', 'AMBIENT'::storage_type_enum, ?, ?, ?, ?) RETURNING id",
+                Long.class, code, capacity, capacity, currentMass, currentMass);
+    }
+
+    private Map<String, Object> loadUnit(Long id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM storage_unit WHERE id = ?", id);
+    }
+
+    private void runConcurrently(int tasks, IndexedTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(tasks);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
@@ -0,0 +1,363 @@
+package org.orbitalLogistic.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.exceptions.CargoNotFoundException;
+import org.orbitalLogistic.exceptions.InsufficientStoredCargoException;
+import org.orbitalLogistic.exceptions.StorageCapacityExceededException;
+import org.orbitalLogistic.exceptions.StorageUnitNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageCapacityServiceTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private StorageOccupancyService storageOccupancyService;
+
+    @InjectMocks
+    private StorageCapacityService storageCapacityService;
+
+    @Test
+    void reserve_WithFreeCapacity_ShouldUpdateCountersInOneStatement() {
+        when(jdbcTemplate.queryForList(contains("RETURNING su.id"), eq(Long.class),
+                eq(10), eq(10), eq(1L), eq(2L), eq(10), eq(10), eq(10), eq(10))).thenReturn(List.of(1L));
+
+        storageCapacityService.reserve(1L, 2L, 10);
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Boolean.class), any());
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.STORAGE_UNIT, 1L);
+        verify(storageOccupancyService, times(1)).recordChanges(
+                List.of(new StorageCapacityService.CargoReservation(1L, 2L, 10)));
+    }
+
+    @Test
+    void reserve_WhenCapacityIsExhausted_ShouldThrowCapacityException() {
+        when(jdbcTemplate.queryForList(contains("RETURNING su.id"), eq(Long.class),
+                eq(10), eq(10), eq(1L), eq(2L), eq(10), eq(10), eq(10), eq(10))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("EXISTS"), eq(Boolean.class), eq(1L))).thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("FROM cargo WHERE"), eq(Long.class), idArray(2L)))
+                .thenReturn(List.of(2L));
+
+        StorageCapacityExceededException exception = assertThrows(
+                StorageCapacityExceededException.class,
+                () -> storageCapacityService.reserve(1L, 2L, 10)
+        );
+
+        assertEquals("Insufficient capacity in storage unit(s): [1]", exception.getMessage());
+        verifyNoInteractions(cacheInvalidationBus, storageOccupancyService);
+    }
+
+    @Test
+    void reserve_WithUnknownStorageUnit_ShouldThrowNotFound() {
+        when(jdbcTemplate.queryForList(contains("RETURNING su.id"), eq(Long.class),
+                eq(10), eq(10), eq(999L), eq(2L), eq(10), eq(10), eq(10), eq(10))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("EXISTS"), eq(Boolean.class), eq(999L))).thenReturn(false);
+
+        StorageUnitNotFoundException exception = assertThrows(
+                StorageUnitNotFoundException.class,
+                () -> storageCapacityService.reserve(999L, 2L, 10)
+        );
+
+        assertEquals("Storage unit not found with id: 999", exception.getMessage());
+    }
+
+    @Test
+    void reserve_WithZeroQuantity_ShouldNotTouchDatabase() {
+        storageCapacityService.reserve(1L, 2L, 0);
+
+        verifyNoInteractions(jdbcTemplate, cacheInvalidationBus);
+    }
+
+    @Test
+    void release_ShouldApplyNegativeQuantity() {
+        when(jdbcTemplate.queryForList(contains("RETURNING su.id"), eq(Long.class),
+                eq(-10), eq(-10), eq(1L), eq(2L), eq(-10), eq(-10), eq(-10), eq(-10))).thenReturn(List.of(1L));
+
+        storageCapacityService.release(1L, 2L, 10);
+
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.STORAGE_UNIT, 1L);
+    }
+
+    @Test
+    void release_MoreThanStored_ShouldFailInsteadOfClampingToZero() {
+        when(jdbcTemplate.queryForList(contains("current_mass + ? * c.mass_per_unit >= 0"), eq(Long.class),
+                eq(-10), eq(-10), eq(1L), eq(2L), eq(-10), eq(-10), eq(-10), eq(-10))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("EXISTS"), eq(Boolean.class), eq(1L))).thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("FROM cargo WHERE"), eq(Long.class), idArray(2L)))
+                .thenReturn(List.of(2L));
+
+        InsufficientStoredCargoException exception = assertThrows(
+                InsufficientStoredCargoException.class,
+                () -> storageCapacityService.release(1L, 2L, 10)
+        );
+
+        assertEquals("Cannot release more cargo than stored in storage unit(s): [1]", exception.getMessage());
+        verifyNoInteractions(cacheInvalidationBus, storageOccupancyService);
+    }
+
+    @Test
+    void reserveAll_ShouldLockUnitsInIdOrderBeforeUpdating() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), idArray(1L, 2L)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(contains("unnest"), eq(Long.class),
+                aryEq(new Long[]{2L, 1L}), aryEq(new Long[]{5L, 5L}), aryEq(new Integer[]{10, -10})))
+                .thenReturn(List.of(1L, 2L));
+
+        storageCapacityService.reserveAll(List.of(
+                new StorageCapacityService.CargoReservation(2L, 5L, 10),
+                new StorageCapacityService.CargoReservation(1L, 5L, -10)));
+
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.STORAGE_UNIT, 1L);
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.STORAGE_UNIT, 2L);
+        verify(storageOccupancyService, times(1)).recordChanges(List.of(
+                new StorageCapacityService.CargoReservation(2L, 5L, 10),
+                new StorageCapacityService.CargoReservation(1L, 5L, -10)));
+    }
+
+    @Test
+    void reserveAll_WhenOneUnitIsFull_ShouldRejectWholeBatch() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), idArray(1L, 2L)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(contains("unnest"), eq(Long.class), any(), any(), any()))
+                .thenReturn(List.of(1L));
+        when(jdbcTemplate.queryForList(contains("FROM cargo WHERE"), eq(Long.class), idArray(5L)))
+                .thenReturn(List.of(5L));
+
+        StorageCapacityExceededException exception = assertThrows(
+                StorageCapacityExceededException.class,
+                () -> storageCapacityService.reserveAll(List.of(
+                        new StorageCapacityService.CargoReservation(2L, 5L, 10),
+                        new StorageCapacityService.CargoReservation(1L, 5L, -10)))
+        );
+
+        assertEquals("Insufficient capacity in storage unit(s): [2]", exception.getMessage());
+        verifyNoInteractions(cacheInvalidationBus, storageOccupancyService);
+    }
+
+    @Test
+    void reserveAll_WhenSourceHoldsLessThanReleased_ShouldReportUnderflow() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), idArray(1L, 2L)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(contains("su.current_mass + d.mass >= 0"), eq(Long.class), any(), any(), any()))
+                .thenReturn(List.of(2L));
+        when(jdbcTemplate.queryForList(contains("FROM cargo WHERE"), eq(Long.class), idArray(5L)))
+                .thenReturn(List.of(5L));
+
+        InsufficientStoredCargoException exception = assertThrows(
+                InsufficientStoredCargoException.class,
+                () -> storageCapacityService.reserveAll(List.of(
+                        new StorageCapacityService.CargoReservation(2L, 5L, 10),
+                        new StorageCapacityService.CargoReservation(1L, 5L, -10)))
+        );
+
+        assertEquals("Cannot release more cargo than stored in storage unit(s): [1]", exception.getMessage());
+        verifyNoInteractions(cacheInvalidationBus, storageOccupancyService);
+    }
+
+    @Test
+    void reserveAll_WithUnknownCargo_ShouldThrowCargoNotFoundInsteadOfCapacityError() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), idArray(1L, 2L)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(contains("d.unknown_cargo = 0"), eq(Long.class), any(), any(), any()))
+                .thenReturn(List.of(1L));
+        when(jdbcTemplate.queryForList(contains("FROM cargo WHERE"), eq(Long.class), idArray(5L, 404L)))
+                .thenReturn(List.of(5L));
+
+        CargoNotFoundException exception = assertThrows(
+                CargoNotFoundException.class,
+                () -> storageCapacityService.reserveAll(List.of(
+                        new StorageCapacityService.CargoReservation(2L, 404L, 10),
+                        new StorageCapacityService.CargoReservation(1L, 5L, -10)))
+        );
+
+        assertEquals("Cargo not found with id: 404", exception.getMessage());
+        verifyNoInteractions(cacheInvalidationBus, storageOccupancyService);
+    }
+
+    @Test
+    void reserve_WithUnknownCargo_ShouldThrowCargoNotFound() {
+        when(jdbcTemplate.queryForList(contains("RETURNING su.id"), eq(Long.class),
+                eq(10), eq(10), eq(1L), eq(404L), eq(10), eq(10), eq(10), eq(10))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("EXISTS"), eq(Boolean.class), eq(1L))).thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("FROM cargo WHERE"), eq(Long.class), idArray(404L)))
+                .thenReturn(List.of());
+
+        CargoNotFoundException exception = assertThrows(
+                CargoNotFoundException.class,
+                () -> storageCapacityService.reserve(1L, 404L, 10)
+        );
+
+        assertEquals("Cargo not found with id: 404", exception.getMessage());
+        verifyNoInteractions(cacheInvalidationBus, storageOccupancyService);
+    }
+
+    @Test
+    void reserveAll_WithUnknownStorageUnit_ShouldThrowNotFound() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), idArray(1L, 999L)))
+                .thenReturn(List.of(1L));
+
+        StorageUnitNotFoundException exception = assertThrows(
+                StorageUnitNotFoundException.class,
+                () -> storageCapacityService.reserveAll(List.of(
+                        new StorageCapacityService.CargoReservation(999L, 5L, 10),
+                        new StorageCapacityService.CargoReservation(1L, 5L, -10)))
+        );
+
+        assertEquals("Storage unit not found with id: 999", exception.getMessage());
+        verify(jdbcTemplate, never()).queryForList(contains("unnest"), eq(Long.class), any(), any(), any());
+    }
+
+    @Test
+    void resizeCargo_ShouldApplyDeltaToEveryStorageUnitHoldingCargo() {
+        BigDecimal massDelta = BigDecimal.valueOf(2.5);
+        BigDecimal volumeDelta = BigDecimal.valueOf(-1);
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(5L)))
+                .thenReturn(List.of(1L, 3L));
+        when(jdbcTemplate.queryForList(contains("s.quantity * ?"), eq(Long.class),
+                eq(massDelta), eq(volumeDelta), eq(5L), eq(massDelta), eq(volumeDelta)))
+                .thenReturn(List.of(1L, 3L));
+
+        storageCapacityService.resizeCargo(5L, massDelta, volumeDelta);
+
+        verify(cacheInvalidationBus).publish(CacheInvalidationBus.STORAGE_UNIT, 1L);
+        verify(cacheInvalidationBus).publish(CacheInvalidationBus.STORAGE_UNIT, 3L);
+    }
+
+    @Test
+    void resizeCargo_WithoutDimensionChange_ShouldNotTouchDatabase() {
+        storageCapacityService.resizeCargo(5L, BigDecimal.ZERO, BigDecimal.valueOf(0, 2));
+
+        verifyNoInteractions(jdbcTemplate, cacheInvalidationBus);
+    }
+
+    @Test
+    void resizeCargo_WhenCargoIsNotStored_ShouldSkipUpdate() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(5L)))
+                .thenReturn(List.of());
+
+        storageCapacityService.resizeCargo(5L, BigDecimal.ONE, BigDecimal.ONE);
+
+        verify(jdbcTemplate, never()).queryForList(contains("RETURNING"), eq(Long.class), any(), any(), any(), any(), any());
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void resizeCargo_WhenShrinkingBelowZero_ShouldReportUnderflow() {
+        BigDecimal massDelta = BigDecimal.valueOf(-3);
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(5L)))
+                .thenReturn(List.of(1L, 3L));
+        when(jdbcTemplate.queryForList(contains("s.quantity * ? >= 0"), eq(Long.class),
+                eq(massDelta), eq(BigDecimal.ZERO), eq(5L), eq(massDelta), eq(BigDecimal.ZERO)))
+                .thenReturn(List.of(1L));
+
+        InsufficientStoredCargoException exception = assertThrows(
+                InsufficientStoredCargoException.class,
+                () -> storageCapacityService.resizeCargo(5L, massDelta, BigDecimal.ZERO)
+        );
+
+        assertEquals("Cannot release more cargo than stored in storage unit(s): [3]", exception.getMessage());
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void releaseCargo_ShouldSubtractStoredCargoFromStorageUnits() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(5L)))
+                .thenReturn(List.of(2L));
+        when(jdbcTemplate.queryForList(contains("current_mass - s.mass"), eq(Long.class), eq(5L)))
+                .thenReturn(List.of(2L));
+
+        storageCapacityService.releaseCargo(5L);
+
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.STORAGE_UNIT, 2L);
+    }
+
+    @Test
+    void releaseCargo_WhenCounterIsBelowStoredCargo_ShouldReportUnderflow() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(5L)))
+                .thenReturn(List.of(2L, 4L));
+        when(jdbcTemplate.queryForList(contains("su.current_mass - s.mass >= 0"), eq(Long.class), eq(5L)))
+                .thenReturn(List.of(4L));
+
+        InsufficientStoredCargoException exception = assertThrows(
+                InsufficientStoredCargoException.class,
+                () -> storageCapacityService.releaseCargo(5L)
+        );
+
+        assertEquals("Cannot release more cargo than stored in storage unit(s): [2]", exception.getMessage());
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void moveStoredCargo_ShouldDrainSourceRowsInOrderAndAddToFirstTargetRow() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), idArray(1L, 2L)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(contains("FROM cargo_storage"), eq(1L), eq(5L)))
+                .thenReturn(List.of(Map.of("id", 10L, "quantity", 4), Map.of("id", 11L, "quantity", 20)));
+        when(jdbcTemplate.update(contains("quantity - ?"), anyInt(), anyLong())).thenReturn(1);
+        when(jdbcTemplate.update(contains("quantity + ?"), eq(10), eq(2L), eq(5L))).thenReturn(1);
+
+        storageCapacityService.moveStoredCargo(1L, 2L, 5L, 10);
+
+        verify(jdbcTemplate).update(contains("quantity - ?"), eq(4), eq(10L));
+        verify(jdbcTemplate).update(contains("quantity - ?"), eq(6), eq(11L));
+        verify(jdbcTemplate, never()).update(contains("INSERT"), any(), any(), any());
+    }
+
+    @Test
+    void moveStoredCargo_WithoutTargetRow_ShouldInsertOne() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), idArray(1L, 2L)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(contains("FROM cargo_storage"), eq(1L), eq(5L)))
+                .thenReturn(List.of(Map.of("id", 10L, "quantity", 10)));
+        when(jdbcTemplate.update(contains("quantity - ?"), anyInt(), anyLong())).thenReturn(1);
+        when(jdbcTemplate.update(contains("quantity + ?"), eq(10), eq(2L), eq(5L))).thenReturn(0);
+
+        storageCapacityService.moveStoredCargo(1L, 2L, 5L, 10);
+
+        verify(jdbcTemplate).update(contains("INSERT INTO cargo_storage"), eq(2L), eq(5L), eq(10));
+    }
+
+    @Test
+    void moveStoredCargo_WhenSourceHoldsTooLittle_ShouldRejectWithoutChanges() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), idArray(1L, 2L)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(contains("FROM cargo_storage"), eq(1L), eq(5L)))
+                .thenReturn(List.of(Map.of("id", 10L, "quantity", 3)));
+
+        InsufficientStoredCargoException exception = assertThrows(
+                InsufficientStoredCargoException.class,
+                () -> storageCapacityService.moveStoredCargo(1L, 2L, 5L, 10)
+        );
+
+        assertEquals("Storage unit 1 holds 3 unit(s) of cargo 5, cannot move 10", exception.getMessage());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    /**
+     * Массив id передаётся одним элементом varargs, поэтому aryEq здесь не подходит:
+     * Mockito сопоставил бы его со всем массивом аргументов.
+     */
+    private static Object idArray(Long... ids) {
+        return argThat(arg -> arg instanceof Long[] actual && Arrays.equals(actual, ids));
+    }
+}
@@ -0,0 +1,220 @@
+package org.orbitalLogistic.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.dto.response.StorageOccupancyResponseDTO;
+import org.orbitalLogistic.entities.enums.HazardLevel;
+import org.orbitalLogistic.entities.enums.StorageTypeEnum;
+import org.orbitalLogistic.exceptions.InvalidEnumValueException;
+import org.orbitalLogistic.routing.ReadRouting;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageOccupancyServiceTests {
+
+    private static final List<String> ALL_DIMENSIONS = List.of("location", "storageType", "hazardLevel");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private StorageOccupancyService storageOccupancyService;
+
+    @BeforeEach
+    void setUp() {
+        rows("FROM storage_unit",
+                Map.of("id", 1L, "location", "Orbit A", "storage_type", "AMBIENT",
+                        "total_mass_capacity", new BigDecimal("1000.00"), "total_volume_capacity", new BigDecimal("500.00")),
+                Map.of("id", 2L, "location", "Orbit B", "storage_type", "HAZMAT",
+                        "total_mass_capacity", new BigDecimal("2000.00"), "total_volume_capacity", new BigDecimal("1000.00")));
+        rows("FROM cargo ORDER BY id",
+                Map.of("id", 10L, "hazard_level", "NONE",
+                        "mass_per_unit", new BigDecimal("2.50"), "volume_per_unit", new BigDecimal("1.00")),
+                Map.of("id", 11L, "hazard_level", "HIGH",
+                        "mass_per_unit", new BigDecimal("10.00"), "volume_per_unit", new BigDecimal("5.00")));
+        rows("FROM cargo_storage",
+                Map.of("storage_unit_id", 1L, "hazard_level", "NONE",
+                        "mass", new BigDecimal("250.00"), "volume", new BigDecimal("100.00")),
+                Map.of("storage_unit_id", 2L, "hazard_level", "HIGH",
+                        "mass", new BigDecimal("100.00"), "volume", new BigDecimal("50.00")));
+
+        storageOccupancyService = new StorageOccupancyService(jdbcTemplate, transactionManager, cacheInvalidationBus);
+    }
+
+    @Test
+    void getOccupancy_ShouldLoadSnapshotOnceAndServeFromMemory() {
+        List<StorageOccupancyResponseDTO> first = storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+        List<StorageOccupancyResponseDTO> second = storageOccupancyService.getOccupancy(List.of("location"));
+
+        assertEquals(List.of(
+                new StorageOccupancyResponseDTO("Orbit A", StorageTypeEnum.AMBIENT, HazardLevel.NONE, 1,
+                        new BigDecimal("1000.00"), new BigDecimal("500.00"),
+                        new BigDecimal("250.00"), new BigDecimal("100.00"), 25.0, 20.0),
+                new StorageOccupancyResponseDTO("Orbit B", StorageTypeEnum.HAZMAT, HazardLevel.HIGH, 1,
+                        new BigDecimal("2000.00"), new BigDecimal("1000.00"),
+                        new BigDecimal("100.00"), new BigDecimal("50.00"), 5.0, 5.0)), first);
+        assertEquals(2, second.size());
+        assertNull(second.getFirst().storageType());
+        assertNull(second.getFirst().hazardLevel());
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void getOccupancy_ShouldLoadSnapshotFromPrimaryAndRestoreRouting() {
+        ReadRouting requestRouting = ReadRouting.replica(42);
+        List<ReadRouting> routingDuringLoad = new ArrayList<>();
+        doAnswer(invocation -> {
+            routingDuringLoad.add(ReadRouting.current());
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM cargo ORDER BY id"), any(RowCallbackHandler.class));
+
+        ReadRouting.bind(requestRouting);
+        try {
+            storageOccupancyService.getOccupancy(List.of("location"));
+            assertSame(requestRouting, ReadRouting.current());
+        } finally {
+            ReadRouting.clear();
+        }
+        assertEquals(List.of(ReadRouting.PRIMARY), routingDuringLoad);
+    }
+
+    @Test
+    void getOccupancy_WithUnknownDimension_ShouldThrowInvalidEnumValue() {
+        InvalidEnumValueException exception = assertThrows(InvalidEnumValueException.class,
+                () -> storageOccupancyService.getOccupancy(List.of("location", "shelf")));
+
+        assertEquals("groupBy", exception.getFieldName());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void recordChanges_ShouldUpdateSnapshotWithoutReload() {
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        storageOccupancyService.recordChanges(List.of(
+                new StorageCapacityService.CargoReservation(1L, 10L, 40),
+                new StorageCapacityService.CargoReservation(1L, 11L, 5)));
+
+        List<StorageOccupancyResponseDTO> groups = storageOccupancyService.getOccupancy(List.of("location", "hazardLevel"));
+        assertEquals(new BigDecimal("350.00"), groups.get(0).storedMass());
+        assertEquals(HazardLevel.HIGH, groups.get(1).hazardLevel());
+        assertEquals(new BigDecimal("50.00"), groups.get(1).storedMass());
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void recordChanges_InsideTransaction_ShouldApplyOnlyAfterCommit() {
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> storageOccupancyService.recordChanges(
+                List.of(new StorageCapacityService.CargoReservation(2L, 11L, -10))));
+
+        assertEquals(new BigDecimal("350.00"), totalStoredMass());
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(new BigDecimal("250.00"), totalStoredMass());
+    }
+
+    @Test
+    void recordChanges_RolledBack_ShouldNotChangeSnapshot() {
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> storageOccupancyService.recordChanges(
+                List.of(new StorageCapacityService.CargoReservation(1L, 10L, 100))));
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(new BigDecimal("350.00"), totalStoredMass());
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void recordChanges_ForUnknownStorageUnit_ShouldRebuildOnNextRequest() {
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        storageOccupancyService.recordChanges(List.of(new StorageCapacityService.CargoReservation(99L, 10L, 1)));
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        verify(jdbcTemplate, times(6)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void invalidate_ShouldRebuildSnapshotOnNextRequest() {
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        storageOccupancyService.invalidate();
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        verify(jdbcTemplate, times(6)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void storageUnitNotificationFromOtherNode_ShouldRebuildSnapshot() {
+        ArgumentCaptor<Consumer<String>> evictor = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationBus).register(eq(CacheInvalidationBus.STORAGE_UNIT), evictor.capture(), any());
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        evictor.getValue().accept("2");
+        storageOccupancyService.getOccupancy(ALL_DIMENSIONS);
+
+        verify(jdbcTemplate, times(6)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    private BigDecimal totalStoredMass() {
+        return storageOccupancyService.getOccupancy(List.of()).getFirst().storedMass();
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SafeVarargs
+    private void rows(String sqlFragment, Map<String, Object>... rows) {
+        lenient().doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map<String, Object> row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains(sqlFragment), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) {
+        return mock(ResultSet.class, invocation -> {
+            Object value = row.get(invocation.<String>getArgument(0));
+            return invocation.getMethod().getReturnType() == long.class ? ((Number) value).longValue() : value;
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package org.orbitalLogistic.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.orbitalLogistic.exceptions.StorageUnitNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageUnitInventoryVerifierTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StorageUnitService storageUnitService;
+
+    @InjectMocks
+    private StorageUnitInventoryVerifier verifier;
+
+    @Test
+    void verify_WithoutDrift_ShouldNotRecompute() {
+        when(jdbcTemplate.queryForList(contains("LEFT JOIN"), eq(Long.class))).thenReturn(List.of());
+
+        assertEquals(List.of(), verifier.verify());
+
+        verifyNoInteractions(storageUnitService);
+    }
+
+    @Test
+    void verify_ShouldRecomputeOnlyDriftedStorageUnits() {
+        when(jdbcTemplate.queryForList(contains("LEFT JOIN"), eq(Long.class))).thenReturn(List.of(2L, 5L, 7L));
+        when(storageUnitService.updateStorageUnitCapacity(2L)).thenReturn(true);
+        // Кандидата 5 успела исправить параллельная операция
+        when(storageUnitService.updateStorageUnitCapacity(5L)).thenReturn(false);
+        when(storageUnitService.updateStorageUnitCapacity(7L)).thenReturn(true);
+
+        assertEquals(List.of(2L, 7L), verifier.verify());
+    }
+
+    @Test
+    void verify_WhenStorageUnitDeletedMeanwhile_ShouldContinueWithOthers() {
+        when(jdbcTemplate.queryForList(contains("LEFT JOIN"), eq(Long.class))).thenReturn(List.of(3L, 4L));
+        when(storageUnitService.updateStorageUnitCapacity(3L))
+                .thenThrow(new StorageUnitNotFoundException("Storage unit not found with id: 3"));
+        when(storageUnitService.updateStorageUnitCapacity(4L)).thenReturn(true);
+
+        assertEquals(List.of(4L), verifier.verify());
+    }
+}
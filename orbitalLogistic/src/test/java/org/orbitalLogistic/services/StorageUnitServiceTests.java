@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
 import org.orbitalLogistic.dto.common.PageResponseDTO;
 import org.orbitalLogistic.dto.request.StorageUnitRequestDTO;
 import org.orbitalLogistic.dto.response.StorageUnitResponseDTO;
@@ -40,6 +41,12 @@ class StorageUnitServiceTests {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private StorageOccupancyService storageOccupancyService;
+
     @InjectMocks
     private StorageUnitService storageUnitService;
 
@@ -208,6 +215,8 @@ class StorageUnitServiceTests {
         verify(storageUnitRepository, times(1)).existsByUnitCode("SU-001");
         verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), any(), any(), any(), any(), any());
         verify(storageUnitRepository, times(1)).findById(newId);
+        verify(storageOccupancyService, times(1)).invalidate();
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.STORAGE_UNIT, newId);
 
 
         verify(storageUnitMapper, never()).toEntity(any());
@@ -247,6 +256,8 @@ class StorageUnitServiceTests {
         assertNotNull(result);
         verify(storageUnitRepository, times(1)).findById(1L);
         verify(storageUnitRepository, times(1)).existsByUnitCode("SU-001-UPDATED");
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.STORAGE_UNIT, 1L);
+        verify(storageOccupancyService, times(1)).invalidate();
 
 
     }
@@ -384,4 +395,37 @@ class StorageUnitServiceTests {
         assertEquals(0.0, result.massUsagePercentage());
         assertEquals(0.0, result.volumeUsagePercentage());
     }
+
+    @Test
+    void updateStorageUnitCapacity_WithDrift_ShouldRecomputeAndInvalidate() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(1L)))
+                .thenReturn(List.of(1L));
+        when(jdbcTemplate.queryForList(contains("RETURNING su.id"), eq(Long.class), eq(1L), eq(1L)))
+                .thenReturn(List.of(1L));
+
+        assertTrue(storageUnitService.updateStorageUnitCapacity(1L));
+
+        verify(cacheInvalidationBus, times(1)).publish(CacheInvalidationBus.STORAGE_UNIT, 1L);
+    }
+
+    @Test
+    void updateStorageUnitCapacity_WithoutDrift_ShouldNotInvalidate() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(1L)))
+                .thenReturn(List.of(1L));
+        when(jdbcTemplate.queryForList(contains("RETURNING su.id"), eq(Long.class), eq(1L), eq(1L)))
+                .thenReturn(List.of());
+
+        assertFalse(storageUnitService.updateStorageUnitCapacity(1L));
+
+        verify(cacheInvalidationBus, never()).publish(anyString(), any());
+    }
+
+    @Test
+    void updateStorageUnitCapacity_WithUnknownStorageUnit_ShouldThrowNotFound() {
+        when(jdbcTemplate.queryForList(contains("FOR NO KEY UPDATE"), eq(Long.class), eq(999L)))
+                .thenReturn(List.of());
+
+        assertThrows(StorageUnitNotFoundException.class, () -> storageUnitService.updateStorageUnitCapacity(999L));
+        verify(jdbcTemplate, never()).queryForList(contains("RETURNING"), eq(Long.class), any(), any());
+    }
 }
@@ -0,0 +1,218 @@
+package org.orbitalLogistic.streaming;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.orbitalLogistic.cache.CacheInvalidationBus;
+import org.orbitalLogistic.dto.response.SpacecraftChangeEventDTO;
+import org.orbitalLogistic.entities.enums.SpacecraftStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SpacecraftEventStreamTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CacheInvalidationBus cacheInvalidationBus = mock(CacheInvalidationBus.class);
+    private SpacecraftEventStream stream;
+
+    @AfterEach
+    void tearDown() {
+        if (stream != null) {
+            stream.destroy();
+        }
+    }
+
+    @Test
+    void publishChange_ShouldCoalesceChangesOfOneSpacecraftWithinWindow() {
+        stream = newStream(16, 16);
+        RecordingEmitter emitter = subscribe(null);
+
+        stream.publishChange(1L, SpacecraftStatus.IN_TRANSIT, "Earth Orbit");
+        stream.publishChange(2L, SpacecraftStatus.DOCKED, "Mars Orbit");
+        stream.publishChange(1L, SpacecraftStatus.DOCKED, "Lunar Gateway");
+
+        List<String> events = emitter.await(2);
+        assertTrue(events.get(0).contains("spacecraftId=2"));
+        assertTrue(events.get(1).contains("spacecraftId=1, status=DOCKED, currentLocation=Lunar Gateway"));
+        assertTrue(events.get(1).contains("event:" + StreamSubscriber.CHANGE_EVENT));
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayMissedEvents() {
+        stream = newStream(16, 16);
+        RecordingEmitter first = subscribe(null);
+        stream.publishChange(1L, SpacecraftStatus.IN_TRANSIT, "Earth Orbit");
+        String lastEventId = idOf(first.await(1).getFirst());
+
+        stream.publishChange(2L, SpacecraftStatus.DOCKED, "Mars Orbit");
+        stream.publishRemoval(3L);
+        RecordingEmitter resumed = subscribe(lastEventId);
+
+        List<String> events = resumed.await(2);
+        assertTrue(events.get(0).contains("spacecraftId=2"));
+        assertTrue(events.get(1).contains("spacecraftId=3, status=null, currentLocation=null, removed=true"));
+    }
+
+    @Test
+    void subscribe_WithEvictedLastEventId_ShouldSendReset() {
+        stream = newStream(2, 16);
+        RecordingEmitter first = subscribe(null);
+        stream.publishChange(1L, SpacecraftStatus.IN_TRANSIT, "Earth Orbit");
+        String lastEventId = idOf(first.await(1).getFirst());
+
+        stream.publishChange(2L, SpacecraftStatus.DOCKED, "Mars Orbit");
+        stream.publishChange(3L, SpacecraftStatus.DOCKED, "Mars Orbit");
+        stream.publishChange(4L, SpacecraftStatus.DOCKED, "Mars Orbit");
+
+        assertResetOnly(subscribe(lastEventId));
+    }
+
+    @Test
+    void subscribe_WithForeignLastEventId_ShouldSendReset() {
+        stream = newStream(16, 16);
+
+        assertResetOnly(subscribe("previous-node-42"));
+    }
+
+    @Test
+    void offer_WhenSubscriberBufferOverflows_ShouldDegradeToReset() {
+        stream = newStream(16, 2);
+        RecordingEmitter emitter = subscribe(null);
+
+        stream.publishChange(1L, SpacecraftStatus.DOCKED, "Earth Orbit");
+        stream.publishChange(2L, SpacecraftStatus.DOCKED, "Earth Orbit");
+        stream.publishChange(3L, SpacecraftStatus.DOCKED, "Earth Orbit");
+
+        assertResetOnly(emitter);
+    }
+
+    @Test
+    void publishChange_InsideTransaction_ShouldWaitForCommit() {
+        stream = newStream(16, 16);
+        RecordingEmitter emitter = subscribe(null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            stream.publishChange(1L, SpacecraftStatus.DOCKED, "Earth Orbit");
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        sleep(150);
+        assertTrue(emitter.events().isEmpty());
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertTrue(emitter.await(1).getFirst().contains("spacecraftId=1"));
+    }
+
+    @Test
+    void remoteChange_WithSubscribers_ShouldReloadSpacecraftState() {
+        when(jdbcTemplate.query(contains("FROM spacecraft"),
+                ArgumentMatchers.<RowMapper<SpacecraftChangeEventDTO>>any(), eq(5L)))
+                .thenReturn(List.of(new SpacecraftChangeEventDTO(5L, SpacecraftStatus.MAINTENANCE, "Titan", false)));
+        stream = newStream(16, 16);
+        RecordingEmitter emitter = subscribe(null);
+
+        remoteEvictor().accept("5");
+
+        assertTrue(emitter.await(1).getFirst().contains("spacecraftId=5, status=MAINTENANCE, currentLocation=Titan"));
+    }
+
+    @Test
+    void remoteChange_WithoutSubscribers_ShouldBreakResumeWithoutQuery() {
+        stream = newStream(16, 16);
+        stream.publishChange(1L, SpacecraftStatus.DOCKED, "Earth Orbit");
+        String lastEventId = stream.lastEventId();
+
+        remoteEvictor().accept("5");
+
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(0, stream.subscriberCount());
+        assertResetOnly(subscribe(lastEventId));
+    }
+
+    private SpacecraftEventStream newStream(int ringSize, int subscriberBuffer) {
+        return new SpacecraftEventStream(jdbcTemplate, cacheInvalidationBus, new SimpleMeterRegistry(),
+                ringSize, subscriberBuffer, Duration.ofMillis(100), Duration.ofSeconds(30), Duration.ofMinutes(1));
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    private Consumer<String> remoteEvictor() {
+        ArgumentCaptor<Consumer<String>> evictor = ArgumentCaptor.captor();
+        verify(cacheInvalidationBus, atLeastOnce())
+                .register(eq(CacheInvalidationBus.SPACECRAFT), evictor.capture(), any(Runnable.class));
+        return evictor.getValue();
+    }
+
+    private static void assertResetOnly(RecordingEmitter emitter) {
+        List<String> events = emitter.await(1);
+        assertTrue(events.getFirst().contains("event:" + StreamSubscriber.RESET_EVENT));
+        sleep(250);
+        assertEquals(1, emitter.events().size());
+    }
+
+    private static String idOf(String event) {
+        return event.lines()
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring(3))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Emitter без HTTP-ответа: отправленные события сохраняются текстом в формате SSE.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> events() {
+            return events;
+        }
+
+        List<String> await(int count) {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (events.size() < count && System.currentTimeMillis() < deadline) {
+                sleep(10);
+            }
+            assertTrue(events.size() >= count, "Expected " + count + " events, got " + events);
+            return List.copyOf(events);
+        }
+    }
+}